@@ -1,14 +1,21 @@
 package org.jabref.benchmarks;
 
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStreamReader;
 import java.io.StringReader;
 import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
 import java.util.EnumSet;
 import java.util.List;
 import java.util.Random;
 import java.util.stream.Collectors;
 
 import org.jabref.gui.Globals;
+import org.jabref.logic.citationstyle.CitationStyle;
+import org.jabref.logic.citationstyle.CitationStyleGenerator;
+import org.jabref.logic.citationstyle.CitationStyleOutputFormat;
 import org.jabref.logic.exporter.BibWriter;
 import org.jabref.logic.exporter.BibtexDatabaseWriter;
 import org.jabref.logic.exporter.SavePreferences;
@@ -49,9 +56,11 @@ import static org.mockito.Mockito.mock;
 public class Benchmarks {
 
     private String bibtexString;
+    private byte[] largeBibtexFile;
     private final BibDatabase database = new BibDatabase();
     private String latexConversionString;
     private String htmlConversionString;
+    private String citationStyle;
 
     @Setup
     public void init() throws Exception {
@@ -72,9 +81,18 @@ public class Benchmarks {
 
         bibtexString = getOutputWriter().toString();
 
+        // a library as read from disk, with comments between the entries which are kept in their parsed serialization
+        StringBuilder largeBibtexString = new StringBuilder();
+        for (int i = 0; i < 50; i++) {
+            largeBibtexString.append("% part ").append(i).append(OS.NEWLINE).append(bibtexString);
+        }
+        largeBibtexFile = largeBibtexString.toString().getBytes(StandardCharsets.UTF_8);
+
         latexConversionString = "{A} \\textbf{bold} approach {\\it to} ${{\\Sigma}}{\\Delta}$ modulator \\textsuperscript{2} \\$";
 
         htmlConversionString = "<b>&Ouml;sterreich</b> &#8211; &amp; characters &#x2aa2; <i>italic</i>";
+
+        citationStyle = CitationStyle.getDefault().getSource();
     }
 
     private StringWriter getOutputWriter() throws IOException {
@@ -91,6 +109,12 @@ public class Benchmarks {
         return parser.parse(new StringReader(bibtexString));
     }
 
+    @Benchmark
+    public ParserResult parseLargeFile() throws IOException {
+        BibtexParser parser = new BibtexParser(Globals.prefs.getImportFormatPreferences(), new DummyFileUpdateMonitor());
+        return parser.parse(new BufferedReader(new InputStreamReader(new ByteArrayInputStream(largeBibtexFile), StandardCharsets.UTF_8)));
+    }
+
     @Benchmark
     public String write() throws Exception {
         return getOutputWriter().toString();
@@ -110,6 +134,12 @@ public class Benchmarks {
         return database.getEntries().parallelStream().filter(searchQuery::isMatch).collect(Collectors.toList());
     }
 
+    @Benchmark
+    public List<BibEntry> grammarBasedSearch() {
+        SearchQuery searchQuery = new SearchQuery("(author = lastname and title = \"title 5\") or (keywords = testkeyword and not year = 15)", EnumSet.noneOf(SearchFlags.class));
+        return database.getEntries().stream().filter(searchQuery::isMatch).collect(Collectors.toList());
+    }
+
     @Benchmark
     public BibDatabaseMode inferBibDatabaseMode() {
         return BibDatabaseModeDetection.inferMode(database);
@@ -139,6 +169,20 @@ public class Benchmarks {
         return group.containsAll(database.getEntries());
     }
 
+    @Benchmark
+    public List<String> generateCitations() {
+        return database.getEntries().stream()
+                       .map(entry -> CitationStyleGenerator.generateCitation(entry, citationStyle, CitationStyleOutputFormat.HTML))
+                       .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<String> parallelGenerateCitations() {
+        return database.getEntries().parallelStream()
+                       .map(entry -> CitationStyleGenerator.generateCitation(entry, citationStyle, CitationStyleOutputFormat.HTML))
+                       .collect(Collectors.toList());
+    }
+
     public static void main(String[] args) throws IOException, RunnerException {
         Main.main(args);
     }
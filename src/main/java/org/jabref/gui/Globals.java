@@ -18,8 +18,10 @@ import org.jabref.logic.journals.JournalAbbreviationRepository;
 import org.jabref.logic.protectedterms.ProtectedTermsLoader;
 import org.jabref.logic.remote.server.RemoteListenerServerLifecycle;
 import org.jabref.logic.util.BuildInfo;
+import org.jabref.logic.util.io.DirectoryIndexCache;
 import org.jabref.model.entry.BibEntryTypesManager;
 import org.jabref.model.strings.StringUtil;
+import org.jabref.model.util.DummyFileUpdateMonitor;
 import org.jabref.model.util.FileUpdateMonitor;
 import org.jabref.preferences.JabRefPreferences;
 
@@ -81,6 +83,7 @@ public class Globals {
     private static KeyBindingRepository keyBindingRepository;
 
     private static DefaultFileUpdateMonitor fileUpdateMonitor;
+    private static DirectoryIndexCache directoryIndexCache;
     private static TelemetryClient telemetryClient;
 
     private Globals() {
@@ -140,6 +143,16 @@ public class Globals {
         return fileUpdateMonitor;
     }
 
+    /**
+     * Returns the indexes of the file directories, which are kept up to date by the file update monitor
+     */
+    public static synchronized DirectoryIndexCache getDirectoryIndexCache() {
+        if (directoryIndexCache == null) {
+            directoryIndexCache = new DirectoryIndexCache(fileUpdateMonitor != null ? fileUpdateMonitor : new DummyFileUpdateMonitor());
+        }
+        return directoryIndexCache;
+    }
+
     public static void shutdownThreadPools() {
         TASK_EXECUTOR.shutdown();
         fileUpdateMonitor.shutdown();
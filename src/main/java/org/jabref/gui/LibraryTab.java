@@ -29,7 +29,7 @@ import org.jabref.gui.util.BackgroundTask;
 import org.jabref.gui.util.DefaultTaskExecutor;
 import org.jabref.logic.autosaveandbackup.AutosaveManager;
 import org.jabref.logic.autosaveandbackup.BackupManager;
-import org.jabref.logic.citationstyle.CitationStyleCache;
+import org.jabref.logic.citationstyle.CitationStyleGenerator;
 import org.jabref.logic.importer.ParserResult;
 import org.jabref.logic.importer.util.FileFieldParser;
 import org.jabref.logic.l10n.Localization;
@@ -75,7 +75,6 @@ public class LibraryTab extends Tab {
     private final BooleanProperty nonUndoableChangeProperty = new SimpleBooleanProperty(false);
     private BibDatabaseContext bibDatabaseContext;
     private MainTableDataModel tableModel;
-    private CitationStyleCache citationStyleCache;
     private FileAnnotationCache annotationCache;
     private EntryEditor entryEditor;
     private MainTable mainTable;
@@ -115,7 +114,7 @@ public class LibraryTab extends Tab {
 
         this.tableModel = new MainTableDataModel(getBibDatabaseContext(), preferencesService, stateManager);
 
-        citationStyleCache = new CitationStyleCache(bibDatabaseContext);
+        CitationStyleGenerator.getCitationStyleCache().listenTo(bibDatabaseContext.getDatabase());
         annotationCache = new FileAnnotationCache(bibDatabaseContext, preferencesService.getFilePreferences());
 
         setupMainPanel();
@@ -207,7 +206,7 @@ public class LibraryTab extends Tab {
     }
 
     public void feedData(BibDatabaseContext bibDatabaseContext) {
-        cleanUp();
+        releaseDatabaseContext();
 
         this.bibDatabaseContext = Objects.requireNonNull(bibDatabaseContext);
 
@@ -215,7 +214,7 @@ public class LibraryTab extends Tab {
         bibDatabaseContext.getMetaData().registerListener(this);
 
         this.tableModel = new MainTableDataModel(getBibDatabaseContext(), preferencesService, stateManager);
-        citationStyleCache = new CitationStyleCache(bibDatabaseContext);
+        CitationStyleGenerator.getCitationStyleCache().listenTo(bibDatabaseContext.getDatabase());
         annotationCache = new FileAnnotationCache(bibDatabaseContext, preferencesService.getFilePreferences());
 
         setupMainPanel();
@@ -668,9 +667,21 @@ public class LibraryTab extends Tab {
      * Perform necessary cleanup when this BasePanel is closed.
      */
     public void cleanUp() {
+        indexingTaskManager.shutdown();
+        releaseDatabaseContext();
+    }
+
+    /**
+     * Releases the resources bound to the current library. The indexing task manager is kept, as it is used for the
+     * library fed into this tab afterwards.
+     */
+    private void releaseDatabaseContext() {
         changeMonitor.ifPresent(DatabaseChangeMonitor::unregister);
         AutosaveManager.shutdown(bibDatabaseContext);
         BackupManager.shutdown(bibDatabaseContext);
+        PdfIndexer.shutdown(bibDatabaseContext);
+        CitationStyleGenerator.getCitationStyleCache().stopListeningTo(bibDatabaseContext.getDatabase());
+        tableModel.close();
     }
 
     /**
@@ -721,10 +732,6 @@ public class LibraryTab extends Tab {
         this.currentSearchQuery = currentSearchQuery;
     }
 
-    public CitationStyleCache getCitationStyleCache() {
-        return citationStyleCache;
-    }
-
     public FileAnnotationCache getAnnotationCache() {
         return annotationCache;
     }
@@ -859,7 +866,7 @@ public class LibraryTab extends Tab {
 
         public IndexUpdateListener() {
             try {
-                indexingTaskManager.addToIndex(PdfIndexer.of(bibDatabaseContext, preferencesService.getFilePreferences()), bibDatabaseContext);
+                indexingTaskManager.updateIndex(PdfIndexer.of(bibDatabaseContext, preferencesService.getFilePreferences()), bibDatabaseContext);
             } catch (IOException e) {
                 LOGGER.error("Cannot access lucene index", e);
             }
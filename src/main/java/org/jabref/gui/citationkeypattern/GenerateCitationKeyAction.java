@@ -1,5 +1,6 @@
 package org.jabref.gui.citationkeypattern;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.function.Consumer;
 
@@ -42,7 +43,8 @@ public class GenerateCitationKeyAction extends SimpleCommand {
 
     @Override
     public void execute() {
-        entries = stateManager.getSelectedEntries();
+        // a copy, as entries are removed from it and the selection may change while the keys are generated
+        entries = new ArrayList<>(stateManager.getSelectedEntries());
 
         if (entries.isEmpty()) {
             dialogService.showWarningDialogAndWait(Localization.lang("Autogenerate citation keys"),
@@ -113,16 +115,19 @@ public class GenerateCitationKeyAction extends SimpleCommand {
                         compound = new NamedCompound(Localization.lang("Autogenerate citation keys"));
                         CitationKeyGenerator keyGenerator =
                                 new CitationKeyGenerator(databaseContext, preferencesService.getCitationKeyPatternPreferences());
-                        int entriesDone = 0;
-                        for (BibEntry entry : entries) {
-                            keyGenerator.generateAndSetKey(entry)
-                                        .ifPresent(fieldChange -> compound.addEdit(new UndoableKeyChange(fieldChange)));
-                            entriesDone++;
-                            int finalEntriesDone = entriesDone;
-                            DefaultTaskExecutor.runInJavaFXThread(() -> {
-                                updateProgress(finalEntriesDone, entries.size());
-                                messageProperty().set(Localization.lang("%0/%1 entries", finalEntriesDone, entries.size()));
-                            });
+                        // the keys are generated in parallel, the letters making them unique are appended in the order of the entries
+                        List<String> newKeys = keyGenerator.generateKeys(entries);
+                        int progressStep = Math.max(1, entries.size() / 100);
+                        for (int entriesDone = 1; entriesDone <= entries.size(); entriesDone++) {
+                            entries.get(entriesDone - 1).setCitationKey(newKeys.get(entriesDone - 1))
+                                   .ifPresent(fieldChange -> compound.addEdit(new UndoableKeyChange(fieldChange)));
+                            if (((entriesDone % progressStep) == 0) || (entriesDone == entries.size())) {
+                                int finalEntriesDone = entriesDone;
+                                DefaultTaskExecutor.runInJavaFXThread(() -> {
+                                    updateProgress(finalEntriesDone, entries.size());
+                                    messageProperty().set(Localization.lang("%0/%1 entries", finalEntriesDone, entries.size()));
+                                });
+                            }
                         }
                         compound.end();
                     });
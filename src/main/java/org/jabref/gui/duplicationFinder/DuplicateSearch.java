@@ -1,15 +1,23 @@
 package org.jabref.gui.duplicationFinder;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Deque;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
 
 import javafx.beans.binding.Bindings;
 import javafx.beans.property.SimpleIntegerProperty;
@@ -29,16 +37,26 @@ import org.jabref.gui.undo.UndoableInsertEntries;
 import org.jabref.gui.undo.UndoableRemoveEntries;
 import org.jabref.gui.util.BackgroundTask;
 import org.jabref.gui.util.DefaultTaskExecutor;
+import org.jabref.logic.database.DuplicateCandidateFinder;
 import org.jabref.logic.database.DuplicateCheck;
+import org.jabref.logic.database.DuplicateSignature;
 import org.jabref.logic.l10n.Localization;
 import org.jabref.model.database.BibDatabaseContext;
 import org.jabref.model.database.BibDatabaseMode;
 import org.jabref.model.entry.BibEntry;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
 import static org.jabref.gui.actions.ActionHelper.needsDatabase;
 
 public class DuplicateSearch extends SimpleCommand {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(DuplicateSearch.class);
+
+    // number of candidate pairs checked by a worker at once
+    private static final int BATCH_SIZE = 500;
+
     private final JabRefFrame frame;
     private final BlockingQueue<List<BibEntry>> duplicates = new LinkedBlockingQueue<>();
 
@@ -83,20 +101,12 @@ public class DuplicateSearch extends SimpleCommand {
     }
 
     private void searchPossibleDuplicates(List<BibEntry> entries, BibDatabaseMode databaseMode) {
-        for (int i = 0; (i < (entries.size() - 1)); i++) {
-            for (int j = i + 1; (j < entries.size()); j++) {
-                if (Thread.interrupted()) {
-                    return;
-                }
-
-                BibEntry first = entries.get(i);
-                BibEntry second = entries.get(j);
-
-                if (new DuplicateCheck(Globals.entryTypesManager).isDuplicate(first, second, databaseMode)) {
-                    duplicates.add(Arrays.asList(first, second));
-                    duplicateCountObservable.set(String.valueOf(duplicateCount.incrementAndGet()));
-                }
-            }
+        try (DuplicateVerification verification = new DuplicateVerification(entries, databaseMode)) {
+            new DuplicateCandidateFinder(entries).findCandidates(verification);
+            verification.finish();
+        }
+        if (Thread.interrupted()) {
+            return;
         }
         libraryAnalyzed.set(true);
     }
@@ -193,6 +203,100 @@ public class DuplicateSearch extends SimpleCommand {
         libraryTab.getUndoManager().addEdit(compoundEdit);
     }
 
+    /**
+     * Checks the candidate pairs for duplicates on a pool of worker threads. The pairs are checked in batches, and the
+     * duplicates found are added to the queue of duplicates in the order of the candidates. At most two batches per
+     * worker are pending at any time, so that the finder of the candidates does not run ahead of the workers.
+     */
+    private class DuplicateVerification implements BiConsumer<BibEntry, BibEntry>, AutoCloseable {
+
+        private final DuplicateCheck duplicateCheck = new DuplicateCheck(Globals.entryTypesManager);
+        private final BibDatabaseMode databaseMode;
+        // the fields of each entry are normalized once, not once per candidate pair
+        private final Map<BibEntry, DuplicateSignature> signatures = new IdentityHashMap<>();
+        private final ExecutorService executor;
+        private final int maxPendingBatches;
+        private final Deque<Future<List<List<BibEntry>>>> pendingBatches = new ArrayDeque<>();
+        private List<DuplicateSignature[]> batch = new ArrayList<>(BATCH_SIZE);
+
+        DuplicateVerification(List<BibEntry> entries, BibDatabaseMode databaseMode) {
+            this.databaseMode = databaseMode;
+            for (BibEntry entry : entries) {
+                signatures.put(entry, new DuplicateSignature(entry));
+            }
+            int numberOfWorkers = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+            this.maxPendingBatches = 2 * numberOfWorkers;
+            this.executor = Executors.newFixedThreadPool(numberOfWorkers, runnable -> {
+                Thread thread = new Thread(runnable);
+                thread.setName("JabRef DuplicateCheck");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+
+        @Override
+        public void accept(BibEntry first, BibEntry second) {
+            batch.add(new DuplicateSignature[] {signatures.get(first), signatures.get(second)});
+            if (batch.size() >= BATCH_SIZE) {
+                submitBatch();
+            }
+        }
+
+        /**
+         * Checks the remaining candidates and waits until all duplicates are added to the queue
+         */
+        void finish() {
+            submitBatch();
+            while (!pendingBatches.isEmpty() && !Thread.currentThread().isInterrupted()) {
+                publish(pendingBatches.poll());
+            }
+        }
+
+        private void submitBatch() {
+            if (batch.isEmpty()) {
+                return;
+            }
+            List<DuplicateSignature[]> pairs = batch;
+            batch = new ArrayList<>(BATCH_SIZE);
+            pendingBatches.add(executor.submit(() -> checkPairs(pairs)));
+            if (pendingBatches.size() >= maxPendingBatches) {
+                publish(pendingBatches.poll());
+            }
+        }
+
+        private List<List<BibEntry>> checkPairs(List<DuplicateSignature[]> pairs) {
+            List<List<BibEntry>> foundDuplicates = new ArrayList<>();
+            for (DuplicateSignature[] pair : pairs) {
+                if (Thread.currentThread().isInterrupted()) {
+                    break;
+                }
+                if (duplicateCheck.isDuplicate(pair[0], pair[1], databaseMode)) {
+                    foundDuplicates.add(Arrays.asList(pair[0].getEntry(), pair[1].getEntry()));
+                }
+            }
+            return foundDuplicates;
+        }
+
+        private void publish(Future<List<List<BibEntry>>> pendingBatch) {
+            try {
+                for (List<BibEntry> duplicate : pendingBatch.get()) {
+                    duplicates.add(duplicate);
+                    duplicateCountObservable.set(String.valueOf(duplicateCount.incrementAndGet()));
+                }
+            } catch (InterruptedException e) {
+                pendingBatch.cancel(true);
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException e) {
+                LOGGER.error("Could not check entries for duplicates", e.getCause());
+            }
+        }
+
+        @Override
+        public void close() {
+            executor.shutdownNow();
+        }
+    }
+
     /**
      * Result of a duplicate search.
      * Uses {@link System#identityHashCode(Object)} for identifying objects for removal, as completely identical
@@ -7,6 +7,7 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Optional;
 import java.util.Set;
+import java.util.TreeSet;
 import java.util.stream.Collectors;
 
 import javafx.scene.control.ButtonBar;
@@ -24,6 +25,7 @@ import org.jabref.gui.util.FileDialogConfiguration;
 import org.jabref.logic.autosaveandbackup.AutosaveManager;
 import org.jabref.logic.autosaveandbackup.BackupManager;
 import org.jabref.logic.exporter.AtomicFileWriter;
+import org.jabref.logic.exporter.BibFileLayout;
 import org.jabref.logic.exporter.BibWriter;
 import org.jabref.logic.exporter.BibtexDatabaseWriter;
 import org.jabref.logic.exporter.SaveException;
@@ -229,21 +231,31 @@ public class SaveDatabaseAction {
         GeneralPreferences generalPreferences = this.preferences.getGeneralPreferences();
         SavePreferences savePreferences = this.preferences.getSavePreferences()
                                                       .withSaveType(saveType);
-        try (AtomicFileWriter fileWriter = new AtomicFileWriter(file, encoding, savePreferences.shouldMakeBackup())) {
-            BibDatabaseContext bibDatabaseContext = libraryTab.getBibDatabaseContext();
-            BibWriter bibWriter = new BibWriter(fileWriter, bibDatabaseContext.getDatabase().getNewLineSeparator());
-            BibtexDatabaseWriter databaseWriter = new BibtexDatabaseWriter(bibWriter, generalPreferences, savePreferences, entryTypesManager);
-
-            if (selectedOnly) {
-                databaseWriter.savePartOfDatabase(bibDatabaseContext, libraryTab.getSelectedEntries());
-            } else {
-                databaseWriter.saveDatabase(bibDatabaseContext);
-            }
+        BibDatabaseContext bibDatabaseContext = libraryTab.getBibDatabaseContext();
+        Set<Character> encodingProblems;
+        try {
+            BibtexDatabaseWriter databaseWriter;
+            try (AtomicFileWriter fileWriter = new AtomicFileWriter(file, encoding, savePreferences.shouldMakeBackup())) {
+                BibWriter bibWriter = new BibWriter(fileWriter, bibDatabaseContext.getDatabase().getNewLineSeparator());
+
+                if (selectedOnly) {
+                    databaseWriter = new BibtexDatabaseWriter(bibWriter, generalPreferences, savePreferences, entryTypesManager);
+                    databaseWriter.savePartOfDatabase(bibDatabaseContext, libraryTab.getSelectedEntries());
+                } else {
+                    // entries which did not change since the last save to this file are copied from it
+                    Optional<BibFileLayout> previousLayout = bibDatabaseContext.getFileLayout()
+                                                                               .filter(layout -> layout.getFile().equals(file));
+                    bibDatabaseContext.clearFileLayout();
+                    databaseWriter = new BibtexDatabaseWriter(bibWriter, fileWriter, previousLayout, generalPreferences, savePreferences, entryTypesManager);
+                    databaseWriter.saveDatabase(bibDatabaseContext);
+                }
 
-            libraryTab.registerUndoableChanges(databaseWriter.getSaveActionsFieldChanges());
+                libraryTab.registerUndoableChanges(databaseWriter.getSaveActionsFieldChanges());
+                encodingProblems = new TreeSet<>(fileWriter.getEncodingProblems());
+            }
 
-            if (fileWriter.hasEncodingProblems()) {
-                saveWithDifferentEncoding(file, selectedOnly, encoding, fileWriter.getEncodingProblems(), saveType);
+            if (!selectedOnly) {
+                databaseWriter.getFileLayout(file).ifPresent(bibDatabaseContext::setFileLayout);
             }
         } catch (UnsupportedCharsetException ex) {
             throw new SaveException(Localization.lang("Character encoding '%0' is not supported.", encoding.displayName()), ex);
@@ -251,6 +263,11 @@ public class SaveDatabaseAction {
             throw new SaveException("Problems saving: " + ex, ex);
         }
 
+        // the file has to be closed before it is saved again
+        if (!encodingProblems.isEmpty()) {
+            saveWithDifferentEncoding(file, selectedOnly, encoding, encodingProblems, saveType);
+        }
+
         return true;
     }
 
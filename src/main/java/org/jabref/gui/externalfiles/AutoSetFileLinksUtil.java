@@ -16,6 +16,7 @@ import org.jabref.gui.undo.UndoableFieldChange;
 import org.jabref.gui.util.DefaultTaskExecutor;
 import org.jabref.logic.bibtex.FileFieldWriter;
 import org.jabref.logic.util.io.AutoLinkPreferences;
+import org.jabref.logic.util.io.DirectoryIndexCache;
 import org.jabref.logic.util.io.FileFinder;
 import org.jabref.logic.util.io.FileFinders;
 import org.jabref.logic.util.io.FileUtil;
@@ -23,6 +24,7 @@ import org.jabref.model.database.BibDatabaseContext;
 import org.jabref.model.entry.BibEntry;
 import org.jabref.model.entry.LinkedFile;
 import org.jabref.model.entry.field.StandardField;
+import org.jabref.model.util.DummyFileUpdateMonitor;
 import org.jabref.model.util.FileHelper;
 import org.jabref.preferences.FilePreferences;
 
@@ -54,17 +56,27 @@ public class AutoSetFileLinksUtil {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(AutoSetFileLinksUtil.class);
     private final List<Path> directories;
-    private final AutoLinkPreferences autoLinkPreferences;
     private final ExternalFileTypes externalFileTypes;
+    private final FileFinder fileFinder;
 
+    /**
+     * Creates a util which walks the file directories once for all entries it is used for
+     */
     public AutoSetFileLinksUtil(BibDatabaseContext databaseContext, FilePreferences filePreferences, AutoLinkPreferences autoLinkPreferences, ExternalFileTypes externalFileTypes) {
-        this(databaseContext.getFileDirectories(filePreferences), autoLinkPreferences, externalFileTypes);
+        this(databaseContext, filePreferences, autoLinkPreferences, externalFileTypes, new DirectoryIndexCache(new DummyFileUpdateMonitor()));
     }
 
-    private AutoSetFileLinksUtil(List<Path> directories, AutoLinkPreferences autoLinkPreferences, ExternalFileTypes externalFileTypes) {
+    /**
+     * Creates a util which looks up files in the directory indexes of the given cache
+     */
+    public AutoSetFileLinksUtil(BibDatabaseContext databaseContext, FilePreferences filePreferences, AutoLinkPreferences autoLinkPreferences, ExternalFileTypes externalFileTypes, DirectoryIndexCache directoryIndexCache) {
+        this(databaseContext.getFileDirectories(filePreferences), autoLinkPreferences, externalFileTypes, directoryIndexCache);
+    }
+
+    private AutoSetFileLinksUtil(List<Path> directories, AutoLinkPreferences autoLinkPreferences, ExternalFileTypes externalFileTypes, DirectoryIndexCache directoryIndexCache) {
         this.directories = directories;
-        this.autoLinkPreferences = autoLinkPreferences;
         this.externalFileTypes = externalFileTypes;
+        this.fileFinder = FileFinders.constructFromConfiguration(autoLinkPreferences, directoryIndexCache);
     }
 
     public LinkFilesResult linkAssociatedFiles(List<BibEntry> entries, NamedCompound ce) {
@@ -110,7 +122,6 @@ public class AutoSetFileLinksUtil {
         List<String> extensions = externalFileTypes.getExternalFileTypeSelection().stream().map(ExternalFileType::getExtension).collect(Collectors.toList());
 
         // Run the search operation
-        FileFinder fileFinder = FileFinders.constructFromConfiguration(autoLinkPreferences);
         List<Path> result = fileFinder.findAssociatedFiles(entry, directories, extensions);
 
         // Collect the found files that are not yet linked
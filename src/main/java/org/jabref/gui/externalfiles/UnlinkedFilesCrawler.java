@@ -2,12 +2,16 @@ package org.jabref.gui.externalfiles;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.DirectoryIteratorException;
 import java.nio.file.DirectoryStream.Filter;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
@@ -15,6 +19,7 @@ import java.util.stream.StreamSupport;
 import javafx.scene.control.CheckBoxTreeItem;
 
 import org.jabref.gui.util.BackgroundTask;
+import org.jabref.gui.util.DefaultTaskExecutor;
 import org.jabref.gui.util.FileNodeViewModel;
 import org.jabref.model.database.BibDatabase;
 import org.jabref.model.database.BibDatabaseContext;
@@ -25,17 +30,26 @@ import org.slf4j.LoggerFactory;
 
 /**
  * Util class for searching files on the file system which are not linked to a provided {@link BibDatabase}.
+ * <p>
+ * The directories are searched in parallel. If requested via {@link #onPartialResult(Consumer)}, the subdirectories of
+ * the searched directory are shown as soon as they are searched completely.
  */
 public class UnlinkedFilesCrawler extends BackgroundTask<FileNodeViewModel> {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(UnlinkedFilesCrawler.class);
 
+    /**
+     * Directories are mostly read from disks or network shares, thus more threads than cores are used
+     */
+    private static final int PARALLELISM = Math.max(4, 2 * Runtime.getRuntime().availableProcessors());
+
     private final Path directory;
     private final Filter<Path> fileFilter;
     private final DateRange dateFilter;
     private final ExternalFileSorter sorter;
     private final BibDatabaseContext databaseContext;
     private final FilePreferences filePreferences;
+    private Consumer<FileNodeViewModel> onPartialResult;
 
     public UnlinkedFilesCrawler(Path directory, Filter<Path> fileFilter, DateRange dateFilter, ExternalFileSorter sorter, BibDatabaseContext databaseContext, FilePreferences filePreferences) {
         this.directory = directory;
@@ -46,10 +60,41 @@ public class UnlinkedFilesCrawler extends BackgroundTask<FileNodeViewModel> {
         this.filePreferences = filePreferences;
     }
 
+    /**
+     * The given consumer receives a preliminary root node in the JavaFX thread when the search starts. The searched
+     * subdirectories are added to it (in the JavaFX thread) as soon as they are complete. The final result replaces
+     * it, as the files directly in the searched directory are added and the subdirectories are sorted only then.
+     */
+    public UnlinkedFilesCrawler onPartialResult(Consumer<FileNodeViewModel> onPartialResult) {
+        this.onPartialResult = onPartialResult;
+        return this;
+    }
+
     @Override
     protected FileNodeViewModel call() throws IOException {
+        if ((directory == null) || !Files.isDirectory(directory)) {
+            throw new IOException(String.format("Invalid directory for searching: %s", directory));
+        }
+
         UnlinkedPDFFileFilter unlinkedPDFFileFilter = new UnlinkedPDFFileFilter(fileFilter, databaseContext, filePreferences);
-        return searchDirectory(directory, unlinkedPDFFileFilter);
+
+        Consumer<FileNodeViewModel> onSubdirectorySearched = subRoot -> {
+        };
+        if (onPartialResult != null) {
+            FileNodeViewModel partialRoot = new FileNodeViewModel(directory);
+            DefaultTaskExecutor.runInJavaFXThread(() -> onPartialResult.accept(partialRoot));
+            onSubdirectorySearched = subRoot -> DefaultTaskExecutor.runInJavaFXThread(() -> {
+                partialRoot.setFileCount(partialRoot.getFileCount() + subRoot.getFileCount());
+                partialRoot.getChildren().add(subRoot);
+            });
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(PARALLELISM);
+        try {
+            return pool.invoke(new SearchDirectoryAction(directory, unlinkedPDFFileFilter, onSubdirectorySearched, false));
+        } finally {
+            pool.shutdown();
+        }
     }
 
     /**
@@ -62,56 +107,77 @@ public class UnlinkedFilesCrawler extends BackgroundTask<FileNodeViewModel> {
      * The user objects that are attached to the nodes is the {@link FileNodeViewModel}, which wraps the {@link
      * File}-Object. <br>
      * <br>
-     * For ensuring the capability to cancel the work of this recursive method, the first position in the integer array
-     * 'state' must be set to 1, to keep the recursion running. When the states value changes, the method will resolve
-     * its recursion and return what it has saved so far.
+     * The subdirectories are searched by separate actions in parallel. When the task is canceled, the actions stop
+     * descending and return what they have found so far.
      * <br>
-     * The files are filtered according to the {@link DateRange} filter value 
+     * The files are filtered according to the {@link DateRange} filter value
      * and then sorted according to the {@link ExternalFileSorter} value.
-     *
-     * @throws IOException if directory is not a directory or empty
      */
-    private FileNodeViewModel searchDirectory(Path directory, UnlinkedPDFFileFilter fileFilter) throws IOException {
-        // Return null if the directory is not valid.
-        if ((directory == null) || !Files.isDirectory(directory)) {
-            throw new IOException(String.format("Invalid directory for searching: %s", directory));
-        }
+    private class SearchDirectoryAction extends RecursiveTask<FileNodeViewModel> {
 
-        FileNodeViewModel parent = new FileNodeViewModel(directory);
-        Map<Boolean, List<Path>> fileListPartition;
+        private final Path directory;
+        private final UnlinkedPDFFileFilter fileFilter;
+        private final Consumer<FileNodeViewModel> onSubdirectorySearched;
+        private final boolean isSubdirectory;
 
-        try (Stream<Path> filesStream = StreamSupport.stream(Files.newDirectoryStream(directory, fileFilter).spliterator(), false)) {
-            fileListPartition = filesStream.collect(Collectors.partitioningBy(Files::isDirectory));
-        } catch (IOException e) {
-            LOGGER.error(String.format("%s while searching files: %s", e.getClass().getName(), e.getMessage()));
-            return parent;
+        SearchDirectoryAction(Path directory, UnlinkedPDFFileFilter fileFilter, Consumer<FileNodeViewModel> onSubdirectorySearched, boolean isSubdirectory) {
+            this.directory = directory;
+            this.fileFilter = fileFilter;
+            this.onSubdirectorySearched = onSubdirectorySearched;
+            this.isSubdirectory = isSubdirectory;
         }
 
-        List<Path> subDirectories = fileListPartition.get(true);
-        List<Path> files = new ArrayList<>(fileListPartition.get(false));
-        int fileCount = 0;
+        @Override
+        protected FileNodeViewModel compute() {
+            FileNodeViewModel parent = new FileNodeViewModel(directory);
+            if (isCanceled()) {
+                return parent;
+            }
+
+            Map<Boolean, List<Path>> fileListPartition;
+            try (Stream<Path> filesStream = StreamSupport.stream(Files.newDirectoryStream(directory, fileFilter).spliterator(), false)) {
+                fileListPartition = filesStream.collect(Collectors.partitioningBy(Files::isDirectory));
+            } catch (IOException | DirectoryIteratorException e) {
+                LOGGER.error(String.format("%s while searching files: %s", e.getClass().getName(), e.getMessage()));
+                return parent;
+            }
+
+            List<SearchDirectoryAction> subDirectoryActions = new ArrayList<>();
+            for (Path subDirectory : fileListPartition.get(true)) {
+                // only the direct subdirectories of the searched directory are reported as partial results
+                Consumer<FileNodeViewModel> onSearched = isSubdirectory ? subRoot -> {
+                } : onSubdirectorySearched;
+                subDirectoryActions.add(new SearchDirectoryAction(subDirectory, fileFilter, onSearched, true));
+            }
+            invokeAll(subDirectoryActions);
 
-        for (Path subDirectory : subDirectories) {
-            FileNodeViewModel subRoot = searchDirectory(subDirectory, fileFilter);
+            int fileCount = 0;
+            for (SearchDirectoryAction subDirectoryAction : subDirectoryActions) {
+                FileNodeViewModel subRoot = subDirectoryAction.join();
 
-            if (!subRoot.getChildren().isEmpty()) {
-                fileCount += subRoot.getFileCount();
-                parent.getChildren().add(subRoot);
+                if (!subRoot.getChildren().isEmpty()) {
+                    fileCount += subRoot.getFileCount();
+                    parent.getChildren().add(subRoot);
+                }
             }
-        }
-        // filter files according to last edited date.
-        List<Path> filteredFiles = new ArrayList<Path>();
-        for (Path path : files) {
-            if (FileFilterUtils.filterByDate(path, dateFilter)) {
-                filteredFiles.add(path);
+            // filter files according to last edited date.
+            List<Path> filteredFiles = new ArrayList<>();
+            for (Path path : fileListPartition.get(false)) {
+                if (FileFilterUtils.filterByDate(path, dateFilter)) {
+                    filteredFiles.add(path);
+                }
             }
+            // sort files according to last edited date.
+            filteredFiles = FileFilterUtils.sortByDate(filteredFiles, sorter);
+            parent.setFileCount(filteredFiles.size() + fileCount);
+            parent.getChildren().addAll(filteredFiles.stream()
+                    .map(FileNodeViewModel::new)
+                    .collect(Collectors.toList()));
+
+            if (isSubdirectory && !parent.getChildren().isEmpty()) {
+                onSubdirectorySearched.accept(parent);
+            }
+            return parent;
         }
-        // sort files according to last edited date.
-        filteredFiles = FileFilterUtils.sortByDate(filteredFiles, sorter);
-        parent.setFileCount(filteredFiles.size() + fileCount);
-        parent.getChildren().addAll(filteredFiles.stream()
-                .map(FileNodeViewModel::new)
-                .collect(Collectors.toList()));
-        return parent;
     }
 }
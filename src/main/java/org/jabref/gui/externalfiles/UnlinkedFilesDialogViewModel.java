@@ -119,6 +119,8 @@ public class UnlinkedFilesDialogViewModel {
         progressTextProperty.unbind();
 
         findUnlinkedFilesTask = new UnlinkedFilesCrawler(directory, selectedFileFilter, selectedDateFilter, selectedSortFilter, bibDatabase, preferences.getFilePreferences())
+                // show the subdirectories already searched while the search continues
+                .onPartialResult(partialRoot -> treeRootProperty.setValue(Optional.of(partialRoot)))
                 .onRunning(() -> {
                     progressValueProperty.set(ProgressIndicator.INDETERMINATE_PROGRESS);
                     progressTextProperty.setValue(Localization.lang("Searching file system..."));
@@ -1,41 +1,79 @@
 package org.jabref.gui.maintable;
 
+import java.util.BitSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
 
+import javafx.beans.InvalidationListener;
+import javafx.beans.WeakInvalidationListener;
 import javafx.beans.binding.Bindings;
 import javafx.beans.property.IntegerProperty;
 import javafx.beans.property.ObjectProperty;
 import javafx.beans.property.SimpleIntegerProperty;
 import javafx.beans.property.SimpleObjectProperty;
+import javafx.beans.value.ChangeListener;
+import javafx.beans.value.WeakChangeListener;
 import javafx.collections.ObservableList;
 import javafx.collections.transformation.FilteredList;
 import javafx.collections.transformation.SortedList;
 
+import org.jabref.gui.Globals;
 import org.jabref.gui.StateManager;
 import org.jabref.gui.groups.GroupViewMode;
+import org.jabref.gui.util.BackgroundTask;
 import org.jabref.gui.util.BindingsHelper;
+import org.jabref.gui.util.DefaultTaskExecutor;
+import org.jabref.logic.search.DatabaseSearchIndex;
+import org.jabref.logic.search.DatabaseSearcher;
 import org.jabref.logic.search.SearchQuery;
 import org.jabref.model.database.BibDatabaseContext;
 import org.jabref.model.entry.BibEntry;
+import org.jabref.model.groups.GroupMembership;
+import org.jabref.model.groups.GroupMembershipIndex;
 import org.jabref.model.groups.GroupTreeNode;
-import org.jabref.model.search.matchers.MatcherSet;
-import org.jabref.model.search.matchers.MatcherSets;
 import org.jabref.preferences.PreferencesService;
 
 import com.tobiasdiez.easybind.EasyBind;
 
 public class MainTableDataModel {
+
+    /**
+     * Results of a search are only shown before the search is finished if it takes longer than this. Thus, the table
+     * does not flicker if the search is fast enough.
+     */
+    private static final long STREAMING_DELAY_MILLIS = 200;
+
     private final FilteredList<BibEntryTableViewModel> entriesFiltered;
     private final SortedList<BibEntryTableViewModel> entriesSorted;
     private final GroupViewMode groupViewMode;
     private final ObjectProperty<MainTableFieldValueFormatter> fieldValueFormatter;
     private final PreferencesService preferencesService;
     private final BibDatabaseContext bibDatabaseContext;
+    private final DatabaseSearchIndex searchIndex;
+    private final GroupMembershipIndex groupMemberships;
+    // the ordinals (see GroupMembershipIndex) of the entries matched by the selected groups and by the search, null if there is no such filter
+    private BitSet groupMatches;
+    private BitSet searchMatches;
+    // the generations of the index the matches were taken at, as ordinals of removed entries are reused by added entries
+    private long groupMatchesGeneration;
+    private long searchMatchesGeneration;
+    // the listeners are only weakly referenced by the state manager, so that replaced models can be garbage collected
+    private final ChangeListener<Optional<SearchQuery>> searchQueryListener = (observable, oldValue, newValue) -> search(newValue);
+    private final InvalidationListener selectedGroupsListener;
+    // the memberships of the selected groups, which also only weakly reference their listener
+    private final Runnable onMembershipChanged = this::onMembershipChanged;
+    private final AtomicBoolean isGroupMatchesUpdatePending = new AtomicBoolean(false);
+    private List<GroupMembership> selectedMemberships = List.of();
+    private BackgroundTask<Boolean> searchTask;
 
     public MainTableDataModel(BibDatabaseContext context, PreferencesService preferencesService, StateManager stateManager) {
         this.preferencesService = preferencesService;
         this.bibDatabaseContext = context;
+        this.searchIndex = new DatabaseSearchIndex(context.getDatabase());
+        this.groupMemberships = context.getGroupMemberships();
         this.fieldValueFormatter = new SimpleObjectProperty<>(
                 new MainTableFieldValueFormatter(preferencesService, bibDatabaseContext));
 
@@ -43,46 +81,156 @@ public class MainTableDataModel {
         ObservableList<BibEntryTableViewModel> entriesViewModel = EasyBind.mapBacked(allEntries, entry ->
                 new BibEntryTableViewModel(entry, bibDatabaseContext, fieldValueFormatter));
 
+        groupViewMode = preferencesService.getGroupViewMode();
         entriesFiltered = new FilteredList<>(entriesViewModel);
-        entriesFiltered.predicateProperty().bind(
-                EasyBind.combine(stateManager.activeGroupProperty(), stateManager.activeSearchQueryProperty(), (groups, query) -> entry -> isMatched(groups, query, entry))
-        );
+        selectedGroupsListener = observable -> selectGroups(stateManager.activeGroupProperty().get());
+        stateManager.activeGroupProperty().addListener(new WeakInvalidationListener(selectedGroupsListener));
+        selectGroups(stateManager.activeGroupProperty().get());
+        stateManager.activeSearchQueryProperty().addListener(new WeakChangeListener<>(searchQueryListener));
+        search(stateManager.activeSearchQueryProperty().get());
 
         IntegerProperty resultSize = new SimpleIntegerProperty();
         resultSize.bind(Bindings.size(entriesFiltered));
         stateManager.setActiveSearchResultSize(context, resultSize);
         // We need to wrap the list since otherwise sorting in the table does not work
         entriesSorted = new SortedList<>(entriesFiltered);
-        groupViewMode = preferencesService.getGroupViewMode();
     }
 
-    private boolean isMatched(ObservableList<GroupTreeNode> groups, Optional<SearchQuery> query, BibEntryTableViewModel entry) {
-        return isMatchedByGroup(groups, entry) && isMatchedBySearch(query, entry);
+    /**
+     * Filters the entries by the memberships of the selected groups, which are kept up to date by the group membership
+     * index of the library. Thus, the entries are not matched against the groups again each time the filter changes.
+     */
+    private void selectGroups(List<GroupTreeNode> selectedGroups) {
+        selectedMemberships.forEach(membership -> membership.removeListener(onMembershipChanged));
+        if ((selectedGroups == null) || selectedGroups.isEmpty()) {
+            // No selected group, show all entries
+            selectedMemberships = List.of();
+        } else {
+            selectedMemberships = selectedGroups.stream()
+                                                .map(groupMemberships::getMembership)
+                                                .collect(Collectors.toList());
+            selectedMemberships.forEach(membership -> membership.addListener(onMembershipChanged));
+        }
+        updateGroupMatches();
     }
 
-    private boolean isMatchedBySearch(Optional<SearchQuery> query, BibEntryTableViewModel entry) {
-        return query.map(matcher -> matcher.isMatch(entry.getEntry()))
-                    .orElse(true);
+    /**
+     * Entries which are added or changed are filtered before the membership index has processed the change. Thus, the
+     * filter is applied again as soon as a membership of a selected group changes.
+     */
+    private void onMembershipChanged() {
+        if (isGroupMatchesUpdatePending.compareAndSet(false, true)) {
+            DefaultTaskExecutor.runInJavaFXThread(() -> {
+                isGroupMatchesUpdatePending.set(false);
+                updateGroupMatches();
+            });
+        }
     }
 
-    private boolean isMatchedByGroup(ObservableList<GroupTreeNode> groups, BibEntryTableViewModel entry) {
-        return createGroupMatcher(groups)
-                .map(matcher -> matcher.isMatch(entry.getEntry()))
-                .orElse(true);
+    private void updateGroupMatches() {
+        if (selectedMemberships.isEmpty()) {
+            groupMatches = null;
+        } else {
+            // taken before the matches, so that entries added meanwhile are not looked up in them
+            groupMatchesGeneration = groupMemberships.getGeneration();
+            BitSet matches = selectedMemberships.get(0).getOrdinals();
+            for (GroupMembership membership : selectedMemberships.subList(1, selectedMemberships.size())) {
+                if (groupViewMode == GroupViewMode.INTERSECTION) {
+                    matches.and(membership.getOrdinals());
+                } else {
+                    matches.or(membership.getOrdinals());
+                }
+            }
+            groupMatches = matches;
+        }
+        updateFilter();
     }
 
-    private Optional<MatcherSet> createGroupMatcher(List<GroupTreeNode> selectedGroups) {
-        if ((selectedGroups == null) || selectedGroups.isEmpty()) {
-            // No selected group, show all entries
-            return Optional.empty();
+    /**
+     * Combines the matches of the selected groups and of the search. The table is refiltered at once, and each entry is
+     * only looked up in the combined matches. Entries added after the matches were taken are hidden until the matches
+     * are updated.
+     */
+    private void updateFilter() {
+        BitSet visibleOrdinals;
+        long generation;
+        if ((groupMatches != null) && (searchMatches != null)) {
+            visibleOrdinals = (BitSet) groupMatches.clone();
+            visibleOrdinals.and(searchMatches);
+            generation = Math.min(groupMatchesGeneration, searchMatchesGeneration);
+        } else if (groupMatches != null) {
+            visibleOrdinals = groupMatches;
+            generation = groupMatchesGeneration;
+        } else {
+            visibleOrdinals = searchMatches;
+            generation = searchMatchesGeneration;
         }
 
-        final MatcherSet searchRules = MatcherSets.build(groupViewMode == GroupViewMode.INTERSECTION ? MatcherSets.MatcherType.AND : MatcherSets.MatcherType.OR);
+        if (visibleOrdinals == null) {
+            entriesFiltered.setPredicate(null);
+        } else {
+            entriesFiltered.setPredicate(entry -> {
+                int ordinal = groupMemberships.getOrdinal(entry.getEntry(), generation);
+                return (ordinal >= 0) && visibleOrdinals.get(ordinal);
+            });
+        }
+    }
+
+    /**
+     * Searches the library in the background and updates the filter with the matches found so far while the search
+     * is running. A search still running for a previous query is canceled.
+     */
+    private void search(Optional<SearchQuery> query) {
+        if (searchTask != null) {
+            searchTask.cancel();
+            searchTask = null;
+        }
+        if (query.isEmpty()) {
+            searchMatches = null;
+            updateFilter();
+            return;
+        }
 
-        for (GroupTreeNode node : selectedGroups) {
-            searchRules.addRule(node.getSearchMatcher());
+        BitSet matchingOrdinals = new BitSet();
+        long generation = groupMemberships.getGeneration();
+        AtomicBoolean isUpdatePending = new AtomicBoolean(false);
+        long streamingStart = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(STREAMING_DELAY_MILLIS);
+        DatabaseSearcher searcher = new DatabaseSearcher(query.get(), bibDatabaseContext.getDatabase(), searchIndex);
+        BackgroundTask<Boolean> task = new BackgroundTask<>() {
+            @Override
+            protected Boolean call() {
+                return searcher.getMatches(matches -> {
+                    BitSet batchOrdinals = groupMemberships.getOrdinals(matches);
+                    synchronized (matchingOrdinals) {
+                        matchingOrdinals.or(batchOrdinals);
+                    }
+                    // batches found while an update is pending are shown by this update
+                    if ((System.nanoTime() > streamingStart) && isUpdatePending.compareAndSet(false, true)) {
+                        DefaultTaskExecutor.runInJavaFXThread(() -> {
+                            isUpdatePending.set(false);
+                            if (searchTask == this) {
+                                showSearchMatches(matchingOrdinals, generation);
+                            }
+                        });
+                    }
+                }, this::isCanceled);
+            }
+        };
+        task.onSuccess(completed -> {
+            if (completed && (searchTask == task)) {
+                showSearchMatches(matchingOrdinals, generation);
+            }
+        });
+        searchTask = task;
+        task.executeWith(Globals.TASK_EXECUTOR);
+    }
+
+    private void showSearchMatches(BitSet matchingOrdinals, long generation) {
+        synchronized (matchingOrdinals) {
+            searchMatches = (BitSet) matchingOrdinals.clone();
         }
-        return Optional.of(searchRules);
+        searchMatchesGeneration = generation;
+        updateFilter();
     }
 
     public SortedList<BibEntryTableViewModel> getEntriesFilteredAndSorted() {
@@ -92,4 +240,15 @@ public class MainTableDataModel {
     public void refresh() {
         this.fieldValueFormatter.setValue(new MainTableFieldValueFormatter(preferencesService, bibDatabaseContext));
     }
+
+    /**
+     * Cancels a running search and stops updating the search index of the library. The model is not used afterwards.
+     */
+    public void close() {
+        if (searchTask != null) {
+            searchTask.cancel();
+            searchTask = null;
+        }
+        searchIndex.close();
+    }
 }
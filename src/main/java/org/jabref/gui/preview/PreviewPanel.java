@@ -23,6 +23,9 @@ import org.jabref.gui.externalfiletype.ExternalFileTypes;
 import org.jabref.gui.icon.IconTheme;
 import org.jabref.gui.keyboard.KeyBinding;
 import org.jabref.gui.keyboard.KeyBindingRepository;
+import org.jabref.logic.citationstyle.CitationStyleGenerator;
+import org.jabref.logic.citationstyle.CitationStyleOutputFormat;
+import org.jabref.logic.citationstyle.CitationStylePreviewLayout;
 import org.jabref.logic.l10n.Localization;
 import org.jabref.logic.preview.PreviewLayout;
 import org.jabref.model.database.BibDatabaseContext;
@@ -117,6 +120,15 @@ public class PreviewPanel extends VBox {
         PreviewLayout currentPreviewStyle = previewPreferences.getCurrentPreviewStyle();
         previewView.setLayout(currentPreviewStyle);
         preferences.storePreviewPreferences(previewPreferences);
+
+        // prepare the next layout of the cycle, so that switching to it does not wait for the citation style engine
+        List<PreviewLayout> previewCycle = previewPreferences.getPreviewCycle();
+        if (!previewCycle.isEmpty()) {
+            PreviewLayout nextPreviewStyle = previewCycle.get(Math.floorMod(previewPreferences.getPreviewCyclePosition() + 1, previewCycle.size()));
+            if (nextPreviewStyle instanceof CitationStylePreviewLayout citationStyleLayout) {
+                CitationStyleGenerator.warmUp(citationStyleLayout.getSource(), CitationStyleOutputFormat.HTML);
+            }
+        }
         if (!init) {
             dialogService.notify(Localization.lang("Preview style changed to: %0", currentPreviewStyle.getDisplayName()));
         }
@@ -13,7 +13,9 @@ import javafx.application.Platform;
 import javafx.beans.binding.Bindings;
 import javafx.beans.binding.BooleanBinding;
 import javafx.beans.property.BooleanProperty;
+import javafx.beans.property.IntegerProperty;
 import javafx.beans.property.SimpleBooleanProperty;
+import javafx.beans.value.ChangeListener;
 import javafx.css.PseudoClass;
 import javafx.event.Event;
 import javafx.geometry.Insets;
@@ -105,6 +107,11 @@ public class GlobalSearchBar extends HBox {
     private final BooleanProperty globalSearchActive = new SimpleBooleanProperty(false);
     private GlobalSearchResultDialog globalSearchResultDialog;
 
+    // the main table is filtered in the background, thus the number of results changes after the search started
+    private final ChangeListener<Number> searchResultSizeListener = (observable, oldValue, newValue) ->
+            stateManager.activeSearchQueryProperty().get().ifPresent(this::updateSearchResultsForQuery);
+    private IntegerProperty observedSearchResultSize;
+
     public GlobalSearchBar(JabRefFrame frame, StateManager stateManager, PreferencesService preferencesService, CountingUndoManager undoManager) {
         super();
         this.stateManager = stateManager;
@@ -198,7 +205,15 @@ public class GlobalSearchBar extends HBox {
     }
 
     private void updateSearchResultsForQuery(SearchQuery query) {
-        updateResults(this.stateManager.getSearchResultSize().intValue(), SearchDescribers.getSearchDescriberFor(query).getDescription(),
+        IntegerProperty searchResultSize = this.stateManager.getSearchResultSize();
+        if (searchResultSize != observedSearchResultSize) {
+            if (observedSearchResultSize != null) {
+                observedSearchResultSize.removeListener(searchResultSizeListener);
+            }
+            searchResultSize.addListener(searchResultSizeListener);
+            observedSearchResultSize = searchResultSize;
+        }
+        updateResults(searchResultSize.intValue(), SearchDescribers.getSearchDescriberFor(query).getDescription(),
                 query.isGrammarBasedSearch());
     }
 
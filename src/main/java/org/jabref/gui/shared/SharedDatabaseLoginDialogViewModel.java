@@ -157,16 +157,17 @@ public class SharedDatabaseLoginDialogViewModel extends AbstractViewModel {
 
         try {
             SharedDatabaseUIManager manager = new SharedDatabaseUIManager(frame);
-            LibraryTab libraryTab = manager.openNewSharedDatabaseTab(connectionProperties);
-            setPreferences();
-
-            if (!folder.getValue().isEmpty()) {
-                try {
-                    new SaveDatabaseAction(libraryTab, Globals.prefs, Globals.entryTypesManager).saveAs(Path.of(folder.getValue()));
-                } catch (Throwable e) {
-                    LOGGER.error("Error while saving the database", e);
+            String localFile = folder.getValue();
+            manager.openNewSharedDatabaseTab(connectionProperties, libraryTab -> {
+                if (!localFile.isEmpty()) {
+                    try {
+                        new SaveDatabaseAction(libraryTab, Globals.prefs, Globals.entryTypesManager).saveAs(Path.of(localFile));
+                    } catch (Throwable e) {
+                        LOGGER.error("Error while saving the database", e);
+                    }
                 }
-            }
+            });
+            setPreferences();
 
             return true;
         } catch (SQLException | InvalidDBMSConnectionPropertiesException exception) {
@@ -3,6 +3,7 @@ package org.jabref.gui.shared;
 import java.sql.SQLException;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 import javafx.scene.control.Alert.AlertType;
 import javafx.scene.control.ButtonBar;
@@ -17,6 +18,7 @@ import org.jabref.gui.entryeditor.EntryEditor;
 import org.jabref.gui.exporter.SaveDatabaseAction;
 import org.jabref.gui.mergeentries.MergeEntriesDialog;
 import org.jabref.gui.undo.UndoableRemoveEntries;
+import org.jabref.gui.util.BackgroundTask;
 import org.jabref.logic.importer.ParserResult;
 import org.jabref.logic.l10n.Localization;
 import org.jabref.logic.shared.DBMSConnection;
@@ -131,12 +133,14 @@ public class SharedDatabaseUIManager {
     }
 
     /**
-     * Opens a new shared database tab with the given {@link DBMSConnectionProperties}.
+     * Opens a new shared database tab with the given {@link DBMSConnectionProperties}. The tab is shown as soon as the
+     * connection is established, the shared entries are loaded in the background afterwards.
      *
      * @param dbmsConnectionProperties Connection data
-     * @return BasePanel which also used by {@link SaveDatabaseAction}
+     * @param onEntriesLoaded          called in the JavaFX thread when all shared entries are loaded
+     * @return the tab of the shared database, which is also used by {@link SaveDatabaseAction}
      */
-    public LibraryTab openNewSharedDatabaseTab(DBMSConnectionProperties dbmsConnectionProperties)
+    public LibraryTab openNewSharedDatabaseTab(DBMSConnectionProperties dbmsConnectionProperties, Consumer<LibraryTab> onEntriesLoaded)
             throws SQLException, DatabaseNotSupportedException, InvalidDBMSConnectionPropertiesException {
 
         BibDatabaseContext bibDatabaseContext = new BibDatabaseContext();
@@ -145,10 +149,17 @@ public class SharedDatabaseUIManager {
         bibDatabaseContext.convertToSharedDatabase(synchronizer);
 
         dbmsSynchronizer = bibDatabaseContext.getDBMSSynchronizer();
-        dbmsSynchronizer.openSharedDatabase(new DBMSConnection(dbmsConnectionProperties));
+        synchronizer.connectSharedDatabase(new DBMSConnection(dbmsConnectionProperties));
         dbmsSynchronizer.registerListener(this);
         jabRefFrame.getDialogService().notify(Localization.lang("Connection to %0 server established.", dbmsConnectionProperties.getType().toString()));
-        return jabRefFrame.addTab(bibDatabaseContext, true);
+        LibraryTab libraryTab = jabRefFrame.addTab(bibDatabaseContext, true);
+
+        // large libraries are inserted page by page, thus the first entries are shown while the others are loading
+        BackgroundTask.wrap(synchronizer::synchronizeLocalDatabase)
+                      .onSuccess(result -> onEntriesLoaded.accept(libraryTab))
+                      .onFailure(dialogService::showErrorDialogAndWait)
+                      .executeWith(Globals.TASK_EXECUTOR);
+        return libraryTab;
     }
 
     public void openSharedDatabaseFromParserResult(ParserResult parserResult)
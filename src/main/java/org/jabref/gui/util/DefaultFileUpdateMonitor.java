@@ -8,6 +8,9 @@ import java.nio.file.StandardWatchEventKinds;
 import java.nio.file.WatchEvent;
 import java.nio.file.WatchKey;
 import java.nio.file.WatchService;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.atomic.AtomicBoolean;
 
@@ -17,7 +20,9 @@ import org.jabref.model.util.FileUpdateListener;
 import org.jabref.model.util.FileUpdateMonitor;
 
 import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.ListMultimap;
 import com.google.common.collect.Multimap;
+import com.google.common.collect.Multimaps;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -32,6 +37,10 @@ public class DefaultFileUpdateMonitor implements Runnable, FileUpdateMonitor {
     private static final Logger LOGGER = LoggerFactory.getLogger(DefaultFileUpdateMonitor.class);
 
     private final Multimap<Path, FileUpdateListener> listeners = ArrayListMultimap.create(20, 4);
+    // registered from background threads, e.g. while indexing a directory tree
+    private final ListMultimap<Path, FileUpdateListener> directoryListeners = Multimaps.synchronizedListMultimap(ArrayListMultimap.create());
+    // the watches of the monitored directories, cancelled when the last listener is removed; guarded by this
+    private final Map<Path, WatchKey> watchKeys = new HashMap<>();
     private volatile WatchService watcher;
     private final AtomicBoolean notShutdown = new AtomicBoolean(true);
     private Optional<JabRefException> filesystemMonitorFailure;
@@ -54,6 +63,8 @@ public class DefaultFileUpdateMonitor implements Runnable, FileUpdateMonitor {
                     WatchEvent.Kind<?> kind = event.kind();
 
                     if (kind == StandardWatchEventKinds.OVERFLOW) {
+                        // events got lost, thus the content of the directory is unknown
+                        notifyAboutDirectoryChange((Path) key.watchable());
                         Thread.yield();
                         continue;
                     } else if (kind == StandardWatchEventKinds.ENTRY_CREATE || kind == StandardWatchEventKinds.ENTRY_MODIFY) {
@@ -62,6 +73,11 @@ public class DefaultFileUpdateMonitor implements Runnable, FileUpdateMonitor {
                         WatchEvent<Path> ev = (WatchEvent<Path>) event;
                         Path path = ((Path) key.watchable()).resolve(ev.context());
                         notifyAboutChange(path);
+                        if (kind == StandardWatchEventKinds.ENTRY_CREATE) {
+                            notifyAboutDirectoryChange((Path) key.watchable());
+                        }
+                    } else if (kind == StandardWatchEventKinds.ENTRY_DELETE) {
+                        notifyAboutDirectoryChange((Path) key.watchable());
                     }
                     key.reset();
                 }
@@ -83,19 +99,68 @@ public class DefaultFileUpdateMonitor implements Runnable, FileUpdateMonitor {
         listeners.get(path).forEach(FileUpdateListener::fileUpdated);
     }
 
+    private void notifyAboutDirectoryChange(Path directory) {
+        List<FileUpdateListener> listenersOfDirectory;
+        synchronized (directoryListeners) {
+            listenersOfDirectory = List.copyOf(directoryListeners.get(directory));
+        }
+        listenersOfDirectory.forEach(FileUpdateListener::fileUpdated);
+    }
+
     @Override
-    public void addListenerForFile(Path file, FileUpdateListener listener) throws IOException {
+    public synchronized void addListenerForFile(Path file, FileUpdateListener listener) throws IOException {
         if (isActive()) {
             // We can't watch files directly, so monitor their parent directory for updates
             Path directory = file.toAbsolutePath().getParent();
-            directory.register(watcher, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+            register(directory);
             listeners.put(file, listener);
         }
     }
 
     @Override
-    public void removeListener(Path path, FileUpdateListener listener) {
+    public synchronized void addListenerForDirectory(Path directory, FileUpdateListener listener) throws IOException {
+        if (isActive()) {
+            Path absoluteDirectory = directory.toAbsolutePath();
+            register(absoluteDirectory);
+            directoryListeners.put(absoluteDirectory, listener);
+        }
+    }
+
+    /**
+     * Registers the directory with the same events for both file and directory listeners, as registering a directory
+     * again replaces its events.
+     */
+    private void register(Path directory) throws IOException {
+        WatchKey key = directory.register(watcher, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+        watchKeys.put(directory, key);
+    }
+
+    @Override
+    public synchronized void removeListener(Path path, FileUpdateListener listener) {
         listeners.remove(path, listener);
+        Path absolutePath = path.toAbsolutePath();
+        directoryListeners.remove(absolutePath, listener);
+
+        // the path is either a file monitored by its parent directory or a monitored directory
+        unregisterIfUnused(absolutePath);
+        if (absolutePath.getParent() != null) {
+            unregisterIfUnused(absolutePath.getParent());
+        }
+    }
+
+    /**
+     * Cancels the watch of the given directory if no listener needs it anymore, as the number of watches is limited by
+     * the operating system
+     */
+    private void unregisterIfUnused(Path directory) {
+        if (!watchKeys.containsKey(directory) || directoryListeners.containsKey(directory)) {
+            return;
+        }
+        boolean hasFileListeners = listeners.keySet().stream()
+                                            .anyMatch(file -> directory.equals(file.toAbsolutePath().getParent()));
+        if (!hasFileListeners) {
+            watchKeys.remove(directory).cancel();
+        }
     }
 
     @Override
@@ -0,0 +1,424 @@
+package org.jabref.logic.autosaveandbackup;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+import org.jabref.logic.exporter.AtomicFileOutputStream;
+import org.jabref.logic.exporter.BibFileLayout;
+import org.jabref.logic.exporter.SplicingWriter;
+
+/**
+ * A backup file, which records the changes to a .bib file instead of a full copy of it. The journal is based on the
+ * .bib file as it was saved last. Each backup appends a record, which consists of the new texts and the parts taken
+ * over from the .bib file, see {@link SplicingWriter}. Records torn by a crash are detected by their checksum.
+ * <p>
+ * The journal starts with a header identifying the saved .bib file by its size, modification time and the checksum of
+ * its content. Records are only appended to a journal of the same .bib file, and parts of the .bib file are only taken
+ * over if its content still has the checksum. When the .bib file is saved again, or the journal grows larger than the
+ * .bib file, a new journal is started.
+ */
+class BackupJournal {
+
+    private static final byte[] MAGIC = "%JabRef backup journal 2\n".getBytes(StandardCharsets.US_ASCII);
+    private static final int HEADER_LENGTH = MAGIC.length + (3 * Long.BYTES);
+
+    private static final byte END = 0;
+    private static final byte DATA = 1;
+    private static final byte COPY = 2;
+
+    private static final int MAX_DATA_LENGTH = 64 * 1024;
+
+    private BackupJournal() {
+    }
+
+    /**
+     * Checks whether the given backup file is a journal, in contrast to a full copy of the .bib file
+     */
+    static boolean isJournal(Path backupPath) throws IOException {
+        try (InputStream input = Files.newInputStream(backupPath)) {
+            return Arrays.equals(input.readNBytes(MAGIC.length), MAGIC);
+        }
+    }
+
+    /**
+     * Starts a record of the given journal. The text of the .bib file has to be written to the returned writer, which
+     * takes over the parts of the given layout. The record is only kept if it is {@link RecordWriter#commit()
+     * committed} before closing.
+     *
+     * @param baseLayout    the layout of the .bib file as it was saved last
+     * @param journalLength the length of the journal after the last record committed, or -1 to start a new journal.
+     *                      Thus, no record is appended after a torn one.
+     */
+    static RecordWriter startRecord(Path journal, BibFileLayout baseLayout, long journalLength) throws IOException {
+        long baseSize = baseLayout.getSize();
+        long baseLastModified = baseLayout.getLastModified().toMillis();
+        long baseChecksum = baseLayout.getChecksum();
+
+        boolean append = false;
+        if ((journalLength >= 0) && (journalLength <= baseSize) && Files.isRegularFile(journal) && (Files.size(journal) == journalLength)) {
+            append = readHeader(journal).map(header -> (header.size == baseSize)
+                                                && (header.lastModified == baseLastModified)
+                                                && (header.checksum == baseChecksum))
+                                        .orElse(false);
+        }
+
+        if (append) {
+            FileChannel channel = FileChannel.open(journal, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+            return new RecordWriter(baseLayout.getFile(), Channels.newOutputStream(channel), channel, null);
+        }
+
+        AtomicFileOutputStream newJournal = new AtomicFileOutputStream(journal);
+        DataOutputStream header = new DataOutputStream(newJournal);
+        header.write(MAGIC);
+        header.writeLong(baseSize);
+        header.writeLong(baseLastModified);
+        header.writeLong(baseChecksum);
+        return new RecordWriter(baseLayout.getFile(), newJournal, null, newJournal);
+    }
+
+    /**
+     * Checks whether the text recorded last in the given journal differs from the given .bib file
+     *
+     * @return false if the journal has no record, or its record cannot be applied to the .bib file anymore
+     */
+    static boolean differs(Path journal, Path originalPath) throws IOException {
+        Optional<Record> record = findLastRecord(journal, originalPath);
+        if (record.isEmpty()) {
+            return false;
+        }
+
+        try (InputStream original = new BufferedInputStream(Files.newInputStream(originalPath))) {
+            MismatchDetector detector = new MismatchDetector(original);
+            apply(journal, record.get(), originalPath, detector);
+            return detector.differs || (original.read() != -1);
+        }
+    }
+
+    /**
+     * Replaces the given .bib file by the text recorded last in the given journal
+     *
+     * @throws IOException if there is no record which can be applied to the .bib file
+     */
+    static void restore(Path journal, Path originalPath) throws IOException {
+        Record record = findLastRecord(journal, originalPath)
+                .orElseThrow(() -> new IOException("The backup " + journal + " contains no changes to " + originalPath));
+
+        AtomicFileOutputStream output = new AtomicFileOutputStream(originalPath);
+        try {
+            apply(journal, record, originalPath, output);
+        } catch (IOException e) {
+            output.abort();
+            throw e;
+        }
+        output.close();
+    }
+
+    private static Optional<Header> readHeader(Path journal) throws IOException {
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(journal)))) {
+            return readHeader(input);
+        }
+    }
+
+    private static Optional<Header> readHeader(DataInputStream input) throws IOException {
+        try {
+            if (!Arrays.equals(input.readNBytes(MAGIC.length), MAGIC)) {
+                return Optional.empty();
+            }
+            return Optional.of(new Header(input.readLong(), input.readLong(), input.readLong()));
+        } catch (EOFException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Finds the last complete record of the journal, which can be applied to the given .bib file
+     */
+    private static Optional<Record> findLastRecord(Path journal, Path originalPath) throws IOException {
+        CRC32 checksum = new CRC32();
+        Record lastRecord = null;
+        Header header;
+        try (DataInputStream input = new DataInputStream(new CheckedInputStream(new BufferedInputStream(Files.newInputStream(journal)), checksum))) {
+            Optional<Header> optionalHeader = readHeader(input);
+            if (optionalHeader.isEmpty()) {
+                return Optional.empty();
+            }
+            header = optionalHeader.get();
+
+            long offset = HEADER_LENGTH;
+            while (true) {
+                checksum.reset();
+                long length = 0;
+                boolean hasCopies = false;
+                try {
+                    byte tag = input.readByte();
+                    length++;
+                    while (tag != END) {
+                        if (tag == DATA) {
+                            int dataLength = input.readInt();
+                            if ((dataLength < 0) || (dataLength > MAX_DATA_LENGTH)) {
+                                break;
+                            }
+                            input.skipNBytes(dataLength);
+                            length += Integer.BYTES + dataLength;
+                        } else if (tag == COPY) {
+                            input.skipNBytes(2 * Long.BYTES);
+                            length += 2 * Long.BYTES;
+                            hasCopies = true;
+                        } else {
+                            break;
+                        }
+                        tag = input.readByte();
+                        length++;
+                    }
+                    if (tag != END) {
+                        // garbage, e.g. of a torn record overwritten partially
+                        break;
+                    }
+                    long expectedChecksum = checksum.getValue();
+                    if (input.readLong() != expectedChecksum) {
+                        break;
+                    }
+                    length += Long.BYTES;
+                } catch (EOFException e) {
+                    // the last record was torn
+                    break;
+                }
+                lastRecord = new Record(offset, hasCopies);
+                offset += length;
+            }
+        }
+
+        if ((lastRecord != null) && lastRecord.hasCopies) {
+            // the parts to take over have to be unchanged, the modification time alone does not show this
+            if ((Files.size(originalPath) != header.size) || (BibFileLayout.computeChecksum(originalPath) != header.checksum)) {
+                return Optional.empty();
+            }
+        }
+        return Optional.ofNullable(lastRecord);
+    }
+
+    private static void apply(Path journal, Record record, Path originalPath, OutputStream output) throws IOException {
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(journal)));
+             FileChannel original = FileChannel.open(originalPath, StandardOpenOption.READ)) {
+            input.skipNBytes(record.offset);
+            byte[] buffer = new byte[MAX_DATA_LENGTH];
+            ByteBuffer byteBuffer = ByteBuffer.wrap(buffer);
+            for (byte tag = input.readByte(); tag != END; tag = input.readByte()) {
+                if (tag == DATA) {
+                    int length = input.readInt();
+                    input.readFully(buffer, 0, length);
+                    output.write(buffer, 0, length);
+                } else {
+                    long position = input.readLong();
+                    long end = input.readLong();
+                    while (position < end) {
+                        byteBuffer.clear();
+                        byteBuffer.limit((int) Math.min(buffer.length, end - position));
+                        int read = original.read(byteBuffer, position);
+                        if (read < 0) {
+                            throw new EOFException("Could not read " + originalPath + " at " + position);
+                        }
+                        output.write(buffer, 0, read);
+                        position += read;
+                    }
+                }
+            }
+        }
+    }
+
+    private static class Header {
+
+        private final long size;
+        private final long lastModified;
+        private final long checksum;
+
+        private Header(long size, long lastModified, long checksum) {
+            this.size = size;
+            this.lastModified = lastModified;
+            this.checksum = checksum;
+        }
+    }
+
+    private static class Record {
+
+        private final long offset;
+        private final boolean hasCopies;
+
+        private Record(long offset, boolean hasCopies) {
+            this.offset = offset;
+            this.hasCopies = hasCopies;
+        }
+    }
+
+    /**
+     * Compares the written bytes with the given stream
+     */
+    private static class MismatchDetector extends OutputStream {
+
+        private final InputStream expected;
+        private boolean differs;
+
+        private MismatchDetector(InputStream expected) {
+            this.expected = expected;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            differs = differs || (expected.read() != (b & 0xff));
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (differs) {
+                return;
+            }
+            byte[] expectedBytes = expected.readNBytes(len);
+            differs = !Arrays.equals(expectedBytes, 0, expectedBytes.length, b, off, off + len);
+        }
+    }
+
+    /**
+     * Writes a record to the journal. The text is encoded in UTF-8.
+     */
+    static class RecordWriter extends Writer implements SplicingWriter {
+
+        // text is collected up to this number of characters before it is encoded
+        private static final int TEXT_BUFFER_SIZE = 16 * 1024;
+
+        private final Path originalPath;
+        private final OutputStream output;
+        private final DataOutputStream recordOutput;
+        private final CRC32 checksum = new CRC32();
+        // the channel of the journal when appending, or null
+        private final FileChannel appendedChannel;
+        // the new journal, or null when appending
+        private final AtomicFileOutputStream newJournal;
+        private final StringBuilder text = new StringBuilder();
+        private long position;
+        private boolean committed;
+
+        private RecordWriter(Path originalPath, OutputStream output, FileChannel appendedChannel, AtomicFileOutputStream newJournal) {
+            this.originalPath = originalPath;
+            this.output = new BufferedOutputStream(output, MAX_DATA_LENGTH);
+            this.recordOutput = new DataOutputStream(new CheckedOutputStream(this.output, checksum));
+            this.appendedChannel = appendedChannel;
+            this.newJournal = newJournal;
+        }
+
+        @Override
+        public void write(char[] cbuf, int off, int len) throws IOException {
+            text.append(cbuf, off, len);
+            if (text.length() >= TEXT_BUFFER_SIZE) {
+                writeText(false);
+            }
+        }
+
+        @Override
+        public void write(String str, int off, int len) throws IOException {
+            text.append(str, off, off + len);
+            if (text.length() >= TEXT_BUFFER_SIZE) {
+                writeText(false);
+            }
+        }
+
+        /**
+         * Writes the collected text as data segments
+         *
+         * @param all whether a high surrogate at the end is written as well, instead of waiting for its low surrogate
+         */
+        private void writeText(boolean all) throws IOException {
+            int end = text.length();
+            if (!all && (end > 0) && Character.isHighSurrogate(text.charAt(end - 1))) {
+                end--;
+            }
+            if (end == 0) {
+                return;
+            }
+
+            byte[] bytes = text.substring(0, end).getBytes(StandardCharsets.UTF_8);
+            for (int start = 0; start < bytes.length; start += MAX_DATA_LENGTH) {
+                int length = Math.min(MAX_DATA_LENGTH, bytes.length - start);
+                recordOutput.writeByte(DATA);
+                recordOutput.writeInt(length);
+                recordOutput.write(bytes, start, length);
+            }
+            text.delete(0, end);
+            position += bytes.length;
+        }
+
+        @Override
+        public long getPosition() {
+            try {
+                writeText(true);
+                return position;
+            } catch (IOException e) {
+                return -1;
+            }
+        }
+
+        /**
+         * Takes over a part of the .bib file the journal is based on
+         */
+        @Override
+        public void copy(Path file, long start, long end) throws IOException {
+            if (!file.equals(originalPath)) {
+                throw new IOException("The backup of " + originalPath + " cannot contain parts of " + file);
+            }
+            writeText(true);
+            recordOutput.writeByte(COPY);
+            recordOutput.writeLong(start);
+            recordOutput.writeLong(end);
+            position += end - start;
+        }
+
+        @Override
+        public void flush() throws IOException {
+            // a record is written completely when committed
+        }
+
+        /**
+         * Completes the record, so that it is restored instead of the previous one
+         */
+        void commit() throws IOException {
+            writeText(true);
+            recordOutput.writeByte(END);
+            recordOutput.flush();
+            // the checksum itself is not part of the checksum
+            new DataOutputStream(output).writeLong(checksum.getValue());
+            output.flush();
+            if (appendedChannel != null) {
+                appendedChannel.force(false);
+            }
+            committed = true;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if ((newJournal != null) && !committed) {
+                // keeps the previous journal
+                newJournal.abort();
+                return;
+            }
+            output.close();
+        }
+    }
+}
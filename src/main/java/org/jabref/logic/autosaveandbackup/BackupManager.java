@@ -3,6 +3,7 @@ package org.jabref.logic.autosaveandbackup;
 import java.io.IOException;
 import java.io.Writer;
 import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
@@ -14,6 +15,7 @@ import java.util.concurrent.ExecutorService;
 
 import org.jabref.logic.bibtex.InvalidFieldValueException;
 import org.jabref.logic.exporter.AtomicFileWriter;
+import org.jabref.logic.exporter.BibFileLayout;
 import org.jabref.logic.exporter.BibWriter;
 import org.jabref.logic.exporter.BibtexDatabaseWriter;
 import org.jabref.logic.exporter.SavePreferences;
@@ -52,6 +54,9 @@ public class BackupManager {
     private final CoarseChangeFilter changeFilter;
     private final BibEntryTypesManager entryTypesManager;
 
+    // the length of the backup journal after the last backup, or -1 if the backup is not a journal
+    private long journalLength = -1;
+
     private BackupManager(BibDatabaseContext bibDatabaseContext, BibEntryTypesManager entryTypesManager, PreferencesService preferences) {
         this.bibDatabaseContext = bibDatabaseContext;
         this.entryTypesManager = entryTypesManager;
@@ -106,6 +111,9 @@ public class BackupManager {
         }
 
         try {
+            if (BackupJournal.isJournal(backupPath)) {
+                return BackupJournal.differs(backupPath, originalPath);
+            }
             return Files.mismatch(originalPath, backupPath) != -1L;
         } catch (IOException e) {
             LOGGER.debug("Could not compare original file and backup file.", e);
@@ -115,14 +123,19 @@ public class BackupManager {
     }
 
     /**
-     * Restores the backup file by copying and overwriting the original one.
+     * Restores the backup file by copying and overwriting the original one. A backup journal is applied to the
+     * original one.
      *
      * @param originalPath Path to the file which should be equalized to the backup file.
      */
     public static void restoreBackup(Path originalPath) {
         Path backupPath = getBackupPath(originalPath);
         try {
-            Files.copy(backupPath, originalPath, StandardCopyOption.REPLACE_EXISTING);
+            if (BackupJournal.isJournal(backupPath)) {
+                BackupJournal.restore(backupPath, originalPath);
+            } else {
+                Files.copy(backupPath, originalPath, StandardCopyOption.REPLACE_EXISTING);
+            }
         } catch (IOException e) {
             LOGGER.error("Error while restoring the backup file.", e);
         }
@@ -138,10 +151,31 @@ public class BackupManager {
             GeneralPreferences generalPreferences = preferences.getGeneralPreferences();
             SavePreferences savePreferences = preferences.getSavePreferences()
                                                          .withMakeBackup(false);
-            Writer writer = new AtomicFileWriter(backupPath, charset);
-            BibWriter bibWriter = new BibWriter(writer, OS.NEWLINE);
-            new BibtexDatabaseWriter(bibWriter, generalPreferences, savePreferences, entryTypesManager)
-                    .saveDatabase(bibDatabaseContext);
+
+            // the changes since the last save are recorded, if the saved file can be referred to
+            Optional<BibFileLayout> savedLayout = bibDatabaseContext.getFileLayout()
+                                                                    .filter(layout -> bibDatabaseContext.getDatabasePath().filter(layout.getFile()::equals).isPresent())
+                                                                    .filter(layout -> StandardCharsets.UTF_8.equals(charset))
+                                                                    .filter(BibFileLayout::isUnmodified);
+            if (savedLayout.isPresent()) {
+                long lengthBefore = journalLength;
+                journalLength = -1;
+                try (BackupJournal.RecordWriter writer = BackupJournal.startRecord(backupPath, savedLayout.get(), lengthBefore)) {
+                    BibWriter bibWriter = new BibWriter(writer, bibDatabaseContext.getDatabase().getNewLineSeparator());
+                    new BibtexDatabaseWriter(bibWriter, writer, savedLayout, generalPreferences, savePreferences, entryTypesManager)
+                            .saveDatabase(bibDatabaseContext);
+                    writer.commit();
+                }
+                journalLength = Files.size(backupPath);
+                return;
+            }
+
+            journalLength = -1;
+            try (Writer writer = new AtomicFileWriter(backupPath, charset)) {
+                BibWriter bibWriter = new BibWriter(writer, OS.NEWLINE);
+                new BibtexDatabaseWriter(bibWriter, generalPreferences, savePreferences, entryTypesManager)
+                        .saveDatabase(bibDatabaseContext);
+            }
         } catch (IOException e) {
             logIfCritical(backupPath, e);
         }
@@ -168,7 +202,14 @@ public class BackupManager {
     }
 
     private void startBackupTask() {
-        throttler.schedule(() -> determineBackupPath().ifPresent(this::performBackup));
+        throttler.schedule(this::backupNow);
+    }
+
+    /**
+     * Writes the backup right away instead of after the delay
+     */
+    synchronized void backupNow() {
+        determineBackupPath().ifPresent(this::performBackup);
     }
 
     /**
@@ -70,6 +70,16 @@ public class BibEntryWriter {
         out.finishBlock();
     }
 
+    /**
+     * Serializes the given entry as it would be written into an empty block of a {@link BibWriter} using the given line
+     * separator. The writer is not changed by this, thus entries can be serialized by multiple threads at once.
+     */
+    public String serialize(BibEntry entry, BibDatabaseMode bibDatabaseMode, Boolean reformat, String newLineSeparator) throws IOException {
+        StringWriter writer = new StringWriter();
+        write(entry, new BibWriter(writer, newLineSeparator), bibDatabaseMode, reformat);
+        return writer.toString();
+    }
+
     private void writeUserComments(BibEntry entry, BibWriter out) throws IOException {
         String userComments = entry.getUserComments();
 
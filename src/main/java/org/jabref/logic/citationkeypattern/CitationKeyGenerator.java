@@ -1,12 +1,16 @@
 package org.jabref.logic.citationkeypattern;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.function.Function;
 import java.util.regex.PatternSyntaxException;
+import java.util.stream.Collectors;
 
 import org.jabref.model.FieldChange;
 import org.jabref.model.database.BibDatabase;
@@ -86,6 +90,25 @@ public class CitationKeyGenerator extends BracketedPattern {
         }
     }
 
+    /**
+     * Returns the number of the appendix which is appended to the given key without letters to form the given key, or
+     * -1 if it is not formed that way. This is the inverse of {@link #getAppendix(int)}.
+     */
+    private static int getAppendixNumber(String keyWithoutLetters, String key) {
+        if ((key == null) || (key.length() <= keyWithoutLetters.length()) || !key.startsWith(keyWithoutLetters)) {
+            return -1;
+        }
+        int number = -1;
+        for (int i = keyWithoutLetters.length(); i < key.length(); i++) {
+            int letter = APPENDIX_CHARACTERS.indexOf(key.charAt(i));
+            if ((letter < 0) || (number >= (Integer.MAX_VALUE / APPENDIX_CHARACTERS.length()) - 1)) {
+                return -1;
+            }
+            number = ((number + 1) * APPENDIX_CHARACTERS.length()) + letter;
+        }
+        return number;
+    }
+
     public static String removeDefaultUnwantedCharacters(String key) {
         return removeUnwantedCharacters(key, DEFAULT_UNWANTED_CHARACTERS);
     }
@@ -117,21 +140,50 @@ public class CitationKeyGenerator extends BracketedPattern {
         Objects.requireNonNull(entry);
         String currentKey = entry.getCitationKey().orElse(null);
 
-        String newKey = createCitationKeyFromPattern(entry);
-        newKey = replaceWithRegex(newKey);
-        newKey = appendLettersToKey(newKey, currentKey);
+        String newKey = appendLettersToKey(generateKeyWithoutLetters(entry), currentKey, new KeyReservations());
         return cleanKey(newKey, unwantedCharacters);
     }
 
+    /**
+     * Generates the citation keys for the given entries, without setting them. The keys are the same as if the key of
+     * each entry was generated and set one after another in the order of the list.
+     * <p>
+     * The keys are expanded from the pattern in parallel. The letters making the keys unique are appended in the order
+     * of the list, reserving each key for its entry, thus the result does not depend on the scheduling of the threads.
+     *
+     * @return the new keys in the order of the given entries
+     */
+    public List<String> generateKeys(List<BibEntry> entries) {
+        List<String> keysWithoutLetters = entries.parallelStream()
+                                                 .map(this::generateKeyWithoutLetters)
+                                                 .collect(Collectors.toList());
+
+        KeyReservations reservations = new KeyReservations();
+        List<String> keys = new ArrayList<>(entries.size());
+        for (int i = 0; i < entries.size(); i++) {
+            String currentKey = entries.get(i).getCitationKey().orElse(null);
+            String newKey = cleanKey(appendLettersToKey(keysWithoutLetters.get(i), currentKey, reservations), unwantedCharacters);
+            reservations.reserve(newKey, currentKey);
+            keys.add(newKey);
+        }
+        return keys;
+    }
+
+    private String generateKeyWithoutLetters(BibEntry entry) {
+        String newKey = createCitationKeyFromPattern(entry);
+        return replaceWithRegex(newKey);
+    }
+
     /**
      * A letter will be appended to the key based on the user's preferences, either always or to prevent duplicated keys.
      *
-     * @param key    the new key
-     * @param oldKey the old key
+     * @param key          the new key
+     * @param oldKey       the old key
+     * @param reservations the keys in use
      * @return a key, if needed, with an appended letter
      */
-    private String appendLettersToKey(String key, String oldKey) {
-        long occurrences = database.getNumberOfCitationKeyOccurrences(key);
+    private String appendLettersToKey(String key, String oldKey, KeyReservations reservations) {
+        long occurrences = reservations.getNumberOfOccurrences(key);
 
         if (Objects.equals(oldKey, key)) {
             occurrences--; // No change, so we can accept one dupe.
@@ -145,20 +197,30 @@ public class CitationKeyGenerator extends BracketedPattern {
             boolean firstLetterA = citationKeyPatternPreferences.getKeySuffix()
                     == CitationKeyPatternPreferences.KeySuffix.SECOND_WITH_A;
 
-            int number = !alwaysAddLetter && !firstLetterA ? 1 : 0;
+            int firstNumber = !alwaysAddLetter && !firstLetterA ? 1 : 0;
+            int number = Math.max(firstNumber, reservations.getFirstFreeAppendixCandidate(key));
+
+            // the appendices skipped are in use, but the old key of the entry may be one of them, which it may keep
+            int oldNumber = getAppendixNumber(key, oldKey);
+            if ((oldNumber >= firstNumber) && (oldNumber < number) && (reservations.getNumberOfOccurrences(oldKey) <= 1)) {
+                return oldKey;
+            }
+
             String moddedKey;
 
             do {
                 moddedKey = key + getAppendix(number);
                 number++;
 
-                occurrences = database.getNumberOfCitationKeyOccurrences(moddedKey);
+                occurrences = reservations.getNumberOfOccurrences(moddedKey);
                 // only happens if #getAddition() is buggy
                 if (Objects.equals(oldKey, moddedKey)) {
                     occurrences--;
                 }
             } while (occurrences > 0);
 
+            // the appendices before the chosen one are in use, and the chosen one is going to be used
+            reservations.setFirstFreeAppendixCandidate(key, number);
             key = moddedKey;
         }
         return key;
@@ -229,4 +291,49 @@ public class CitationKeyGenerator extends BracketedPattern {
         String newKey = generateKey(entry);
         return entry.setCitationKey(newKey);
     }
+
+    /**
+     * The citation keys in use while generating keys for several entries. Keys generated but not set yet are reserved,
+     * and the old keys of the entries are released. For each key without letters, the first appendix which may be
+     * free is remembered, so that appending letters to many colliding keys does not check all used appendices again.
+     */
+    private class KeyReservations {
+
+        private final Map<String, Integer> reservedKeys = new HashMap<>();
+        private final Map<String, Integer> releasedKeys = new HashMap<>();
+        private final Map<String, Integer> firstFreeAppendixCandidates = new HashMap<>();
+
+        long getNumberOfOccurrences(String key) {
+            return database.getNumberOfCitationKeyOccurrences(key)
+                    + reservedKeys.getOrDefault(key, 0)
+                    - releasedKeys.getOrDefault(key, 0);
+        }
+
+        int getFirstFreeAppendixCandidate(String keyWithoutLetters) {
+            return firstFreeAppendixCandidates.getOrDefault(keyWithoutLetters, 0);
+        }
+
+        void setFirstFreeAppendixCandidate(String keyWithoutLetters, int number) {
+            firstFreeAppendixCandidates.put(keyWithoutLetters, number);
+        }
+
+        /**
+         * Reserves the new key of an entry and releases its old key
+         */
+        void reserve(String newKey, String oldKey) {
+            if (Objects.equals(newKey, oldKey)) {
+                return;
+            }
+            if (!StringUtil.isNullOrEmpty(newKey)) {
+                reservedKeys.merge(newKey, 1, Integer::sum);
+            }
+            if (!StringUtil.isNullOrEmpty(oldKey)) {
+                releasedKeys.merge(oldKey, 1, Integer::sum);
+                // the released key may be an appendix of a key without letters, which is free again now
+                for (int end = oldKey.length(); (end > 0) && (APPENDIX_CHARACTERS.indexOf(oldKey.charAt(end - 1)) >= 0); end--) {
+                    firstFreeAppendixCandidates.remove(oldKey.substring(0, end - 1));
+                }
+            }
+        }
+    }
 }
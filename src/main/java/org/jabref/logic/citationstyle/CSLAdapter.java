@@ -4,7 +4,9 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 
 import org.jabref.logic.formatter.bibtexfields.RemoveNewlinesFormatter;
@@ -33,10 +35,8 @@ import org.jbibtex.Key;
  * engine is re-instantiated. Therefore, the use-case of this class is many calls to {@link #makeBibliography} with the
  * same style. Changing the output format is cheap.
  * @implNote The main function {@link #makeBibliography} will enforce
- * synchronized calling. The main CSL engine under the hood is not thread-safe. Since this class is usually called from
- * a BackgroundTakk, the only other option would be to create several CSL instances which is wasting a lot of resources and very slow.
- * In the current scheme, {@link #makeBibliography} can be called as usual
- * background task and to the best of my knowledge, concurrent calls will pile up and processed sequentially.
+ * synchronized calling. The main CSL engine under the hood is not thread-safe. To render concurrently, several
+ * adapters are kept by {@link CSLAdapterPool}, one per thread and style.
  */
 public class CSLAdapter {
 
@@ -58,6 +58,13 @@ public class CSLAdapter {
         return Arrays.asList(bibliography.getEntries());
     }
 
+    /**
+     * Creates the CSL instance of the style in advance, so that the first call of {@link #makeBibliography} is fast
+     */
+    synchronized void warmUp(String style, CitationStyleOutputFormat outputFormat) throws IOException {
+        initialize(style, outputFormat);
+    }
+
     /**
      * Initialized the static CSL instance if needed.
      *
@@ -86,6 +93,8 @@ public class CSLAdapter {
     private static class JabRefItemDataProvider implements ItemDataProvider {
 
         private final List<BibEntry> data = new ArrayList<>();
+        // the first entry of each citation key, so that retrieving an item does not search all entries
+        private final Map<String, BibEntry> entriesByKey = new HashMap<>();
 
         /**
          * Converts the {@link BibEntry} into {@link CSLItemData}.
@@ -114,14 +123,16 @@ public class CSLAdapter {
         public void setData(List<BibEntry> data) {
             this.data.clear();
             this.data.addAll(data);
+            this.entriesByKey.clear();
+            for (BibEntry entry : data) {
+                entriesByKey.putIfAbsent(entry.getCitationKey().orElse(""), entry);
+            }
         }
 
         @Override
         public CSLItemData retrieveItem(String id) {
-            return data.stream()
-                       .filter(entry -> entry.getCitationKey().orElse("").equals(id))
-                       .map(JabRefItemDataProvider::bibEntryToCSLItemData)
-                       .findFirst().orElse(null);
+            BibEntry entry = entriesByKey.get(id);
+            return entry == null ? null : bibEntryToCSLItemData(entry);
         }
 
         @Override
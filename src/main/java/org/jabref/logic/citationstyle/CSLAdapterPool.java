@@ -0,0 +1,217 @@
+package org.jabref.logic.citationstyle;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.jabref.model.entry.BibEntry;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A bounded pool of {@link CSLAdapter}s per citation style and output format. Each adapter is used by one thread at a
+ * time, so that requests for the same or for different styles are rendered concurrently, and switching the style of
+ * one request does not re-initialize the engine used by another one.
+ * <p>
+ * At most {@link #maxAdaptersPerKey} adapters are created per style and output format, further requests wait for an
+ * adapter to become available. Adapters not used for {@link #MAX_IDLE_MILLIS} are dropped, and at most
+ * {@link #maxIdleAdapters} unused adapters are kept in total.
+ */
+class CSLAdapterPool {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(CSLAdapterPool.class);
+    private static final long MAX_IDLE_MILLIS = TimeUnit.MINUTES.toMillis(5);
+
+    private final int maxAdaptersPerKey;
+    private final int maxIdleAdapters;
+    // guarded by this
+    private final Map<Key, Slot> slots = new HashMap<>();
+
+    private final ExecutorService warmUpExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable);
+        thread.setName("JabRef CSL warm-up");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    CSLAdapterPool() {
+        this(Math.max(1, Runtime.getRuntime().availableProcessors() / 2), Math.max(2, Runtime.getRuntime().availableProcessors()));
+    }
+
+    CSLAdapterPool(int maxAdaptersPerKey, int maxIdleAdapters) {
+        this.maxAdaptersPerKey = maxAdaptersPerKey;
+        this.maxIdleAdapters = maxIdleAdapters;
+    }
+
+    /**
+     * Creates the bibliography of the provided items with an adapter of the given style and output format, waiting for
+     * one to become available if all of them are in use.
+     */
+    List<String> makeBibliography(List<BibEntry> bibEntries, String style, CitationStyleOutputFormat outputFormat) throws IOException {
+        Slot slot = openSlot(new Key(style, outputFormat));
+        try {
+            slot.permits.acquireUninterruptibly();
+            try {
+                CSLAdapter adapter = takeIdleAdapter(slot);
+                List<String> bibliography = adapter.makeBibliography(bibEntries, style, outputFormat);
+                // an adapter failing to render is dropped, as its engine may be in an inconsistent state
+                returnAdapter(slot, adapter);
+                return bibliography;
+            } finally {
+                slot.permits.release();
+            }
+        } finally {
+            closeSlot(slot);
+        }
+    }
+
+    /**
+     * Initializes an adapter of the given style and output format in the background, unless one is already available.
+     * The first rendering in that style does not have to wait for the initialization of the engine then.
+     */
+    void warmUp(String style, CitationStyleOutputFormat outputFormat) {
+        Key key = new Key(style, outputFormat);
+        warmUpExecutor.execute(() -> {
+            Slot slot = openSlot(key);
+            try {
+                // if all adapters of the style are in use, one of them becomes available without initialization
+                if (!slot.permits.tryAcquire()) {
+                    return;
+                }
+                try {
+                    synchronized (this) {
+                        if (!slot.idleAdapters.isEmpty()) {
+                            return;
+                        }
+                    }
+                    CSLAdapter adapter = new CSLAdapter();
+                    adapter.warmUp(style, outputFormat);
+                    returnAdapter(slot, adapter);
+                } finally {
+                    slot.permits.release();
+                }
+            } catch (IOException | IllegalArgumentException e) {
+                LOGGER.debug("Could not initialize citation style", e);
+            } finally {
+                closeSlot(slot);
+            }
+        });
+    }
+
+    private synchronized Slot openSlot(Key key) {
+        evictIdleAdapters();
+        Slot slot = slots.computeIfAbsent(key, k -> new Slot(maxAdaptersPerKey));
+        slot.users++;
+        return slot;
+    }
+
+    private synchronized void closeSlot(Slot slot) {
+        slot.users--;
+    }
+
+    private synchronized CSLAdapter takeIdleAdapter(Slot slot) {
+        IdleAdapter idleAdapter = slot.idleAdapters.pollFirst();
+        return idleAdapter == null ? new CSLAdapter() : idleAdapter.adapter;
+    }
+
+    private synchronized void returnAdapter(Slot slot, CSLAdapter adapter) {
+        slot.idleAdapters.addFirst(new IdleAdapter(adapter, System.currentTimeMillis()));
+        evictIdleAdapters();
+    }
+
+    /**
+     * Drops the adapters which were not used for a while, and the least recently used ones if too many are unused
+     */
+    private synchronized void evictIdleAdapters() {
+        long now = System.currentTimeMillis();
+        int numberOfIdleAdapters = 0;
+        for (Iterator<Slot> slotIterator = slots.values().iterator(); slotIterator.hasNext(); ) {
+            Slot slot = slotIterator.next();
+            // the most recently used adapters are at the front
+            while (!slot.idleAdapters.isEmpty() && ((now - slot.idleAdapters.peekLast().lastUsed) > MAX_IDLE_MILLIS)) {
+                slot.idleAdapters.pollLast();
+            }
+            if (slot.idleAdapters.isEmpty() && (slot.users == 0)) {
+                slotIterator.remove();
+            }
+            numberOfIdleAdapters += slot.idleAdapters.size();
+        }
+
+        while (numberOfIdleAdapters > maxIdleAdapters) {
+            Slot leastRecentlyUsed = null;
+            for (Slot slot : slots.values()) {
+                if (!slot.idleAdapters.isEmpty() && ((leastRecentlyUsed == null)
+                        || (slot.idleAdapters.peekLast().lastUsed < leastRecentlyUsed.idleAdapters.peekLast().lastUsed))) {
+                    leastRecentlyUsed = slot;
+                }
+            }
+            leastRecentlyUsed.idleAdapters.pollLast();
+            numberOfIdleAdapters--;
+        }
+    }
+
+    /**
+     * Returns the number of adapters which are currently not in use
+     */
+    synchronized int getNumberOfIdleAdapters() {
+        return slots.values().stream().mapToInt(slot -> slot.idleAdapters.size()).sum();
+    }
+
+    private static class Slot {
+        private final Semaphore permits;
+        private final Deque<IdleAdapter> idleAdapters = new ArrayDeque<>();
+        // number of threads using or waiting for an adapter
+        private int users;
+
+        Slot(int maxAdapters) {
+            this.permits = new Semaphore(maxAdapters);
+        }
+    }
+
+    private static class IdleAdapter {
+        private final CSLAdapter adapter;
+        private final long lastUsed;
+
+        IdleAdapter(CSLAdapter adapter, long lastUsed) {
+            this.adapter = adapter;
+            this.lastUsed = lastUsed;
+        }
+    }
+
+    private static class Key {
+        private final String style;
+        private final CitationStyleOutputFormat outputFormat;
+
+        Key(String style, CitationStyleOutputFormat outputFormat) {
+            this.style = style;
+            this.outputFormat = outputFormat;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if ((o == null) || (getClass() != o.getClass())) {
+                return false;
+            }
+            Key key = (Key) o;
+            return Objects.equals(style, key.style) && (outputFormat == key.outputFormat);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(style, outputFormat);
+        }
+    }
+}
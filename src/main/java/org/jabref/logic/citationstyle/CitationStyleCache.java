@@ -1,55 +1,140 @@
 package org.jabref.logic.citationstyle;
 
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
-import org.jabref.logic.preview.PreviewLayout;
-import org.jabref.model.database.BibDatabaseContext;
+import org.jabref.model.database.BibDatabase;
 import org.jabref.model.database.event.EntriesRemovedEvent;
 import org.jabref.model.entry.BibEntry;
 import org.jabref.model.entry.event.EntryChangedEvent;
 
+import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
-import com.google.common.cache.CacheLoader;
-import com.google.common.cache.LoadingCache;
+import com.google.common.cache.RemovalCause;
+import com.google.common.cache.RemovalNotification;
 import com.google.common.eventbus.Subscribe;
 
 /**
- * Caches the generated Citations for quicker access
- * {@link CitationStyleGenerator} generates the citation with JavaScript which may take some time
+ * Caches the generated citations for quicker access, as {@link CitationStyleGenerator} generates them with JavaScript
+ * which may take some time.
+ * <p>
+ * The cache is shared by all libraries, previews, and export actions. Citations are stored per list of entries, style,
+ * and output format, as the rendering of an entry may depend on the other entries of the bibliography (e.g., numbering
+ * or sorting). An entry is identified by its {@link BibEntry#getId() id} and {@link BibEntry#getContentVersion() content
+ * version}, thus citations of changed entries are never served, and the cache does not keep the entries themselves. The
+ * cache is bounded by the total length of the stored citations.
  */
 public class CitationStyleCache {
 
-    private static final int CACHE_SIZE = 1024;
+    /**
+     * The approximate memory needed by a cached citation in addition to its characters
+     */
+    private static final int OVERHEAD_PER_CITATION = 64;
+
+    private final Cache<Key, List<String>> citations;
+    // the keys containing an entry by its id, so that the citations of a changed entry are found without a full scan
+    private final Map<String, Set<Key>> keysByEntryId = new HashMap<>();
+    private final Map<BibDatabase, BibDatabaseEntryListener> listeners = new ConcurrentHashMap<>();
+
+    CitationStyleCache(long maximumWeight) {
+        citations = CacheBuilder.newBuilder()
+                                .maximumWeight(maximumWeight)
+                                .<Key, List<String>>weigher((key, value) -> weigh(key, value))
+                                .removalListener(this::onRemoval)
+                                .build();
+    }
+
+    private static int weigh(Key key, List<String> citations) {
+        long weight = key.entryIds.length * (long) OVERHEAD_PER_CITATION;
+        for (String citation : citations) {
+            weight += citation.length() + OVERHEAD_PER_CITATION;
+        }
+        return (int) Math.min(Integer.MAX_VALUE, weight);
+    }
+
+    Optional<List<String>> get(Key key) {
+        return Optional.ofNullable(citations.getIfPresent(key));
+    }
 
-    private PreviewLayout citationStyle;
-    private final LoadingCache<BibEntry, String> citationStyleCache;
+    /**
+     * Stores the citations of the entries of the given key. The key has to be created before the rendering, so that it
+     * holds the content versions the citations were rendered from.
+     */
+    void put(Key key, List<String> renderedCitations) {
+        // indexed before, as the key may be evicted right away
+        synchronized (keysByEntryId) {
+            for (String entryId : key.entryIds) {
+                keysByEntryId.computeIfAbsent(entryId, id -> new HashSet<>()).add(key);
+            }
+        }
+        citations.put(key, List.copyOf(renderedCitations));
+    }
 
-    public CitationStyleCache(BibDatabaseContext database) {
-        citationStyleCache = CacheBuilder.newBuilder().maximumSize(CACHE_SIZE).build(new CacheLoader<BibEntry, String>() {
-            @Override
-            public String load(BibEntry entry) {
-                if (citationStyle != null) {
-                    return citationStyle.generatePreview(entry, database.getDatabase());
-                } else {
-                    return "";
+    private void onRemoval(RemovalNotification<Key, List<String>> notification) {
+        if (notification.getCause() == RemovalCause.REPLACED) {
+            // the key is still cached
+            return;
+        }
+        Key key = notification.getKey();
+        synchronized (keysByEntryId) {
+            for (String entryId : key.entryIds) {
+                Set<Key> keys = keysByEntryId.get(entryId);
+                if (keys != null) {
+                    keys.remove(key);
+                    if (keys.isEmpty()) {
+                        keysByEntryId.remove(entryId);
+                    }
                 }
             }
-        });
-        database.getDatabase().registerListener(new BibDatabaseEntryListener());
+        }
+    }
+
+    /**
+     * Removes all citations containing the given entry
+     */
+    public void invalidate(BibEntry entry) {
+        Set<Key> keys;
+        synchronized (keysByEntryId) {
+            keys = keysByEntryId.remove(entry.getId());
+        }
+        if (keys != null) {
+            citations.invalidateAll(keys);
+        }
+    }
+
+    long size() {
+        return citations.size();
     }
 
     /**
-     * Returns the citation for the given entry.
+     * Removes the citations of entries as soon as they are changed or removed from the given database, so that their
+     * outdated citations do not occupy the cache until they are evicted.
      */
-    public String getCitationFor(BibEntry entry) {
-        return citationStyleCache.getUnchecked(entry);
+    public void listenTo(BibDatabase database) {
+        BibDatabaseEntryListener listener = new BibDatabaseEntryListener();
+        if (listeners.putIfAbsent(database, listener) == null) {
+            database.registerListener(listener);
+        }
     }
 
-    public void setCitationStyle(PreviewLayout citationStyle) {
-        Objects.requireNonNull(citationStyle);
-        if (!this.citationStyle.equals(citationStyle)) {
-            this.citationStyle = citationStyle;
-            this.citationStyleCache.invalidateAll();
+    /**
+     * Stops listening to the given database, e.g. because its library is closed, and removes the citations of its
+     * entries
+     */
+    public void stopListeningTo(BibDatabase database) {
+        BibDatabaseEntryListener listener = listeners.remove(database);
+        if (listener != null) {
+            database.unregisterListener(listener);
+        }
+        for (BibEntry entry : database.getEntries()) {
+            invalidate(entry);
         }
     }
 
@@ -59,7 +144,7 @@ public class CitationStyleCache {
          */
         @Subscribe
         public void listen(EntryChangedEvent entryChangedEvent) {
-            citationStyleCache.invalidate(entryChangedEvent.getBibEntry());
+            invalidate(entryChangedEvent.getBibEntry());
         }
 
         /**
@@ -68,8 +153,54 @@ public class CitationStyleCache {
         @Subscribe
         public void listen(EntriesRemovedEvent entriesRemovedEvent) {
             for (BibEntry entry : entriesRemovedEvent.getBibEntries()) {
-                citationStyleCache.invalidate(entry);
+                invalidate(entry);
+            }
+        }
+    }
+
+    static class Key {
+        // entries are identified by id, as equal entries of different libraries change independently
+        private final String[] entryIds;
+        private final int[] contentVersions;
+        private final String style;
+        private final CitationStyleOutputFormat outputFormat;
+        private final int hashCode;
+
+        Key(List<BibEntry> entries, String style, CitationStyleOutputFormat outputFormat) {
+            this.entryIds = new String[entries.size()];
+            this.contentVersions = new int[entries.size()];
+            int hash = Objects.hash(style, outputFormat);
+            for (int i = 0; i < entries.size(); i++) {
+                BibEntry entry = entries.get(i);
+                entryIds[i] = entry.getId();
+                contentVersions[i] = entry.getContentVersion();
+                hash = (31 * hash) + entryIds[i].hashCode();
+                hash = (31 * hash) + contentVersions[i];
+            }
+            this.style = style;
+            this.outputFormat = outputFormat;
+            this.hashCode = hash;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if ((o == null) || (getClass() != o.getClass())) {
+                return false;
             }
+            Key other = (Key) o;
+            return (hashCode == other.hashCode)
+                    && (outputFormat == other.outputFormat)
+                    && Objects.equals(style, other.style)
+                    && Arrays.equals(contentVersions, other.contentVersions)
+                    && Arrays.equals(entryIds, other.entryIds);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
         }
     }
 }
@@ -3,6 +3,7 @@ package org.jabref.logic.citationstyle;
 import java.io.IOException;
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
 
 import org.jabref.logic.l10n.Localization;
 import org.jabref.model.entry.BibEntry;
@@ -13,12 +14,15 @@ import org.slf4j.LoggerFactory;
 
 /**
  * Facade to unify the access to the citation style engine. Use these methods if you need rendered BibTeX item(s) in a
- * given journal style. This class uses {@link CSLAdapter} to create output.
+ * given journal style. This class uses {@link CSLAdapter} to create output. Requests are served by a
+ * {@link CSLAdapterPool}, thus they are rendered concurrently when called from several threads.
  */
 public class CitationStyleGenerator {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(CitationStyleGenerator.class);
-    private static final CSLAdapter CSL_ADAPTER = new CSLAdapter();
+    private static final CSLAdapterPool CSL_ADAPTERS = new CSLAdapterPool();
+    // about 16 MB of rendered citations
+    private static final CitationStyleCache CITATION_CACHE = new CitationStyleCache(8 * 1024 * 1024);
 
     private CitationStyleGenerator() {
     }
@@ -51,13 +55,37 @@ public class CitationStyleGenerator {
     }
 
     /**
-     * Generates the citation for multiple entries at once.
+     * Prepares the engine of the given style in the background, so that the next citation in that style is generated
+     * without initialization delay.
+     */
+    public static void warmUp(String style, CitationStyleOutputFormat outputFormat) {
+        CSL_ADAPTERS.warmUp(style, outputFormat);
+    }
+
+    /**
+     * Returns the cache of the generated citations, shared by all callers of this class
+     */
+    public static CitationStyleCache getCitationStyleCache() {
+        return CITATION_CACHE;
+    }
+
+    /**
+     * Generates the citation for multiple entries at once. Citations generated before for the same entries, style and
+     * output format are taken from the {@link CitationStyleCache}.
      *
      * @implNote The citations are generated using JavaScript which may take some time, better call it from outside the main thread.
      */
     public static List<String> generateCitations(List<BibEntry> bibEntries, String style, CitationStyleOutputFormat outputFormat) {
+        CitationStyleCache.Key key = new CitationStyleCache.Key(bibEntries, style, outputFormat);
+        Optional<List<String>> cachedCitations = CITATION_CACHE.get(key);
+        if (cachedCitations.isPresent()) {
+            return cachedCitations.get();
+        }
+
         try {
-            return CSL_ADAPTER.makeBibliography(bibEntries, style, outputFormat);
+            List<String> citations = CSL_ADAPTERS.makeBibliography(bibEntries, style, outputFormat);
+            CITATION_CACHE.put(key, citations);
+            return citations;
         } catch (IllegalArgumentException ignored) {
             LOGGER.error("Could not generate BibEntry citation. The CSL engine could not create a preview for your item.", ignored);
             return Collections.singletonList(Localization.lang("Cannot generate preview based on selected citation style."));
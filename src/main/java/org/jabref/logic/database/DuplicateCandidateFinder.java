@@ -0,0 +1,209 @@
+package org.jabref.logic.database;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+import org.jabref.model.entry.AuthorList;
+import org.jabref.model.entry.BibEntry;
+import org.jabref.model.entry.field.Field;
+import org.jabref.model.entry.field.FieldFactory;
+import org.jabref.model.entry.field.StandardField;
+
+/**
+ * Proposes the pairs of entries which may be duplicates, so that {@link DuplicateCheck#isDuplicate} does not have to be
+ * run on all pairs of entries of a library.
+ * <p>
+ * Each entry is put into blocks, and only entries sharing a block become a candidate pair:
+ * <ul>
+ *     <li>the value of each identifier field and the normalized DOI and ISBN</li>
+ *     <li>the normalized title, and the locality-sensitive hashing (LSH) buckets of the MinHash signature of the title,
+ *     so that titles differing in a few characters share a bucket with high probability</li>
+ *     <li>the last name of the first author (or editor) together with the year. Entries without year are paired with
+ *     all entries of the same author.</li>
+ * </ul>
+ * Apart from identifiers, {@link DuplicateCheck} never considers entries of different types as duplicates, so all
+ * other blocks are per entry type. Entries having neither title nor author cannot be blocked by their content and are
+ * paired with all entries of the same type.
+ */
+public class DuplicateCandidateFinder {
+
+    private static final int SHINGLE_LENGTH = 3;
+    private static final int LSH_BANDS = 20;
+    private static final int LSH_ROWS = 3;
+    private static final int[] MIN_HASH_SEEDS = new Random(20211).ints(LSH_BANDS * LSH_ROWS).toArray();
+
+    private final List<BibEntry> entries;
+
+    // an entry i probes the blocks in probedKeys.get(i) and is found by the entries probing the blocks in indexedKeys.get(i)
+    private final List<Set<String>> probedKeys = new ArrayList<>();
+    private final List<Set<String>> indexedKeys = new ArrayList<>();
+    private final Map<String, List<Integer>> indexedEntries = new HashMap<>();
+    private final Map<String, List<Integer>> probingEntries = new HashMap<>();
+
+    public DuplicateCandidateFinder(List<BibEntry> entries) {
+        this.entries = new ArrayList<>(entries);
+        for (int i = 0; i < this.entries.size(); i++) {
+            Set<String> probed = new HashSet<>();
+            Set<String> indexed = new HashSet<>();
+            computeKeys(this.entries.get(i), probed, indexed);
+            probedKeys.add(probed);
+            indexedKeys.add(indexed);
+            for (String key : probed) {
+                probingEntries.computeIfAbsent(key, k -> new ArrayList<>()).add(i);
+            }
+            for (String key : indexed) {
+                indexedEntries.computeIfAbsent(key, k -> new ArrayList<>()).add(i);
+            }
+        }
+    }
+
+    /**
+     * Passes each candidate pair to the consumer. The pairs are ordered as the pairs of a nested loop over the entries
+     * would be, i.e., the first entry of a pair always comes before the second one in the list of entries. Stops if the
+     * current thread is interrupted.
+     */
+    public void findCandidates(BiConsumer<BibEntry, BibEntry> candidateConsumer) {
+        BitSet partners = new BitSet(entries.size());
+        for (int i = 0; i < (entries.size() - 1); i++) {
+            if (Thread.currentThread().isInterrupted()) {
+                return;
+            }
+            for (String key : probedKeys.get(i)) {
+                addPartners(partners, indexedEntries.get(key), i);
+            }
+            for (String key : indexedKeys.get(i)) {
+                addPartners(partners, probingEntries.get(key), i);
+            }
+            for (int j = partners.nextSetBit(i + 1); j >= 0; j = partners.nextSetBit(j + 1)) {
+                candidateConsumer.accept(entries.get(i), entries.get(j));
+                partners.clear(j);
+            }
+        }
+    }
+
+    private static void addPartners(BitSet partners, List<Integer> block, int entryIndex) {
+        if (block == null) {
+            return;
+        }
+        // blocks are sorted, as entries are added in order
+        for (int k = block.size() - 1; k >= 0; k--) {
+            int partner = block.get(k);
+            if (partner <= entryIndex) {
+                break;
+            }
+            partners.set(partner);
+        }
+    }
+
+    private static void computeKeys(BibEntry entry, Set<String> probed, Set<String> indexed) {
+        Set<String> symmetricKeys = new HashSet<>();
+        for (Field field : FieldFactory.getIdentifierFieldNames()) {
+            entry.getField(field).ifPresent(value -> symmetricKeys.add(field.getName() + ':' + value));
+        }
+        entry.getDOI().ifPresent(doi -> symmetricKeys.add("doi:" + doi.getDOI().toLowerCase(Locale.ROOT)));
+        entry.getISBN().ifPresent(isbn -> symmetricKeys.add("isbn:" + isbn.getNormalized().toLowerCase(Locale.ROOT)));
+
+        String type = entry.getType().getName() + '|';
+        String title = normalize(entry.getField(StandardField.TITLE).orElse(""));
+        if (!title.isEmpty()) {
+            symmetricKeys.add("title:" + type + title);
+            int[] signature = minHash(title);
+            for (int band = 0; band < LSH_BANDS; band++) {
+                int bandHash = 1;
+                for (int row = 0; row < LSH_ROWS; row++) {
+                    bandHash = (31 * bandHash) + signature[(band * LSH_ROWS) + row];
+                }
+                symmetricKeys.add("lsh:" + type + band + ':' + bandHash);
+            }
+        }
+        probed.addAll(symmetricKeys);
+        indexed.addAll(symmetricKeys);
+
+        Optional<String> author = getFirstAuthorLastName(entry);
+        if (author.isPresent()) {
+            String authorKey = "author:" + type + author.get() + ':';
+            Optional<String> year = entry.getFieldOrAlias(StandardField.YEAR).map(String::trim).filter(value -> !value.isEmpty());
+            indexed.add(authorKey + "*");
+            if (year.isPresent()) {
+                probed.add(authorKey + year.get());
+                indexed.add(authorKey + year.get());
+                probed.add(authorKey);
+            } else {
+                indexed.add(authorKey);
+                probed.add(authorKey + "*");
+            }
+        }
+
+        indexed.add("all:" + type);
+        if (title.isEmpty() && author.isEmpty()) {
+            probed.add("all:" + type);
+        }
+    }
+
+    private static Optional<String> getFirstAuthorLastName(BibEntry entry) {
+        Optional<String> authors = entry.getField(StandardField.AUTHOR).or(() -> entry.getField(StandardField.EDITOR));
+        return authors.map(AuthorList::parse)
+                      .filter(authorList -> !authorList.isEmpty())
+                      .flatMap(authorList -> authorList.getAuthor(0).getLast())
+                      .map(DuplicateCandidateFinder::normalize)
+                      .filter(lastName -> !lastName.isEmpty());
+    }
+
+    /**
+     * Lower-cases the text and removes everything but letters and digits
+     */
+    private static String normalize(String text) {
+        StringBuilder normalized = new StringBuilder(text.length());
+        text.toLowerCase(Locale.ROOT).codePoints()
+            .filter(Character::isLetterOrDigit)
+            .forEach(normalized::appendCodePoint);
+        return normalized.toString();
+    }
+
+    private static int[] minHash(String text) {
+        int[] signature = new int[MIN_HASH_SEEDS.length];
+        Arrays.fill(signature, Integer.MAX_VALUE);
+        for (String shingle : getShingles(text)) {
+            int shingleHash = shingle.hashCode();
+            for (int i = 0; i < MIN_HASH_SEEDS.length; i++) {
+                signature[i] = Math.min(signature[i], mix(shingleHash ^ MIN_HASH_SEEDS[i]));
+            }
+        }
+        return signature;
+    }
+
+    private static Set<String> getShingles(String text) {
+        if (text.length() <= SHINGLE_LENGTH) {
+            return Collections.singleton(text);
+        }
+        Set<String> shingles = new HashSet<>();
+        for (int i = 0; i <= (text.length() - SHINGLE_LENGTH); i++) {
+            shingles.add(text.substring(i, i + SHINGLE_LENGTH));
+        }
+        return shingles;
+    }
+
+    /**
+     * Finalization step of MurmurHash3, which turns the xor-ed seeds into independent hash functions
+     */
+    private static int mix(int hash) {
+        int h = hash;
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h;
+    }
+}
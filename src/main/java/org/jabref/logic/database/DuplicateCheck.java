@@ -3,7 +3,6 @@ package org.jabref.logic.database;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
@@ -14,14 +13,12 @@ import org.jabref.logic.util.OS;
 import org.jabref.logic.util.strings.StringSimilarity;
 import org.jabref.model.database.BibDatabase;
 import org.jabref.model.database.BibDatabaseMode;
-import org.jabref.model.entry.AuthorList;
 import org.jabref.model.entry.BibEntry;
 import org.jabref.model.entry.BibEntryType;
 import org.jabref.model.entry.BibEntryTypesManager;
 import org.jabref.model.entry.field.BibField;
 import org.jabref.model.entry.field.Field;
 import org.jabref.model.entry.field.FieldFactory;
-import org.jabref.model.entry.field.FieldProperty;
 import org.jabref.model.entry.field.OrFields;
 import org.jabref.model.entry.field.StandardField;
 import org.jabref.model.entry.identifier.DOI;
@@ -39,6 +36,7 @@ public class DuplicateCheck {
     private static final double DUPLICATE_THRESHOLD = 0.75; // The overall threshold to signal a duplicate pair
 
     private static final Logger LOGGER = LoggerFactory.getLogger(DuplicateCheck.class);
+    private static final StringSimilarity STRING_SIMILARITY = new StringSimilarity();
     /*
      * Integer values for indicating result of duplicate check (for entries):
      */
@@ -94,14 +92,14 @@ public class DuplicateCheck {
                 !editionOne.get().equals(editionTwo.get());
     }
 
-    private static boolean haveDifferentChaptersOrPagesOfTheSameBook(final BibEntry one, final BibEntry two) {
+    private static boolean haveDifferentChaptersOrPagesOfTheSameBook(final DuplicateSignature one, final DuplicateSignature two) {
         return (compareSingleField(StandardField.AUTHOR, one, two) == EQUAL) &&
                 (compareSingleField(StandardField.TITLE, one, two) == EQUAL) &&
                 ((compareSingleField(StandardField.CHAPTER, one, two) == NOT_EQUAL) ||
                         (compareSingleField(StandardField.PAGES, one, two) == NOT_EQUAL));
     }
 
-    private static double[] compareRequiredFields(final BibEntryType type, final BibEntry one, final BibEntry two) {
+    private static double[] compareRequiredFields(final BibEntryType type, final DuplicateSignature one, final DuplicateSignature two) {
         final Set<OrFields> requiredFields = type.getRequiredFields();
         return requiredFields.isEmpty()
                 ? new double[] {0., 0.}
@@ -116,8 +114,8 @@ public class DuplicateCheck {
     }
 
     private static boolean compareOptionalFields(final BibEntryType type,
-                                                 final BibEntry one,
-                                                 final BibEntry two,
+                                                 final DuplicateSignature one,
+                                                 final DuplicateSignature two,
                                                  final double[] req) {
         final Set<BibField> optionalFields = type.getOptionalFields();
         if (optionalFields.isEmpty()) {
@@ -130,7 +128,7 @@ public class DuplicateCheck {
         return totValue >= DuplicateCheck.DUPLICATE_THRESHOLD;
     }
 
-    private static double[] compareFieldSet(final Collection<Field> fields, final BibEntry one, final BibEntry two) {
+    private static double[] compareFieldSet(final Collection<Field> fields, final DuplicateSignature one, final DuplicateSignature two) {
         if (fields.isEmpty()) {
             return new double[] {0.0, 0.0};
         }
@@ -153,9 +151,13 @@ public class DuplicateCheck {
         return new double[] {0.0, 0.0};
     }
 
-    private static int compareSingleField(final Field field, final BibEntry one, final BibEntry two) {
-        final Optional<String> optionalStringOne = one.getField(field);
-        final Optional<String> optionalStringTwo = two.getField(field);
+    /**
+     * Compares the normalized contents of the field (see {@link DuplicateSignature}). Pages are compared for equality,
+     * all other fields word by word.
+     */
+    private static int compareSingleField(final Field field, final DuplicateSignature one, final DuplicateSignature two) {
+        final Optional<String> optionalStringOne = one.getNormalizedField(field);
+        final Optional<String> optionalStringTwo = two.getNormalizedField(field);
         if (!optionalStringOne.isPresent()) {
             if (!optionalStringTwo.isPresent()) {
                 return EMPTY_IN_BOTH;
@@ -165,73 +167,11 @@ public class DuplicateCheck {
             return EMPTY_IN_TWO;
         }
 
-        // Both strings present
-        final String stringOne = optionalStringOne.get();
-        final String stringTwo = optionalStringTwo.get();
-
-        if (field.getProperties().contains(FieldProperty.PERSON_NAMES)) {
-            return compareAuthorField(stringOne, stringTwo);
-        } else if (StandardField.PAGES.equals(field)) {
-            return comparePagesField(stringOne, stringTwo);
-        } else if (StandardField.JOURNAL.equals(field)) {
-            return compareJournalField(stringOne, stringTwo);
-        } else if (StandardField.CHAPTER.equals(field)) {
-            return compareChapterField(stringOne, stringTwo);
+        if (StandardField.PAGES.equals(field)) {
+            return optionalStringOne.get().equals(optionalStringTwo.get()) ? EQUAL : NOT_EQUAL;
         }
 
-        return compareField(stringOne, stringTwo);
-    }
-
-    private static int compareAuthorField(final String stringOne, final String stringTwo) {
-        // Specific for name fields.
-        // Harmonise case:
-        final String authorOne = AuthorList.fixAuthorLastNameOnlyCommas(stringOne, false).replace(" and ", " ").toLowerCase(Locale.ROOT);
-        final String authorTwo = AuthorList.fixAuthorLastNameOnlyCommas(stringTwo, false).replace(" and ", " ").toLowerCase(Locale.ROOT);
-        final double similarity = DuplicateCheck.correlateByWords(authorOne, authorTwo);
-        if (similarity > 0.8) {
-            return EQUAL;
-        }
-        return NOT_EQUAL;
-    }
-
-    /**
-     * Pages can be given with a variety of delimiters, "-", "--", " - ", " -- ".
-     * We do a replace to harmonize these to a simple "-"
-     * After this, a simple test for equality should be enough
-     */
-    private static int comparePagesField(final String stringOne, final String stringTwo) {
-        final String processedStringOne = stringOne.replaceAll("[- ]+", "-");
-        final String processedStringTwo = stringTwo.replaceAll("[- ]+", "-");
-        if (processedStringOne.equals(processedStringTwo)) {
-            return EQUAL;
-        }
-        return NOT_EQUAL;
-    }
-
-    /**
-     * We do not attempt to harmonize abbreviation state of the journal names,
-     * but we remove periods from the names in case they are abbreviated with and without dots:
-     */
-    private static int compareJournalField(final String stringOne, final String stringTwo) {
-        final String processedStringOne = stringOne.replace(".", "").toLowerCase(Locale.ROOT);
-        final String processedStringTwo = stringTwo.replace(".", "").toLowerCase(Locale.ROOT);
-        final double similarity = DuplicateCheck.correlateByWords(processedStringOne, processedStringTwo);
-        if (similarity > 0.8) {
-            return EQUAL;
-        }
-        return NOT_EQUAL;
-    }
-
-    private static int compareChapterField(final String stringOne, final String stringTwo) {
-        final String processedStringOne = stringOne.replaceAll("(?i)chapter", "").trim();
-        final String processedStringTwo = stringTwo.replaceAll("(?i)chapter", "").trim();
-        return compareField(processedStringOne, processedStringTwo);
-    }
-
-    private static int compareField(final String stringOne, final String stringTwo) {
-        final String processedStringOne = StringUtil.unifyLineBreaks(stringOne.toLowerCase(Locale.ROOT).trim(), OS.NEWLINE);
-        final String processedStringTwo = StringUtil.unifyLineBreaks(stringTwo.toLowerCase(Locale.ROOT).trim(), OS.NEWLINE);
-        final double similarity = DuplicateCheck.correlateByWords(processedStringOne, processedStringTwo);
+        final double similarity = DuplicateCheck.correlateByWords(one.getWords(field), two.getWords(field));
         if (similarity > 0.8) {
             return EQUAL;
         }
@@ -276,8 +216,10 @@ public class DuplicateCheck {
      * @return a value in the interval [0, 1] indicating the degree of match.
      */
     public static double correlateByWords(final String s1, final String s2) {
-        final String[] w1 = s1.split("\\s");
-        final String[] w2 = s2.split("\\s");
+        return correlateByWords(s1.split("\\s"), s2.split("\\s"));
+    }
+
+    private static double correlateByWords(final String[] w1, final String[] w2) {
         final int n = Math.min(w1.length, w2.length);
         int misses = 0;
         for (int i = 0; i < n; i++) {
@@ -311,7 +253,7 @@ public class DuplicateCheck {
         if (longerLength == 0) {
             return 1.0;
         }
-        final double distanceIgnoredCase = new StringSimilarity().editDistanceIgnoreCase(longer, shorter);
+        final double distanceIgnoredCase = STRING_SIMILARITY.editDistanceIgnoreCase(longer, shorter);
         final double similarity = (longerLength - distanceIgnoredCase) / longerLength;
         LOGGER.debug("Longer string: {} Shorter string: {} Similarity: {}", longer, shorter, similarity);
         return similarity;
@@ -325,33 +267,45 @@ public class DuplicateCheck {
      * @return boolean
      */
     public boolean isDuplicate(final BibEntry one, final BibEntry two, final BibDatabaseMode bibDatabaseMode) {
+        return isDuplicate(new DuplicateSignature(one), new DuplicateSignature(two), bibDatabaseMode);
+    }
+
+    /**
+     * Checks if the entries of the two signatures represent the same publication. When checking many pairs of entries,
+     * the signature of each entry should be created only once, so that its fields are normalized only once.
+     * <p>
+     * This method may be called by multiple threads concurrently.
+     */
+    public boolean isDuplicate(final DuplicateSignature oneSignature, final DuplicateSignature twoSignature, final BibDatabaseMode bibDatabaseMode) {
+        final BibEntry one = oneSignature.getEntry();
+        final BibEntry two = twoSignature.getEntry();
         if (haveSameIdentifier(one, two)) {
             return true;
         }
 
         // check DOI
-        Optional<DOI> oneDOI = one.getDOI();
-        Optional<DOI> twoDOI = two.getDOI();
+        Optional<DOI> oneDOI = oneSignature.getDOI();
+        Optional<DOI> twoDOI = twoSignature.getDOI();
         if (oneDOI.isPresent() && twoDOI.isPresent()) {
             return Objects.equals(oneDOI, twoDOI);
         }
         // check ISBN
-        Optional<ISBN> oneISBN = one.getISBN();
-        Optional<ISBN> twoISBN = two.getISBN();
+        Optional<ISBN> oneISBN = oneSignature.getISBN();
+        Optional<ISBN> twoISBN = twoSignature.getISBN();
         if (oneISBN.isPresent() && twoISBN.isPresent()) {
             return Objects.equals(oneISBN, twoISBN);
         }
 
         if (haveDifferentEntryType(one, two) ||
                 haveDifferentEditions(one, two) ||
-                haveDifferentChaptersOrPagesOfTheSameBook(one, two)) {
+                haveDifferentChaptersOrPagesOfTheSameBook(oneSignature, twoSignature)) {
             return false;
         }
 
         final Optional<BibEntryType> type = entryTypesManager.enrich(one.getType(), bibDatabaseMode);
         if (type.isPresent()) {
             BibEntryType entryType = type.get();
-            final double[] reqCmpResult = compareRequiredFields(entryType, one, two);
+            final double[] reqCmpResult = compareRequiredFields(entryType, oneSignature, twoSignature);
 
             if (isFarFromThreshold(reqCmpResult[0])) {
                 // Far from the threshold value, so we base our decision on the required fields only
@@ -359,13 +313,13 @@ public class DuplicateCheck {
             }
 
             // Close to the threshold value, so we take a look at the optional fields, if any:
-            if (compareOptionalFields(type.get(), one, two, reqCmpResult)) {
+            if (compareOptionalFields(type.get(), oneSignature, twoSignature, reqCmpResult)) {
                 return true;
             }
         }
         // if type is not present, so simply compare fields without any distinction between optional/required
         // In case both required and optional fields are equal, we also use this fallback
-        return compareFieldSet(Sets.union(one.getFields(), two.getFields()), one, two)[0] >= DuplicateCheck.DUPLICATE_THRESHOLD;
+        return compareFieldSet(Sets.union(one.getFields(), two.getFields()), oneSignature, twoSignature)[0] >= DuplicateCheck.DUPLICATE_THRESHOLD;
     }
 
     /**
@@ -382,6 +336,7 @@ public class DuplicateCheck {
                                                 final BibEntry entry,
                                                 final BibDatabaseMode bibDatabaseMode) {
 
-        return database.getEntries().stream().filter(other -> isDuplicate(entry, other, bibDatabaseMode)).findFirst();
+        final DuplicateSignature signature = new DuplicateSignature(entry);
+        return database.getEntries().stream().filter(other -> isDuplicate(signature, new DuplicateSignature(other), bibDatabaseMode)).findFirst();
     }
 }
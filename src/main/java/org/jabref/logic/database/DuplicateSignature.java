@@ -0,0 +1,110 @@
+package org.jabref.logic.database;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+import org.jabref.logic.util.OS;
+import org.jabref.model.entry.AuthorList;
+import org.jabref.model.entry.BibEntry;
+import org.jabref.model.entry.field.Field;
+import org.jabref.model.entry.field.FieldProperty;
+import org.jabref.model.entry.field.StandardField;
+import org.jabref.model.entry.identifier.DOI;
+import org.jabref.model.entry.identifier.ISBN;
+import org.jabref.model.strings.StringUtil;
+
+/**
+ * The fields of an entry normalized the way {@link DuplicateCheck} compares them: author last names, page ranges with
+ * harmonized delimiters, journal names without abbreviation dots, and the lower-cased words of all other fields.
+ * The DOI and the ISBN of the entry are parsed when the signature is created.
+ * <p>
+ * A field is normalized when it is compared for the first time, and the result is kept for all further comparisons of
+ * the entry. The signature does not follow later changes of the entry and may be used by multiple threads concurrently.
+ */
+public class DuplicateSignature {
+
+    private static final Pattern PAGES_DELIMITER = Pattern.compile("[- ]+");
+    private static final Pattern CHAPTER = Pattern.compile("(?i)chapter");
+    private static final Pattern WORD_SEPARATOR = Pattern.compile("\\s");
+
+    private static final NormalizedField ABSENT = new NormalizedField(null, null);
+
+    private final BibEntry entry;
+    private final Optional<DOI> doi;
+    private final Optional<ISBN> isbn;
+    private final Map<Field, NormalizedField> normalizedFields = new ConcurrentHashMap<>();
+
+    public DuplicateSignature(BibEntry entry) {
+        this.entry = Objects.requireNonNull(entry);
+        this.doi = entry.getDOI();
+        this.isbn = entry.getISBN();
+    }
+
+    public BibEntry getEntry() {
+        return entry;
+    }
+
+    Optional<DOI> getDOI() {
+        return doi;
+    }
+
+    Optional<ISBN> getISBN() {
+        return isbn;
+    }
+
+    /**
+     * Returns the normalized content of the field, or an empty optional if the entry does not have the field
+     */
+    Optional<String> getNormalizedField(Field field) {
+        return Optional.ofNullable(getOrNormalize(field).value);
+    }
+
+    /**
+     * Returns the words of the normalized content of the field. The field must be present, and must not be
+     * {@link StandardField#PAGES}, which is compared as a whole.
+     */
+    String[] getWords(Field field) {
+        return getOrNormalize(field).words;
+    }
+
+    private NormalizedField getOrNormalize(Field field) {
+        return normalizedFields.computeIfAbsent(field, key -> entry.getField(key).map(value -> normalize(key, value)).orElse(ABSENT));
+    }
+
+    private static NormalizedField normalize(Field field, String value) {
+        if (field.getProperties().contains(FieldProperty.PERSON_NAMES)) {
+            return withWords(AuthorList.fixAuthorLastNameOnlyCommas(value, false).replace(" and ", " ").toLowerCase(Locale.ROOT));
+        } else if (StandardField.PAGES.equals(field)) {
+            // pages can be given with a variety of delimiters, "-", "--", " - ", " -- "
+            return new NormalizedField(PAGES_DELIMITER.matcher(value).replaceAll("-"), null);
+        } else if (StandardField.JOURNAL.equals(field)) {
+            // journals may be abbreviated with and without dots
+            return withWords(value.replace(".", "").toLowerCase(Locale.ROOT));
+        } else if (StandardField.CHAPTER.equals(field)) {
+            return withWords(normalizeText(CHAPTER.matcher(value).replaceAll("").trim()));
+        }
+        return withWords(normalizeText(value));
+    }
+
+    private static String normalizeText(String value) {
+        return StringUtil.unifyLineBreaks(value.toLowerCase(Locale.ROOT).trim(), OS.NEWLINE);
+    }
+
+    private static NormalizedField withWords(String value) {
+        return new NormalizedField(value, WORD_SEPARATOR.split(value));
+    }
+
+    private static class NormalizedField {
+        private final String value;
+        private final String[] words;
+
+        NormalizedField(String value, String[] words) {
+            this.value = value;
+            this.words = words;
+        }
+    }
+}
@@ -1,13 +1,17 @@
 package org.jabref.logic.exporter;
 
+import java.io.BufferedOutputStream;
 import java.io.FileOutputStream;
 import java.io.FilterOutputStream;
 import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
 import java.nio.channels.FileLock;
 import java.nio.channels.OverlappingFileLockException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.nio.file.attribute.PosixFilePermission;
 import java.util.EnumSet;
 import java.util.Set;
@@ -25,18 +29,19 @@ import org.slf4j.LoggerFactory;
  * In detail, the strategy is to:
  * <ol>
  * <li>Write to a temporary file (with .tmp suffix) in the same directory as the destination file.</li>
- * <li>Create a backup (with .bak suffix) of the original file (if it exists) in the same directory.</li>
+ * <li>Create a backup (with .bak suffix) of the original file (if it exists and the backup is to be kept) in the same
+ * directory.</li>
  * <li>Move the temporary file to the correct place, overwriting any file that already exists at that location.</li>
- * <li>Delete the backup file (if configured to do so).</li>
  * </ol>
+ * The move is atomic, thus the original file is either untouched or replaced as a whole, and a backup which is not kept
+ * is not created at all.
  * If all goes well, no temporary or backup files will remain on disk after closing the stream.
  * <p>
  * Errors are handled as follows:
  * <ol>
  * <li>If anything goes wrong while writing to the temporary file, the temporary file will be deleted (leaving the
  * original file untouched).</li>
- * <li>If anything goes wrong while copying the temporary file to the target file, the backup of the original file is
- * kept.</li>
+ * <li>If anything goes wrong while moving the temporary file to the target file, the original file is untouched.</li>
  * </ol>
  * <p>
  * Implementation inspired by code from <a href="https://github.com/martylamb/atomicfileoutputstream/blob/master/src/main/java/com/martiansoftware/io/AtomicFileOutputStream.java">Marty
@@ -49,6 +54,11 @@ public class AtomicFileOutputStream extends FilterOutputStream {
     private static final String TEMPORARY_EXTENSION = ".tmp";
     private static final String BACKUP_EXTENSION = ".bak";
 
+    /**
+     * Writes to the channel of the temporary file are collected in a buffer of this size
+     */
+    private static final int BUFFER_SIZE = 64 * 1024;
+
     /**
      * The file we want to create/replace.
      */
@@ -58,6 +68,7 @@ public class AtomicFileOutputStream extends FilterOutputStream {
      * The file to which writes are redirected to.
      */
     private final Path temporaryFile;
+    private final FileChannel temporaryFileChannel;
     private final FileLock temporaryFileLock;
     /**
      * A backup of the target file (if it exists), created when the stream is closed
@@ -72,22 +83,43 @@ public class AtomicFileOutputStream extends FilterOutputStream {
      * @param keepBackup whether to keep the backup file after a successful write process
      */
     public AtomicFileOutputStream(Path path, boolean keepBackup) throws IOException {
-        super(Files.newOutputStream(getPathOfTemporaryFile(path)));
+        this(path, FileChannel.open(getPathOfTemporaryFile(path), StandardOpenOption.CREATE, StandardOpenOption.WRITE), keepBackup);
+    }
+
+    private AtomicFileOutputStream(Path path, FileChannel temporaryFileChannel, boolean keepBackup) throws IOException {
+        super(new BufferedOutputStream(Channels.newOutputStream(temporaryFileChannel), BUFFER_SIZE));
 
         this.targetFile = path;
         this.temporaryFile = getPathOfTemporaryFile(path);
+        this.temporaryFileChannel = temporaryFileChannel;
         this.backupFile = getPathOfBackupFile(path);
         this.keepBackup = keepBackup;
 
+        // Lock files (so that at least not another JabRef instance writes at the same time to the same tmp file)
+        FileLock lock;
         try {
-            // Lock files (so that at least not another JabRef instance writes at the same time to the same tmp file)
-            if (out instanceof FileOutputStream) {
-                temporaryFileLock = ((FileOutputStream) out).getChannel().lock();
-            } else {
-                temporaryFileLock = null;
-            }
+            lock = temporaryFileChannel.lock();
         } catch (OverlappingFileLockException exception) {
+            temporaryFileChannel.close();
             throw new IOException("Could not obtain write access to " + temporaryFile + ". Maybe another instance of JabRef is currently writing to the same file?", exception);
+        } catch (IOException exception) {
+            // e.g., some network shares do not support locks
+            LOGGER.debug("Unable to lock file {}", temporaryFile, exception);
+            lock = null;
+        }
+        temporaryFileLock = lock;
+
+        // truncate only after locking, so that a file being written by another instance is not destroyed
+        try {
+            temporaryFileChannel.truncate(0);
+        } catch (IOException exception) {
+            // closing the channel releases the lock as well
+            try {
+                temporaryFileChannel.close();
+            } catch (IOException closeException) {
+                exception.addSuppressed(closeException);
+            }
+            throw exception;
         }
     }
 
@@ -128,6 +160,26 @@ public class AtomicFileOutputStream extends FilterOutputStream {
         }
     }
 
+    /**
+     * Writes a part of the given channel, without passing it through the heap if the operating system supports it.
+     */
+    public void transferFrom(FileChannel source, long position, long count) throws IOException {
+        try {
+            out.flush();
+            long transferred = 0;
+            while (transferred < count) {
+                long transferredNow = source.transferTo(position + transferred, count - transferred, temporaryFileChannel);
+                if (transferredNow <= 0) {
+                    throw new IOException("Could not read " + count + " bytes at " + position + " of the source");
+                }
+                transferred += transferredNow;
+            }
+        } catch (IOException exception) {
+            cleanup();
+            throw exception;
+        }
+    }
+
     /**
      * Closes the write process to the temporary file but does not commit to the target file.
      */
@@ -149,7 +201,8 @@ public class AtomicFileOutputStream extends FilterOutputStream {
         }
 
         try {
-            if (temporaryFileLock != null) {
+            // the lock is released by closing the channel already, unless the writing failed
+            if ((temporaryFileLock != null) && temporaryFileLock.isValid()) {
                 temporaryFileLock.release();
             }
         } catch (IOException exception) {
@@ -164,9 +217,7 @@ public class AtomicFileOutputStream extends FilterOutputStream {
             try {
                 // Make sure we have written everything to the temporary file
                 flush();
-                if (out instanceof FileOutputStream) {
-                    ((FileOutputStream) out).getFD().sync();
-                }
+                temporaryFileChannel.force(true);
             } catch (IOException exception) {
                 // Try to close nonetheless
                 super.close();
@@ -175,14 +226,16 @@ public class AtomicFileOutputStream extends FilterOutputStream {
             super.close();
 
             // We successfully wrote everything to the temporary file, lets copy it to the correct place
-            // First, make backup of original file and try to save file permissions to restore them later (by default: 664)
+            // First, make backup of original file if it is kept and try to save file permissions to restore them later (by default: 664)
             Set<PosixFilePermission> oldFilePermissions = EnumSet.of(PosixFilePermission.OWNER_READ,
                     PosixFilePermission.OWNER_WRITE,
                     PosixFilePermission.GROUP_READ,
                     PosixFilePermission.GROUP_WRITE,
                     PosixFilePermission.OTHERS_READ);
             if (Files.exists(targetFile)) {
-                Files.copy(targetFile, backupFile, StandardCopyOption.REPLACE_EXISTING);
+                if (keepBackup) {
+                    Files.copy(targetFile, backupFile, StandardCopyOption.REPLACE_EXISTING);
+                }
                 if (FileUtil.IS_POSIX_COMPILANT) {
                     try {
                         oldFilePermissions = Files.getPosixFilePermissions(targetFile);
@@ -203,11 +256,6 @@ public class AtomicFileOutputStream extends FilterOutputStream {
                     LOGGER.warn("Error writing file permissions to file {}.", targetFile, exception);
                 }
             }
-
-            if (!keepBackup) {
-                // Remove backup file
-                Files.deleteIfExists(backupFile);
-            }
         } finally {
             // Remove temporary file (but not the backup!)
             cleanup();
@@ -2,9 +2,13 @@ package org.jabref.logic.exporter;
 
 import java.io.IOException;
 import java.io.OutputStreamWriter;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.charset.Charset;
 import java.nio.charset.CharsetEncoder;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.Collections;
 import java.util.Set;
 import java.util.TreeSet;
@@ -15,19 +19,35 @@ import java.util.TreeSet;
  * contents of the target file.
  * Moreover, this writer checks if the chosen encoding supports all text that is written. Characters whose encoding
  * was problematic can be retrieved by {@link #getEncodingProblems()}.
+ * <p>
+ * Parts of other files, e.g. the file to be replaced, can be copied into the file. For UTF-8, the position in the
+ * file is counted.
  */
-public class AtomicFileWriter extends OutputStreamWriter {
+public class AtomicFileWriter extends OutputStreamWriter implements SplicingWriter {
 
+    private final AtomicFileOutputStream outputStream;
     private final CharsetEncoder encoder;
     private final Set<Character> problemCharacters = new TreeSet<>();
 
+    // -1 if unknown
+    private long position;
+    private Path copiedFile;
+    private FileChannel copiedFileChannel;
+
     public AtomicFileWriter(Path file, Charset encoding) throws IOException {
         this(file, encoding, false);
     }
 
     public AtomicFileWriter(Path file, Charset encoding, boolean keepBackup) throws IOException {
-        super(new AtomicFileOutputStream(file, keepBackup), encoding);
+        this(new AtomicFileOutputStream(file, keepBackup), encoding);
+    }
+
+    private AtomicFileWriter(AtomicFileOutputStream outputStream, Charset encoding) {
+        super(outputStream, encoding);
+        this.outputStream = outputStream;
         encoder = encoding.newEncoder();
+        // the number of bytes of a text is only easily known for UTF-8
+        position = StandardCharsets.UTF_8.equals(encoding) ? 0 : -1;
     }
 
     @Override
@@ -43,6 +63,89 @@ public class AtomicFileWriter extends OutputStreamWriter {
         }
     }
 
+    @Override
+    public void write(String str, int off, int len) throws IOException {
+        super.write(str, off, len);
+        countPosition(str, off, off + len);
+    }
+
+    @Override
+    public void write(char[] cbuf, int off, int len) throws IOException {
+        super.write(cbuf, off, len);
+        countPosition(CharBuffer.wrap(cbuf), off, off + len);
+    }
+
+    @Override
+    public void write(int c) throws IOException {
+        super.write(c);
+        countPosition(String.valueOf((char) c), 0, 1);
+    }
+
+    private void countPosition(CharSequence text, int start, int end) {
+        if (position < 0) {
+            return;
+        }
+        for (int i = start; i < end; i++) {
+            char character = text.charAt(i);
+            if (character < 0x80) {
+                position++;
+            } else if (character < 0x800) {
+                position += 2;
+            } else if (Character.isHighSurrogate(character) && ((i + 1) < end) && Character.isLowSurrogate(text.charAt(i + 1))) {
+                position += 4;
+                i++;
+            } else if (Character.isSurrogate(character)) {
+                // replaced when encoded, or joined with a surrogate of another call
+                position = -1;
+                return;
+            } else {
+                position += 3;
+            }
+        }
+    }
+
+    /**
+     * Returns the number of bytes written so far, or -1 if it is not known, e.g. because the encoding is not UTF-8
+     */
+    @Override
+    public long getPosition() {
+        return position;
+    }
+
+    @Override
+    public void copy(Path file, long start, long end) throws IOException {
+        if (!file.equals(copiedFile)) {
+            closeCopiedFile();
+            copiedFileChannel = FileChannel.open(file, StandardOpenOption.READ);
+            copiedFile = file;
+        }
+
+        // writes the text written before
+        flush();
+        outputStream.transferFrom(copiedFileChannel, start, end - start);
+        if (position >= 0) {
+            position += end - start;
+        }
+    }
+
+    private void closeCopiedFile() throws IOException {
+        if (copiedFileChannel != null) {
+            copiedFileChannel.close();
+            copiedFileChannel = null;
+            copiedFile = null;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            // the copied file may be the one to be replaced
+            closeCopiedFile();
+        } finally {
+            super.close();
+        }
+    }
+
     public boolean hasEncodingProblems() {
         return !problemCharacters.isEmpty();
     }
@@ -207,10 +207,10 @@ public abstract class BibDatabaseWriter {
                 // Otherwise (enrich returns empty optional) it is a completely unknown entry type, so ignore it
                 entryTypesManager.enrich(entry.getType(), bibDatabaseContext.getMode()).ifPresent(typesToWrite::add);
             }
-
-            writeEntry(entry, bibDatabaseContext.getMode());
         }
 
+        writeEntries(sortedEntries, bibDatabaseContext.getMode());
+
         if (savePreferences.getSaveType() != SavePreferences.DatabaseSaveType.PLAIN_BIBTEX) {
             // Write meta data.
             writeMetaData(bibDatabaseContext.getMetaData(), savePreferences.getCitationKeyPatternPreferences().getKeyPattern());
@@ -227,6 +227,15 @@ public abstract class BibDatabaseWriter {
 
     protected abstract void writeEntry(BibEntry entry, BibDatabaseMode mode) throws IOException;
 
+    /**
+     * Writes the given entries in the given order
+     */
+    protected void writeEntries(List<BibEntry> entries, BibDatabaseMode mode) throws IOException {
+        for (BibEntry entry : entries) {
+            writeEntry(entry, mode);
+        }
+    }
+
     protected abstract void writeEpilogue(String epilogue) throws IOException;
 
     /**
@@ -0,0 +1,225 @@
+package org.jabref.logic.exporter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+
+import org.jabref.model.entry.BibEntry;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The positions of the entries in a .bib file written by {@link BibtexDatabaseWriter}. A later save of the same entries
+ * copies the entries, which did not change since then, from the file, see {@link SplicingWriter}.
+ * <p>
+ * The layout is only valid as long as the file is not modified, which is checked by its size and modification time.
+ * Entries whose text differs from their parsed serialization are identified by a fingerprint of their text.
+ */
+public class BibFileLayout {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BibFileLayout.class);
+
+    private final Path file;
+    private final long size;
+    private final FileTime lastModified;
+    private final Object fileKey;
+    private final String newLineSeparator;
+    private final List<BibEntry> entries;
+    // entries are identified by identity, as equal entries may be written at different positions
+    private final Map<BibEntry, Integer> indexes = new IdentityHashMap<>();
+    private final long[] starts;
+    private final long[] ends;
+    private final boolean[] writtenAsParsed;
+    private final long[] fingerprints;
+    // the checksum of the content of the file, computed on first use, -1 before
+    private long checksum = -1;
+
+    private BibFileLayout(Path file, BasicFileAttributes attributes, String newLineSeparator, Builder builder) {
+        this.file = file;
+        this.size = attributes.size();
+        this.lastModified = attributes.lastModifiedTime();
+        this.fileKey = attributes.fileKey();
+        this.newLineSeparator = newLineSeparator;
+        this.entries = List.copyOf(builder.entries);
+        int numberOfEntries = entries.size();
+        this.starts = Arrays.copyOf(builder.starts, numberOfEntries);
+        this.ends = Arrays.copyOf(builder.ends, numberOfEntries);
+        this.writtenAsParsed = Arrays.copyOf(builder.writtenAsParsed, numberOfEntries);
+        this.fingerprints = Arrays.copyOf(builder.fingerprints, numberOfEntries);
+        for (int i = 0; i < numberOfEntries; i++) {
+            indexes.put(entries.get(i), i);
+        }
+    }
+
+    /**
+     * Returns a fingerprint of the given text, which differs for different texts with very high probability
+     */
+    public static long fingerprint(String text) {
+        // 64-bit FNV-1a
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < text.length(); i++) {
+            hash ^= text.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    /**
+     * Returns the CRC32 checksum of the content of the given file
+     */
+    public static long computeChecksum(Path file) throws IOException {
+        try (CheckedInputStream input = new CheckedInputStream(Files.newInputStream(file), new CRC32())) {
+            input.transferTo(OutputStream.nullOutputStream());
+            return input.getChecksum().getValue();
+        }
+    }
+
+    /**
+     * Returns the {@link #computeChecksum(Path) checksum} of the content of the file, which is read once on the first
+     * call. Thus, the file should be {@link #isUnmodified() unmodified}.
+     */
+    public synchronized long getChecksum() throws IOException {
+        if (checksum < 0) {
+            checksum = computeChecksum(file);
+        }
+        return checksum;
+    }
+
+    /**
+     * Checks whether the file is still as it was written, i.e. it was not modified by another program
+     */
+    public boolean isUnmodified() {
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+            return (attributes.size() == size)
+                    && attributes.lastModifiedTime().equals(lastModified)
+                    && Objects.equals(attributes.fileKey(), fileKey);
+        } catch (IOException e) {
+            LOGGER.debug("Could not read attributes of {}", file, e);
+            return false;
+        }
+    }
+
+    /**
+     * Checks whether the entries written before keep their order in the given entries, so that runs of unchanged
+     * entries can be copied at once. Entries may be added or removed.
+     */
+    public boolean isInOrder(List<BibEntry> entriesToWrite) {
+        int lastIndex = -1;
+        for (BibEntry entry : entriesToWrite) {
+            int index = indexOf(entry);
+            if (index >= 0) {
+                if (index < lastIndex) {
+                    return false;
+                }
+                lastIndex = index;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the index of the given entry in the file, or -1 if it was not written
+     */
+    public int indexOf(BibEntry entry) {
+        Integer index = indexes.get(entry);
+        return index == null ? -1 : index;
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public FileTime getLastModified() {
+        return lastModified;
+    }
+
+    public String getNewLineSeparator() {
+        return newLineSeparator;
+    }
+
+    public BibEntry getEntry(int index) {
+        return entries.get(index);
+    }
+
+    /**
+     * Returns the offset of the first byte of the entry with the given index. The entry is preceded by a line break
+     * separating it from the preceding block, if there is one.
+     */
+    public long getStart(int index) {
+        return starts[index];
+    }
+
+    /**
+     * Returns the offset after the last byte of the entry with the given index
+     */
+    public long getEnd(int index) {
+        return ends[index];
+    }
+
+    /**
+     * Returns whether the entry with the given index was written as it was parsed, i.e. unchanged
+     */
+    public boolean isWrittenAsParsed(int index) {
+        return writtenAsParsed[index];
+    }
+
+    /**
+     * Returns the {@link #fingerprint(String) fingerprint} of the text of the entry with the given index, if it was not
+     * written as parsed
+     */
+    public long getFingerprint(int index) {
+        return fingerprints[index];
+    }
+
+    /**
+     * Collects the positions of the entries while a file is written
+     */
+    public static class Builder {
+
+        private final List<BibEntry> entries = new ArrayList<>();
+        private long[] starts = new long[16];
+        private long[] ends = new long[16];
+        private boolean[] writtenAsParsed = new boolean[16];
+        private long[] fingerprints = new long[16];
+
+        public void addEntry(BibEntry entry, long start, long end, boolean isWrittenAsParsed, long fingerprint) {
+            int index = entries.size();
+            if (index == starts.length) {
+                int newLength = 2 * index;
+                starts = Arrays.copyOf(starts, newLength);
+                ends = Arrays.copyOf(ends, newLength);
+                writtenAsParsed = Arrays.copyOf(writtenAsParsed, newLength);
+                fingerprints = Arrays.copyOf(fingerprints, newLength);
+            }
+            entries.add(entry);
+            starts[index] = start;
+            ends[index] = end;
+            writtenAsParsed[index] = isWrittenAsParsed;
+            fingerprints[index] = fingerprint;
+        }
+
+        /**
+         * Creates the layout of the given file, which has to be closed already
+         */
+        public BibFileLayout build(Path file, String newLineSeparator) throws IOException {
+            return new BibFileLayout(file, Files.readAttributes(file, BasicFileAttributes.class), newLineSeparator, this);
+        }
+    }
+}
@@ -25,15 +25,50 @@ public class BibWriter {
         this.newLineSeparator = newLineSeparator;
     }
 
+    public String getNewLineSeparator() {
+        return newLineSeparator;
+    }
+
     /**
      * Writes the given string. The newlines of the given string are converted to the newline set for this clas
      */
     public void write(String string) throws IOException {
+        writeUnified(StringUtil.unifyLineBreaks(string, newLineSeparator));
+    }
+
+    /**
+     * Writes a complete block, which was written by another BibWriter using the same line separator. This way, blocks
+     * can be prepared independently, e.g. in parallel, and written in order afterwards.
+     */
+    public void writeBlock(String block) throws IOException {
+        // the line breaks are already unified
+        writeUnified(block);
+        this.finishBlock();
+    }
+
+    /**
+     * Starts a new block, i.e., writes the line break separating it from the preceding block if required. Thus, the
+     * text of the block starts at the current position of the underlying writer.
+     */
+    public void startBlock() throws IOException {
         if (precedingNewLineRequired) {
             writer.write(newLineSeparator);
             precedingNewLineRequired = false;
         }
-        string = StringUtil.unifyLineBreaks(string, newLineSeparator);
+    }
+
+    /**
+     * Finishes a block started by {@link #startBlock()}, whose text was written to the underlying writer directly, e.g.
+     * copied from a file. As each block written by this class, the text has to end with a line break.
+     */
+    public void finishCopiedBlock() throws IOException {
+        lastWriteWasNewline = true;
+        somethingWasWritten = true;
+        this.finishBlock();
+    }
+
+    private void writeUnified(String string) throws IOException {
+        startBlock();
         writer.write(string);
         lastWriteWasNewline = string.endsWith(newLineSeparator);
         somethingWasWritten = true;
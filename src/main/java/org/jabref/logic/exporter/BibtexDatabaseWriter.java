@@ -4,7 +4,11 @@ import java.io.IOException;
 import java.io.Writer;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.stream.IntStream;
 
 import org.jabref.logic.bibtex.BibEntryWriter;
 import org.jabref.logic.bibtex.FieldWriter;
@@ -27,12 +31,52 @@ public class BibtexDatabaseWriter extends BibDatabaseWriter {
     private static final String COMMENT_PREFIX = "@Comment";
     private static final String PREAMBLE_PREFIX = "@Preamble";
 
+    /**
+     * Number of entries serialized in parallel at once. The serializations of a batch are kept in memory until they are
+     * written.
+     */
+    private static final int ENTRIES_PER_BATCH = 1024;
+
+    private final Optional<SplicingWriter> splicingWriter;
+    private final Optional<BibFileLayout> previousLayout;
+    private EntrySplicer entrySplicer;
+
     public BibtexDatabaseWriter(BibWriter bibWriter, GeneralPreferences generalPreferences, SavePreferences savePreferences, BibEntryTypesManager entryTypesManager) {
         super(bibWriter, generalPreferences, savePreferences, entryTypesManager);
+        this.splicingWriter = Optional.empty();
+        this.previousLayout = Optional.empty();
+    }
+
+    /**
+     * Creates a writer which copies the entries, which did not change since the file of the given layout was written,
+     * from that file. The layout of the file written is recorded, see {@link #getFileLayout(Path)}.
+     *
+     * @param splicingWriter the writer underlying the given BibWriter
+     * @param previousLayout the layout of the file written by the previous save of the library
+     */
+    public BibtexDatabaseWriter(BibWriter bibWriter, SplicingWriter splicingWriter, Optional<BibFileLayout> previousLayout, GeneralPreferences generalPreferences, SavePreferences savePreferences, BibEntryTypesManager entryTypesManager) {
+        super(bibWriter, generalPreferences, savePreferences, entryTypesManager);
+        this.splicingWriter = Optional.of(splicingWriter);
+        this.previousLayout = previousLayout;
     }
 
     public BibtexDatabaseWriter(Writer writer, String newline, GeneralPreferences generalPreferences, SavePreferences savePreferences, BibEntryTypesManager entryTypesManager) {
-        super(new BibWriter(writer, newline), generalPreferences, savePreferences, entryTypesManager);
+        this(new BibWriter(writer, newline), generalPreferences, savePreferences, entryTypesManager);
+    }
+
+    /**
+     * Returns the layout of the file written, if this writer was created with a {@link SplicingWriter}. It can be used
+     * by the next save of the library to the same file.
+     *
+     * @param file the file written, which has to be closed already
+     * @return the layout, or an empty optional if the positions of the entries are not known, e.g. because the text was
+     * not written in UTF-8
+     */
+    public Optional<BibFileLayout> getFileLayout(Path file) throws IOException {
+        if (entrySplicer == null) {
+            return Optional.empty();
+        }
+        return entrySplicer.getLayout(file);
     }
 
     @Override
@@ -128,4 +172,56 @@ public class BibtexDatabaseWriter extends BibDatabaseWriter {
         BibEntryWriter bibtexEntryWriter = new BibEntryWriter(new FieldWriter(savePreferences.getFieldWriterPreferences()), entryTypesManager);
         bibtexEntryWriter.write(entry, bibWriter, mode, savePreferences.shouldReformatFile());
     }
+
+    /**
+     * Serializes the entries of a batch in parallel, as formatting the fields of changed entries is independent for
+     * each entry, and writes the serializations in the given order afterwards. With a {@link SplicingWriter}, entries
+     * unchanged since the previous save are copied instead.
+     */
+    @Override
+    protected void writeEntries(List<BibEntry> entries, BibDatabaseMode mode) throws IOException {
+        BibEntryWriter bibtexEntryWriter = new BibEntryWriter(new FieldWriter(savePreferences.getFieldWriterPreferences()), entryTypesManager);
+        boolean reformat = savePreferences.shouldReformatFile();
+        String newLineSeparator = bibWriter.getNewLineSeparator();
+        entrySplicer = splicingWriter.map(writer -> new EntrySplicer(bibWriter, writer, previousLayout, entries)).orElse(null);
+
+        for (int batchStart = 0; batchStart < entries.size(); batchStart += ENTRIES_PER_BATCH) {
+            List<BibEntry> batch = entries.subList(batchStart, Math.min(batchStart + ENTRIES_PER_BATCH, entries.size()));
+            boolean[] writtenAsParsed = new boolean[batch.size()];
+            String[] serializations = new String[batch.size()];
+            long[] fingerprints = new long[batch.size()];
+            IOException[] failures = new IOException[batch.size()];
+            IntStream.range(0, batch.size()).parallel().forEach(i -> {
+                BibEntry entry = batch.get(i);
+                writtenAsParsed[i] = !reformat && !entry.hasChanged();
+                if ((entrySplicer != null) && !entrySplicer.needsSerialization(entry, writtenAsParsed[i])) {
+                    return;
+                }
+                try {
+                    serializations[i] = bibtexEntryWriter.serialize(entry, mode, reformat, newLineSeparator);
+                    if (entrySplicer != null) {
+                        fingerprints[i] = BibFileLayout.fingerprint(serializations[i]);
+                    }
+                } catch (IOException e) {
+                    failures[i] = e;
+                }
+            });
+
+            for (int i = 0; i < batch.size(); i++) {
+                // the entries before the first failing one are written, as if they were serialized one after another
+                if (failures[i] != null) {
+                    throw failures[i];
+                }
+                if (entrySplicer == null) {
+                    bibWriter.writeBlock(serializations[i]);
+                } else {
+                    entrySplicer.write(batch.get(i), writtenAsParsed[i], serializations[i], fingerprints[i]);
+                }
+            }
+        }
+
+        if (entrySplicer != null) {
+            entrySplicer.finish();
+        }
+    }
 }
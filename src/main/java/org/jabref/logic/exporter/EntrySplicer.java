@@ -0,0 +1,133 @@
+package org.jabref.logic.exporter;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+
+import org.jabref.model.entry.BibEntry;
+
+/**
+ * Writes the entries of a save to a {@link SplicingWriter}. Runs of entries, which did not change since the previous
+ * save of the file, are copied from it, all others are written. The positions of the entries in the new file are
+ * recorded for the next save.
+ */
+class EntrySplicer {
+
+    private final BibWriter bibWriter;
+    private final SplicingWriter splicingWriter;
+    // null if the previous file cannot be used
+    private final BibFileLayout previousLayout;
+    // null if the positions in the new file are not known
+    private BibFileLayout.Builder layoutBuilder = new BibFileLayout.Builder();
+
+    // the run of entries to copy, as indexes in the previous file
+    private int runStart = -1;
+    private int runEnd = -1;
+
+    /**
+     * @param previousLayout the layout of the file written by the previous save, which is used if it is unmodified and
+     *                       the order of its entries is kept
+     */
+    EntrySplicer(BibWriter bibWriter, SplicingWriter splicingWriter, Optional<BibFileLayout> previousLayout, List<BibEntry> entries) {
+        this.bibWriter = bibWriter;
+        this.splicingWriter = splicingWriter;
+        this.previousLayout = previousLayout.filter(layout -> layout.getNewLineSeparator().equals(bibWriter.getNewLineSeparator()))
+                                            .filter(layout -> layout.isInOrder(entries))
+                                            .filter(BibFileLayout::isUnmodified)
+                                            .orElse(null);
+    }
+
+    /**
+     * Checks whether the text of the given entry is needed, or it is copied as it was written as parsed before as well.
+     * May be called by multiple threads at once.
+     */
+    boolean needsSerialization(BibEntry entry, boolean writtenAsParsed) {
+        if (!writtenAsParsed || (previousLayout == null)) {
+            return true;
+        }
+        int index = previousLayout.indexOf(entry);
+        return (index < 0) || !previousLayout.isWrittenAsParsed(index);
+    }
+
+    /**
+     * Writes the next entry
+     *
+     * @param serialization the text of the entry, or null if it is {@link #needsSerialization(BibEntry, boolean) not
+     *                      needed}
+     * @param fingerprint   the {@link BibFileLayout#fingerprint(String) fingerprint} of the text
+     */
+    void write(BibEntry entry, boolean writtenAsParsed, String serialization, long fingerprint) throws IOException {
+        int index = previousLayout == null ? -1 : previousLayout.indexOf(entry);
+        boolean unchanged = (index >= 0)
+                && ((serialization == null)
+                || (!previousLayout.isWrittenAsParsed(index) && (previousLayout.getFingerprint(index) == fingerprint)));
+        if (unchanged) {
+            if ((runStart >= 0) && (index == (runEnd + 1))) {
+                runEnd = index;
+                return;
+            }
+            copyRun();
+            runStart = index;
+            runEnd = index;
+            return;
+        }
+
+        copyRun();
+        bibWriter.startBlock();
+        long start = splicingWriter.getPosition();
+        bibWriter.writeBlock(serialization);
+        record(entry, start, splicingWriter.getPosition(), writtenAsParsed, fingerprint);
+    }
+
+    /**
+     * Writes the entries which are not written yet
+     */
+    void finish() throws IOException {
+        copyRun();
+    }
+
+    private void copyRun() throws IOException {
+        if (runStart < 0) {
+            return;
+        }
+
+        // the line breaks between the entries of the run are copied as well
+        bibWriter.startBlock();
+        long start = splicingWriter.getPosition();
+        long previousStart = previousLayout.getStart(runStart);
+        splicingWriter.copy(previousLayout.getFile(), previousStart, previousLayout.getEnd(runEnd));
+        bibWriter.finishCopiedBlock();
+
+        long offset = start - previousStart;
+        for (int index = runStart; index <= runEnd; index++) {
+            record(previousLayout.getEntry(index),
+                    previousLayout.getStart(index) + offset,
+                    previousLayout.getEnd(index) + offset,
+                    previousLayout.isWrittenAsParsed(index),
+                    previousLayout.getFingerprint(index));
+        }
+        runStart = -1;
+        runEnd = -1;
+    }
+
+    private void record(BibEntry entry, long start, long end, boolean writtenAsParsed, long fingerprint) {
+        if ((layoutBuilder == null) || (start < 0) || (end < 0)) {
+            layoutBuilder = null;
+            return;
+        }
+        layoutBuilder.addEntry(entry, start, end, writtenAsParsed, fingerprint);
+    }
+
+    /**
+     * Returns the layout of the written file, which has to be closed already
+     *
+     * @return the layout, or an empty optional if the positions of the entries are not known
+     */
+    Optional<BibFileLayout> getLayout(Path file) throws IOException {
+        if (layoutBuilder == null) {
+            return Optional.empty();
+        }
+        return Optional.of(layoutBuilder.build(file, bibWriter.getNewLineSeparator()));
+    }
+}
@@ -0,0 +1,25 @@
+package org.jabref.logic.exporter;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * A target of {@link BibtexDatabaseWriter}, which can take over parts of a file written before instead of writing their
+ * text again. Thus, entries which did not change since the previous save are neither serialized nor encoded, see
+ * {@link BibFileLayout}.
+ */
+public interface SplicingWriter {
+
+    /**
+     * Returns the number of bytes written so far, or -1 if it is not known, e.g. because the text could not be encoded
+     */
+    long getPosition();
+
+    /**
+     * Writes a part of the given file
+     *
+     * @param start the offset of the first byte to take over
+     * @param end   the offset after the last byte to take over
+     */
+    void copy(Path file, long start, long end) throws IOException;
+}
@@ -1,6 +1,7 @@
 package org.jabref.logic.importer;
 
 import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Arrays;
 import java.util.List;
@@ -20,6 +21,11 @@ public class OpenDatabase {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(OpenDatabase.class);
 
+    /**
+     * Files of at least this size (in bytes) are parsed in parallel
+     */
+    private static final long PARALLEL_PARSING_THRESHOLD = 4 * 1024 * 1024;
+
     private OpenDatabase() {
     }
 
@@ -31,7 +37,8 @@ public class OpenDatabase {
      */
     public static ParserResult loadDatabase(Path fileToOpen, GeneralPreferences generalPreferences, ImportFormatPreferences importFormatPreferences, FileUpdateMonitor fileMonitor)
             throws IOException {
-        ParserResult result = new BibtexImporter(importFormatPreferences, fileMonitor).importDatabase(fileToOpen,
+        boolean parseInParallel = Files.size(fileToOpen) >= PARALLEL_PARSING_THRESHOLD;
+        ParserResult result = new BibtexImporter(importFormatPreferences, fileMonitor, parseInParallel).importDatabase(fileToOpen,
                 generalPreferences.getDefaultEncoding());
 
         performLoadDatabaseMigrations(result, importFormatPreferences.getKeywordSeparator());
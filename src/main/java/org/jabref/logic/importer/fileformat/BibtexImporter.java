@@ -27,10 +27,19 @@ public class BibtexImporter extends Importer {
 
     private final ImportFormatPreferences importFormatPreferences;
     private final FileUpdateMonitor fileMonitor;
+    private final boolean parseInParallel;
 
     public BibtexImporter(ImportFormatPreferences importFormatPreferences, FileUpdateMonitor fileMonitor) {
+        this(importFormatPreferences, fileMonitor, false);
+    }
+
+    /**
+     * @param parseInParallel whether the file is parsed using multiple threads, which pays off for large files only
+     */
+    public BibtexImporter(ImportFormatPreferences importFormatPreferences, FileUpdateMonitor fileMonitor, boolean parseInParallel) {
         this.importFormatPreferences = importFormatPreferences;
         this.fileMonitor = fileMonitor;
+        this.parseInParallel = parseInParallel;
     }
 
     /**
@@ -70,7 +79,11 @@ public class BibtexImporter extends Importer {
 
     @Override
     public ParserResult importDatabase(BufferedReader reader) throws IOException {
-        return new BibtexParser(importFormatPreferences, fileMonitor).parse(reader);
+        BibtexParser parser = new BibtexParser(importFormatPreferences, fileMonitor);
+        if (parseInParallel) {
+            return parser.parseInParallel(reader);
+        }
+        return parser.parse(reader);
     }
 
     @Override
@@ -4,21 +4,22 @@ import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
-import java.io.PushbackReader;
 import java.io.Reader;
-import java.io.StringWriter;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
-import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Consumer;
 import java.util.regex.Pattern;
 
 import org.jabref.logic.bibtex.FieldContentFormatter;
@@ -31,6 +32,7 @@ import org.jabref.logic.importer.ParserResult;
 import org.jabref.logic.importer.util.MetaDataParser;
 import org.jabref.logic.l10n.Localization;
 import org.jabref.logic.util.OS;
+import org.jabref.logic.util.io.MappedText;
 import org.jabref.model.database.BibDatabase;
 import org.jabref.model.database.KeyCollisionException;
 import org.jabref.model.entry.BibEntry;
@@ -51,6 +53,14 @@ import org.slf4j.LoggerFactory;
 /**
  * Class for importing BibTeX-files.
  * <p>
+ * The content is read into a character array at once and scanned by index. The text read since the last entry is not
+ * copied while scanning, but kept as an offset into the array, and only turned into a string for the parsed
+ * serialization of an entry.
+ * <p>
+ * Large files can be parsed in parallel, see {@link #parseInParallel(Reader)}. For large files, the content is also
+ * copied into a {@link MappedText}, and the parsed serializations of the entries refer to it instead of holding a copy
+ * of their text on the heap.
+ * <p>
  * Use:
  * <p>
  * BibtexParser parser = new BibtexParser(reader);
@@ -67,21 +77,77 @@ public class BibtexParser implements Parser {
     private static final Logger LOGGER = LoggerFactory.getLogger(BibtexParser.class);
 
     private static final Integer LOOKAHEAD = 1024;
+    private static final int INITIAL_BUFFER_SIZE = 8192;
+    private static final char EOF_CHARACTER = (char) 65535;
+    // chunks smaller than this are not worth to be parsed on their own
+    private static final int MINIMAL_CHUNK_LENGTH = 256 * 1024;
+    private static final int CHUNKS_PER_THREAD = 4;
+    // the content of smaller files is not mapped, as the parsed serializations of their entries need little memory
+    private static final int MAPPED_CONTENT_THRESHOLD = 4 * 1024 * 1024;
+    private final int mappedContentThreshold;
     private final FieldContentFormatter fieldContentFormatter;
-    private final Deque<Character> pureTextFromFile = new LinkedList<>();
     private final ImportFormatPreferences importFormatPreferences;
-    private PushbackReader pushbackReader;
+    // the content to parse and the index of the next character to read
+    private char[] content;
+    private int contentLength;
+    private int position;
+    // eof characters returned after the content, as the former reader returned them after looking ahead at a short file
+    private int eofCharacters;
+    // characters which do not match the content before the current position, pushed back by the error recovery
+    private final StringBuilder pushedBack = new StringBuilder();
+    // start of the text read since the last dump, as long as it is a contiguous part of the content
+    private int pureTextStart;
+    // the text read since the last dump, if it is no contiguous part of the content due to characters pushed back
+    private StringBuilder detachedPureText;
+    // the part of the content dumped last, the start is -1 if the dumped text is no contiguous part of the content
+    private int lastDumpStart = -1;
+    private int lastDumpEnd = -1;
+    // a copy of the content outside of the heap, null if the content is not mapped
+    private MappedText mappedContent;
     private BibDatabase database;
+    // entries are inserted into the database at once after parsing, which posts a single event
+    private final List<BibEntry> parsedEntries = new ArrayList<>();
+    private final Map<String, String> meta = new HashMap<>();
     private Set<BibEntryType> entryTypes;
+    // the results of a parser of a chunk, which are applied to the result of the whole file in the order of the chunks
+    private final List<Consumer<BibtexParser>> recordedResults;
     private boolean eof;
     private int line = 1;
     private ParserResult parserResult;
     private final MetaDataParser metaDataParser;
 
     public BibtexParser(ImportFormatPreferences importFormatPreferences, FileUpdateMonitor fileMonitor) {
+        this(importFormatPreferences, fileMonitor, MAPPED_CONTENT_THRESHOLD);
+    }
+
+    /**
+     * Creates a parser which maps the content of files with at least the given number of characters
+     */
+    BibtexParser(ImportFormatPreferences importFormatPreferences, FileUpdateMonitor fileMonitor, int mappedContentThreshold) {
         this.importFormatPreferences = Objects.requireNonNull(importFormatPreferences);
+        this.mappedContentThreshold = mappedContentThreshold;
         fieldContentFormatter = new FieldContentFormatter(importFormatPreferences.getFieldContentFormatterPreferences());
         metaDataParser = new MetaDataParser(fileMonitor);
+        recordedResults = null;
+    }
+
+    /**
+     * Creates a parser for the chunk of the content of the given parser starting at the given position. The parser
+     * records its results instead of adding them to a database.
+     */
+    private BibtexParser(BibtexParser parser, int start, int startLine) {
+        importFormatPreferences = parser.importFormatPreferences;
+        mappedContentThreshold = parser.mappedContentThreshold;
+        fieldContentFormatter = parser.fieldContentFormatter;
+        metaDataParser = parser.metaDataParser;
+        recordedResults = new ArrayList<>();
+        content = parser.content;
+        contentLength = parser.contentLength;
+        eofCharacters = parser.eofCharacters;
+        mappedContent = parser.mappedContent;
+        position = start;
+        pureTextStart = start;
+        line = startLine;
     }
 
     /**
@@ -132,7 +198,8 @@ public class BibtexParser implements Parser {
      */
     public ParserResult parse(Reader in) throws IOException {
         Objects.requireNonNull(in);
-        pushbackReader = new PushbackReader(in, BibtexParser.LOOKAHEAD);
+        readContent(in);
+        mapContent();
 
         String newLineSeparator = determineNewLineSeparator();
 
@@ -143,39 +210,221 @@ public class BibtexParser implements Parser {
 
         skipWhitespace();
 
-        return parseFileContent();
+        parseItems(Integer.MAX_VALUE);
+        return finishParserResult(dumpTextReadSoFarToString());
     }
 
-    private String determineNewLineSeparator() throws IOException {
-        String newLineSeparator = OS.NEWLINE;
-        StringWriter stringWriter = new StringWriter(BibtexParser.LOOKAHEAD);
-        int i = 0;
-        int currentChar;
-        do {
-            currentChar = pushbackReader.read();
-            stringWriter.append((char) currentChar);
-            i++;
-        } while ((i < BibtexParser.LOOKAHEAD) && (currentChar != '\r') && (currentChar != '\n'));
-        if (currentChar == '\r') {
-            newLineSeparator = "\r\n";
-        } else if (currentChar == '\n') {
-            newLineSeparator = "\n";
+    /**
+     * Parses the BibTeX-Data like {@link #parse(Reader)}, but splits the content into chunks which are parsed in
+     * parallel. The result is the same as the one of {@link #parse(Reader)}.
+     * <p>
+     * The chunks are found by a scan for the ends of the entries and strings on the top level. A chunk is parsed on
+     * the assumption that the parsing of the previous chunk stops exactly at its start. If this is not the case, e.g.
+     * due to syntax errors, the parsing of the previous chunk is continued instead and the result of the chunk is
+     * dropped.
+     */
+    public ParserResult parseInParallel(Reader in) throws IOException {
+        Objects.requireNonNull(in);
+        readContent(in);
+        mapContent();
+
+        String newLineSeparator = determineNewLineSeparator();
+        initializeParserResult(newLineSeparator);
+
+        List<ParseChunkAction> chunkActions = new ArrayList<>();
+        List<ChunkStart> chunkStarts = findChunkStarts();
+        for (int i = 0; i < chunkStarts.size(); i++) {
+            ChunkStart chunkStart = chunkStarts.get(i);
+            int end = (i + 1) < chunkStarts.size() ? chunkStarts.get(i + 1).position : Integer.MAX_VALUE;
+            chunkActions.add(new ParseChunkAction(new BibtexParser(this, chunkStart.position, chunkStart.line), chunkStart, end));
         }
+        chunkActions.forEach(ForkJoinPool.commonPool()::execute);
 
-        // unread all sneaked characters
-        pushbackReader.unread(stringWriter.toString().toCharArray());
+        try {
+            // the first chunk is parsed by this parser, which also takes over the parsing if a chunk cannot be used
+            parseDatabaseID();
+            skipWhitespace();
+            BibtexParser currentParser = this;
+            boolean stopped = parseItems(chunkStarts.isEmpty() ? Integer.MAX_VALUE : chunkStarts.get(0).position);
+
+            for (int i = 0; stopped && (i < chunkActions.size()); i++) {
+                ParseChunkAction chunkAction = chunkActions.get(i);
+                chunkAction.join();
+                if (currentParser.isStoppedAt(chunkAction.start)) {
+                    chunkAction.rethrowFailure();
+                    currentParser = chunkAction.chunkParser;
+                    stopped = chunkAction.stopped;
+                } else {
+                    stopped = currentParser.parseItems(chunkAction.end);
+                }
+                currentParser.applyRecordedResults(this);
+            }
 
-        return newLineSeparator;
+            return finishParserResult(currentParser.dumpTextReadSoFarToString());
+        } finally {
+            // chunks after the end of the parsing are not needed
+            chunkActions.forEach(chunkAction -> chunkAction.cancel(false));
+        }
+    }
+
+    /**
+     * Finds the positions where the parsing of chunks of the content of about the same length can start. A chunk
+     * starts directly after the end of an entry or string, where the parser stores the text read so far into the
+     * entry or string.
+     */
+    private List<ChunkStart> findChunkStarts() {
+        int parallelism = ForkJoinPool.commonPool().getParallelism() * CHUNKS_PER_THREAD;
+        int chunkLength = Math.max(MINIMAL_CHUNK_LENGTH, contentLength / Math.max(1, parallelism));
+
+        List<ChunkStart> chunkStarts = new ArrayList<>();
+        int currentLine = 1;
+        int lastChunkStart = 0;
+        int typeStart = -1;
+        int brackets = 0;
+        boolean chunkMayFollow = false;
+        char lastCharacter = '\0';
+        for (int i = 0; i < contentLength; i++) {
+            char character = content[i];
+            if (character == '\n') {
+                currentLine++;
+            }
+
+            if (brackets > 0) {
+                if ((character == '{') && !isEscapeSymbol(lastCharacter)) {
+                    brackets++;
+                } else if ((character == '}') && !isEscapeSymbol(lastCharacter)) {
+                    brackets--;
+                    if ((brackets == 0) && chunkMayFollow && ((i + 1 - lastChunkStart) >= chunkLength)) {
+                        ChunkStart chunkStart = findEndOfItem(i + 1, currentLine);
+                        if (chunkStart.position < contentLength) {
+                            chunkStarts.add(chunkStart);
+                            lastChunkStart = chunkStart.position;
+                        }
+                    }
+                }
+            } else if (character == '@') {
+                typeStart = i + 1;
+            } else if ((typeStart >= 0) && (character == '{')) {
+                String type = new String(content, typeStart, i - typeStart).trim();
+                // the text read before is not stored after comments and preambles in the same way as after entries
+                chunkMayFollow = !type.isEmpty() && !"comment".equalsIgnoreCase(type) && !"preamble".equalsIgnoreCase(type);
+                brackets = 1;
+                typeStart = -1;
+            } else if ((typeStart >= 0) && !Character.isLetterOrDigit(character) && !Character.isWhitespace(character)
+                    && (":-_*+./'".indexOf(character) < 0)) {
+                // no item which can be tracked, e.g. an item enclosed in parentheses
+                typeStart = -1;
+            }
+            lastCharacter = character;
+        }
+        return chunkStarts;
+    }
+
+    /**
+     * Returns the position after the spaces and the newline following an item, as consumed by the parser
+     */
+    private ChunkStart findEndOfItem(int position, int line) {
+        int end = position;
+        while ((end < contentLength) && (content[end] == ' ')) {
+            end++;
+        }
+        if ((end < contentLength) && (content[end] == '\r')) {
+            end++;
+        }
+        if ((end < contentLength) && (content[end] == '\n')) {
+            end++;
+            line++;
+        }
+        return new ChunkStart(end, line);
+    }
+
+    /**
+     * Checks whether this parser stopped in the state the given parser of the following chunk started with
+     */
+    private boolean isStoppedAt(ChunkStart chunkStart) {
+        return !eof && (position == chunkStart.position) && (pureTextStart == position)
+                && (detachedPureText == null) && (pushedBack.length() == 0) && (line == chunkStart.line);
+    }
+
+    private void applyRecordedResults(BibtexParser parser) {
+        if (recordedResults == null) {
+            return;
+        }
+        for (Consumer<BibtexParser> result : recordedResults) {
+            result.accept(parser);
+        }
+        recordedResults.clear();
+    }
+
+    /**
+     * Adds a result to this parser, or records it if this parser parses a chunk
+     */
+    private void addResult(Consumer<BibtexParser> result) {
+        if (recordedResults == null) {
+            result.accept(this);
+        } else {
+            recordedResults.add(result);
+        }
+    }
+
+    private void addWarning(String warning) {
+        addResult(parser -> parser.parserResult.addWarning(warning));
+    }
+
+    private void readContent(Reader in) throws IOException {
+        char[] buffer = new char[INITIAL_BUFFER_SIZE];
+        int length = 0;
+        int read;
+        while ((read = in.read(buffer, length, buffer.length - length)) != -1) {
+            length += read;
+            if (length == buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, buffer.length + INITIAL_BUFFER_SIZE));
+            }
+        }
+
+        content = buffer;
+        contentLength = length;
+        position = 0;
+        eofCharacters = 0;
+        pushedBack.setLength(0);
+        pureTextStart = 0;
+        detachedPureText = null;
+    }
+
+    private void mapContent() {
+        mappedContent = null;
+        if (contentLength < mappedContentThreshold) {
+            return;
+        }
+        mappedContent = MappedText.create(content, contentLength).orElse(null);
+    }
+
+    private String determineNewLineSeparator() {
+        int lookahead = Math.min(contentLength, BibtexParser.LOOKAHEAD);
+        for (int i = 0; i < lookahead; i++) {
+            if (content[i] == '\r') {
+                return "\r\n";
+            } else if (content[i] == '\n') {
+                return "\n";
+            }
+        }
+
+        // Files were read through a reader with a lookahead of LOOKAHEAD characters before. If the lookahead passed
+        // the end of the file, the end was pushed back as eof characters, which are still returned to stay compatible
+        eofCharacters = BibtexParser.LOOKAHEAD - lookahead;
+        return OS.NEWLINE;
     }
 
     private void initializeParserResult(String newLineSeparator) {
         database = new BibDatabase();
         database.setNewLineSeparator(newLineSeparator);
+        parsedEntries.clear();
+        meta.clear();
         entryTypes = new HashSet<>(); // To store custom entry types parsed.
         parserResult = new ParserResult(database, new MetaData(), entryTypes);
     }
 
-    private void parseDatabaseID() throws IOException {
+    private void parseDatabaseID() {
         while (!eof) {
             skipWhitespace();
             char c = (char) read();
@@ -186,7 +435,8 @@ public class BibtexParser implements Parser {
 
                 if (label.equals(BibtexDatabaseWriter.DATABASE_ID_PREFIX)) {
                     skipWhitespace();
-                    database.setSharedDatabaseID(parseTextToken().trim());
+                    String sharedDatabaseID = parseTextToken().trim();
+                    addResult(parser -> parser.database.setSharedDatabaseID(sharedDatabaseID));
                 }
             } else if (c == '@') {
                 unread(c);
@@ -195,9 +445,14 @@ public class BibtexParser implements Parser {
         }
     }
 
-    private ParserResult parseFileContent() throws IOException {
-        Map<String, String> meta = new HashMap<>();
-
+    /**
+     * Parses the items (entries, strings, comments, and the preamble) up to the end of the content
+     *
+     * @param end the position after which the parsing stops at the end of the next item
+     * @return true if the parsing stopped at the end of an item at or after the given position, false if the end of
+     * the content was reached
+     */
+    private boolean parseItems(int end) throws IOException {
         while (!eof) {
             boolean found = consumeUncritically('@');
             if (!found) {
@@ -210,7 +465,8 @@ public class BibtexParser implements Parser {
             String entryType = parseTextToken().toLowerCase(Locale.ROOT).trim();
 
             if ("preamble".equals(entryType)) {
-                database.setPreamble(parsePreamble());
+                String preamble = parsePreamble();
+                addResult(parser -> parser.database.setPreamble(preamble));
                 // Consume a new line which separates the preamble from the next part (if the file was written with JabRef)
                 skipOneNewline();
                 // the preamble is saved verbatim anyways, so the text read so far can be dropped
@@ -218,14 +474,24 @@ public class BibtexParser implements Parser {
             } else if ("string".equals(entryType)) {
                 parseBibtexString();
             } else if ("comment".equals(entryType)) {
-                parseJabRefComment(meta);
+                parseJabRefComment();
             } else {
                 // Not a comment, preamble, or string. Thus, it is an entry
                 parseAndAddEntry(entryType);
             }
 
+            if (position >= end) {
+                return true;
+            }
+
             skipWhitespace();
         }
+        return false;
+    }
+
+    private ParserResult finishParserResult(String remainingContent) {
+        database.insertEntries(parsedEntries);
+        parsedEntries.clear();
 
         // Instantiate meta data:
         try {
@@ -234,7 +500,7 @@ public class BibtexParser implements Parser {
             parserResult.addException(exception);
         }
 
-        parseRemainingContent();
+        database.setEpilog(remainingContent.trim());
 
         checkEpilog();
 
@@ -249,15 +515,12 @@ public class BibtexParser implements Parser {
         }
     }
 
-    private void parseRemainingContent() {
-        database.setEpilog(dumpTextReadSoFarToString().trim());
-    }
-
     private void parseAndAddEntry(String type) {
         try {
             // collect all comments and the entry type definition in front of the actual entry
             // this is at least `@Type`
             String commentsAndEntryTypeDefinition = dumpTextReadSoFarToString();
+            int commentsEnd = lastDumpStart < 0 ? -1 : lastDumpEnd;
 
             // remove first newline
             // this is appended by JabRef during writing automatically
@@ -274,21 +537,38 @@ public class BibtexParser implements Parser {
 
             // store complete parsed serialization (comments, type definition + type contents)
 
-            String parsedSerialization = commentsAndEntryTypeDefinition + dumpTextReadSoFarToString();
-            entry.setParsedSerialization(parsedSerialization);
+            String entryText = dumpTextReadSoFarToString();
+            entry.setParsedSerialization(getParsedSerialization(commentsAndEntryTypeDefinition, commentsEnd, entryText));
 
-            database.insertEntry(entry);
+            addResult(parser -> parser.parsedEntries.add(entry));
         } catch (IOException ex) {
             // Trying to make the parser more robust.
             // If an exception is thrown when parsing an entry, drop the entry and try to resume parsing.
 
             LOGGER.debug("Could not parse entry", ex);
-            parserResult.addWarning(Localization.lang("Error occurred when parsing entry") + ": '" + ex.getMessage()
+            addWarning(Localization.lang("Error occurred when parsing entry") + ": '" + ex.getMessage()
                     + "'. " + Localization.lang("Skipped entry."));
         }
     }
 
-    private void parseJabRefComment(Map<String, String> meta) {
+    /**
+     * Returns the text of the comments and the entry, which refers to the mapped content if it is an unchanged part of it
+     *
+     * @param commentsEnd the end of the comments in the content, or -1 if the comments are no part of the content
+     */
+    private CharSequence getParsedSerialization(String comments, int commentsEnd, String entryText) {
+        boolean isPartOfContent = (commentsEnd >= 0) && (lastDumpStart == commentsEnd)
+                && (entryText.length() == (lastDumpEnd - lastDumpStart));
+        if ((mappedContent != null) && isPartOfContent) {
+            Optional<CharSequence> parsedSerialization = mappedContent.subSequence(commentsEnd - comments.length(), lastDumpEnd);
+            if (parsedSerialization.isPresent()) {
+                return parsedSerialization.get();
+            }
+        }
+        return comments + entryText;
+    }
+
+    private void parseJabRefComment() {
         StringBuilder buffer = null;
         try {
             buffer = parseBracketedTextExactly();
@@ -314,7 +594,9 @@ public class BibtexParser implements Parser {
                     // will have been inserted
                     // to prevent too long lines when the file was
                     // saved, and are not part of the data.
-                    meta.put(rest.substring(0, pos), rest.substring(pos + 1));
+                    String metaKey = rest.substring(0, pos);
+                    String metaValue = rest.substring(pos + 1);
+                    addResult(parser -> parser.meta.put(metaKey, metaValue));
 
                     // meta comments are always re-written by JabRef and not stored in the file
                     dumpTextReadSoFarToString();
@@ -326,9 +608,9 @@ public class BibtexParser implements Parser {
             // "@comment"
             Optional<BibEntryType> typ = BibEntryTypesManager.parse(comment);
             if (typ.isPresent()) {
-                entryTypes.add(typ.get());
+                addResult(parser -> parser.entryTypes.add(typ.get()));
             } else {
-                parserResult.addWarning(Localization.lang("Ill-formed entrytype comment in BIB file") + ": " + comment);
+                addWarning(Localization.lang("Ill-formed entrytype comment in BIB file") + ": " + comment);
             }
 
             // custom entry types are always re-written by JabRef and not stored in the file
@@ -339,6 +621,10 @@ public class BibtexParser implements Parser {
     private void parseBibtexString() throws IOException {
         BibtexString bibtexString = parseString();
         bibtexString.setParsedSerialization(dumpTextReadSoFarToString());
+        addResult(parser -> parser.addString(bibtexString));
+    }
+
+    private void addString(BibtexString bibtexString) {
         try {
             database.addString(bibtexString);
         } catch (KeyCollisionException ex) {
@@ -392,12 +678,37 @@ public class BibtexParser implements Parser {
     }
 
     private String getPureTextFromFile() {
-        StringBuilder entry = new StringBuilder();
-        while (!pureTextFromFile.isEmpty()) {
-            entry.append(pureTextFromFile.pollFirst());
+        String pureText;
+        if (detachedPureText == null) {
+            pureText = getContentWithoutEOFCharacters(pureTextStart, position);
+            // eof characters are skipped
+            lastDumpStart = pureText.length() == (position - pureTextStart) ? pureTextStart : -1;
+        } else {
+            pureText = detachedPureText.toString();
+            lastDumpStart = -1;
+        }
+        lastDumpEnd = position;
+
+        pureTextStart = position;
+        // characters still pushed back are read again, but do not follow the current position in the content
+        detachedPureText = pushedBack.length() == 0 ? null : new StringBuilder();
+        return pureText;
+    }
+
+    /**
+     * Returns the content between the given positions, skipping eof characters as they were never part of the read text
+     */
+    private String getContentWithoutEOFCharacters(int start, int end) {
+        int contentEnd = Math.min(end, contentLength);
+        if (start >= contentEnd) {
+            return "";
         }
 
-        return entry.toString();
+        String text = new String(content, start, contentEnd - start);
+        if (text.indexOf(EOF_CHARACTER) >= 0) {
+            return purgeEOFCharacters(text);
+        }
+        return text;
     }
 
     /**
@@ -417,7 +728,7 @@ public class BibtexParser implements Parser {
         return remainingText.toString();
     }
 
-    private void skipWhitespace() throws IOException {
+    private void skipWhitespace() {
         int character;
 
         while (true) {
@@ -435,7 +746,7 @@ public class BibtexParser implements Parser {
         }
     }
 
-    private void skipSpace() throws IOException {
+    private void skipSpace() {
         int character;
 
         while (true) {
@@ -453,7 +764,7 @@ public class BibtexParser implements Parser {
         }
     }
 
-    private void skipOneNewline() throws IOException {
+    private void skipOneNewline() {
         skipSpace();
         if (peek() == '\r') {
             read();
@@ -467,7 +778,7 @@ public class BibtexParser implements Parser {
         return (character == -1) || (character == 65535);
     }
 
-    private String skipAndRecordWhitespace(int character) throws IOException {
+    private String skipAndRecordWhitespace(int character) {
         StringBuilder stringBuilder = new StringBuilder();
         if (character != ' ') {
             stringBuilder.append((char) character);
@@ -492,18 +803,29 @@ public class BibtexParser implements Parser {
         return stringBuilder.toString();
     }
 
-    private int peek() throws IOException {
+    private int peek() {
         int character = read();
         unread(character);
 
         return character;
     }
 
-    private int read() throws IOException {
-        int character = pushbackReader.read();
+    private int read() {
+        int character;
+        if (pushedBack.length() > 0) {
+            character = pushedBack.charAt(pushedBack.length() - 1);
+            pushedBack.setLength(pushedBack.length() - 1);
+        } else if (position < contentLength) {
+            character = content[position++];
+        } else if (position < (contentLength + eofCharacters)) {
+            position++;
+            character = EOF_CHARACTER;
+        } else {
+            character = -1;
+        }
 
-        if (!isEOFCharacter(character)) {
-            pureTextFromFile.offerLast((char) character);
+        if ((detachedPureText != null) && !isEOFCharacter(character)) {
+            detachedPureText.append((char) character);
         }
         if (character == '\n') {
             line++;
@@ -511,14 +833,30 @@ public class BibtexParser implements Parser {
         return character;
     }
 
-    private void unread(int character) throws IOException {
+    private void unread(int character) {
         if (character == '\n') {
             line--;
         }
-        pushbackReader.unread(character);
-        if (pureTextFromFile.getLast() == character) {
-            pureTextFromFile.pollLast();
+
+        if ((detachedPureText == null) && (position > pureTextStart) && (charAt(position - 1) == character)) {
+            // the common case: the character just read is put back
+            position--;
+            return;
+        }
+
+        // the character differs from the content, thus the text read so far cannot be taken from the content anymore
+        if (detachedPureText == null) {
+            detachedPureText = new StringBuilder(getContentWithoutEOFCharacters(pureTextStart, position));
+        }
+        int lastIndex = detachedPureText.length() - 1;
+        if ((lastIndex >= 0) && (detachedPureText.charAt(lastIndex) == character)) {
+            detachedPureText.setLength(lastIndex);
         }
+        pushedBack.append((char) character);
+    }
+
+    private char charAt(int index) {
+        return index < contentLength ? content[index] : EOF_CHARACTER;
     }
 
     private BibtexString parseString() throws IOException {
@@ -657,7 +995,7 @@ public class BibtexParser implements Parser {
     /**
      * This method is used to parse string labels, field names, entry type and numbers outside brackets.
      */
-    private String parseTextToken() throws IOException {
+    private String parseTextToken() {
         StringBuilder token = new StringBuilder(20);
 
         while (true) {
@@ -681,9 +1019,8 @@ public class BibtexParser implements Parser {
      * Tries to restore the key
      *
      * @return rest of key on success, otherwise empty string
-     * @throws IOException on Reader-Error
      */
-    private String fixKey() throws IOException {
+    private String fixKey() {
         StringBuilder key = new StringBuilder();
         int lookaheadUsed = 0;
         char currentChar;
@@ -734,19 +1071,19 @@ public class BibtexParser implements Parser {
 
                         // Finished, now reverse newKey and remove whitespaces:
                         key = newKey.reverse();
-                        parserResult.addWarning(
+                        addWarning(
                                 Localization.lang("Line %0: Found corrupted citation key %1.", String.valueOf(line), key.toString()));
                     }
                 }
                 break;
 
             case ',':
-                parserResult.addWarning(
+                addWarning(
                         Localization.lang("Line %0: Found corrupted citation key %1 (contains whitespaces).", String.valueOf(line), key.toString()));
                 break;
 
             case '\n':
-                parserResult.addWarning(
+                addWarning(
                         Localization.lang("Line %0: Found corrupted citation key %1 (comma missing).", String.valueOf(line), key.toString()));
                 break;
 
@@ -782,9 +1119,8 @@ public class BibtexParser implements Parser {
      * pushes buffer back into input
      *
      * @param stringBuilder
-     * @throws IOException can be thrown if buffer is bigger than LOOKAHEAD
      */
-    private void unreadBuffer(StringBuilder stringBuilder) throws IOException {
+    private void unreadBuffer(StringBuilder stringBuilder) {
         for (int i = stringBuilder.length() - 1; i >= 0; --i) {
             unread(stringBuilder.charAt(i));
         }
@@ -875,14 +1211,10 @@ public class BibtexParser implements Parser {
     }
 
     private boolean isClosingBracketNext() {
-        try {
-            int peek = peek();
-            boolean isCurlyBracket = peek == '}';
-            boolean isRoundBracket = peek == ')';
-            return isCurlyBracket || isRoundBracket;
-        } catch (IOException e) {
-            return false;
-        }
+        int peek = peek();
+        boolean isCurlyBracket = peek == '}';
+        boolean isRoundBracket = peek == ')';
+        return isCurlyBracket || isRoundBracket;
     }
 
     private StringBuilder parseBracketedTextExactly() throws IOException {
@@ -952,7 +1284,7 @@ public class BibtexParser implements Parser {
         }
     }
 
-    private boolean consumeUncritically(char expected) throws IOException {
+    private boolean consumeUncritically(char expected) {
         int character;
         do {
             character = read();
@@ -976,4 +1308,47 @@ public class BibtexParser implements Parser {
                     + " but received " + (char) character);
         }
     }
+
+    private static class ChunkStart {
+        private final int position;
+        private final int line;
+
+        ChunkStart(int position, int line) {
+            this.position = position;
+            this.line = line;
+        }
+    }
+
+    private static class ParseChunkAction extends RecursiveAction {
+
+        private final BibtexParser chunkParser;
+        private final ChunkStart start;
+        private final int end;
+        private boolean stopped;
+        private Exception failure;
+
+        ParseChunkAction(BibtexParser chunkParser, ChunkStart start, int end) {
+            this.chunkParser = chunkParser;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected void compute() {
+            try {
+                stopped = chunkParser.parseItems(end);
+            } catch (IOException | RuntimeException e) {
+                // only relevant if the parsing of the whole file reaches the chunk
+                failure = e;
+            }
+        }
+
+        void rethrowFailure() throws IOException {
+            if (failure instanceof IOException) {
+                throw (IOException) failure;
+            } else if (failure instanceof RuntimeException) {
+                throw (RuntimeException) failure;
+            }
+        }
+    }
 }
@@ -0,0 +1,62 @@
+package org.jabref.logic.pdf.search.indexing;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jabref.model.entry.BibEntry;
+import org.jabref.model.entry.LinkedFile;
+
+/**
+ * The changes needed to bring a fulltext index up to date with the files linked in a library.
+ *
+ * @see PdfIndexer#computeDelta(org.jabref.model.database.BibDatabaseContext)
+ */
+public class IndexDelta {
+
+    private final List<FileToIndex> filesToIndex = new ArrayList<>();
+    private final List<String> linksToRemove = new ArrayList<>();
+
+    void addFileToIndex(BibEntry entry, LinkedFile linkedFile) {
+        filesToIndex.add(new FileToIndex(entry, linkedFile));
+    }
+
+    void addLinkToRemove(String link) {
+        linksToRemove.add(link);
+    }
+
+    /**
+     * Files which are not yet in the index or changed on disk since they were indexed
+     */
+    public List<FileToIndex> getFilesToIndex() {
+        return filesToIndex;
+    }
+
+    /**
+     * Links of indexed files which are no longer linked in the library or no longer exist on disk
+     */
+    public List<String> getLinksToRemove() {
+        return linksToRemove;
+    }
+
+    public boolean isEmpty() {
+        return filesToIndex.isEmpty() && linksToRemove.isEmpty();
+    }
+
+    public static class FileToIndex {
+        private final BibEntry entry;
+        private final LinkedFile linkedFile;
+
+        FileToIndex(BibEntry entry, LinkedFile linkedFile) {
+            this.entry = entry;
+            this.linkedFile = linkedFile;
+        }
+
+        public BibEntry getEntry() {
+            return entry;
+        }
+
+        public LinkedFile getLinkedFile() {
+            return linkedFile;
+        }
+    }
+}
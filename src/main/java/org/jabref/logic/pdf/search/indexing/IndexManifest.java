@@ -0,0 +1,154 @@
+package org.jabref.logic.pdf.search.indexing;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.jabref.model.pdf.search.SearchFieldConstants;
+
+import com.google.common.hash.Hashing;
+import com.google.common.io.MoreFiles;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Persisted list of the files contained in a fulltext index. It is stored beside the index and records for each
+ * indexed file (identified by its link) the size, the modification time and a hash of the content at the time of
+ * indexing. This allows to determine which files have to be added, updated or removed without querying the index.
+ */
+public class IndexManifest {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(IndexManifest.class);
+
+    private static final String HEADER = "# JabRef fulltext index manifest " + SearchFieldConstants.VERSION;
+    private static final String SEPARATOR = "\t";
+
+    private final Path manifestFile;
+    private final Map<String, FileState> files = new ConcurrentHashMap<>();
+    private volatile boolean changed = false;
+
+    private IndexManifest(Path manifestFile) {
+        this.manifestFile = manifestFile;
+    }
+
+    /**
+     * Loads the manifest of the index at the given location. If there is no manifest yet, or it was written by a
+     * different index version, an empty manifest is returned.
+     */
+    public static IndexManifest load(Path indexPath) {
+        IndexManifest manifest = new IndexManifest(indexPath.resolveSibling(indexPath.getFileName() + ".manifest"));
+        if (!Files.exists(manifest.manifestFile)) {
+            return manifest;
+        }
+        try {
+            List<String> lines = Files.readAllLines(manifest.manifestFile, StandardCharsets.UTF_8);
+            if (lines.isEmpty() || !HEADER.equals(lines.get(0))) {
+                LOGGER.info("Ignoring manifest of outdated fulltext index {}", manifest.manifestFile);
+                return manifest;
+            }
+            for (String line : lines.subList(1, lines.size())) {
+                // the link comes last, so that it may contain the separator
+                String[] parts = line.split(SEPARATOR, 4);
+                if (parts.length == 4) {
+                    manifest.files.put(parts[3], new FileState(Long.parseLong(parts[0]), Long.parseLong(parts[1]), parts[2]));
+                }
+            }
+        } catch (IOException | NumberFormatException e) {
+            LOGGER.warn("Could not read fulltext index manifest {}", manifest.manifestFile, e);
+            manifest.files.clear();
+        }
+        return manifest;
+    }
+
+    public Optional<FileState> get(String link) {
+        return Optional.ofNullable(files.get(link));
+    }
+
+    public Set<String> getLinks() {
+        return files.keySet();
+    }
+
+    public void put(String link, FileState state) {
+        files.put(link, state);
+        changed = true;
+    }
+
+    public void remove(String link) {
+        if (files.remove(link) != null) {
+            changed = true;
+        }
+    }
+
+    public void clear() {
+        files.clear();
+        changed = true;
+    }
+
+    /**
+     * Writes the manifest to disk if it changed since it was loaded or last saved. The file is replaced atomically, so
+     * that an interrupted save never leaves a truncated manifest behind.
+     */
+    public synchronized void save() throws IOException {
+        if (!changed) {
+            return;
+        }
+        changed = false;
+        Path temporaryFile = manifestFile.resolveSibling(manifestFile.getFileName() + ".tmp");
+        try (BufferedWriter writer = Files.newBufferedWriter(temporaryFile, StandardCharsets.UTF_8)) {
+            writer.write(HEADER);
+            writer.newLine();
+            for (Map.Entry<String, FileState> file : files.entrySet()) {
+                FileState state = file.getValue();
+                writer.write(state.size + SEPARATOR + state.modified + SEPARATOR + state.hash + SEPARATOR + file.getKey());
+                writer.newLine();
+            }
+        } catch (IOException e) {
+            changed = true;
+            throw e;
+        }
+        Files.move(temporaryFile, manifestFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * State of a file on disk at the time it was indexed
+     */
+    public static class FileState {
+        private final long size;
+        private final long modified;
+        private final String hash;
+
+        public FileState(long size, long modified, String hash) {
+            this.size = size;
+            this.modified = modified;
+            this.hash = hash;
+        }
+
+        /**
+         * Reads the current state of a file. This reads the complete file to compute its hash.
+         */
+        public static FileState of(Path file, BasicFileAttributes attributes) throws IOException {
+            String hash = MoreFiles.asByteSource(file).hash(Hashing.sha256()).toString();
+            return new FileState(attributes.size(), attributes.lastModifiedTime().toMillis(), hash);
+        }
+
+        /**
+         * Checks whether size and modification time are unchanged, which is taken as the file being unchanged
+         */
+        public boolean hasSameAttributes(BasicFileAttributes attributes) {
+            return (size == attributes.size()) && (modified == attributes.lastModifiedTime().toMillis());
+        }
+
+        public boolean hasSameContent(FileState other) {
+            return hash.equals(other.hash);
+        }
+    }
+}
@@ -1,8 +1,20 @@
 package org.jabref.logic.pdf.search.indexing;
 
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.List;
+import java.util.Optional;
 import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import org.jabref.gui.util.BackgroundTask;
 import org.jabref.gui.util.DefaultTaskExecutor;
@@ -12,12 +24,33 @@ import org.jabref.model.database.BibDatabaseContext;
 import org.jabref.model.entry.BibEntry;
 import org.jabref.model.entry.LinkedFile;
 
+import org.apache.lucene.document.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
 /**
  * Wrapper around {@link PdfIndexer} to execute all operations in the background.
+ * <p>
+ * Queued tasks are processed in a pipeline: the text of linked files is extracted by a pool of worker threads, while
+ * a single consumer (this task) writes the results to the index in queue order. At most two extractions per worker
+ * are in flight at any time, so that only a bounded number of parsed files is kept in memory. An extraction that does
+ * not finish within {@link #EXTRACTION_TIMEOUT_SECONDS} is cancelled and the file is skipped.
  */
 public class IndexingTaskManager extends BackgroundTask<Void> {
 
-    private final Queue<Runnable> taskQueue = new ConcurrentLinkedQueue<>();
+    private static final Logger LOGGER = LoggerFactory.getLogger(IndexingTaskManager.class);
+
+    private static final long EXTRACTION_TIMEOUT_SECONDS = 120;
+
+    // there is no preference for the parallelism of background tasks; one core is left for the consumer and the UI,
+    // as done by the other parallel background tasks (e.g., the duplicate search)
+    private static final int DEFAULT_NUMBER_OF_EXTRACTION_WORKERS = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+
+    private final Queue<IndexingTask> taskQueue = new ConcurrentLinkedQueue<>();
+    // indexers with uncommitted changes, committed together as soon as the queue is drained
+    private final Set<PdfIndexer> indexersToCommit = ConcurrentHashMap.newKeySet();
+    private final ThreadPoolExecutor extractionExecutor;
+    private final int maxPendingExtractions;
     private TaskExecutor taskExecutor;
     private int numOfIndexedFiles = 0;
 
@@ -25,7 +58,26 @@ public class IndexingTaskManager extends BackgroundTask<Void> {
     private boolean isRunning = false;
 
     public IndexingTaskManager(TaskExecutor taskExecutor) {
+        this(taskExecutor, DEFAULT_NUMBER_OF_EXTRACTION_WORKERS);
+    }
+
+    /**
+     * @param numberOfExtractionWorkers the number of threads extracting the text of linked files in parallel
+     */
+    public IndexingTaskManager(TaskExecutor taskExecutor, int numberOfExtractionWorkers) {
+        if (numberOfExtractionWorkers <= 0) {
+            throw new IllegalArgumentException("At least one extraction worker is required, was " + numberOfExtractionWorkers);
+        }
         this.taskExecutor = taskExecutor;
+        this.maxPendingExtractions = 2 * numberOfExtractionWorkers;
+        this.extractionExecutor = new ThreadPoolExecutor(numberOfExtractionWorkers, numberOfExtractionWorkers,
+                30, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable);
+            thread.setName("JabRef PdfExtraction");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.extractionExecutor.allowCoreThreadTimeOut(true);
         showToUser(true);
         DefaultTaskExecutor.runInJavaFXThread(() -> {
             this.updateProgress(1, 1);
@@ -38,28 +90,106 @@ public class IndexingTaskManager extends BackgroundTask<Void> {
         synchronized (lock) {
             isRunning = true;
         }
-        updateProgress();
-        while (!taskQueue.isEmpty() && !isCanceled()) {
-            taskQueue.poll().run();
-            numOfIndexedFiles++;
-            updateProgress();
+        updateProgress(0);
+        do {
+            processQueue();
+            commitIndexers();
+        } while (!finishIfQueueIsEmpty());
+        return null;
+    }
+
+    /**
+     * Takes tasks from the queue until it is empty. Extractions of consecutive files are submitted to the worker pool,
+     * and their results are written as soon as the window of pending extractions is full. Tasks without extraction
+     * (e.g., removals) wait for all pending extractions to be written first, so that the order of the queue is kept.
+     */
+    private void processQueue() {
+        Deque<PendingTask> pendingTasks = new ArrayDeque<>();
+        while (!isCanceled()) {
+            IndexingTask task = taskQueue.poll();
+            if (task == null) {
+                break;
+            }
+            if (task.isExtraction()) {
+                pendingTasks.add(new PendingTask(task, extractionExecutor.submit(task.preparation)));
+                if (pendingTasks.size() >= maxPendingExtractions) {
+                    writeResult(pendingTasks.poll(), pendingTasks.size());
+                }
+            } else {
+                while (!pendingTasks.isEmpty() && !isCanceled()) {
+                    writeResult(pendingTasks.poll(), pendingTasks.size());
+                }
+                runTask(task);
+            }
+        }
+        while (!pendingTasks.isEmpty() && !isCanceled()) {
+            writeResult(pendingTasks.poll(), pendingTasks.size());
+        }
+        pendingTasks.forEach(pendingTask -> pendingTask.result.cancel(true));
+    }
+
+    private void writeResult(PendingTask pendingTask, int numberOfOtherPendingTasks) {
+        try {
+            pendingTask.result.get(EXTRACTION_TIMEOUT_SECONDS, TimeUnit.SECONDS).run();
+        } catch (TimeoutException e) {
+            pendingTask.result.cancel(true);
+            LOGGER.warn("Extracting the text of {} took longer than {} seconds, skipping it", pendingTask.task.description, EXTRACTION_TIMEOUT_SECONDS);
+        } catch (ExecutionException e) {
+            LOGGER.warn("Could not index {}", pendingTask.task.description, e.getCause());
+        } catch (InterruptedException e) {
+            pendingTask.result.cancel(true);
+            Thread.currentThread().interrupt();
+        }
+        numOfIndexedFiles++;
+        updateProgress(numberOfOtherPendingTasks);
+    }
+
+    private void runTask(IndexingTask task) {
+        try {
+            task.preparation.call().run();
+        } catch (Exception e) {
+            LOGGER.warn("Could not index {}", task.description, e);
         }
+        numOfIndexedFiles++;
+        updateProgress(0);
+    }
+
+    /**
+     * Stops the manager if there are no more tasks. Checked under the lock, so that a concurrently enqueued task either
+     * is processed by this run or starts a new one.
+     */
+    private boolean finishIfQueueIsEmpty() {
         synchronized (lock) {
-            isRunning = false;
+            if (taskQueue.isEmpty() || isCanceled()) {
+                isRunning = false;
+                return true;
+            }
+            return false;
         }
-        return null;
     }
 
-    private void updateProgress() {
+    private void updateProgress(int numberOfPendingTasks) {
+        int indexedFiles = numOfIndexedFiles;
+        int allFiles = indexedFiles + numberOfPendingTasks + taskQueue.size();
         DefaultTaskExecutor.runInJavaFXThread(() -> {
-            updateMessage(Localization.lang("%0 of %1 linked files added to the index", numOfIndexedFiles, numOfIndexedFiles + taskQueue.size()));
-            updateProgress(numOfIndexedFiles, numOfIndexedFiles + taskQueue.size());
+            updateMessage(Localization.lang("%0 of %1 linked files added to the index", indexedFiles, allFiles));
+            updateProgress(indexedFiles, allFiles);
         });
     }
 
-    private void enqueueTask(Runnable indexingTask) {
+    private void commitIndexers() {
+        for (PdfIndexer indexer : indexersToCommit) {
+            indexersToCommit.remove(indexer);
+            indexer.commit();
+        }
+    }
+
+    private void enqueueTask(IndexingTask indexingTask) {
+        // the extraction workers are stopped after a shutdown
+        if (isCanceled()) {
+            return;
+        }
         taskQueue.add(indexingTask);
-        // What if already running?
         synchronized (lock) {
             if (!isRunning) {
                 isRunning = true;
@@ -69,39 +199,103 @@ public class IndexingTaskManager extends BackgroundTask<Void> {
         }
     }
 
+    private void enqueueTask(String description, Runnable indexingTask) {
+        enqueueTask(new IndexingTask(description, false, () -> indexingTask));
+    }
+
+    /**
+     * Cancels all queued tasks and stops the extraction workers. Tasks enqueued afterwards are ignored.
+     */
+    public void shutdown() {
+        cancel();
+        taskQueue.clear();
+        extractionExecutor.shutdownNow();
+    }
+
     public void createIndex(PdfIndexer indexer) {
-        enqueueTask(() -> indexer.createIndex());
+        enqueueTask("new index", () -> indexer.createIndex());
     }
 
     public void addToIndex(PdfIndexer indexer, BibDatabaseContext databaseContext) {
         for (BibEntry entry : databaseContext.getEntries()) {
-            for (LinkedFile file : entry.getFiles()) {
-                enqueueTask(() -> indexer.addToIndex(entry, file, databaseContext));
-            }
+            addToIndex(indexer, entry, entry.getFiles(), databaseContext);
         }
     }
 
+    /**
+     * Brings the index up to date with the files linked in the library. Only files which were added, changed or
+     * removed since the index was last updated are processed.
+     */
+    public void updateIndex(PdfIndexer indexer, BibDatabaseContext databaseContext) {
+        indexersToCommit.add(indexer);
+        enqueueTask("changed files", () -> {
+            IndexDelta delta = indexer.computeDelta(databaseContext);
+            for (String link : delta.getLinksToRemove()) {
+                indexersToCommit.add(indexer);
+                enqueueTask(link, () -> indexer.removeFromIndex(link));
+            }
+            for (IndexDelta.FileToIndex file : delta.getFilesToIndex()) {
+                addToIndex(indexer, file.getEntry(), List.of(file.getLinkedFile()), databaseContext);
+            }
+        });
+    }
+
     public void addToIndex(PdfIndexer indexer, BibEntry entry, BibDatabaseContext databaseContext) {
-        enqueueTask(() -> addToIndex(indexer, entry, entry.getFiles(), databaseContext));
+        addToIndex(indexer, entry, entry.getFiles(), databaseContext);
     }
 
     public void addToIndex(PdfIndexer indexer, BibEntry entry, List<LinkedFile> linkedFiles, BibDatabaseContext databaseContext) {
         for (LinkedFile file : linkedFiles) {
-            enqueueTask(() -> indexer.addToIndex(entry, file, databaseContext));
+            indexersToCommit.add(indexer);
+            enqueueTask(new IndexingTask(file.getLink(), true, () -> {
+                Optional<List<Document>> pages = indexer.readForIndex(entry, file, databaseContext);
+                return () -> pages.ifPresent(documents -> indexer.writeToIndex(file, documents));
+            }));
         }
     }
 
     public void removeFromIndex(PdfIndexer indexer, BibEntry entry, List<LinkedFile> linkedFiles) {
         for (LinkedFile file : linkedFiles) {
-            enqueueTask(() -> indexer.removeFromIndex(entry, file));
+            indexersToCommit.add(indexer);
+            enqueueTask(file.getLink(), () -> indexer.removeFromIndex(entry, file));
         }
     }
 
     public void removeFromIndex(PdfIndexer indexer, BibEntry entry) {
-        enqueueTask(() -> removeFromIndex(indexer, entry, entry.getFiles()));
+        removeFromIndex(indexer, entry, entry.getFiles());
     }
 
     public void updateDatabaseName(String name) {
         DefaultTaskExecutor.runInJavaFXThread(() -> this.titleProperty().set(Localization.lang("Indexing for %0", name)));
     }
+
+    /**
+     * A queued indexing operation. The preparation does the expensive, read-only work and returns the action that
+     * modifies the index. Only the preparations of extraction tasks are run in parallel.
+     */
+    private static class IndexingTask {
+        private final String description;
+        private final boolean extraction;
+        private final Callable<Runnable> preparation;
+
+        IndexingTask(String description, boolean extraction, Callable<Runnable> preparation) {
+            this.description = description;
+            this.extraction = extraction;
+            this.preparation = preparation;
+        }
+
+        boolean isExtraction() {
+            return extraction;
+        }
+    }
+
+    private static class PendingTask {
+        private final IndexingTask task;
+        private final Future<Runnable> result;
+
+        PendingTask(IndexingTask task, Future<Runnable> result) {
+            this.task = task;
+            this.result = result;
+        }
+    }
 }
@@ -4,11 +4,16 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.attribute.BasicFileAttributes;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 
 import org.jabref.gui.LibraryTab;
+import org.jabref.logic.pdf.search.indexing.IndexManifest.FileState;
 import org.jabref.logic.util.StandardFileType;
 import org.jabref.model.database.BibDatabaseContext;
 import org.jabref.model.entry.BibEntry;
@@ -18,13 +23,11 @@ import org.jabref.model.pdf.search.SearchFieldConstants;
 import org.jabref.preferences.FilePreferences;
 
 import org.apache.lucene.document.Document;
-import org.apache.lucene.index.DirectoryReader;
-import org.apache.lucene.index.IndexNotFoundException;
-import org.apache.lucene.index.IndexReader;
 import org.apache.lucene.index.IndexWriter;
 import org.apache.lucene.index.IndexWriterConfig;
 import org.apache.lucene.index.Term;
 import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.SearcherManager;
 import org.apache.lucene.search.TermQuery;
 import org.apache.lucene.search.TopDocs;
 import org.apache.lucene.store.Directory;
@@ -34,23 +37,87 @@ import org.slf4j.LoggerFactory;
 
 /**
  * Indexes the text of PDF files and adds it into the lucene search index.
+ * <p>
+ * There is at most one indexer per library. It keeps a single {@link IndexWriter} open for the lifetime of the library
+ * and offers a near-real-time {@link SearcherManager} to {@link org.jabref.logic.pdf.search.retrieval.PdfSearcher}.
+ * Changes are committed in batches: either explicitly by {@link #commit()}, at the end of a bulk operation, or after
+ * {@link #COMMIT_THRESHOLD} indexed files. The indexer has to be closed with {@link #shutdown(BibDatabaseContext)}
+ * when the library is closed.
+ * <p>
+ * The indexed files are recorded in an {@link IndexManifest}, which is saved together with each commit. It is used to
+ * decide whether a file is up to date and to compute the files to update when a library is opened.
  */
 public class PdfIndexer {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(LibraryTab.class);
 
+    /**
+     * Number of indexed files after which pending changes are committed even if no bulk operation finished yet
+     */
+    private static final int COMMIT_THRESHOLD = 200;
+
+    private static final Map<BibDatabaseContext, PdfIndexer> RUNNING_INSTANCES = new ConcurrentHashMap<>();
+
+    private final Path indexPath;
     private final Directory directoryToIndex;
+    private final FilePreferences filePreferences;
+    private final IndexManifest manifest;
+    // states of files which were read but are not yet written to the index
+    private final Map<String, FileState> pendingFileStates = new ConcurrentHashMap<>();
     private BibDatabaseContext databaseContext;
 
-    private final FilePreferences filePreferences;
+    private IndexWriter indexWriter;
+    private SearcherManager searcherManager;
+    private int uncommittedFiles = 0;
+    private boolean closed = false;
 
-    public PdfIndexer(Directory indexDirectory, FilePreferences filePreferences) {
-        this.directoryToIndex = indexDirectory;
+    private PdfIndexer(BibDatabaseContext databaseContext, Path indexPath, FilePreferences filePreferences) throws IOException {
+        this.databaseContext = databaseContext;
+        this.indexPath = indexPath;
+        this.directoryToIndex = new NIOFSDirectory(indexPath);
         this.filePreferences = filePreferences;
+        this.manifest = IndexManifest.load(indexPath);
     }
 
+    /**
+     * Returns the indexer associated with the given library. A new one is created if there is none yet or if the
+     * location of the index changed (e.g., because the library was saved under a new name).
+     */
     public static PdfIndexer of(BibDatabaseContext databaseContext, FilePreferences filePreferences) throws IOException {
-        return new PdfIndexer(new NIOFSDirectory(databaseContext.getFulltextIndexPath()), filePreferences);
+        Path indexPath = databaseContext.getFulltextIndexPath();
+        synchronized (RUNNING_INSTANCES) {
+            PdfIndexer indexer = RUNNING_INSTANCES.get(databaseContext);
+            if ((indexer != null) && indexer.indexPath.equals(indexPath)) {
+                return indexer;
+            }
+            if (indexer != null) {
+                indexer.close();
+            }
+            indexer = new PdfIndexer(databaseContext, indexPath, filePreferences);
+            RUNNING_INSTANCES.put(databaseContext, indexer);
+            return indexer;
+        }
+    }
+
+    /**
+     * Returns the indexer associated with the given library, if there is one running.
+     */
+    public static Optional<PdfIndexer> getRunningInstance(BibDatabaseContext databaseContext) {
+        return Optional.ofNullable(RUNNING_INSTANCES.get(databaseContext));
+    }
+
+    /**
+     * Commits all pending changes and closes the indexer associated with the given {@link BibDatabaseContext}.
+     *
+     * @param databaseContext Associated {@link BibDatabaseContext}
+     */
+    public static void shutdown(BibDatabaseContext databaseContext) {
+        synchronized (RUNNING_INSTANCES) {
+            PdfIndexer indexer = RUNNING_INSTANCES.remove(databaseContext);
+            if (indexer != null) {
+                indexer.close();
+            }
+        }
     }
 
     /**
@@ -58,19 +125,14 @@ public class PdfIndexer {
      * Lucene search index will be deleted!
      */
     public void createIndex() {
-        // Create new index by creating IndexWriter but not writing anything.
-        try {
-            IndexWriter indexWriter = new IndexWriter(directoryToIndex, new IndexWriterConfig(new EnglishStemAnalyzer()).setOpenMode(IndexWriterConfig.OpenMode.CREATE));
-            indexWriter.close();
-        } catch (IOException e) {
-            LOGGER.warn("Could not create new Index!", e);
-        }
+        flushIndex();
     }
 
     public void addToIndex(BibDatabaseContext databaseContext) {
         for (BibEntry entry : databaseContext.getEntries()) {
-            addToIndex(entry, databaseContext);
+            addToIndex(entry, entry.getFiles(), databaseContext, false);
         }
+        commit();
     }
 
     /**
@@ -90,13 +152,21 @@ public class PdfIndexer {
      * @param databaseContext the associated BibDatabaseContext
      */
     public void addToIndex(BibEntry entry, List<LinkedFile> linkedFiles, BibDatabaseContext databaseContext) {
+        addToIndex(entry, linkedFiles, databaseContext, true);
+    }
+
+    private void addToIndex(BibEntry entry, List<LinkedFile> linkedFiles, BibDatabaseContext databaseContext, boolean commitAfterwards) {
         for (LinkedFile linkedFile : linkedFiles) {
             addToIndex(entry, linkedFile, databaseContext);
         }
+        if (commitAfterwards) {
+            commit();
+        }
     }
 
     /**
-     * Adds a pdf file linked to one entry in the database to an existing (or new) Lucene search index
+     * Adds a pdf file linked to one entry in the database to an existing (or new) Lucene search index. The change is
+     * not committed immediately, but together with other pending changes.
      *
      * @param entry a bibtex entry
      * @param linkedFile the link to the pdf files
@@ -111,22 +181,34 @@ public class PdfIndexer {
     }
 
     /**
-     * Removes a pdf file linked to one entry in the database from the index
+     * Removes a pdf file linked to one entry in the database from the index. The change is not committed immediately,
+     * but together with other pending changes.
+     *
      * @param entry the entry the file is linked to
      * @param linkedFile the link to the file to be removed
      */
     public void removeFromIndex(BibEntry entry, LinkedFile linkedFile) {
-        try (IndexWriter indexWriter = new IndexWriter(
-                directoryToIndex,
-                new IndexWriterConfig(
-                        new EnglishStemAnalyzer()).setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND))
-        ) {
-            if (!entry.getFiles().isEmpty()) {
-                indexWriter.deleteDocuments(new Term(SearchFieldConstants.PATH, linkedFile.getLink()));
+        if (!entry.getFiles().isEmpty()) {
+            removeFromIndex(linkedFile.getLink());
+        }
+    }
+
+    /**
+     * Removes the file with the given link from the index. The change is not committed immediately, but together with
+     * other pending changes.
+     *
+     * @param link the link of the file as stored in the index
+     */
+    public void removeFromIndex(String link) {
+        try {
+            Optional<IndexWriter> writer = getIndexWriter();
+            if (writer.isPresent()) {
+                writer.get().deleteDocuments(new Term(SearchFieldConstants.PATH, link));
+                manifest.remove(link);
+                fileChanged();
             }
-            indexWriter.commit();
         } catch (IOException e) {
-            LOGGER.warn("Could not initialize the IndexWriter!", e);
+            LOGGER.warn("Could not remove the document {} from the index!", link, e);
         }
     }
 
@@ -146,29 +228,99 @@ public class PdfIndexer {
         for (LinkedFile linkedFile : linkedFiles) {
             removeFromIndex(entry, linkedFile);
         }
+        commit();
     }
 
     /**
      * Deletes all entries from the Lucene search index.
      */
     public void flushIndex() {
-        IndexWriterConfig config = new IndexWriterConfig();
-        config.setOpenMode(IndexWriterConfig.OpenMode.CREATE);
-        try (IndexWriter deleter = new IndexWriter(directoryToIndex, config)) {
-            // Do nothing. Index is deleted.
+        try {
+            Optional<IndexWriter> writer = getIndexWriter();
+            if (writer.isPresent()) {
+                writer.get().deleteAll();
+                manifest.clear();
+                fileChanged();
+            }
         } catch (IOException e) {
-            LOGGER.warn("The IndexWriter could not be initialized", e);
+            LOGGER.warn("Could not flush the index", e);
         }
+        commit();
     }
 
     /**
-     * Writes all files linked to an entry to the index if the files are not yet in the index or the files on the fs are
-     * newer than the one in the index.
-     * @param entry the entry associated with the file
+     * Commits all pending changes to disk, saves the manifest and refreshes the near-real-time reader. Does nothing if
+     * there are no pending changes.
      */
-    private void writeToIndex(BibEntry entry) {
-        for (LinkedFile linkedFile : entry.getFiles()) {
-            writeToIndex(entry, linkedFile);
+    public synchronized void commit() {
+        if (closed || (indexWriter == null)) {
+            return;
+        }
+        try {
+            if (uncommittedFiles > 0) {
+                indexWriter.commit();
+                uncommittedFiles = 0;
+                searcherManager.maybeRefresh();
+            }
+            // saved after the index, so that the manifest never lists files which are not in the index
+            manifest.save();
+        } catch (IOException e) {
+            LOGGER.warn("Could not commit the index", e);
+        }
+    }
+
+    /**
+     * Compares the files linked in the library with the manifest of the index. This is done in one pass and only
+     * reads the attributes of the files, not their content.
+     *
+     * @return the files which are new or changed on disk, and the files which are no longer linked or were deleted
+     */
+    public IndexDelta computeDelta(BibDatabaseContext databaseContext) {
+        IndexDelta delta = new IndexDelta();
+        Set<String> seenLinks = new HashSet<>();
+        Set<String> existingLinks = new HashSet<>();
+        for (BibEntry entry : databaseContext.getEntries()) {
+            for (LinkedFile linkedFile : entry.getFiles()) {
+                if (!isIndexable(linkedFile) || !seenLinks.add(linkedFile.getLink())) {
+                    continue;
+                }
+                Optional<Path> resolvedPath = linkedFile.findIn(databaseContext, filePreferences);
+                if (resolvedPath.isEmpty()) {
+                    continue;
+                }
+                try {
+                    BasicFileAttributes attributes = Files.readAttributes(resolvedPath.get(), BasicFileAttributes.class);
+                    existingLinks.add(linkedFile.getLink());
+                    boolean unchanged = manifest.get(linkedFile.getLink())
+                                                .map(state -> state.hasSameAttributes(attributes))
+                                                .orElse(false);
+                    if (!unchanged) {
+                        delta.addFileToIndex(entry, linkedFile);
+                    }
+                } catch (IOException e) {
+                    LOGGER.debug("Could not read attributes of {}", resolvedPath.get(), e);
+                }
+            }
+        }
+        for (String link : manifest.getLinks()) {
+            if (!existingLinks.contains(link)) {
+                delta.addLinkToRemove(link);
+            }
+        }
+        return delta;
+    }
+
+    /**
+     * Returns the near-real-time searcher manager of this index. It also sees changes which are not committed yet.
+     */
+    public Optional<SearcherManager> getSearcherManager() {
+        try {
+            getIndexWriter();
+        } catch (IOException e) {
+            LOGGER.warn("Could not open the index", e);
+        }
+        synchronized (this) {
+            return Optional.ofNullable(searcherManager);
         }
     }
 
@@ -179,48 +331,166 @@ public class PdfIndexer {
      * @param linkedFile the file to write to the index
      */
     private void writeToIndex(BibEntry entry, LinkedFile linkedFile) {
-        if (linkedFile.isOnlineLink() || !StandardFileType.PDF.getName().equals(linkedFile.getFileType())) {
-            return;
+        readForIndex(entry, linkedFile, databaseContext).ifPresent(pages -> writeToIndex(linkedFile, pages));
+    }
+
+    /**
+     * Reads the pages of a linked file if the file is not yet in the index or the file on the fs is newer than the one
+     * in the index. This is the expensive part of indexing a file. It does not modify the index and thus may be called
+     * concurrently for different files.
+     *
+     * @param entry the entry associated with the file
+     * @param linkedFile the file to read
+     * @param databaseContext the library the entry belongs to
+     * @return the documents to write to the index, or an empty optional if there is nothing to (re-)index
+     */
+    public Optional<List<Document>> readForIndex(BibEntry entry, LinkedFile linkedFile, BibDatabaseContext databaseContext) {
+        if (entry.getFiles().isEmpty() || !isIndexable(linkedFile)) {
+            return Optional.empty();
         }
-        Optional<Path> resolvedPath = linkedFile.findIn(databaseContext, filePreferences);
+        BibDatabaseContext context = databaseContext == null ? this.databaseContext : databaseContext;
+        Optional<Path> resolvedPath = linkedFile.findIn(context, filePreferences);
         if (resolvedPath.isEmpty()) {
             LOGGER.warn("Could not find {}", linkedFile.getLink());
-            return;
+            return Optional.empty();
         }
         try {
-            // Check if a document with this path is already in the index
-            try {
-                IndexReader reader = DirectoryReader.open(directoryToIndex);
-                IndexSearcher searcher = new IndexSearcher(reader);
-                TermQuery query = new TermQuery(new Term(SearchFieldConstants.PATH, linkedFile.getLink()));
-                TopDocs topDocs = searcher.search(query, 1);
-                // If a document was found, check if is less current than the one in the FS
-                if (topDocs.scoreDocs.length > 0) {
-                    Document doc = reader.document(topDocs.scoreDocs[0].doc);
-                    long indexModificationTime = Long.parseLong(doc.getField(SearchFieldConstants.MODIFIED).stringValue());
-
-                    BasicFileAttributes attributes = Files.readAttributes(resolvedPath.get(), BasicFileAttributes.class);
+            if (getIndexWriter().isEmpty() || isUpToDate(linkedFile, resolvedPath.get())) {
+                return Optional.empty();
+            }
+            pendingFileStates.put(linkedFile.getLink(), FileState.of(resolvedPath.get(), Files.readAttributes(resolvedPath.get(), BasicFileAttributes.class)));
+        } catch (IOException e) {
+            LOGGER.warn("Could not check whether {} is up to date in the index!", linkedFile.getLink(), e);
+            return Optional.empty();
+        }
+        // the state is only kept until the pages are written, thus it is dropped if there is nothing to write
+        Optional<List<Document>> pages;
+        try {
+            pages = new DocumentReader(entry, filePreferences).readLinkedPdf(context, linkedFile);
+        } catch (RuntimeException e) {
+            pendingFileStates.remove(linkedFile.getLink());
+            throw e;
+        }
+        if (pages.isEmpty()) {
+            pendingFileStates.remove(linkedFile.getLink());
+        }
+        return pages;
+    }
 
-                    if (indexModificationTime >= attributes.lastModifiedTime().to(TimeUnit.SECONDS)) {
-                        return;
-                    }
+    /**
+     * Writes the pages of a linked file to the index, replacing an outdated version of the file if there is one. The
+     * change is not committed immediately, but together with other pending changes.
+     *
+     * @param linkedFile the file the pages were read from
+     * @param pages the pages as returned by {@link #readForIndex(BibEntry, LinkedFile, BibDatabaseContext)}
+     */
+    public void writeToIndex(LinkedFile linkedFile, List<Document> pages) {
+        try {
+            Optional<IndexWriter> writer = getIndexWriter();
+            if (writer.isPresent()) {
+                writer.get().updateDocuments(new Term(SearchFieldConstants.PATH, linkedFile.getLink()), pages);
+                FileState state = pendingFileStates.remove(linkedFile.getLink());
+                if (state != null) {
+                    manifest.put(linkedFile.getLink(), state);
                 }
-                reader.close();
-            } catch (IndexNotFoundException e) {
-                // if there is no index yet, don't need to check anything!
+                fileChanged();
             }
-            // If no document was found, add the new one
-            Optional<List<Document>> pages = new DocumentReader(entry, filePreferences).readLinkedPdf(this.databaseContext, linkedFile);
-            if (pages.isPresent()) {
-                IndexWriter indexWriter = new IndexWriter(directoryToIndex,
-                        new IndexWriterConfig(
-                                new EnglishStemAnalyzer()).setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND));
-                indexWriter.addDocuments(pages.get());
-                indexWriter.commit();
+        } catch (IOException e) {
+            LOGGER.warn("Could not add the document {} to the index!", linkedFile.getLink(), e);
+        }
+    }
+
+    /**
+     * Returns the number of files which were read but are not yet written to the index.
+     * <p>
+     * This method is package private, because of PdfIndexerTest
+     */
+    int getNumberOfPendingFiles() {
+        return pendingFileStates.size();
+    }
+
+    private boolean isIndexable(LinkedFile linkedFile) {
+        return !linkedFile.isOnlineLink() && StandardFileType.PDF.getName().equals(linkedFile.getFileType());
+    }
+
+    /**
+     * Checks whether the file is already in the index in its current state. This is decided by the manifest: a file
+     * with unchanged size and modification time is up to date, as is a file whose content did not change. Files
+     * missing in the manifest (e.g., indexed by an older version) are looked up in the index itself.
+     */
+    private boolean isUpToDate(LinkedFile linkedFile, Path resolvedPath) throws IOException {
+        BasicFileAttributes attributes = Files.readAttributes(resolvedPath, BasicFileAttributes.class);
+        Optional<FileState> indexedState = manifest.get(linkedFile.getLink());
+        if (indexedState.isPresent() && indexedState.get().hasSameAttributes(attributes)) {
+            return true;
+        }
+        if (indexedState.isEmpty() && !isInIndex(linkedFile, attributes)) {
+            return false;
+        }
+        FileState currentState = FileState.of(resolvedPath, attributes);
+        if (indexedState.isPresent() && !indexedState.get().hasSameContent(currentState)) {
+            return false;
+        }
+        manifest.put(linkedFile.getLink(), currentState);
+        return true;
+    }
+
+    /**
+     * Checks whether a document with this path is in the index and is at least as current as the one in the FS
+     */
+    private boolean isInIndex(LinkedFile linkedFile, BasicFileAttributes attributes) throws IOException {
+        IndexSearcher searcher = searcherManager.acquire();
+        try {
+            TermQuery query = new TermQuery(new Term(SearchFieldConstants.PATH, linkedFile.getLink()));
+            TopDocs topDocs = searcher.search(query, 1);
+            if (topDocs.scoreDocs.length == 0) {
+                return false;
+            }
+            Document doc = searcher.doc(topDocs.scoreDocs[0].doc);
+            long indexModificationTime = Long.parseLong(doc.getField(SearchFieldConstants.MODIFIED).stringValue());
+            return indexModificationTime >= attributes.lastModifiedTime().to(TimeUnit.SECONDS);
+        } finally {
+            searcherManager.release(searcher);
+        }
+    }
+
+    private synchronized void fileChanged() {
+        uncommittedFiles++;
+        if (uncommittedFiles >= COMMIT_THRESHOLD) {
+            commit();
+        }
+    }
+
+    /**
+     * Lazily opens the writer, so that merely opening a library does not lock its index.
+     *
+     * @return the writer, or an empty optional if this indexer was already closed
+     */
+    private synchronized Optional<IndexWriter> getIndexWriter() throws IOException {
+        if (closed) {
+            return Optional.empty();
+        }
+        if (indexWriter == null) {
+            indexWriter = new IndexWriter(directoryToIndex,
+                    new IndexWriterConfig(new EnglishStemAnalyzer()).setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND));
+            searcherManager = new SearcherManager(indexWriter, null);
+        }
+        return Optional.of(indexWriter);
+    }
+
+    private synchronized void close() {
+        commit();
+        closed = true;
+        try {
+            if (searcherManager != null) {
+                searcherManager.close();
+            }
+            if (indexWriter != null) {
                 indexWriter.close();
             }
+            directoryToIndex.close();
         } catch (IOException e) {
-            LOGGER.warn("Could not add the document {} to the index!", linkedFile.getLink(), e);
+            LOGGER.warn("Could not close the index", e);
         }
     }
 }
@@ -4,8 +4,10 @@ import java.io.IOException;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
 
 import org.jabref.gui.LibraryTab;
+import org.jabref.logic.pdf.search.indexing.PdfIndexer;
 import org.jabref.model.database.BibDatabaseContext;
 import org.jabref.model.pdf.search.EnglishStemAnalyzer;
 import org.jabref.model.pdf.search.PdfSearchResults;
@@ -19,6 +21,7 @@ import org.apache.lucene.queryparser.classic.ParseException;
 import org.apache.lucene.search.IndexSearcher;
 import org.apache.lucene.search.Query;
 import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
 import org.apache.lucene.search.TopDocs;
 import org.apache.lucene.store.Directory;
 import org.apache.lucene.store.NIOFSDirectory;
@@ -32,13 +35,20 @@ public final class PdfSearcher {
     private static final Logger LOGGER = LoggerFactory.getLogger(LibraryTab.class);
 
     private final Directory indexDirectory;
+    private final Optional<SearcherManager> searcherManager;
 
-    private PdfSearcher(Directory indexDirectory) {
+    private PdfSearcher(Directory indexDirectory, Optional<SearcherManager> searcherManager) {
         this.indexDirectory = indexDirectory;
+        this.searcherManager = searcherManager;
     }
 
+    /**
+     * Creates a searcher for the fulltext index of the given library. If the library has a running {@link PdfIndexer},
+     * its near-real-time reader is reused. Otherwise, a reader is opened on the index directory for each search.
+     */
     public static PdfSearcher of(BibDatabaseContext databaseContext) throws IOException {
-        return new PdfSearcher(new NIOFSDirectory(databaseContext.getFulltextIndexPath()));
+        return new PdfSearcher(new NIOFSDirectory(databaseContext.getFulltextIndexPath()),
+                PdfIndexer.getRunningInstance(databaseContext).flatMap(PdfIndexer::getSearcherManager));
     }
 
     /**
@@ -58,19 +68,32 @@ public final class PdfSearcher {
         }
 
         try {
-            List<SearchResult> resultDocs = new LinkedList<>();
-
-            IndexReader reader = DirectoryReader.open(indexDirectory);
-            IndexSearcher searcher = new IndexSearcher(reader);
             Query query = new MultiFieldQueryParser(PDF_FIELDS, new EnglishStemAnalyzer()).parse(searchString);
-            TopDocs results = searcher.search(query, maxHits);
-            for (ScoreDoc scoreDoc : results.scoreDocs) {
-                resultDocs.add(new SearchResult(searcher, query, scoreDoc));
+            if (searcherManager.isPresent()) {
+                SearcherManager manager = searcherManager.get();
+                manager.maybeRefresh();
+                IndexSearcher searcher = manager.acquire();
+                try {
+                    return search(searcher, query, maxHits);
+                } finally {
+                    manager.release(searcher);
+                }
+            }
+            try (IndexReader reader = DirectoryReader.open(indexDirectory)) {
+                return search(new IndexSearcher(reader), query, maxHits);
             }
-            return new PdfSearchResults(resultDocs);
         } catch (ParseException e) {
             LOGGER.warn("Could not parse query: '" + searchString + "'! \n" + e.getMessage());
             return new PdfSearchResults();
         }
     }
+
+    private PdfSearchResults search(IndexSearcher searcher, Query query, int maxHits) throws IOException {
+        List<SearchResult> resultDocs = new LinkedList<>();
+        TopDocs results = searcher.search(query, maxHits);
+        for (ScoreDoc scoreDoc : results.scoreDocs) {
+            resultDocs.add(new SearchResult(searcher, query, scoreDoc));
+        }
+        return new PdfSearchResults(resultDocs);
+    }
 }
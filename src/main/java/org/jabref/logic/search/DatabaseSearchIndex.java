@@ -0,0 +1,318 @@
+package org.jabref.logic.search;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import org.jabref.model.database.BibDatabase;
+import org.jabref.model.database.event.EntriesAddedEvent;
+import org.jabref.model.database.event.EntriesRemovedEvent;
+import org.jabref.model.entry.BibEntry;
+import org.jabref.model.entry.event.FieldChangedEvent;
+import org.jabref.model.entry.field.Field;
+import org.jabref.model.entry.field.InternalField;
+import org.jabref.model.search.rules.SearchRules.SearchFlags;
+import org.jabref.model.search.rules.SentenceAnalyzer;
+
+import com.google.common.eventbus.Subscribe;
+
+/**
+ * Inverted index of the words in the fields of all entries of a library (field -> word -> ids of the entries having
+ * the word in the field). Words are the lower-cased, whitespace separated parts of the LaTeX-free field content.
+ * <p>
+ * Case-insensitive contains-based queries are answered by intersecting the posting lists of the query words instead
+ * of checking every entry of the library. For all other queries, {@link #isMatch(SearchQuery, BibEntry)} falls back to
+ * {@link SearchQuery#isMatch(BibEntry)}. The index is built on first use and kept in sync with the library by
+ * listening to {@link EntriesAddedEvent}, {@link EntriesRemovedEvent} and {@link FieldChangedEvent} until it is
+ * {@link #close() closed}.
+ * <p>
+ * As the query words are matched against parts of the indexed words, the distinct words of all fields are indexed by
+ * their trigrams. The words containing a query word of at least three characters are found among the words having all
+ * of its trigrams, shorter query words are matched against all words.
+ */
+public class DatabaseSearchIndex {
+
+    private final BibDatabase database;
+
+    private final Map<Field, Map<String, Set<String>>> postings = new HashMap<>();
+    private final Map<String, Map<Field, Set<String>>> wordsOfEntries = new HashMap<>();
+    private final Map<String, BibEntry> entriesById = new HashMap<>();
+    // trigram -> distinct words containing it, and word -> number of fields having it in their postings
+    private final Map<String, Set<String>> wordsByTrigram = new HashMap<>();
+    private final Map<String, Integer> fieldCountsOfWords = new HashMap<>();
+    private boolean isBuilt = false;
+    private boolean isClosed = false;
+    private long version = 0;
+
+    private SearchQuery lastQuery;
+    private long lastQueryVersion;
+    private Set<String> lastMatches = Set.of();
+
+    public DatabaseSearchIndex(BibDatabase database) {
+        this.database = database;
+        database.registerListener(this);
+    }
+
+    /**
+     * Checks whether the given entry matches the query. Equivalent to {@link SearchQuery#isMatch(BibEntry)}, but the
+     * matches of a query are computed only once for the whole library as long as the library does not change.
+     */
+    public boolean isMatch(SearchQuery query, BibEntry entry) {
+        return getMatchingIds(query).map(ids -> ids.contains(entry.getId()))
+                                    .orElseGet(() -> query.isMatch(entry));
+    }
+
+    /**
+     * Returns the ids of all entries matching the query, or an empty optional if the query cannot be answered by the
+     * index.
+     */
+    public synchronized Optional<Set<String>> getMatchingIds(SearchQuery query) {
+        if (isClosed || !isIndexable(query)) {
+            return Optional.empty();
+        }
+        if ((query == lastQuery) && (version == lastQueryVersion)) {
+            return Optional.of(lastMatches);
+        }
+        if (!isBuilt) {
+            build();
+        }
+
+        Set<String> candidates = null;
+        for (String word : new SentenceAnalyzer(query.getQuery().toLowerCase(Locale.ROOT)).getWords()) {
+            // a phrase is contained in a field only if each of its parts is contained in a word of the field
+            for (String part : splitIntoWords(word)) {
+                Set<String> idsContainingPart = getIdsContaining(part);
+                if (candidates == null) {
+                    candidates = idsContainingPart;
+                } else {
+                    candidates.retainAll(idsContainingPart);
+                }
+            }
+        }
+
+        // the candidates may contain entries matching the parts of a phrase, but not the phrase itself
+        Set<String> matches = new HashSet<>();
+        for (String id : candidates) {
+            if (query.isMatch(entriesById.get(id))) {
+                matches.add(id);
+            }
+        }
+        lastQuery = query;
+        lastQueryVersion = version;
+        lastMatches = matches;
+        return Optional.of(matches);
+    }
+
+    /**
+     * Only case-insensitive contains-based queries are answered by the index. Case-sensitive search is excluded,
+     * because lower-casing is not guaranteed to preserve the contains-relation for every language.
+     */
+    private boolean isIndexable(SearchQuery query) {
+        if (!query.isContainsBasedSearch()
+                || query.getSearchFlags().contains(SearchFlags.CASE_SENSITIVE)
+                || query.getSearchFlags().contains(SearchFlags.FULLTEXT)) {
+            return false;
+        }
+        List<String> words = new SentenceAnalyzer(query.getQuery()).getWords();
+        return !words.isEmpty() && words.stream().noneMatch(word -> splitIntoWords(word).isEmpty());
+    }
+
+    private Set<String> getIdsContaining(String part) {
+        Set<String> ids = new HashSet<>();
+        for (String word : getWordsPossiblyContaining(part)) {
+            if (!word.contains(part)) {
+                continue;
+            }
+            for (Map<String, Set<String>> wordsOfField : postings.values()) {
+                Set<String> idsOfWord = wordsOfField.get(word);
+                if (idsOfWord != null) {
+                    ids.addAll(idsOfWord);
+                }
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Returns the words having all trigrams of the given part, or all words if the part is shorter than a trigram
+     */
+    private Collection<String> getWordsPossiblyContaining(String part) {
+        if (part.length() < 3) {
+            return fieldCountsOfWords.keySet();
+        }
+        Set<String> smallestWords = null;
+        for (int i = 0; (i + 3) <= part.length(); i++) {
+            Set<String> words = wordsByTrigram.get(part.substring(i, i + 3));
+            if (words == null) {
+                return Set.of();
+            }
+            if ((smallestWords == null) || (words.size() < smallestWords.size())) {
+                smallestWords = words;
+            }
+        }
+        return smallestWords;
+    }
+
+    private void addToVocabulary(String word) {
+        if (fieldCountsOfWords.merge(word, 1, Integer::sum) == 1) {
+            for (int i = 0; (i + 3) <= word.length(); i++) {
+                wordsByTrigram.computeIfAbsent(word.substring(i, i + 3), key -> new HashSet<>()).add(word);
+            }
+        }
+    }
+
+    private void removeFromVocabulary(String word) {
+        if (fieldCountsOfWords.merge(word, -1, Integer::sum) == 0) {
+            fieldCountsOfWords.remove(word);
+            for (int i = 0; (i + 3) <= word.length(); i++) {
+                String trigram = word.substring(i, i + 3);
+                Set<String> words = wordsByTrigram.get(trigram);
+                words.remove(word);
+                if (words.isEmpty()) {
+                    wordsByTrigram.remove(trigram);
+                }
+            }
+        }
+    }
+
+    /**
+     * Stops keeping the index in sync with the library and drops it. Queries are no longer answered by the index.
+     */
+    public synchronized void close() {
+        database.unregisterListener(this);
+        isClosed = true;
+        clear();
+    }
+
+    private void clear() {
+        isBuilt = false;
+        postings.clear();
+        wordsOfEntries.clear();
+        entriesById.clear();
+        wordsByTrigram.clear();
+        fieldCountsOfWords.clear();
+    }
+
+    private void build() {
+        new ArrayList<>(database.getEntries()).forEach(this::addEntry);
+        isBuilt = true;
+    }
+
+    private void addEntry(BibEntry entry) {
+        removeEntry(entry.getId());
+        entriesById.put(entry.getId(), entry);
+        Map<Field, Set<String>> wordsOfEntry = new HashMap<>();
+        wordsOfEntries.put(entry.getId(), wordsOfEntry);
+        for (Field field : entry.getFields()) {
+            addField(entry, field, wordsOfEntry);
+        }
+    }
+
+    private void addField(BibEntry entry, Field field, Map<Field, Set<String>> wordsOfEntry) {
+        Optional<String> content = entry.getLatexFreeField(field);
+        if (content.isEmpty()) {
+            return;
+        }
+        Set<String> words = new HashSet<>(splitIntoWords(content.get().toLowerCase(Locale.ROOT)));
+        wordsOfEntry.put(field, words);
+        Map<String, Set<String>> wordsOfField = postings.computeIfAbsent(field, key -> new HashMap<>());
+        for (String word : words) {
+            wordsOfField.computeIfAbsent(word, key -> {
+                addToVocabulary(word);
+                return new HashSet<>();
+            }).add(entry.getId());
+        }
+    }
+
+    private void removeEntry(String id) {
+        entriesById.remove(id);
+        Map<Field, Set<String>> wordsOfEntry = wordsOfEntries.remove(id);
+        if (wordsOfEntry != null) {
+            wordsOfEntry.forEach((field, words) -> removeField(id, field, words));
+        }
+    }
+
+    private void removeField(String id, Field field, Set<String> words) {
+        Map<String, Set<String>> wordsOfField = postings.get(field);
+        if (wordsOfField == null) {
+            return;
+        }
+        for (String word : words) {
+            Set<String> ids = wordsOfField.get(word);
+            if (ids != null) {
+                ids.remove(id);
+                if (ids.isEmpty()) {
+                    wordsOfField.remove(word);
+                    removeFromVocabulary(word);
+                }
+            }
+        }
+    }
+
+    /**
+     * Splits at whitespace the same way {@link SentenceAnalyzer} does
+     */
+    private static List<String> splitIntoWords(String text) {
+        List<String> words = new ArrayList<>();
+        int start = -1;
+        for (int i = 0; i < text.length(); i++) {
+            if (Character.isWhitespace(text.charAt(i))) {
+                if (start >= 0) {
+                    words.add(text.substring(start, i));
+                    start = -1;
+                }
+            } else if (start < 0) {
+                start = i;
+            }
+        }
+        if (start >= 0) {
+            words.add(text.substring(start));
+        }
+        return words;
+    }
+
+    @Subscribe
+    public synchronized void listen(EntriesAddedEvent event) {
+        version++;
+        if (isBuilt) {
+            event.getBibEntries().forEach(this::addEntry);
+        }
+    }
+
+    @Subscribe
+    public synchronized void listen(EntriesRemovedEvent event) {
+        version++;
+        if (isBuilt) {
+            event.getBibEntries().forEach(entry -> removeEntry(entry.getId()));
+        }
+    }
+
+    @Subscribe
+    public synchronized void listen(FieldChangedEvent event) {
+        version++;
+        if (!isBuilt) {
+            return;
+        }
+        BibEntry entry = event.getBibEntry();
+        if (InternalField.INTERNAL_ID_FIELD.equals(event.getField())) {
+            // the event is posted before the id changes, thus the index is rebuilt on next use
+            clear();
+            return;
+        }
+        Map<Field, Set<String>> wordsOfEntry = wordsOfEntries.get(entry.getId());
+        if (wordsOfEntry == null) {
+            return;
+        }
+        Set<String> oldWords = wordsOfEntry.remove(event.getField());
+        if (oldWords != null) {
+            removeField(entry.getId(), event.getField(), oldWords);
+        }
+        addField(entry, event.getField(), wordsOfEntry);
+    }
+}
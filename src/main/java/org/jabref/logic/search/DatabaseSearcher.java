@@ -1,28 +1,51 @@
 package org.jabref.logic.search;
 
 import org.jabref.model.database.BibDatabase;
-import org.jabref.model.database.BibDatabases;
 import org.jabref.model.entry.BibEntry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 public class DatabaseSearcher {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(DatabaseSearcher.class);
+
+    /**
+     * Number of entries searched by a single task of a parallel search
+     */
+    private static final int CHUNK_SIZE = 1000;
     private final SearchQuery query;
 
     private final BibDatabase database;
+    private final Optional<DatabaseSearchIndex> searchIndex;
 
     public DatabaseSearcher(SearchQuery query, BibDatabase database) {
         this.query = Objects.requireNonNull(query);
         System.out.println(query.getQuery());
 
         this.database = Objects.requireNonNull(database);
+        this.searchIndex = Optional.empty();
+    }
+
+    /**
+     * Creates a searcher which uses the given index of the database to find the matches, if possible
+     */
+    public DatabaseSearcher(SearchQuery query, BibDatabase database, DatabaseSearchIndex searchIndex) {
+        this.query = Objects.requireNonNull(query);
+        this.database = Objects.requireNonNull(database);
+        this.searchIndex = Optional.of(searchIndex);
     }
 
     public List<BibEntry> getMatches() {
@@ -33,7 +56,85 @@ public class DatabaseSearcher {
             return Collections.emptyList();
         }
 
-        List<BibEntry> matchEntries = database.getEntries().stream().filter(query::isMatch).collect(Collectors.toList());
-        return BibDatabases.purgeEmptyEntries(matchEntries);
+        Predicate<BibEntry> isMatch = createMatcher();
+        return new ArrayList<>(database.getEntries()).parallelStream()
+                                                     .filter(isMatch)
+                                                     .collect(Collectors.toList());
+    }
+
+    /**
+     * Searches the database in parallel and passes the matches to the consumer while the search is running. The
+     * entries are split into chunks, which are searched on the common fork join pool. The matches of each chunk are
+     * passed on as soon as the chunk is searched. Thus, the consumer is called concurrently and the order of the
+     * batches is not defined.
+     *
+     * @param batchConsumer receives the matches of each chunk containing at least one match
+     * @param isCanceled    checked before each chunk, the search stops as soon as it returns true
+     * @return true if all entries were searched, false if the search was canceled
+     */
+    public boolean getMatches(Consumer<List<BibEntry>> batchConsumer, BooleanSupplier isCanceled) {
+        LOGGER.debug("Search term: " + query);
+
+        if (!query.isValid()) {
+            LOGGER.warn("Search failed: illegal search expression");
+            return true;
+        }
+
+        List<BibEntry> entries = new ArrayList<>(database.getEntries());
+        ForkJoinPool.commonPool().invoke(new SearchAction(entries, 0, entries.size(), createMatcher(), batchConsumer, isCanceled));
+        return !isCanceled.getAsBoolean();
+    }
+
+    private Predicate<BibEntry> createMatcher() {
+        Optional<Set<String>> matchingIds = searchIndex.flatMap(index -> index.getMatchingIds(query));
+        Predicate<BibEntry> isMatch = matchingIds.<Predicate<BibEntry>>map(ids -> entry -> ids.contains(entry.getId()))
+                                                 .orElse(query::isMatch);
+        // same as BibDatabases.purgeEmptyEntries
+        return isMatch.and(entry -> !entry.getFields().isEmpty());
+    }
+
+    /**
+     * Searches a range of the entries, splitting it in halves until it contains at most {@link #CHUNK_SIZE} entries
+     */
+    private static class SearchAction extends RecursiveAction {
+
+        private final List<BibEntry> entries;
+        private final int from;
+        private final int to;
+        private final Predicate<BibEntry> isMatch;
+        private final Consumer<List<BibEntry>> batchConsumer;
+        private final BooleanSupplier isCanceled;
+
+        SearchAction(List<BibEntry> entries, int from, int to, Predicate<BibEntry> isMatch, Consumer<List<BibEntry>> batchConsumer, BooleanSupplier isCanceled) {
+            this.entries = entries;
+            this.from = from;
+            this.to = to;
+            this.isMatch = isMatch;
+            this.batchConsumer = batchConsumer;
+            this.isCanceled = isCanceled;
+        }
+
+        @Override
+        protected void compute() {
+            if (isCanceled.getAsBoolean()) {
+                return;
+            }
+            if ((to - from) > CHUNK_SIZE) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new SearchAction(entries, from, middle, isMatch, batchConsumer, isCanceled),
+                        new SearchAction(entries, middle, to, isMatch, batchConsumer, isCanceled));
+                return;
+            }
+
+            List<BibEntry> matches = new ArrayList<>();
+            for (BibEntry entry : entries.subList(from, to)) {
+                if (isMatch.test(entry)) {
+                    matches.add(entry);
+                }
+            }
+            if (!matches.isEmpty() && !isCanceled.getAsBoolean()) {
+                batchConsumer.accept(matches);
+            }
+        }
     }
 }
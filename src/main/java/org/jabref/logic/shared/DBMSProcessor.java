@@ -5,7 +5,10 @@ import java.sql.DatabaseMetaData;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -15,7 +18,9 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.TreeSet;
 import java.util.UUID;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 import org.jabref.logic.shared.exception.OfflineLockException;
@@ -38,10 +43,20 @@ public abstract class DBMSProcessor {
 
     protected static final Logger LOGGER = LoggerFactory.getLogger(DBMSProcessor.class);
 
+    private static final int BATCH_SIZE = 1000;
+    // number of entries fetched by a single query, also the maximal number of IDs in an IN-list
+    private static final int PAGE_SIZE = 1000;
+
     protected final Connection connection;
 
     protected DatabaseConnectionProperties connectionProperties;
 
+    private boolean isRevisionLogAvailable;
+    private boolean hasUniqueFieldKey;
+
+    // prepared statements by query, kept open for the lifetime of the connection
+    private final Map<String, PreparedStatement> preparedStatements = new HashMap<>();
+
     protected DBMSProcessor(DatabaseConnection dbmsConnection) {
         this.connection = dbmsConnection.getConnection();
         this.connectionProperties = dbmsConnection.getProperties();
@@ -57,6 +72,53 @@ public abstract class DBMSProcessor {
         return checkTableAvailability("ENTRY", "FIELD", "METADATA");
     }
 
+    /**
+     * Creates the tables logging the revisions of the shared entries if they are not present yet. The revision log is
+     * optional: without it, all shared entries are compared on each synchronization.
+     *
+     * @return <code>true</code> if the revision log is available, else <code>false</code>.
+     */
+    public boolean setupRevisionLog() {
+        try {
+            if (!checkTableAvailability("ENTRY_REVISION", "REVISION")) {
+                setUpRevisionLog();
+            }
+            // the counter has a single row, concurrently created rows are kept in step by incrementing all of them
+            try (ResultSet resultSet = connection.createStatement().executeQuery("SELECT COUNT(*) FROM " + escape("REVISION"))) {
+                resultSet.next();
+                if (resultSet.getInt(1) == 0) {
+                    connection.createStatement().executeUpdate("INSERT INTO " + escape("REVISION") + "(" + escape("VALUE") + ") VALUES(0)");
+                }
+            }
+            isRevisionLogAvailable = true;
+        } catch (SQLException e) {
+            LOGGER.warn("Could not set up the revision log, falling back to full synchronization", e);
+            isRevisionLogAvailable = false;
+        }
+        return isRevisionLogAvailable;
+    }
+
+    /**
+     * Creates the unique index on the columns ENTRY_SHARED_ID and NAME of the FIELD table if it is not present yet. The
+     * index is required by {@link #getUpsertFieldQuery()} on most databases. It cannot be created if a shared library
+     * already contains duplicate fields, in that case fields are updated and inserted separately.
+     *
+     * @return <code>true</code> if the index is available, else <code>false</code>.
+     */
+    public boolean setupFieldKey() {
+        try {
+            if (!checkIndexAvailability("FIELD", "FIELD_ENTRY_SHARED_ID_NAME")) {
+                connection.createStatement().executeUpdate("CREATE UNIQUE INDEX " + escape("FIELD_ENTRY_SHARED_ID_NAME")
+                        + " ON " + escape("FIELD") + " (" + escape("ENTRY_SHARED_ID") + ", " + escape("NAME") + ")");
+            }
+            hasUniqueFieldKey = true;
+        } catch (SQLException e) {
+            LOGGER.warn("Could not create the unique index of the field table, falling back to separate updates and inserts", e);
+            hasUniqueFieldKey = false;
+        }
+        return hasUniqueFieldKey;
+    }
+
     /**
      * Determines whether the database is using an pre-3.6 structure.
      *
@@ -79,7 +141,7 @@ public abstract class DBMSProcessor {
      * @param tableNames Table names to be checked
      * @return <code>true</code> if <b>all</b> given tables are present, else <code>false</code>.
      */
-    private boolean checkTableAvailability(String... tableNames) throws SQLException {
+    protected boolean checkTableAvailability(String... tableNames) throws SQLException {
         List<String> requiredTables = new ArrayList<>();
         for (String name : tableNames) {
             requiredTables.add(name.toUpperCase(Locale.ENGLISH));
@@ -96,6 +158,31 @@ public abstract class DBMSProcessor {
         }
     }
 
+    /**
+     * Checks whether the given table (<b>case insensitive</b>) has an index of the given name (<b>case insensitive</b>).
+     */
+    private boolean checkIndexAvailability(String tableName, String indexName) throws SQLException {
+        DatabaseMetaData databaseMetaData = connection.getMetaData();
+        List<String> matchingTables = new ArrayList<>();
+        try (ResultSet tables = databaseMetaData.getTables(null, null, null, null)) {
+            while (tables.next()) {
+                if (tables.getString("TABLE_NAME").equalsIgnoreCase(tableName)) {
+                    matchingTables.add(tables.getString("TABLE_NAME"));
+                }
+            }
+        }
+        for (String table : matchingTables) {
+            try (ResultSet indexes = databaseMetaData.getIndexInfo(null, null, table, true, false)) {
+                while (indexes.next()) {
+                    if (indexName.equalsIgnoreCase(indexes.getString("INDEX_NAME"))) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
     /**
      * Creates and sets up the needed tables and columns according to the database type and performs a check whether the
      * needed tables are present.
@@ -104,6 +191,8 @@ public abstract class DBMSProcessor {
      */
     public void setupSharedDatabase() throws SQLException {
         setUp();
+        setupFieldKey();
+        setupRevisionLog();
 
         if (!checkBaseIntegrity()) {
             // can only happen with users direct intervention on shared database
@@ -118,6 +207,12 @@ public abstract class DBMSProcessor {
      */
     protected abstract void setUp() throws SQLException;
 
+    /**
+     * Creates the tables ENTRY_REVISION (the revision of the last insert, update or removal of each shared entry) and
+     * REVISION (the counter of revisions) according to the database type.
+     */
+    protected abstract void setUpRevisionLog() throws SQLException;
+
     /**
      * Escapes parts of SQL expressions such as a table name or a field name to match the conventions of the database
      * system using the current dbmsType.
@@ -129,6 +224,49 @@ public abstract class DBMSProcessor {
      */
     abstract String escape(String expression);
 
+    /**
+     * Returns the query inserting a field into the FIELD table or, if the entry already has the field, replacing its
+     * value, using the native construct of the database system. The parameters are ENTRY_SHARED_ID, NAME and VALUE.
+     */
+    protected abstract String getUpsertFieldQuery();
+
+    /**
+     * Determines whether {@link #getUpsertFieldQuery()} can be used. Most databases detect existing fields by the
+     * unique index of the FIELD table (see {@link #setupFieldKey()}).
+     */
+    protected boolean isUpsertSupported() {
+        return hasUniqueFieldKey;
+    }
+
+    /**
+     * Runs the given action with a prepared statement of the given query without parameters and batches. The statement
+     * is kept open for the lifetime of the connection and reused by later calls, thus it must not be closed or kept by
+     * the action. Other threads wait for the statement until the action is finished, so that the parameters and
+     * batches of different threads are not mixed.
+     */
+    protected <T> T executeWithPreparedStatement(String query, PreparedStatementAction<T> action) throws SQLException {
+        PreparedStatement statement = getPreparedStatement(query);
+        synchronized (statement) {
+            statement.clearParameters();
+            statement.clearBatch();
+            return action.execute(statement);
+        }
+    }
+
+    private synchronized PreparedStatement getPreparedStatement(String query) throws SQLException {
+        PreparedStatement statement = preparedStatements.get(query);
+        if ((statement == null) || statement.isClosed()) {
+            statement = connection.prepareStatement(query);
+            preparedStatements.put(query, statement);
+        }
+        return statement;
+    }
+
+    private String getInsertFieldQuery() {
+        return "INSERT INTO " + escape("FIELD") + "(" + escape("ENTRY_SHARED_ID") + ", " + escape("NAME") + ", "
+                + escape("VALUE") + ") VALUES(?, ?, ?)";
+    }
+
     /**
      * For use in test only. Inserts the BibEntry into the shared database.
      *
@@ -148,8 +286,35 @@ public abstract class DBMSProcessor {
         if (notYetExistingEntries.isEmpty()) {
             return;
         }
-        insertIntoEntryTable(notYetExistingEntries);
-        insertIntoFieldTable(notYetExistingEntries);
+        try {
+            // the revisions are logged in the same transaction, so that other clients do not pull incomplete entries
+            connection.setAutoCommit(false);
+            insertIntoEntryTable(notYetExistingEntries);
+            insertIntoFieldTable(notYetExistingEntries);
+            logChanges(getSharedIDs(notYetExistingEntries));
+            connection.commit();
+        } catch (SQLException e) {
+            LOGGER.error("SQL Error: ", e);
+            rollback();
+        } finally {
+            enableAutoCommit();
+        }
+    }
+
+    private void rollback() {
+        try {
+            connection.rollback();
+        } catch (SQLException e) {
+            LOGGER.error("SQL Error: ", e);
+        }
+    }
+
+    private void enableAutoCommit() {
+        try {
+            connection.setAutoCommit(true);
+        } catch (SQLException e) {
+            LOGGER.error("SQL Error: ", e);
+        }
     }
 
     /**
@@ -199,25 +364,26 @@ public abstract class DBMSProcessor {
      * @return <code>true</code> if existent, else <code>false</code>
      */
     private List<BibEntry> getNotYetExistingEntries(List<BibEntry> bibEntries) {
-
-        List<Integer> remoteIds = new ArrayList<>();
-        List<Integer> localIds = bibEntries.stream()
-                                           .map(BibEntry::getSharedBibEntryData)
-                                           .map(SharedBibEntryData::getSharedID)
-                                           .filter((id) -> id != -1)
-                                           .collect(Collectors.toList());
+        List<Integer> localIds = new ArrayList<>(new TreeSet<>(getSharedIDs(bibEntries)));
         if (localIds.isEmpty()) {
             return bibEntries;
         }
-        try {
-            StringBuilder selectQuery = new StringBuilder()
-                    .append("SELECT * FROM ")
-                    .append(escape("ENTRY"));
 
-            try (ResultSet resultSet = connection.createStatement().executeQuery(selectQuery.toString())) {
-                while (resultSet.next()) {
-                    int id = resultSet.getInt("SHARED_ID");
-                    remoteIds.add(id);
+        // only the given IDs are looked up
+        Set<Integer> remoteIds = new HashSet<>();
+        try {
+            for (List<Integer> page : partition(localIds)) {
+                String selectQuery = "SELECT " + escape("SHARED_ID") + " FROM " + escape("ENTRY") + " WHERE "
+                        + escape("SHARED_ID") + " IN (" + "?, ".repeat(page.size() - 1) + "?)";
+                try (PreparedStatement preparedStatement = connection.prepareStatement(selectQuery)) {
+                    for (int i = 0; i < page.size(); i++) {
+                        preparedStatement.setInt(i + 1, page.get(i));
+                    }
+                    try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                        while (resultSet.next()) {
+                            remoteIds.add(resultSet.getInt(1));
+                        }
+                    }
                 }
             }
         } catch (SQLException e) {
@@ -228,6 +394,14 @@ public abstract class DBMSProcessor {
                          .collect(Collectors.toList());
     }
 
+    private static List<List<Integer>> partition(List<Integer> ids) {
+        List<List<Integer>> pages = new ArrayList<>();
+        for (int start = 0; start < ids.size(); start += PAGE_SIZE) {
+            pages.add(ids.subList(start, Math.min(start + PAGE_SIZE, ids.size())));
+        }
+        return pages;
+    }
+
     /**
      * Inserts the given list of BibEntry into FIELD table.
      *
@@ -235,47 +409,25 @@ public abstract class DBMSProcessor {
      */
     protected void insertIntoFieldTable(List<BibEntry> bibEntries) {
         try {
-            // Inserting into FIELD table
-            // Coerce to ArrayList in order to use List.get()
-            List<List<Field>> fields = bibEntries.stream().map(bibEntry -> new ArrayList<>(bibEntry.getFields()))
-                                                 .collect(Collectors.toList());
-
-            StringBuilder insertFieldQuery = new StringBuilder()
-                    .append("INSERT INTO ")
-                    .append(escape("FIELD"))
-                    .append("(")
-                    .append(escape("ENTRY_SHARED_ID"))
-                    .append(", ")
-                    .append(escape("NAME"))
-                    .append(", ")
-                    .append(escape("VALUE"))
-                    .append(") VALUES(?, ?, ?)");
-            int numFields = 0;
-            for (List<Field> entryFields : fields) {
-                numFields += entryFields.size();
-            }
-
-            if (numFields == 0) {
-                return; // Prevent SQL Exception
-            }
-
-            // Number of commas is fields.size() - 1
-            for (int i = 0; i < (numFields - 1); i++) {
-                insertFieldQuery.append(", (?, ?, ?)");
-            }
-            try (PreparedStatement preparedFieldStatement = connection.prepareStatement(insertFieldQuery.toString())) {
-                int fieldsCompleted = 0;
-                for (int entryIndex = 0; entryIndex < fields.size(); entryIndex++) {
-                    for (int entryFieldsIndex = 0; entryFieldsIndex < fields.get(entryIndex).size(); entryFieldsIndex++) {
-                        // columnIndex starts with 1
-                        preparedFieldStatement.setInt((3 * fieldsCompleted) + 1, bibEntries.get(entryIndex).getSharedBibEntryData().getSharedID());
-                        preparedFieldStatement.setString((3 * fieldsCompleted) + 2, fields.get(entryIndex).get(entryFieldsIndex).getName());
-                        preparedFieldStatement.setString((3 * fieldsCompleted) + 3, bibEntries.get(entryIndex).getField(fields.get(entryIndex).get(entryFieldsIndex)).get());
-                        fieldsCompleted += 1;
+            executeWithPreparedStatement(getInsertFieldQuery(), preparedFieldStatement -> {
+                int batchedFields = 0;
+                for (BibEntry bibEntry : bibEntries) {
+                    for (Map.Entry<Field, String> field : bibEntry.getFieldMap().entrySet()) {
+                        preparedFieldStatement.setInt(1, bibEntry.getSharedBibEntryData().getSharedID());
+                        preparedFieldStatement.setString(2, field.getKey().getName());
+                        preparedFieldStatement.setString(3, field.getValue());
+                        preparedFieldStatement.addBatch();
+                        batchedFields++;
+                        if ((batchedFields % BATCH_SIZE) == 0) {
+                            preparedFieldStatement.executeBatch();
+                        }
                     }
                 }
-                preparedFieldStatement.executeUpdate();
-            }
+                if ((batchedFields % BATCH_SIZE) != 0) {
+                    preparedFieldStatement.executeBatch();
+                }
+                return null;
+            });
         } catch (SQLException e) {
             LOGGER.error("SQL Error: ", e);
         }
@@ -322,11 +474,13 @@ public abstract class DBMSProcessor {
                         .append(escape("SHARED_ID"))
                         .append(" = ?");
 
-                try (PreparedStatement preparedUpdateEntryTypeStatement = connection.prepareStatement(updateEntryTypeQuery.toString())) {
+                executeWithPreparedStatement(updateEntryTypeQuery.toString(), preparedUpdateEntryTypeStatement -> {
                     preparedUpdateEntryTypeStatement.setString(1, localBibEntry.getType().getName());
                     preparedUpdateEntryTypeStatement.setInt(2, localBibEntry.getSharedBibEntryData().getSharedID());
-                    preparedUpdateEntryTypeStatement.executeUpdate();
-                }
+                    return preparedUpdateEntryTypeStatement.executeUpdate();
+                });
+
+                logChanges(Collections.singletonList(localBibEntry.getSharedBibEntryData().getSharedID()));
 
                 connection.commit(); // apply all changes in current transaction
             } else {
@@ -346,95 +500,118 @@ public abstract class DBMSProcessor {
     private void removeSharedFieldsByDifference(BibEntry localBibEntry, BibEntry sharedBibEntry) throws SQLException {
         Set<Field> nullFields = new HashSet<>(sharedBibEntry.getFields());
         nullFields.removeAll(localBibEntry.getFields());
-        for (Field nullField : nullFields) {
-            StringBuilder deleteFieldQuery = new StringBuilder()
-                    .append("DELETE FROM ")
-                    .append(escape("FIELD"))
-                    .append(" WHERE ")
-                    .append(escape("NAME"))
-                    .append(" = ? AND ")
-                    .append(escape("ENTRY_SHARED_ID"))
-                    .append(" = ?");
-
-            try (PreparedStatement preparedDeleteFieldStatement = connection
-                    .prepareStatement(deleteFieldQuery.toString())) {
+        if (nullFields.isEmpty()) {
+            return;
+        }
+        StringBuilder deleteFieldQuery = new StringBuilder()
+                .append("DELETE FROM ")
+                .append(escape("FIELD"))
+                .append(" WHERE ")
+                .append(escape("NAME"))
+                .append(" = ? AND ")
+                .append(escape("ENTRY_SHARED_ID"))
+                .append(" = ?");
+
+        executeWithPreparedStatement(deleteFieldQuery.toString(), preparedDeleteFieldStatement -> {
+            for (Field nullField : nullFields) {
                 preparedDeleteFieldStatement.setString(1, nullField.getName());
                 preparedDeleteFieldStatement.setInt(2, localBibEntry.getSharedBibEntryData().getSharedID());
-                preparedDeleteFieldStatement.executeUpdate();
+                preparedDeleteFieldStatement.addBatch();
             }
-        }
+            return preparedDeleteFieldStatement.executeBatch();
+        });
     }
 
     /**
      * Helping method. Inserts a key-value pair into FIELD table for every field if not existing. Otherwise only an
-     * update is performed.
+     * update is performed. All fields are sent in a single batch, or in two if the database does not support upserts.
      */
     private void insertOrUpdateFields(BibEntry localBibEntry) throws SQLException {
-        for (Field field : localBibEntry.getFields()) {
-            // avoiding to use deprecated BibEntry.getField() method. null values are accepted by PreparedStatement!
-            Optional<String> valueOptional = localBibEntry.getField(field);
-            String value = null;
-            if (valueOptional.isPresent()) {
-                value = valueOptional.get();
+        int sharedID = localBibEntry.getSharedBibEntryData().getSharedID();
+        Map<Field, String> fields = localBibEntry.getFieldMap();
+        if (fields.isEmpty()) {
+            return;
+        }
+
+        if (isUpsertSupported()) {
+            executeWithPreparedStatement(getUpsertFieldQuery(), preparedUpsertFieldStatement -> {
+                for (Map.Entry<Field, String> field : fields.entrySet()) {
+                    preparedUpsertFieldStatement.setInt(1, sharedID);
+                    preparedUpsertFieldStatement.setString(2, field.getKey().getName());
+                    preparedUpsertFieldStatement.setString(3, field.getValue());
+                    preparedUpsertFieldStatement.addBatch();
+                }
+                return preparedUpsertFieldStatement.executeBatch();
+            });
+            return;
+        }
+
+        // update all fields, then insert those which did not exist
+        StringBuilder updateFieldQuery = new StringBuilder()
+                .append("UPDATE ")
+                .append(escape("FIELD"))
+                .append(" SET ")
+                .append(escape("VALUE"))
+                .append(" = ? WHERE ")
+                .append(escape("NAME"))
+                .append(" = ? AND ")
+                .append(escape("ENTRY_SHARED_ID"))
+                .append(" = ?");
+
+        List<Map.Entry<Field, String>> fieldList = new ArrayList<>(fields.entrySet());
+        int[] updateCounts = executeWithPreparedStatement(updateFieldQuery.toString(), preparedUpdateFieldStatement -> {
+            for (Map.Entry<Field, String> field : fieldList) {
+                preparedUpdateFieldStatement.setString(1, field.getValue());
+                preparedUpdateFieldStatement.setString(2, field.getKey().getName());
+                preparedUpdateFieldStatement.setInt(3, sharedID);
+                preparedUpdateFieldStatement.addBatch();
+            }
+            return preparedUpdateFieldStatement.executeBatch();
+        });
+
+        // some drivers do not report the number of updated rows, then the existing fields are looked up
+        boolean isUpdateCountUnknown = Arrays.stream(updateCounts).anyMatch(count -> count == Statement.SUCCESS_NO_INFO);
+        Set<String> existingFieldNames = isUpdateCountUnknown ? getSharedFieldNames(sharedID) : Collections.emptySet();
+
+        List<Map.Entry<Field, String>> missingFields = new ArrayList<>();
+        for (int i = 0; i < fieldList.size(); i++) {
+            boolean isMissing = (updateCounts[i] == Statement.SUCCESS_NO_INFO)
+                    ? !existingFieldNames.contains(fieldList.get(i).getKey().getName())
+                    : (updateCounts[i] == 0);
+            if (isMissing) {
+                missingFields.add(fieldList.get(i));
             }
+        }
+        if (missingFields.isEmpty()) {
+            return;
+        }
 
-            StringBuilder selectFieldQuery = new StringBuilder()
-                    .append("SELECT * FROM ")
-                    .append(escape("FIELD"))
-                    .append(" WHERE ")
-                    .append(escape("NAME"))
-                    .append(" = ? AND ")
-                    .append(escape("ENTRY_SHARED_ID"))
-                    .append(" = ?");
-
-            try (PreparedStatement preparedSelectFieldStatement = connection
-                    .prepareStatement(selectFieldQuery.toString())) {
-                preparedSelectFieldStatement.setString(1, field.getName());
-                preparedSelectFieldStatement.setInt(2, localBibEntry.getSharedBibEntryData().getSharedID());
-
-                try (ResultSet selectFieldResultSet = preparedSelectFieldStatement.executeQuery()) {
-                    if (selectFieldResultSet.next()) { // check if field already exists
-                        StringBuilder updateFieldQuery = new StringBuilder()
-                                .append("UPDATE ")
-                                .append(escape("FIELD"))
-                                .append(" SET ")
-                                .append(escape("VALUE"))
-                                .append(" = ? WHERE ")
-                                .append(escape("NAME"))
-                                .append(" = ? AND ")
-                                .append(escape("ENTRY_SHARED_ID"))
-                                .append(" = ?");
-
-                        try (PreparedStatement preparedUpdateFieldStatement = connection
-                                .prepareStatement(updateFieldQuery.toString())) {
-                            preparedUpdateFieldStatement.setString(1, value);
-                            preparedUpdateFieldStatement.setString(2, field.getName());
-                            preparedUpdateFieldStatement.setInt(3, localBibEntry.getSharedBibEntryData().getSharedID());
-                            preparedUpdateFieldStatement.executeUpdate();
-                        }
-                    } else {
-                        StringBuilder insertFieldQuery = new StringBuilder()
-                                .append("INSERT INTO ")
-                                .append(escape("FIELD"))
-                                .append("(")
-                                .append(escape("ENTRY_SHARED_ID"))
-                                .append(", ")
-                                .append(escape("NAME"))
-                                .append(", ")
-                                .append(escape("VALUE"))
-                                .append(") VALUES(?, ?, ?)");
-
-                        try (PreparedStatement preparedFieldStatement = connection
-                                .prepareStatement(insertFieldQuery.toString())) {
-                            preparedFieldStatement.setInt(1, localBibEntry.getSharedBibEntryData().getSharedID());
-                            preparedFieldStatement.setString(2, field.getName());
-                            preparedFieldStatement.setString(3, value);
-                            preparedFieldStatement.executeUpdate();
-                        }
-                    }
+        executeWithPreparedStatement(getInsertFieldQuery(), preparedInsertFieldStatement -> {
+            for (Map.Entry<Field, String> field : missingFields) {
+                preparedInsertFieldStatement.setInt(1, sharedID);
+                preparedInsertFieldStatement.setString(2, field.getKey().getName());
+                preparedInsertFieldStatement.setString(3, field.getValue());
+                preparedInsertFieldStatement.addBatch();
+            }
+            return preparedInsertFieldStatement.executeBatch();
+        });
+    }
+
+    /**
+     * Returns the names of the fields of the given shared entry in the FIELD table
+     */
+    private Set<String> getSharedFieldNames(int sharedID) throws SQLException {
+        String selectQuery = "SELECT " + escape("NAME") + " FROM " + escape("FIELD") + " WHERE " + escape("ENTRY_SHARED_ID") + " = ?";
+        Set<String> fieldNames = new HashSet<>();
+        try (PreparedStatement preparedStatement = connection.prepareStatement(selectQuery)) {
+            preparedStatement.setInt(1, sharedID);
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                while (resultSet.next()) {
+                    fieldNames.add(resultSet.getString(1));
                 }
             }
         }
+        return fieldNames;
     }
 
     /**
@@ -457,12 +634,169 @@ public abstract class DBMSProcessor {
         query.append("?)");
 
         try (PreparedStatement preparedStatement = connection.prepareStatement(query.toString())) {
+            connection.setAutoCommit(false);
             for (int j = 0; j < bibEntries.size(); j++) {
                 preparedStatement.setInt(j + 1, bibEntries.get(j).getSharedBibEntryData().getSharedID());
             }
             preparedStatement.executeUpdate();
+            logChanges(getSharedIDs(bibEntries));
+            connection.commit();
         } catch (SQLException e) {
             LOGGER.error("SQL Error: ", e);
+            rollback();
+        } finally {
+            enableAutoCommit();
+        }
+    }
+
+    private static List<Integer> getSharedIDs(List<BibEntry> bibEntries) {
+        return bibEntries.stream()
+                         .map(bibEntry -> bibEntry.getSharedBibEntryData().getSharedID())
+                         .filter(id -> id != -1)
+                         .collect(Collectors.toList());
+    }
+
+    /**
+     * Assigns a new revision to the given shared entries, so that other clients pull them on their next
+     * synchronization. Takes part in the current transaction if auto commit is disabled.
+     * <p>
+     * The counter row stays locked until the transaction ends. Thus, revisions become visible in increasing order and a
+     * client having seen a revision has also seen all smaller ones.
+     *
+     * @param sharedIDs IDs of the inserted, updated or removed entries
+     */
+    private void logChanges(Collection<Integer> sharedIDs) throws SQLException {
+        if (!isRevisionLogAvailable || sharedIDs.isEmpty()) {
+            return;
+        }
+        boolean isOwnTransaction = connection.getAutoCommit();
+        if (isOwnTransaction) {
+            connection.setAutoCommit(false);
+        }
+        try {
+            connection.createStatement().executeUpdate("UPDATE " + escape("REVISION") + " SET " + escape("VALUE") + " = " + escape("VALUE") + " + 1");
+            int revision = getCurrentRevision();
+
+            String deleteQuery = "DELETE FROM " + escape("ENTRY_REVISION") + " WHERE " + escape("ENTRY_SHARED_ID") + " IN ("
+                    + "?, ".repeat(sharedIDs.size() - 1) + "?)";
+            try (PreparedStatement deleteStatement = connection.prepareStatement(deleteQuery)) {
+                int index = 1;
+                for (int sharedID : sharedIDs) {
+                    deleteStatement.setInt(index++, sharedID);
+                }
+                deleteStatement.executeUpdate();
+            }
+
+            String insertQuery = "INSERT INTO " + escape("ENTRY_REVISION") + "(" + escape("ENTRY_SHARED_ID") + ", "
+                    + escape("REVISION") + ") VALUES(?, ?)";
+            try (PreparedStatement insertStatement = connection.prepareStatement(insertQuery)) {
+                for (int sharedID : sharedIDs) {
+                    insertStatement.setInt(1, sharedID);
+                    insertStatement.setInt(2, revision);
+                    insertStatement.addBatch();
+                }
+                insertStatement.executeBatch();
+            }
+
+            if (isOwnTransaction) {
+                connection.commit();
+            }
+        } catch (SQLException e) {
+            if (isOwnTransaction) {
+                connection.rollback();
+            }
+            throw e;
+        } finally {
+            if (isOwnTransaction) {
+                connection.setAutoCommit(true);
+            }
+        }
+    }
+
+    /**
+     * Returns the latest revision of the shared entries, or -1 if the revision log is not available.
+     */
+    public int getCurrentRevision() {
+        if (!isRevisionLogAvailable) {
+            return -1;
+        }
+        try (ResultSet resultSet = connection.createStatement().executeQuery("SELECT MAX(" + escape("VALUE") + ") FROM " + escape("REVISION"))) {
+            return resultSet.next() ? resultSet.getInt(1) : -1;
+        } catch (SQLException e) {
+            LOGGER.error("SQL Error", e);
+            return -1;
+        }
+    }
+
+    /**
+     * Fetches all shared entries inserted, updated or removed after the given revision in a single query.
+     *
+     * @param revision the latest revision already known to the caller (see {@link #getCurrentRevision()})
+     * @return the changes, or an empty optional if they could not be determined and all shared entries have to be compared
+     */
+    public Optional<SharedEntryChanges> getSharedChangesSince(int revision) {
+        if (!isRevisionLogAvailable || (revision < 0)) {
+            return Optional.empty();
+        }
+
+        StringBuilder query = new StringBuilder();
+        query.append("SELECT ")
+             .append("R.").append(escape("ENTRY_SHARED_ID")).append(", ")
+             .append("R.").append(escape("REVISION")).append(", ")
+             .append("E.").append(escape("SHARED_ID")).append(", ")
+             .append("E.").append(escape("TYPE")).append(", ")
+             .append("E.").append(escape("VERSION")).append(", ")
+             .append("F.").append(escape("NAME")).append(", ")
+             .append("F.").append(escape("VALUE"))
+             .append(" FROM ")
+             .append(escape("ENTRY_REVISION")).append(" R")
+             // removed entries are only present in the revision log
+             .append(" left outer join ")
+             .append(escape("ENTRY")).append(" E on ")
+             .append("R.").append(escape("ENTRY_SHARED_ID")).append(" = E.").append(escape("SHARED_ID"))
+             .append(" left outer join ")
+             .append(escape("FIELD")).append(" F on ")
+             .append("E.").append(escape("SHARED_ID")).append(" = F.").append(escape("ENTRY_SHARED_ID"))
+             .append(" where R.").append(escape("REVISION")).append(" > ?")
+             .append(" order by R.").append(escape("ENTRY_SHARED_ID"));
+
+        try (PreparedStatement preparedStatement = connection.prepareStatement(query.toString())) {
+            preparedStatement.setInt(1, revision);
+
+            List<BibEntry> changedEntries = new ArrayList<>();
+            Set<Integer> removedIDs = new HashSet<>();
+            int latestRevision = revision;
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                BibEntry bibEntry = null;
+                int lastId = -1;
+                while (resultSet.next()) {
+                    int sharedID = resultSet.getInt(1);
+                    latestRevision = Math.max(latestRevision, resultSet.getInt(2));
+                    resultSet.getInt(3);
+                    if (resultSet.wasNull()) {
+                        removedIDs.add(sharedID);
+                        continue;
+                    }
+                    // as in getSharedEntries, the field values are grouped by entries
+                    if (sharedID != lastId) {
+                        bibEntry = new BibEntry();
+                        bibEntry.getSharedBibEntryData().setSharedID(sharedID);
+                        bibEntry.setType(EntryTypeFactory.parse(resultSet.getString(4)));
+                        bibEntry.getSharedBibEntryData().setVersion(resultSet.getInt(5));
+                        changedEntries.add(bibEntry);
+                        lastId = sharedID;
+                    }
+                    String value = resultSet.getString(7);
+                    if (value != null) {
+                        bibEntry.setField(FieldFactory.parseField(resultSet.getString(6)), value, EntriesEventSource.SHARED);
+                    }
+                }
+            }
+            return Optional.of(new SharedEntryChanges(changedEntries, removedIDs, latestRevision));
+        } catch (SQLException e) {
+            LOGGER.error("Executed >{}<", query.toString());
+            LOGGER.error("SQL Error", e);
+            return Optional.empty();
         }
     }
 
@@ -487,6 +821,71 @@ public abstract class DBMSProcessor {
     public List<BibEntry> getSharedEntries(List<Integer> sharedIDs) {
         Objects.requireNonNull(sharedIDs);
 
+        List<BibEntry> sharedEntries = new ArrayList<>();
+        if (sharedIDs.isEmpty()) {
+            getSharedEntriesInPages(sharedEntries::addAll);
+            return sharedEntries;
+        }
+
+        String idColumn = escape("ENTRY") + "." + escape("SHARED_ID");
+        try {
+            for (List<Integer> page : partition(new ArrayList<>(new TreeSet<>(sharedIDs)))) {
+                sharedEntries.addAll(querySharedEntries(idColumn + " in (" + "?, ".repeat(page.size() - 1) + "?)", page));
+            }
+        } catch (SQLException e) {
+            LOGGER.error("SQL Error", e);
+            return Collections.emptyList();
+        }
+        return sharedEntries;
+    }
+
+    public List<BibEntry> getSharedEntries() {
+        return getSharedEntries(Collections.emptyList());
+    }
+
+    /**
+     * Fetches all shared entries ordered by their shared ID and passes them to the consumer page by page, as soon as a
+     * page is read. Each page is selected by the last shared ID of the previous page (keyset paging), thus no query reads
+     * more than {@link #PAGE_SIZE} entries regardless of the size of the library.
+     *
+     * @return <code>true</code> if all entries were read, <code>false</code> if an error occurred
+     */
+    public boolean getSharedEntriesInPages(Consumer<List<BibEntry>> pageConsumer) {
+        String selectIdsQuery = "SELECT " + escape("SHARED_ID") + " FROM " + escape("ENTRY") + " WHERE "
+                + escape("SHARED_ID") + " > ? ORDER BY " + escape("SHARED_ID");
+        String idColumn = escape("ENTRY") + "." + escape("SHARED_ID");
+
+        int lastId = Integer.MIN_VALUE;
+        try (PreparedStatement selectIdsStatement = connection.prepareStatement(selectIdsQuery)) {
+            selectIdsStatement.setMaxRows(PAGE_SIZE);
+            selectIdsStatement.setFetchSize(PAGE_SIZE);
+            while (true) {
+                int pageEnd = lastId;
+                selectIdsStatement.setInt(1, lastId);
+                try (ResultSet resultSet = selectIdsStatement.executeQuery()) {
+                    while (resultSet.next()) {
+                        pageEnd = resultSet.getInt(1);
+                    }
+                }
+                if (pageEnd == lastId) {
+                    return true;
+                }
+                pageConsumer.accept(querySharedEntries(idColumn + " > ? and " + idColumn + " <= ?", List.of(lastId, pageEnd)));
+                lastId = pageEnd;
+            }
+        } catch (SQLException e) {
+            LOGGER.error("SQL Error", e);
+            return false;
+        }
+    }
+
+    /**
+     * Reads the shared entries matching the given condition, ordered by their shared ID
+     *
+     * @param condition  SQL condition on the joined ENTRY and FIELD tables
+     * @param parameters the integer parameters of the condition
+     */
+    private List<BibEntry> querySharedEntries(String condition, List<Integer> parameters) throws SQLException {
         List<BibEntry> sharedEntries = new ArrayList<>();
 
         StringBuilder query = new StringBuilder();
@@ -504,20 +903,16 @@ public abstract class DBMSProcessor {
              .append(escape("FIELD"))
              .append(" F on ")
              .append(escape("ENTRY")).append(".").append(escape("SHARED_ID"))
-             .append(" = F.").append(escape("ENTRY_SHARED_ID"));
-
-        if (!sharedIDs.isEmpty()) {
-            query.append(" where ")
-                 .append(escape("SHARED_ID")).append(" in (")
-                 .append("?, ".repeat(sharedIDs.size() - 1))
-                 .append("?)");
-        }
-        query.append(" order by ")
-             .append(escape("SHARED_ID"));
+             .append(" = F.").append(escape("ENTRY_SHARED_ID"))
+             .append(" where ")
+             .append(condition)
+             .append(" order by ")
+             .append(escape("ENTRY")).append(".").append(escape("SHARED_ID"));
 
         try (PreparedStatement preparedStatement = connection.prepareStatement(query.toString())) {
-            for (int i = 0; i < sharedIDs.size(); i++) {
-                preparedStatement.setInt(i + 1, sharedIDs.get(i));
+            preparedStatement.setFetchSize(BATCH_SIZE);
+            for (int i = 0; i < parameters.size(); i++) {
+                preparedStatement.setInt(i + 1, parameters.get(i));
             }
 
             try (ResultSet selectEntryResultSet = preparedStatement.executeQuery()) {
@@ -544,31 +939,33 @@ public abstract class DBMSProcessor {
             }
         } catch (SQLException e) {
             LOGGER.error("Executed >{}<", query.toString());
-            LOGGER.error("SQL Error", e);
-            return Collections.emptyList();
+            throw e;
         }
 
         return sharedEntries;
     }
 
-    public List<BibEntry> getSharedEntries() {
-        return getSharedEntries(Collections.emptyList());
-    }
-
     /**
      * Retrieves a mapping between the columns SHARED_ID and VERSION.
      */
     public Map<Integer, Integer> getSharedIDVersionMapping() {
         Map<Integer, Integer> sharedIDVersionMapping = new HashMap<>();
         StringBuilder selectEntryQuery = new StringBuilder()
-                .append("SELECT * FROM ")
+                .append("SELECT ")
+                .append(escape("SHARED_ID"))
+                .append(", ")
+                .append(escape("VERSION"))
+                .append(" FROM ")
                 .append(escape("ENTRY"))
                 .append(" ORDER BY ")
                 .append(escape("SHARED_ID"));
 
-        try (ResultSet selectEntryResultSet = connection.createStatement().executeQuery(selectEntryQuery.toString())) {
-            while (selectEntryResultSet.next()) {
-                sharedIDVersionMapping.put(selectEntryResultSet.getInt("SHARED_ID"), selectEntryResultSet.getInt("VERSION"));
+        try (Statement statement = connection.createStatement()) {
+            statement.setFetchSize(PAGE_SIZE);
+            try (ResultSet selectEntryResultSet = statement.executeQuery(selectEntryQuery.toString())) {
+                while (selectEntryResultSet.next()) {
+                    sharedIDVersionMapping.put(selectEntryResultSet.getInt("SHARED_ID"), selectEntryResultSet.getInt("VERSION"));
+                }
             }
         } catch (SQLException e) {
             LOGGER.error("SQL Error", e);
@@ -681,4 +1078,12 @@ public abstract class DBMSProcessor {
     public void notifyClients() {
         // nothing to do
     }
+
+    /**
+     * An action using a cached prepared statement, see {@link #executeWithPreparedStatement(String, PreparedStatementAction)}
+     */
+    @FunctionalInterface
+    protected interface PreparedStatementAction<T> {
+        T execute(PreparedStatement statement) throws SQLException;
+    }
 }
@@ -3,11 +3,15 @@ package org.jabref.logic.shared;
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.stream.Collectors;
 
 import org.jabref.logic.citationkeypattern.GlobalCitationKeyPattern;
@@ -39,6 +43,9 @@ import org.slf4j.LoggerFactory;
 /**
  * Synchronizes the shared or local databases with their opposite side. Local changes are pushed by {@link EntriesEvent}
  * using Google's Guava EventBus.
+ * <p>
+ * Shared changes are pulled by revision: after all shared entries have been pulled once, only the entries inserted,
+ * updated or removed since the last pulled revision are fetched (see {@link DBMSProcessor#getSharedChangesSince(int)}).
  */
 public class DBMSSynchronizer implements DatabaseSynchronizer {
 
@@ -55,6 +62,11 @@ public class DBMSSynchronizer implements DatabaseSynchronizer {
     private final GlobalCitationKeyPattern globalCiteKeyPattern;
     private final FileUpdateMonitor fileMonitor;
     private Optional<BibEntry> lastEntryChanged;
+    // the latest shared revision applied locally, -1 if all shared entries have to be compared
+    private int lastRevision = -1;
+    // held while pulling shared changes, pulls requested by other threads meanwhile are done by the pulling thread
+    private final Lock synchronizationLock = new ReentrantLock();
+    private final AtomicBoolean synchronizationRequested = new AtomicBoolean();
 
     public DBMSSynchronizer(BibDatabaseContext bibDatabaseContext, Character keywordSeparator,
                             GlobalCitationKeyPattern globalCiteKeyPattern, FileUpdateMonitor fileMonitor) {
@@ -148,6 +160,14 @@ public class DBMSSynchronizer implements DatabaseSynchronizer {
      *                                       shared database support ({@link DBMSProcessor}).
      */
     public void initializeDatabases() throws DatabaseNotSupportedException {
+        initializeStructureAndMetaData();
+        synchronizeLocalDatabase();
+    }
+
+    /**
+     * Sets the table structure of shared database if needed and pulls the shared meta data, but no entries.
+     */
+    private void initializeStructureAndMetaData() throws DatabaseNotSupportedException {
         try {
             if (!dbmsProcessor.checkBaseIntegrity()) {
                 LOGGER.info("Integrity check failed. Fixing...");
@@ -158,7 +178,11 @@ public class DBMSSynchronizer implements DatabaseSynchronizer {
                 }
 
                 // Calling dbmsProcessor.setupSharedDatabase() lets dbmsProcessor.checkBaseIntegrity() be true.
+                // It also sets up the field key and the revision log.
                 dbmsProcessor.setupSharedDatabase();
+            } else {
+                dbmsProcessor.setupFieldKey();
+                dbmsProcessor.setupRevisionLog();
             }
         } catch (SQLException e) {
             LOGGER.error("Could not check intergrity", e);
@@ -167,12 +191,14 @@ public class DBMSSynchronizer implements DatabaseSynchronizer {
 
         dbmsProcessor.startNotificationListener(this);
         synchronizeLocalMetaData();
-        synchronizeLocalDatabase();
     }
 
     /**
      * Synchronizes the local database with shared one. Possible update types are: removal, update, or insert of a
      * {@link BibEntry}.
+     * <p>
+     * If another thread is synchronizing at the same time, it is asked to synchronize once more when it is done, so that
+     * the changes notified meanwhile are pulled as well.
      */
     @Override
     public void synchronizeLocalDatabase() {
@@ -180,42 +206,60 @@ public class DBMSSynchronizer implements DatabaseSynchronizer {
             return;
         }
 
+        synchronizationRequested.set(true);
+        // checked again after unlocking, as a request may come in after the last check of the synchronizing thread
+        while (synchronizationRequested.get() && synchronizationLock.tryLock()) {
+            try {
+                while (synchronizationRequested.getAndSet(false)) {
+                    Optional<SharedEntryChanges> changes = dbmsProcessor.getSharedChangesSince(lastRevision);
+                    if (changes.isPresent()) {
+                        applySharedChanges(changes.get());
+                    } else {
+                        synchronizeAllEntries();
+                    }
+                }
+            } finally {
+                synchronizationLock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Compares the versions of all shared entries with the local ones and pulls the entries having changed.
+     */
+    private void synchronizeAllEntries() {
+        // read before comparing, so that concurrent changes are pulled again by the next synchronization
+        int revision = dbmsProcessor.getCurrentRevision();
+
+        if (bibDatabase.getEntries().isEmpty()) {
+            // nothing to compare, the entries are inserted page by page, so that the first ones are shown while loading
+            if (dbmsProcessor.getSharedEntriesInPages(page -> bibDatabase.insertEntries(page, EntriesEventSource.SHARED))) {
+                lastRevision = revision;
+            }
+            return;
+        }
+
         List<BibEntry> localEntries = bibDatabase.getEntries();
         Map<Integer, Integer> idVersionMap = dbmsProcessor.getSharedIDVersionMapping();
 
         // remove old entries locally
         removeNotSharedEntries(localEntries, idVersionMap.keySet());
+        Map<Integer, BibEntry> localEntriesBySharedID = getLocalEntriesBySharedID();
         List<Integer> entriesToInsertIntoLocalDatabase = new ArrayList<>();
+        List<Integer> entriesToUpdateLocally = new ArrayList<>();
         // compare versions and update local entry if needed
         for (Map.Entry<Integer, Integer> idVersionEntry : idVersionMap.entrySet()) {
-            boolean remoteEntryMatchingOneLocalEntryFound = false;
-            for (BibEntry localEntry : localEntries) {
-                if (idVersionEntry.getKey().equals(localEntry.getSharedBibEntryData().getSharedID())) {
-                    remoteEntryMatchingOneLocalEntryFound = true;
-                    if (idVersionEntry.getValue() > localEntry.getSharedBibEntryData().getVersion()) {
-                        Optional<BibEntry> sharedEntry = dbmsProcessor.getSharedEntry(idVersionEntry.getKey());
-                        if (sharedEntry.isPresent()) {
-                            // update fields
-                            localEntry.setType(sharedEntry.get().getType(), EntriesEventSource.SHARED);
-                            localEntry.getSharedBibEntryData()
-                                      .setVersion(sharedEntry.get().getSharedBibEntryData().getVersion());
-                            sharedEntry.get().getFieldMap().forEach(
-                                    // copy remote values to local entry
-                                    (field, value) -> localEntry.setField(field, value, EntriesEventSource.SHARED)
-                            );
-
-                            // locally remove not existing fields
-                            localEntry.getFields().stream()
-                                      .filter(field -> !sharedEntry.get().hasField(field))
-                                      .forEach(
-                                              field -> localEntry.clearField(field, EntriesEventSource.SHARED)
-                                      );
-                        }
-                    }
-                }
-            }
-            if (!remoteEntryMatchingOneLocalEntryFound) {
+            BibEntry localEntry = localEntriesBySharedID.get(idVersionEntry.getKey());
+            if (localEntry == null) {
                 entriesToInsertIntoLocalDatabase.add(idVersionEntry.getKey());
+            } else if (idVersionEntry.getValue() > localEntry.getSharedBibEntryData().getVersion()) {
+                entriesToUpdateLocally.add(idVersionEntry.getKey());
+            }
+        }
+
+        if (!entriesToUpdateLocally.isEmpty()) {
+            for (BibEntry sharedEntry : dbmsProcessor.getSharedEntries(entriesToUpdateLocally)) {
+                updateLocalEntry(localEntriesBySharedID.get(sharedEntry.getSharedBibEntryData().getSharedID()), sharedEntry);
             }
         }
 
@@ -223,6 +267,72 @@ public class DBMSSynchronizer implements DatabaseSynchronizer {
             // in case entries should be added into the local database, insert them
             bibDatabase.insertEntries(dbmsProcessor.getSharedEntries(entriesToInsertIntoLocalDatabase), EntriesEventSource.SHARED);
         }
+        lastRevision = revision;
+    }
+
+    /**
+     * Applies the shared entries inserted, updated or removed since the last synchronization.
+     */
+    private void applySharedChanges(SharedEntryChanges changes) {
+        if (changes.getChangedEntries().isEmpty() && changes.getRemovedIDs().isEmpty()) {
+            lastRevision = changes.getRevision();
+            return;
+        }
+
+        Map<Integer, BibEntry> localEntriesBySharedID = getLocalEntriesBySharedID();
+        List<BibEntry> entriesToRemove = new ArrayList<>();
+        for (Integer removedID : changes.getRemovedIDs()) {
+            BibEntry localEntry = localEntriesBySharedID.get(removedID);
+            if (localEntry != null) {
+                entriesToRemove.add(localEntry);
+            }
+        }
+        if (!entriesToRemove.isEmpty()) {
+            eventBus.post(new SharedEntriesNotPresentEvent(entriesToRemove));
+            bibDatabase.removeEntries(entriesToRemove, EntriesEventSource.SHARED);
+        }
+
+        List<BibEntry> entriesToInsertIntoLocalDatabase = new ArrayList<>();
+        for (BibEntry sharedEntry : changes.getChangedEntries()) {
+            BibEntry localEntry = localEntriesBySharedID.get(sharedEntry.getSharedBibEntryData().getSharedID());
+            if (localEntry == null) {
+                entriesToInsertIntoLocalDatabase.add(sharedEntry);
+            } else if (sharedEntry.getSharedBibEntryData().getVersion() > localEntry.getSharedBibEntryData().getVersion()) {
+                updateLocalEntry(localEntry, sharedEntry);
+            }
+        }
+        if (!entriesToInsertIntoLocalDatabase.isEmpty()) {
+            bibDatabase.insertEntries(entriesToInsertIntoLocalDatabase, EntriesEventSource.SHARED);
+        }
+        lastRevision = changes.getRevision();
+    }
+
+    private Map<Integer, BibEntry> getLocalEntriesBySharedID() {
+        Map<Integer, BibEntry> localEntriesBySharedID = new HashMap<>();
+        for (BibEntry localEntry : bibDatabase.getEntries()) {
+            localEntriesBySharedID.put(localEntry.getSharedBibEntryData().getSharedID(), localEntry);
+        }
+        return localEntriesBySharedID;
+    }
+
+    /**
+     * Copies the type, the version and the fields of the shared entry to the local one.
+     */
+    private void updateLocalEntry(BibEntry localEntry, BibEntry sharedEntry) {
+        // update fields
+        localEntry.setType(sharedEntry.getType(), EntriesEventSource.SHARED);
+        localEntry.getSharedBibEntryData()
+                  .setVersion(sharedEntry.getSharedBibEntryData().getVersion());
+        sharedEntry.getFieldMap().forEach(
+                // copy remote values to local entry
+                (field, value) -> localEntry.setField(field, value, EntriesEventSource.SHARED)
+        );
+
+        // locally remove not existing fields
+        localEntry.getFields().stream()
+                  .filter(field -> !sharedEntry.hasField(field))
+                  .collect(Collectors.toList())
+                  .forEach(field -> localEntry.clearField(field, EntriesEventSource.SHARED));
     }
 
     /**
@@ -382,10 +492,19 @@ public class DBMSSynchronizer implements DatabaseSynchronizer {
 
     @Override
     public void openSharedDatabase(DatabaseConnection connection) throws DatabaseNotSupportedException {
+        connectSharedDatabase(connection);
+        synchronizeLocalDatabase();
+    }
+
+    /**
+     * Opens the shared database like {@link #openSharedDatabase(DatabaseConnection)}, but does not pull the shared
+     * entries. They are pulled by the next call of {@link #synchronizeLocalDatabase()}, which may run in the background.
+     */
+    public void connectSharedDatabase(DatabaseConnection connection) throws DatabaseNotSupportedException {
         this.dbName = connection.getProperties().getDatabase();
         this.currentConnection = connection.getConnection();
         this.dbmsProcessor = DBMSProcessor.getProcessorInstance(connection);
-        initializeDatabases();
+        initializeStructureAndMetaData();
     }
 
     @Override
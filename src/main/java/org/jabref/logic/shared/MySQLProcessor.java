@@ -37,8 +37,27 @@ public class MySQLProcessor extends DBMSProcessor {
                         "`VALUE` text NOT NULL)");
     }
 
+    @Override
+    protected void setUpRevisionLog() throws SQLException {
+        connection.createStatement().executeUpdate(
+                "CREATE TABLE IF NOT EXISTS `ENTRY_REVISION` (" +
+                        "`ENTRY_SHARED_ID` INT(11) NOT NULL PRIMARY KEY, " +
+                        "`REVISION` INT(11) NOT NULL, " +
+                        "INDEX (`REVISION`))");
+
+        connection.createStatement().executeUpdate(
+                "CREATE TABLE IF NOT EXISTS `REVISION` (" +
+                        "`VALUE` INT(11) NOT NULL)");
+    }
+
     @Override
     String escape(String expression) {
         return "`" + expression + "`";
     }
+
+    @Override
+    protected String getUpsertFieldQuery() {
+        return "INSERT INTO `FIELD` (`ENTRY_SHARED_ID`, `NAME`, `VALUE`) VALUES (?, ?, ?) " +
+                "ON DUPLICATE KEY UPDATE `VALUE` = VALUES(`VALUE`)";
+    }
 }
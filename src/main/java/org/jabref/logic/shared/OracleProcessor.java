@@ -4,14 +4,11 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Properties;
-import java.util.stream.Collectors;
 
 import org.jabref.logic.shared.listener.OracleNotificationListener;
 import org.jabref.model.entry.BibEntry;
-import org.jabref.model.entry.field.Field;
 
 import oracle.jdbc.OracleConnection;
 import oracle.jdbc.OracleStatement;
@@ -65,11 +62,49 @@ public class OracleProcessor extends DBMSProcessor {
                         "\"VALUE\"  CLOB NOT NULL)");
     }
 
+    @Override
+    protected void setUpRevisionLog() throws SQLException {
+        // Oracle does not support "IF NOT EXISTS"
+        if (!checkTableAvailability("ENTRY_REVISION")) {
+            connection.createStatement().executeUpdate(
+                    "CREATE TABLE \"ENTRY_REVISION\" (" +
+                            "\"ENTRY_SHARED_ID\" NUMBER NOT NULL, " +
+                            "\"REVISION\" NUMBER NOT NULL, " +
+                            "CONSTRAINT \"ENTRY_REVISION_PK\" PRIMARY KEY (\"ENTRY_SHARED_ID\"))");
+
+            connection.createStatement().executeUpdate(
+                    "CREATE INDEX \"ENTRY_REVISION_REVISION\" ON \"ENTRY_REVISION\" (\"REVISION\")");
+        }
+
+        if (!checkTableAvailability("REVISION")) {
+            connection.createStatement().executeUpdate(
+                    "CREATE TABLE \"REVISION\" (" +
+                            "\"VALUE\" NUMBER NOT NULL)");
+        }
+    }
+
     @Override
     String escape(String expression) {
         return expression;
     }
 
+    @Override
+    protected String getUpsertFieldQuery() {
+        // the value is bound as CLOB, because a string parameter would be limited to the length of a VARCHAR2
+        return "MERGE INTO \"FIELD\" F USING (SELECT ? AS \"ENTRY_SHARED_ID\", ? AS \"NAME\", TO_CLOB(?) AS \"VALUE\" FROM DUAL) S " +
+                "ON (F.\"ENTRY_SHARED_ID\" = S.\"ENTRY_SHARED_ID\" AND F.\"NAME\" = S.\"NAME\") " +
+                "WHEN MATCHED THEN UPDATE SET F.\"VALUE\" = S.\"VALUE\" " +
+                "WHEN NOT MATCHED THEN INSERT (\"ENTRY_SHARED_ID\", \"NAME\", \"VALUE\") VALUES (S.\"ENTRY_SHARED_ID\", S.\"NAME\", S.\"VALUE\")";
+    }
+
+    /**
+     * MERGE matches existing fields by its condition and does not need the unique index of the FIELD table
+     */
+    @Override
+    protected boolean isUpsertSupported() {
+        return true;
+    }
+
     @Override
     public void startNotificationListener(DBMSSynchronizer dbmsSynchronizer) {
 
@@ -129,49 +164,6 @@ public class OracleProcessor extends DBMSProcessor {
         }
     }
 
-    @Override
-    protected void insertIntoFieldTable(List<BibEntry> bibEntries) {
-        try {
-            // Inserting into FIELD table
-            // Coerce to ArrayList in order to use List.get()
-            List<List<Field>> fields = bibEntries.stream().map(entry -> new ArrayList<>(entry.getFields()))
-                                                 .collect(Collectors.toList());
-            StringBuilder insertFieldQuery = new StringBuilder()
-                    .append("INSERT ALL");
-            int numFields = 0;
-            for (List<Field> entryFields : fields) {
-                numFields += entryFields.size();
-            }
-            for (int i = 0; i < numFields; i++) {
-                insertFieldQuery.append(" INTO ")
-                                .append(escape("FIELD"))
-                                .append(" (")
-                                .append(escape("ENTRY_SHARED_ID"))
-                                .append(", ")
-                                .append(escape("NAME"))
-                                .append(", ")
-                                .append(escape("VALUE"))
-                                .append(") VALUES (?, ?, ?)");
-            }
-            insertFieldQuery.append(" SELECT * FROM DUAL");
-            try (PreparedStatement preparedFieldStatement = connection.prepareStatement(insertFieldQuery.toString())) {
-                int fieldsCompleted = 0;
-                for (int entryIndex = 0; entryIndex < fields.size(); entryIndex++) {
-                    for (int entryFieldsIndex = 0; entryFieldsIndex < fields.get(entryIndex).size(); entryFieldsIndex++) {
-                        // columnIndex starts with 1
-                        preparedFieldStatement.setInt((3 * fieldsCompleted) + 1, bibEntries.get(entryIndex).getSharedBibEntryData().getSharedID());
-                        preparedFieldStatement.setString((3 * fieldsCompleted) + 2, fields.get(entryIndex).get(entryFieldsIndex).getName());
-                        preparedFieldStatement.setString((3 * fieldsCompleted) + 3, bibEntries.get(entryIndex).getField(fields.get(entryIndex).get(entryFieldsIndex)).get());
-                        fieldsCompleted += 1;
-                    }
-                }
-                preparedFieldStatement.executeUpdate();
-            }
-        } catch (SQLException e) {
-            LOGGER.error("SQL Error: ", e);
-        }
-    }
-
     @Override
     public void stopNotificationListener() {
         try {
@@ -48,6 +48,21 @@ public class PostgreSQLProcessor extends DBMSProcessor {
                         + "\"VALUE\" TEXT)");
     }
 
+    @Override
+    protected void setUpRevisionLog() throws SQLException {
+        connection.createStatement().executeUpdate(
+                "CREATE TABLE IF NOT EXISTS \"ENTRY_REVISION\" (" +
+                        "\"ENTRY_SHARED_ID\" INTEGER PRIMARY KEY, " +
+                        "\"REVISION\" INTEGER NOT NULL)");
+
+        connection.createStatement().executeUpdate(
+                "CREATE INDEX IF NOT EXISTS \"ENTRY_REVISION_REVISION\" ON \"ENTRY_REVISION\" (\"REVISION\")");
+
+        connection.createStatement().executeUpdate(
+                "CREATE TABLE IF NOT EXISTS \"REVISION\" (" +
+                        "\"VALUE\" INTEGER NOT NULL)");
+    }
+
     @Override
     protected void insertIntoEntryTable(List<BibEntry> bibEntries) {
         StringBuilder insertIntoEntryQuery = new StringBuilder()
@@ -88,6 +103,12 @@ public class PostgreSQLProcessor extends DBMSProcessor {
         return "\"" + expression + "\"";
     }
 
+    @Override
+    protected String getUpsertFieldQuery() {
+        return "INSERT INTO \"FIELD\" (\"ENTRY_SHARED_ID\", \"NAME\", \"VALUE\") VALUES (?, ?, ?) " +
+                "ON CONFLICT (\"ENTRY_SHARED_ID\", \"NAME\") DO UPDATE SET \"VALUE\" = EXCLUDED.\"VALUE\"";
+    }
+
     @Override
     public void startNotificationListener(DBMSSynchronizer dbmsSynchronizer) {
         // Disable cleanup output of ThreadedHousekeeper
@@ -0,0 +1,41 @@
+package org.jabref.logic.shared;
+
+import java.util.List;
+import java.util.Set;
+
+import org.jabref.model.entry.BibEntry;
+
+/**
+ * The shared entries inserted, updated or removed after a given revision (see
+ * {@link DBMSProcessor#getSharedChangesSince(int)}).
+ */
+public class SharedEntryChanges {
+
+    private final List<BibEntry> changedEntries;
+    private final Set<Integer> removedIDs;
+    private final int revision;
+
+    public SharedEntryChanges(List<BibEntry> changedEntries, Set<Integer> removedIDs, int revision) {
+        this.changedEntries = changedEntries;
+        this.removedIDs = removedIDs;
+        this.revision = revision;
+    }
+
+    /**
+     * Returns the current state of the inserted and updated entries
+     */
+    public List<BibEntry> getChangedEntries() {
+        return changedEntries;
+    }
+
+    public Set<Integer> getRemovedIDs() {
+        return removedIDs;
+    }
+
+    /**
+     * Returns the latest revision contained in the changes
+     */
+    public int getRevision() {
+        return revision;
+    }
+}
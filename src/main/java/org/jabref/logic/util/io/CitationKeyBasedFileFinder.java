@@ -1,39 +1,38 @@
 package org.jabref.logic.util.io;
 
 import java.io.IOException;
-import java.io.UncheckedIOException;
-import java.nio.file.FileVisitOption;
-import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.attribute.BasicFileAttributes;
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.Set;
-import java.util.function.BiPredicate;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 import org.jabref.logic.citationkeypattern.CitationKeyGenerator;
 import org.jabref.model.entry.BibEntry;
 import org.jabref.model.strings.StringUtil;
-import org.jabref.model.util.FileHelper;
+import org.jabref.model.util.DummyFileUpdateMonitor;
 
 class CitationKeyBasedFileFinder implements FileFinder {
 
     private final boolean exactKeyOnly;
+    private final DirectoryIndexCache directoryIndexCache;
 
     CitationKeyBasedFileFinder(boolean exactKeyOnly) {
+        this(exactKeyOnly, new DirectoryIndexCache(new DummyFileUpdateMonitor()));
+    }
+
+    CitationKeyBasedFileFinder(boolean exactKeyOnly, DirectoryIndexCache directoryIndexCache) {
         this.exactKeyOnly = exactKeyOnly;
+        this.directoryIndexCache = directoryIndexCache;
     }
 
     @Override
     public List<Path> findAssociatedFiles(BibEntry entry, List<Path> directories, List<String> extensions) throws IOException {
         Objects.requireNonNull(directories);
         Objects.requireNonNull(entry);
+        Objects.requireNonNull(extensions, "Extensions must not be null!");
 
         Optional<String> citeKeyOptional = entry.getCitationKey();
         if (StringUtil.isBlank(citeKeyOptional)) {
@@ -43,11 +42,9 @@ class CitationKeyBasedFileFinder implements FileFinder {
 
         List<Path> result = new ArrayList<>();
 
-        // First scan directories
-        Set<Path> filesWithExtension = findFilesByExtension(directories, extensions);
-
-        // Now look for keys
-        for (Path file : filesWithExtension) {
+        // All candidates start with the key, the directories are walked only once for all entries
+        DirectoryIndex index = directoryIndexCache.getIndex(directories);
+        for (Path file : index.findFilesStartingWith(citeKey, extensions)) {
             String name = file.getFileName().toString();
             String nameWithoutExtension = FileUtil.getBaseName(name);
 
@@ -75,26 +72,4 @@ class CitationKeyBasedFileFinder implements FileFinder {
         }
         return false;
     }
-
-    /**
-     * Returns a list of all files in the given directories which have one of the given extension.
-     */
-    private Set<Path> findFilesByExtension(List<Path> directories, List<String> extensions) throws IOException {
-        Objects.requireNonNull(extensions, "Extensions must not be null!");
-
-        BiPredicate<Path, BasicFileAttributes> isFileWithCorrectExtension = (path, attributes) -> !Files.isDirectory(path)
-                && extensions.contains(FileHelper.getFileExtension(path).orElse(""));
-
-        Set<Path> result = new HashSet<>();
-        for (Path directory : directories) {
-            if (Files.exists(directory)) {
-                try (Stream<Path> pathStream = Files.find(directory, Integer.MAX_VALUE, isFileWithCorrectExtension, FileVisitOption.FOLLOW_LINKS)) {
-                    result.addAll(pathStream.collect(Collectors.toSet()));
-                } catch (UncheckedIOException e) {
-                    throw new IOException("Problem in finding files", e);
-                }
-            }
-        }
-        return result;
-    }
 }
@@ -1,42 +1,50 @@
 package org.jabref.logic.util.io;
 
 import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
 import java.nio.file.Path;
 import java.util.ArrayList;
-import java.util.HashSet;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.stream.Collectors;
 
 import org.jabref.model.database.BibDatabase;
 import org.jabref.model.database.BibDatabaseContext;
 import org.jabref.model.entry.BibEntry;
+import org.jabref.model.entry.LinkedFile;
 import org.jabref.preferences.FilePreferences;
 
 /**
  * Search class for files. <br>
  * <br>
  * This class provides some functionality to search in a {@link BibDatabase} for files. <br>
+ * <br>
+ * The linked files are indexed on the first lookup, so that creating an instance is cheap. Lookups may be done
+ * concurrently, e.g. while crawling several directories in parallel.
  */
 public class DatabaseFileLookup {
 
-    private final Set<Path> fileCache = new HashSet<>();
-
+    private final BibDatabaseContext databaseContext;
     private final List<Path> possibleFilePaths;
 
+    /**
+     * Maps each path a linked file may resolve to, to the candidate paths of the links in order of the directories
+     */
+    private volatile Map<Path, List<List<Path>>> linkCandidates;
+
     /**
      * Creates an instance by passing a {@link BibDatabase} which will be used for the searches.
      */
     public DatabaseFileLookup(BibDatabaseContext databaseContext, FilePreferences filePreferences) {
-        Objects.requireNonNull(databaseContext);
+        this.databaseContext = Objects.requireNonNull(databaseContext);
         possibleFilePaths = Optional.ofNullable(databaseContext.getFileDirectories(filePreferences))
                                     .orElse(new ArrayList<>());
-
-        for (BibEntry entry : databaseContext.getDatabase().getEntries()) {
-            fileCache.addAll(parseFileField(entry));
-        }
     }
 
     /**
@@ -53,17 +61,71 @@ public class DatabaseFileLookup {
      * entry in the database, otherwise <code>false</code>.
      */
     public boolean lookupDatabase(Path pathname) {
-        return fileCache.contains(pathname);
+        Path file = pathname.toAbsolutePath().normalize();
+        List<List<Path>> candidatesOfLinks = getLinkCandidates().get(file);
+        if (candidatesOfLinks == null) {
+            return false;
+        }
+        // A relative link resolves to the first directory containing the file
+        for (List<Path> candidates : candidatesOfLinks) {
+            for (Path candidate : candidates) {
+                if (candidate.equals(file)) {
+                    return Files.exists(file);
+                }
+                if (Files.exists(candidate)) {
+                    break;
+                }
+            }
+        }
+        return false;
     }
 
-    private List<Path> parseFileField(BibEntry entry) {
-        Objects.requireNonNull(entry);
+    private Map<Path, List<List<Path>>> getLinkCandidates() {
+        Map<Path, List<List<Path>>> candidates = linkCandidates;
+        if (candidates == null) {
+            synchronized (this) {
+                candidates = linkCandidates;
+                if (candidates == null) {
+                    candidates = indexLinkedFiles();
+                    linkCandidates = candidates;
+                }
+            }
+        }
+        return candidates;
+    }
+
+    private Map<Path, List<List<Path>>> indexLinkedFiles() {
+        Map<Path, List<List<Path>>> candidates = new ConcurrentHashMap<>();
+        databaseContext.getDatabase().getEntries().parallelStream()
+                       .flatMap(entry -> entry.getFiles().stream())
+                       .filter(file -> !file.isOnlineLink()) // Do not query external file links (huge performance leak)
+                       .map(this::getCandidates)
+                       .forEach(candidatesOfLink -> {
+                           for (Path candidate : candidatesOfLink) {
+                               candidates.computeIfAbsent(candidate, path -> new CopyOnWriteArrayList<>()).add(candidatesOfLink);
+                           }
+                       });
+        return candidates;
+    }
 
-        return entry.getFiles().stream()
-                    .filter(file -> !file.isOnlineLink()) // Do not query external file links (huge performance leak)
-                    .map(file -> file.findIn(possibleFilePaths))
-                    .filter(Optional::isPresent)
-                    .map(Optional::get)
-                    .collect(Collectors.toList());
+    /**
+     * Returns the paths the given file may resolve to, without accessing the file system
+     */
+    private List<Path> getCandidates(LinkedFile linkedFile) {
+        if (linkedFile.getLink().isEmpty()) {
+            // We do not want to match empty paths (which could be any file or none ?!)
+            return Collections.emptyList();
+        }
+        try {
+            Path file = Path.of(linkedFile.getLink());
+            if (file.isAbsolute() || possibleFilePaths.isEmpty()) {
+                return List.of(file.toAbsolutePath().normalize());
+            }
+            return possibleFilePaths.stream()
+                                    .map(directory -> directory.resolve(file).toAbsolutePath().normalize())
+                                    .collect(Collectors.toList());
+        } catch (InvalidPathException e) {
+            return Collections.emptyList();
+        }
     }
 }
@@ -0,0 +1,158 @@
+package org.jabref.logic.util.io;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Queue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Consumer;
+
+import org.jabref.model.util.FileHelper;
+
+/**
+ * An index of all files below a list of directories, built in a single parallel walk of the directory trees. The files
+ * are indexed by their name, so that the files belonging to an entry can be found without walking the directories for
+ * each entry again.
+ * <p>
+ * The index is not updated when the file system changes, see {@link DirectoryIndexCache} for keeping it up to date.
+ */
+public class DirectoryIndex {
+
+    /**
+     * Directories are mostly read from disks or network shares, thus more threads than cores are used
+     */
+    private static final int PARALLELISM = Math.max(4, 2 * Runtime.getRuntime().availableProcessors());
+
+    private final List<Path> directories;
+    private final NavigableMap<String, List<Path>> filesByName;
+
+    private DirectoryIndex(List<Path> directories, NavigableMap<String, List<Path>> filesByName) {
+        this.directories = directories;
+        this.filesByName = filesByName;
+    }
+
+    public static DirectoryIndex build(List<Path> rootDirectories) throws IOException {
+        return build(rootDirectories, directory -> {
+        });
+    }
+
+    /**
+     * Walks the given directories and all of their subdirectories (following links) and indexes the contained files.
+     * Directories which do not exist are skipped.
+     *
+     * @param onDirectory called for each directory before its content is read, e.g. to monitor it for changes
+     */
+    public static DirectoryIndex build(List<Path> rootDirectories, Consumer<Path> onDirectory) throws IOException {
+        Queue<Path> files = new ConcurrentLinkedQueue<>();
+        Queue<Path> directories = new ConcurrentLinkedQueue<>();
+        // links may lead to a directory already visited
+        Set<Path> visitedDirectories = ConcurrentHashMap.newKeySet();
+
+        ForkJoinPool pool = new ForkJoinPool(PARALLELISM);
+        try {
+            List<IndexDirectoryAction> actions = new ArrayList<>();
+            for (Path rootDirectory : rootDirectories) {
+                if (Files.isDirectory(rootDirectory)) {
+                    actions.add(new IndexDirectoryAction(rootDirectory, files, directories, visitedDirectories, onDirectory));
+                }
+            }
+            pool.invoke(new RecursiveAction() {
+                @Override
+                protected void compute() {
+                    invokeAll(actions);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw new IOException("Problem in finding files", e);
+        } finally {
+            pool.shutdown();
+        }
+
+        NavigableMap<String, List<Path>> filesByName = new TreeMap<>();
+        for (Path file : files) {
+            filesByName.computeIfAbsent(file.getFileName().toString(), name -> new ArrayList<>(1)).add(file);
+        }
+        return new DirectoryIndex(List.copyOf(directories), filesByName);
+    }
+
+    /**
+     * Returns the indexed files whose name starts with the given prefix and which have one of the given extensions.
+     */
+    public List<Path> findFilesStartingWith(String prefix, List<String> extensions) {
+        List<Path> result = new ArrayList<>();
+        for (Map.Entry<String, List<Path>> filesWithName : filesByName.tailMap(prefix, true).entrySet()) {
+            if (!filesWithName.getKey().startsWith(prefix)) {
+                // all following names are greater than the prefix
+                break;
+            }
+            if (extensions.contains(FileHelper.getFileExtension(filesWithName.getKey()).orElse(""))) {
+                result.addAll(filesWithName.getValue());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns all indexed directories, including the root directories
+     */
+    public List<Path> getDirectories() {
+        return directories;
+    }
+
+    public int getNumberOfFiles() {
+        return filesByName.values().stream().mapToInt(List::size).sum();
+    }
+
+    private static class IndexDirectoryAction extends RecursiveAction {
+
+        private final Path directory;
+        private final Queue<Path> files;
+        private final Queue<Path> directories;
+        private final Set<Path> visitedDirectories;
+        private final Consumer<Path> onDirectory;
+
+        IndexDirectoryAction(Path directory, Queue<Path> files, Queue<Path> directories, Set<Path> visitedDirectories, Consumer<Path> onDirectory) {
+            this.directory = directory;
+            this.files = files;
+            this.directories = directories;
+            this.visitedDirectories = visitedDirectories;
+            this.onDirectory = onDirectory;
+        }
+
+        @Override
+        protected void compute() {
+            List<IndexDirectoryAction> subdirectoryActions = new ArrayList<>();
+            try {
+                if (!visitedDirectories.add(directory.toRealPath())) {
+                    return;
+                }
+                directories.add(directory);
+                onDirectory.accept(directory);
+
+                try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory)) {
+                    for (Path path : stream) {
+                        if (Files.isDirectory(path)) {
+                            subdirectoryActions.add(new IndexDirectoryAction(path, files, directories, visitedDirectories, onDirectory));
+                        } else {
+                            files.add(path);
+                        }
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            invokeAll(subdirectoryActions);
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package org.jabref.logic.util.io;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jabref.model.util.FileUpdateListener;
+import org.jabref.model.util.FileUpdateMonitor;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps the {@link DirectoryIndex} of a list of directories, so that it is built once and reused for all entries. An
+ * index is dropped as soon as the {@link FileUpdateMonitor} reports a file created or deleted in one of its directories.
+ * <p>
+ * Changes on network shares are not always reported, and the number of monitored directories is limited by the
+ * operating system. Thus, an index is rebuilt at the latest after {@link #MAX_AGE_MILLIS}, and without an active
+ * monitor, the cache should only be used for a single operation.
+ */
+public class DirectoryIndexCache {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DirectoryIndexCache.class);
+    private static final long MAX_AGE_MILLIS = TimeUnit.MINUTES.toMillis(5);
+    /**
+     * The directories of an index monitored at most, so that the watches needed for other files, e.g. the libraries,
+     * are not used up by a large directory tree. Changes in further directories are caught by the rebuild after a while.
+     */
+    private static final int MAX_MONITORED_DIRECTORIES = 1000;
+
+    private final FileUpdateMonitor fileUpdateMonitor;
+    // guarded by this
+    private final Map<List<Path>, CachedIndex> indexes = new HashMap<>();
+
+    public DirectoryIndexCache(FileUpdateMonitor fileUpdateMonitor) {
+        this.fileUpdateMonitor = fileUpdateMonitor;
+    }
+
+    /**
+     * Returns the index of the given directories, building it if there is no up-to-date one.
+     */
+    public synchronized DirectoryIndex getIndex(List<Path> directories) throws IOException {
+        List<Path> key = List.copyOf(directories);
+        CachedIndex cachedIndex = indexes.get(key);
+        if ((cachedIndex != null) && !cachedIndex.isOutdated()) {
+            return cachedIndex.index;
+        }
+        if (cachedIndex != null) {
+            remove(key, cachedIndex);
+        }
+
+        CachedIndex newIndex = new CachedIndex(key);
+        try {
+            newIndex.build();
+        } catch (IOException e) {
+            newIndex.stopMonitoring();
+            throw e;
+        }
+        if (newIndex.isOutdated()) {
+            // changed while being built, thus it is only used by the current caller
+            newIndex.stopMonitoring();
+        } else {
+            indexes.put(key, newIndex);
+        }
+        return newIndex.index;
+    }
+
+    private void remove(List<Path> key, CachedIndex cachedIndex) {
+        indexes.remove(key, cachedIndex);
+        cachedIndex.stopMonitoring();
+    }
+
+    private class CachedIndex implements FileUpdateListener {
+
+        private final List<Path> rootDirectories;
+        private final boolean monitorActive = fileUpdateMonitor.isActive();
+        private final Queue<Path> monitoredDirectories = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger numberOfMonitoredDirectories = new AtomicInteger();
+        private DirectoryIndex index;
+        private long createdAt;
+        private volatile boolean monitored = true;
+        private volatile boolean changed;
+
+        CachedIndex(List<Path> rootDirectories) {
+            this.rootDirectories = rootDirectories;
+        }
+
+        void build() throws IOException {
+            createdAt = System.currentTimeMillis();
+            // directories are monitored before they are read, thus changes during the walk are not missed
+            index = DirectoryIndex.build(rootDirectories, this::monitor);
+        }
+
+        private void monitor(Path directory) {
+            if (!monitorActive || !monitored) {
+                return;
+            }
+            if (numberOfMonitoredDirectories.incrementAndGet() > MAX_MONITORED_DIRECTORIES) {
+                monitored = false;
+                return;
+            }
+            try {
+                fileUpdateMonitor.addListenerForDirectory(directory, this);
+                monitoredDirectories.add(directory);
+            } catch (IOException e) {
+                LOGGER.debug("Could not monitor {}, the index will be rebuilt after a while", directory, e);
+                // further directories will most likely fail as well, e.g. because of the limit of watches
+                monitored = false;
+            }
+        }
+
+        /**
+         * Removes the listeners of the index, which cancels the watches of its directories
+         */
+        void stopMonitoring() {
+            for (Path directory : monitoredDirectories) {
+                fileUpdateMonitor.removeListener(directory, this);
+            }
+            monitoredDirectories.clear();
+        }
+
+        boolean isOutdated() {
+            if (changed) {
+                return true;
+            }
+            if (!monitorActive) {
+                // without a monitor, the cache is expected to be used for a single operation only
+                return false;
+            }
+            return (System.currentTimeMillis() - createdAt) > MAX_AGE_MILLIS;
+        }
+
+        /**
+         * Only marks the index as outdated, as the monitor thread must not wait for an index being built
+         */
+        @Override
+        public void fileUpdated() {
+            changed = true;
+        }
+    }
+}
@@ -1,16 +1,26 @@
 package org.jabref.logic.util.io;
 
+import org.jabref.model.util.DummyFileUpdateMonitor;
+
 public class FileFinders {
     /**
      * Creates a preconfigurated file finder based on the given AutoLink preferences.
      */
     public static FileFinder constructFromConfiguration(AutoLinkPreferences autoLinkPreferences) {
+        return constructFromConfiguration(autoLinkPreferences, new DirectoryIndexCache(new DummyFileUpdateMonitor()));
+    }
+
+    /**
+     * Creates a preconfigurated file finder based on the given AutoLink preferences, which looks up the files in the
+     * directory indexes of the given cache.
+     */
+    public static FileFinder constructFromConfiguration(AutoLinkPreferences autoLinkPreferences, DirectoryIndexCache directoryIndexCache) {
         switch (autoLinkPreferences.getCitationKeyDependency()) {
             default:
             case START:
-                return new CitationKeyBasedFileFinder(false);
+                return new CitationKeyBasedFileFinder(false, directoryIndexCache);
             case EXACT:
-                return new CitationKeyBasedFileFinder(true);
+                return new CitationKeyBasedFileFinder(true, directoryIndexCache);
             case REGEX:
                 return new RegExpBasedFileFinder(autoLinkPreferences.getRegularExpression(), autoLinkPreferences.getKeywordDelimiter());
         }
@@ -0,0 +1,218 @@
+package org.jabref.logic.util.io;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A copy of a text, e.g. the content of a parsed file, which is stored UTF-8 encoded in a direct buffer instead of the
+ * heap. Parts of the text are referenced by {@link #subSequence(int, int)} without holding a copy of
+ * them, they are decoded each time they are turned into a string.
+ * <p>
+ * The text is immutable, thus each parsed version of a file gets its own copy. The buffer is released by the garbage
+ * collector together with the last reference to the text or one of its parts. No file backs the buffer, thus nothing
+ * is left behind if it is never collected.
+ */
+public class MappedText {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MappedText.class);
+
+    /**
+     * The byte offset of every CHECKPOINT_INTERVAL-th character is stored, the others are counted from there
+     */
+    private static final int CHECKPOINT_INTERVAL = 4096;
+
+    // only accessed by absolute methods, which are safe to be used by multiple threads
+    private final ByteBuffer bytes;
+    private final int[] checkpoints;
+    private final int length;
+
+    private MappedText(ByteBuffer bytes, int[] checkpoints, int length) {
+        this.bytes = bytes;
+        this.checkpoints = checkpoints;
+        this.length = length;
+    }
+
+    /**
+     * Copies the first characters of the given array into a new direct buffer.
+     *
+     * @return the copy, or an empty optional if the text cannot be encoded exactly (due to unpaired surrogates) or is
+     * too large to be stored outside of the heap
+     */
+    public static Optional<MappedText> create(char[] text, int length) {
+        long encodedLength = getEncodedLength(text, length);
+        if ((encodedLength < 0) || (encodedLength > Integer.MAX_VALUE)) {
+            return Optional.empty();
+        }
+
+        ByteBuffer buffer;
+        try {
+            buffer = ByteBuffer.allocateDirect((int) encodedLength);
+        } catch (OutOfMemoryError e) {
+            // the direct memory is limited separately from the heap
+            LOGGER.debug("Could not allocate {} bytes outside of the heap", encodedLength, e);
+            return Optional.empty();
+        }
+        int[] checkpoints = encode(text, length, buffer);
+        return Optional.of(new MappedText(buffer.asReadOnlyBuffer(), checkpoints, length));
+    }
+
+    /**
+     * Returns the number of bytes of the UTF-8 encoding of the text, or -1 if it contains unpaired surrogates
+     */
+    private static long getEncodedLength(char[] text, int length) {
+        long encodedLength = 0;
+        for (int i = 0; i < length; i++) {
+            char character = text[i];
+            if (character < 0x80) {
+                encodedLength++;
+            } else if (character < 0x800) {
+                encodedLength += 2;
+            } else if (Character.isHighSurrogate(character) && ((i + 1) < length) && Character.isLowSurrogate(text[i + 1])) {
+                encodedLength += 4;
+                i++;
+            } else if (Character.isSurrogate(character)) {
+                return -1;
+            } else {
+                encodedLength += 3;
+            }
+        }
+        return encodedLength;
+    }
+
+    private static int[] encode(char[] text, int length, ByteBuffer buffer) {
+        int[] checkpoints = new int[(length / CHECKPOINT_INTERVAL) + 1];
+        int position = 0;
+        for (int i = 0; i < length; i++) {
+            if ((i % CHECKPOINT_INTERVAL) == 0) {
+                checkpoints[i / CHECKPOINT_INTERVAL] = position;
+            }
+
+            char character = text[i];
+            if (character < 0x80) {
+                buffer.put(position++, (byte) character);
+            } else if (character < 0x800) {
+                buffer.put(position++, (byte) (0xC0 | (character >> 6)));
+                buffer.put(position++, (byte) (0x80 | (character & 0x3F)));
+            } else if (Character.isHighSurrogate(character)) {
+                // pairs are ensured by getEncodedLength
+                int codePoint = Character.toCodePoint(character, text[i + 1]);
+                buffer.put(position++, (byte) (0xF0 | (codePoint >> 18)));
+                buffer.put(position++, (byte) (0x80 | ((codePoint >> 12) & 0x3F)));
+                buffer.put(position++, (byte) (0x80 | ((codePoint >> 6) & 0x3F)));
+                buffer.put(position++, (byte) (0x80 | (codePoint & 0x3F)));
+                i++;
+                if ((i % CHECKPOINT_INTERVAL) == 0) {
+                    // no character starts at this checkpoint, the previous one is used instead
+                    checkpoints[i / CHECKPOINT_INTERVAL] = -1;
+                }
+            } else {
+                buffer.put(position++, (byte) (0xE0 | (character >> 12)));
+                buffer.put(position++, (byte) (0x80 | ((character >> 6) & 0x3F)));
+                buffer.put(position++, (byte) (0x80 | (character & 0x3F)));
+            }
+        }
+        return checkpoints;
+    }
+
+    public int length() {
+        return length;
+    }
+
+    /**
+     * Returns the text between the given character positions, which is decoded each time it is turned into a string.
+     *
+     * @return the text, or an empty optional if a position is in the middle of a surrogate pair
+     */
+    public Optional<CharSequence> subSequence(int start, int end) {
+        if ((start < 0) || (end > length) || (start > end)) {
+            throw new IndexOutOfBoundsException("Text from " + start + " to " + end + " of a text of length " + length);
+        }
+
+        int startOffset = getByteOffset(start);
+        int endOffset = getByteOffset(end);
+        if ((startOffset < 0) || (endOffset < 0)) {
+            return Optional.empty();
+        }
+        return Optional.of(new MappedPart(this, startOffset, endOffset - startOffset, end - start));
+    }
+
+    /**
+     * Returns the offset of the first byte of the character at the given position, or -1 if the position is in the
+     * middle of a surrogate pair
+     */
+    private int getByteOffset(int position) {
+        int checkpoint = position / CHECKPOINT_INTERVAL;
+        if (checkpoints[checkpoint] < 0) {
+            checkpoint--;
+        }
+
+        int offset = checkpoints[checkpoint];
+        int current = checkpoint * CHECKPOINT_INTERVAL;
+        while (current < position) {
+            int leadingByte = bytes.get(offset) & 0xFF;
+            if (leadingByte < 0x80) {
+                offset++;
+                current++;
+            } else if (leadingByte < 0xE0) {
+                offset += 2;
+                current++;
+            } else if (leadingByte < 0xF0) {
+                offset += 3;
+                current++;
+            } else {
+                // a surrogate pair
+                offset += 4;
+                current += 2;
+            }
+        }
+        return current == position ? offset : -1;
+    }
+
+    private String decode(int offset, int byteLength) {
+        byte[] encoded = new byte[byteLength];
+        bytes.get(offset, encoded);
+        return new String(encoded, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * A part of the mapped text, it keeps the buffer alive
+     */
+    private static class MappedPart implements CharSequence {
+
+        private final MappedText text;
+        private final int offset;
+        private final int byteLength;
+        private final int length;
+
+        MappedPart(MappedText text, int offset, int byteLength, int length) {
+            this.text = text;
+            this.offset = offset;
+            this.byteLength = byteLength;
+            this.length = length;
+        }
+
+        @Override
+        public int length() {
+            return length;
+        }
+
+        @Override
+        public char charAt(int index) {
+            return toString().charAt(index);
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            return toString().subSequence(start, end);
+        }
+
+        @Override
+        public String toString() {
+            return text.decode(offset, byteLength);
+        }
+    }
+}
@@ -14,6 +14,7 @@ import org.jabref.model.entry.event.EntryChangedEvent;
 import org.jabref.model.entry.event.FieldChangedEvent;
 import org.jabref.model.entry.field.Field;
 import org.jabref.model.entry.field.FieldFactory;
+import org.jabref.model.entry.field.InternalField;
 import org.jabref.model.entry.field.StandardField;
 import org.jabref.model.strings.StringUtil;
 import org.slf4j.Logger;
@@ -40,6 +41,22 @@ public class BibDatabase {
     private final ObservableList<BibEntry> entries = FXCollections.synchronizedObservableList(FXCollections.observableArrayList(BibEntry::getObservables));
     private Map<String, BibtexString> bibtexStrings = new ConcurrentHashMap<>();
 
+    /**
+     * Indexes for the lookup of entries by id and by citation key. They are guarded by their own lock instead of the
+     * database monitor, so that lookups do not wait for long running operations on the database. The indexes are
+     * updated directly after the entries list and before any event about the change is posted.
+     * <p>
+     * Ids are assumed to be unique within the database. If an entry with the id of another entry is inserted anyway,
+     * only the inserted entry is indexed, and removing an entry by its id removes both of them.
+     */
+    private final Object indexLock = new Object();
+    private final Map<String, BibEntry> entriesById = new HashMap<>();
+    private final Map<String, List<BibEntry>> entriesByCitationKey = new HashMap<>();
+    private final Map<String, String> citationKeysById = new HashMap<>();
+    // entries are only appended to the list, thus the order of insertion is the order of the entries in the database
+    private final Map<String, Long> insertionOrderById = new HashMap<>();
+    private long insertionCounter = 0;
+
     private final EventBus eventBus = new EventBus();
 
     private String preamble;
@@ -110,7 +127,9 @@ public class BibDatabase {
      * Returns whether an entry with the given ID exists (-> entry_type + hashcode).
      */
     public boolean containsEntryWithId(String id) {
-        return entries.stream().anyMatch(entry -> entry.getId().equals(id));
+        synchronized (indexLock) {
+            return entriesById.containsKey(id);
+        }
     }
 
     public ObservableList<BibEntry> getEntries() {
@@ -135,13 +154,14 @@ public class BibDatabase {
     /**
      * Returns the entry with the given citation key.
      */
-    public synchronized Optional<BibEntry> getEntryByCitationKey(String key) {
-        for (BibEntry entry : entries) {
-            if (key.equals(entry.getCitationKey().orElse(null))) {
-                return Optional.of(entry);
+    public Optional<BibEntry> getEntryByCitationKey(String key) {
+        synchronized (indexLock) {
+            List<BibEntry> entriesWithKey = entriesByCitationKey.get(key);
+            if (entriesWithKey == null) {
+                return Optional.empty();
             }
+            return Optional.of(entriesWithKey.get(0));
         }
-        return Optional.empty();
     }
 
     /**
@@ -150,17 +170,10 @@ public class BibDatabase {
      *
      * @return list of entries that contains the given key
      */
-    public synchronized List<BibEntry> getEntriesByCitationKey(String key) {
-        List<BibEntry> result = new ArrayList<>();
-
-        for (BibEntry entry : entries) {
-            entry.getCitationKey().ifPresent(entryKey -> {
-                if (key.equals(entryKey)) {
-                    result.add(entry);
-                }
-            });
+    public List<BibEntry> getEntriesByCitationKey(String key) {
+        synchronized (indexLock) {
+            return new ArrayList<>(entriesByCitationKey.getOrDefault(key, Collections.emptyList()));
         }
-        return result;
     }
 
     /**
@@ -195,12 +208,20 @@ public class BibDatabase {
         for (BibEntry entry : newEntries) {
             entry.registerListener(this);
         }
+        entries.addAll(newEntries);
+        synchronized (indexLock) {
+            for (BibEntry entry : newEntries) {
+                // an entry with the id of an indexed entry replaces it in the indexes, as described above
+                removeFromIndex(entry.getId());
+                insertionOrderById.put(entry.getId(), insertionCounter++);
+                addToIndex(entry);
+            }
+        }
         if (newEntries.isEmpty()) {
             eventBus.post(new EntriesAddedEvent(newEntries, eventSource));
         } else {
             eventBus.post(new EntriesAddedEvent(newEntries, newEntries.get(0), eventSource));
         }
-        entries.addAll(newEntries);
     }
 
     public synchronized void removeEntry(BibEntry bibEntry) {
@@ -231,11 +252,44 @@ public class BibDatabase {
     public synchronized void removeEntries(List<BibEntry> toBeDeleted, EntriesEventSource eventSource) {
         Objects.requireNonNull(toBeDeleted);
 
-        List<String> ids = new ArrayList<>();
+        Set<String> ids = new HashSet<>();
         for (BibEntry entry : toBeDeleted) {
             ids.add(entry.getId());
         }
-        boolean anyRemoved = entries.removeIf(entry -> ids.contains(entry.getId()));
+
+        // the entries are removed within a single change of the list, so that listeners keep the rows of the other
+        // entries: a contiguous range is removed at once, scattered entries are removed from the back by removeAll
+        boolean anyRemoved;
+        synchronized (entries) {
+            // equal entries may be contained multiple times, thus the removed entries are matched by identity
+            Set<BibEntry> removedEntries = Collections.newSetFromMap(new IdentityHashMap<>());
+            int firstRemoved = -1;
+            int lastRemoved = -1;
+            for (int i = 0; i < entries.size(); i++) {
+                BibEntry entry = entries.get(i);
+                if (ids.contains(entry.getId())) {
+                    removedEntries.add(entry);
+                    if (firstRemoved < 0) {
+                        firstRemoved = i;
+                    }
+                    lastRemoved = i;
+                }
+            }
+            anyRemoved = firstRemoved >= 0;
+            if (anyRemoved) {
+                if ((lastRemoved - firstRemoved + 1) == removedEntries.size()) {
+                    entries.remove(firstRemoved, lastRemoved + 1);
+                } else {
+                    entries.removeAll(removedEntries);
+                }
+            }
+        }
+        synchronized (indexLock) {
+            for (String id : ids) {
+                removeFromIndex(id);
+                insertionOrderById.remove(id);
+            }
+        }
         if (anyRemoved) {
             eventBus.post(new EntriesRemovedEvent(toBeDeleted, eventSource));
         }
@@ -569,9 +623,74 @@ public class BibDatabase {
 
     @Subscribe
     private void relayEntryChangeEvent(FieldChangedEvent event) {
+        if (InternalField.INTERNAL_ID_FIELD.equals(event.getField())) {
+            // the event is posted before the id changes
+            updateIdInIndex(event.getBibEntry(), event.getOldValue(), event.getNewValue());
+        } else if (InternalField.KEY_FIELD.equals(event.getField())) {
+            updateCitationKeyInIndex(event.getBibEntry());
+        }
         eventBus.post(event);
     }
 
+    /**
+     * Must be called while holding the index lock
+     */
+    private void addToIndex(BibEntry entry) {
+        entriesById.put(entry.getId(), entry);
+        entry.getCitationKey().ifPresent(key -> {
+            citationKeysById.put(entry.getId(), key);
+            entriesByCitationKey.computeIfAbsent(key, k -> new ArrayList<>(1)).add(entry);
+        });
+    }
+
+    /**
+     * Must be called while holding the index lock
+     */
+    private void removeFromIndex(String id) {
+        entriesById.remove(id);
+        String key = citationKeysById.remove(id);
+        if (key != null) {
+            List<BibEntry> entriesWithKey = entriesByCitationKey.get(key);
+            entriesWithKey.removeIf(entry -> entry.getId().equals(id));
+            if (entriesWithKey.isEmpty()) {
+                entriesByCitationKey.remove(key);
+            }
+        }
+    }
+
+    private void updateIdInIndex(BibEntry entry, String oldId, String newId) {
+        synchronized (indexLock) {
+            // removed entries still relay their events to this database
+            if (entriesById.get(oldId) != entry) {
+                return;
+            }
+            entriesById.remove(oldId);
+            entriesById.put(newId, entry);
+            insertionOrderById.put(newId, insertionOrderById.remove(oldId));
+            String key = citationKeysById.remove(oldId);
+            if (key != null) {
+                citationKeysById.put(newId, key);
+            }
+        }
+    }
+
+    private void updateCitationKeyInIndex(BibEntry entry) {
+        synchronized (indexLock) {
+            // removed entries still relay their events to this database
+            if (entriesById.get(entry.getId()) != entry) {
+                return;
+            }
+            removeFromIndex(entry.getId());
+            addToIndex(entry);
+
+            List<BibEntry> entriesWithKey = entry.getCitationKey().map(entriesByCitationKey::get).orElse(Collections.emptyList());
+            if (entriesWithKey.size() > 1) {
+                // restore the order of the entries in the database
+                entriesWithKey.sort(Comparator.comparing(entryWithKey -> insertionOrderById.get(entryWithKey.getId())));
+            }
+        }
+    }
+
     public Optional<BibEntry> getReferencedEntry(BibEntry entry) {
         return entry.getField(StandardField.CROSSREF).flatMap(this::getEntryByCitationKey);
     }
@@ -606,10 +725,10 @@ public class BibDatabase {
      * Returns the number of occurrences of the given citation key in this database.
      */
     public long getNumberOfCitationKeyOccurrences(String key) {
-        return entries.stream()
-                      .flatMap(entry -> entry.getCitationKey().stream())
-                      .filter(key::equals)
-                      .count();
+        synchronized (indexLock) {
+            List<BibEntry> entriesWithKey = entriesByCitationKey.get(key);
+            return (entriesWithKey == null) ? 0 : entriesWithKey.size();
+        }
     }
 
     /**
@@ -10,10 +10,12 @@ import java.util.stream.Collectors;
 
 import org.jabref.architecture.AllowedToUseLogic;
 import org.jabref.gui.LibraryTab;
+import org.jabref.logic.exporter.BibFileLayout;
 import org.jabref.logic.shared.DatabaseLocation;
 import org.jabref.logic.shared.DatabaseSynchronizer;
 import org.jabref.logic.util.CoarseChangeFilter;
 import org.jabref.model.entry.BibEntry;
+import org.jabref.model.groups.GroupMembershipIndex;
 import org.jabref.model.metadata.MetaData;
 import org.jabref.model.pdf.search.SearchFieldConstants;
 import org.jabref.preferences.FilePreferences;
@@ -44,6 +46,11 @@ public class BibDatabaseContext {
     private DatabaseSynchronizer dbmsSynchronizer;
     private CoarseChangeFilter dbmsListener;
     private DatabaseLocation location;
+    private GroupMembershipIndex groupMemberships;
+    /**
+     * The layout of the file written by the last save, set by the save thread and read by the backup thread
+     */
+    private volatile BibFileLayout fileLayout;
 
     public BibDatabaseContext() {
         this(new BibDatabase());
@@ -102,6 +109,31 @@ public class BibDatabaseContext {
         return database;
     }
 
+    /**
+     * Returns the entries matched by the groups of this library. The index is created on first use.
+     */
+    public synchronized GroupMembershipIndex getGroupMemberships() {
+        if (groupMemberships == null) {
+            groupMemberships = new GroupMembershipIndex(database);
+        }
+        return groupMemberships;
+    }
+
+    /**
+     * Returns the positions of the entries in the file written by the last save, if they are known
+     */
+    public Optional<BibFileLayout> getFileLayout() {
+        return Optional.ofNullable(fileLayout);
+    }
+
+    public void setFileLayout(BibFileLayout fileLayout) {
+        this.fileLayout = fileLayout;
+    }
+
+    public void clearFileLayout() {
+        this.fileLayout = null;
+    }
+
     public MetaData getMetaData() {
         return metaData;
     }
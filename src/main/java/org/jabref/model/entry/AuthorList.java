@@ -1,6 +1,8 @@
 package org.jabref.model.entry;
 
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.WeakHashMap;
 import java.util.function.Function;
@@ -115,7 +117,8 @@ import org.jabref.logic.importer.AuthorListParser;
 @AllowedToUseLogic("because it needs access to AuthorList parser")
 public class AuthorList {
 
-    private static final WeakHashMap<String, AuthorList> AUTHOR_CACHE = new WeakHashMap<>();
+    // accessed concurrently, e.g. when citation keys are generated in parallel
+    private static final Map<String, AuthorList> AUTHOR_CACHE = Collections.synchronizedMap(new WeakHashMap<>());
     private final List<Author> authors;
     private AuthorList latexFreeAuthors;
 
@@ -162,7 +165,8 @@ public class AuthorList {
     /**
      * Retrieve an AuthorList for the given string of authors or editors.
      * <p>
-     * This function tries to cache the parsed AuthorLists by the string passed in.
+     * This function tries to cache the parsed AuthorLists by the string passed in. It may be called concurrently; the
+     * parsing is not synchronized, thus a string may be parsed twice if it is requested by two threads at once.
      *
      * @param authors The string of authors or editors in bibtex format to parse.
      * @return An AuthorList object representing the given authors.
@@ -77,8 +77,10 @@ public class BibEntry implements Cloneable {
 
     /**
      * Stores the text "rendering" of the entry as read by the BibTeX reader. Includes comments.
+     * <p>
+     * The text of large files is not held on the heap, but turned into a string on demand.
      */
-    private String parsedSerialization = "";
+    private CharSequence parsedSerialization = "";
 
     /**
      * Marks whether the complete serialization, which was read from file, should be used.
@@ -87,6 +89,11 @@ public class BibEntry implements Cloneable {
      */
     private boolean changed;
 
+    /**
+     * Incremented on every change of the type or the fields, in contrast to {@link #changed} it is not reset on save
+     */
+    private volatile int contentVersion;
+
     /**
      * Constructs a new BibEntry. The internal ID is set to IdGenerator.next()
      */
@@ -377,6 +384,7 @@ public class BibEntry implements Cloneable {
         }
 
         changed = true;
+        contentVersion++;
         this.type.setValue(newType);
 
         FieldChange change = new FieldChange(this, InternalField.TYPE_HEADER, oldType.getName(), newType.getName());
@@ -546,6 +554,7 @@ public class BibEntry implements Cloneable {
         }
 
         changed = true;
+        contentVersion++;
 
         invalidateFieldCache(field);
         fields.put(field, value.intern());
@@ -592,6 +601,7 @@ public class BibEntry implements Cloneable {
         }
 
         changed = true;
+        contentVersion++;
 
         invalidateFieldCache(field);
         fields.remove(field);
@@ -683,10 +693,14 @@ public class BibEntry implements Cloneable {
     }
 
     public String getParsedSerialization() {
-        return parsedSerialization;
+        return parsedSerialization.toString();
     }
 
-    public void setParsedSerialization(String parsedSerialization) {
+    /**
+     * @param parsedSerialization the text read by the BibTeX reader, which may be a reference to text stored outside of
+     *                            the heap
+     */
+    public void setParsedSerialization(CharSequence parsedSerialization) {
         changed = false;
         this.parsedSerialization = parsedSerialization;
     }
@@ -703,6 +717,14 @@ public class BibEntry implements Cloneable {
         this.changed = changed;
     }
 
+    /**
+     * Returns a number which changes whenever the type or a field of this entry is changed. Results computed from the
+     * content of the entry can be cached together with this number and are outdated if it differs.
+     */
+    public int getContentVersion() {
+        return contentVersion;
+    }
+
     public Optional<FieldChange> putKeywords(List<String> keywords, Character delimiter) {
         Objects.requireNonNull(delimiter);
         return putKeywords(new KeywordList(keywords), delimiter);
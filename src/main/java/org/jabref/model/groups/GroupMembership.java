@@ -0,0 +1,92 @@
+package org.jabref.model.groups;
+
+import java.lang.ref.WeakReference;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.jabref.model.entry.BibEntry;
+import org.jabref.model.search.SearchMatcher;
+
+/**
+ * The entries of a library matched by a group, taking the hierarchical context of the group into account. Created and
+ * kept up to date by {@link GroupMembershipIndex}.
+ */
+public class GroupMembership {
+
+    private final GroupMembershipIndex index;
+    private final WeakReference<GroupTreeNode> node;
+    private final List<WeakReference<Runnable>> listeners = new CopyOnWriteArrayList<>();
+
+    // guarded by the index
+    SearchMatcher matcher;
+    List<AbstractGroup> matcherGroups;
+    final BitSet members = new BitSet();
+    int numberOfEntries;
+
+    GroupMembership(GroupMembershipIndex index, GroupTreeNode node) {
+        this.index = index;
+        this.node = new WeakReference<>(node);
+    }
+
+    public int getNumberOfEntries() {
+        synchronized (index) {
+            return numberOfEntries;
+        }
+    }
+
+    /**
+     * Returns the ordinals of the matched entries (see {@link GroupMembershipIndex#getOrdinal(BibEntry)}). The returned
+     * bit set is a copy, which does not follow later changes.
+     */
+    public BitSet getOrdinals() {
+        return index.getOrdinals(this);
+    }
+
+    public boolean contains(BibEntry entry) {
+        return index.contains(this, entry);
+    }
+
+    /**
+     * Matches all entries of the library again. Required for groups whose matches do not only depend on the entries,
+     * e.g., {@link TexGroup}.
+     */
+    public void refresh() {
+        index.refresh(this);
+    }
+
+    /**
+     * Adds a listener which is notified whenever entries start or stop being matched. The listener is called on the
+     * thread which changed the library.
+     * <p>
+     * The listener is only weakly referenced, so the caller has to keep a reference to it as long as it should be
+     * notified.
+     */
+    public void addListener(Runnable listener) {
+        for (WeakReference<Runnable> reference : listeners) {
+            if (reference.get() == listener) {
+                return;
+            }
+        }
+        listeners.add(new WeakReference<>(listener));
+    }
+
+    public void removeListener(Runnable listener) {
+        listeners.removeIf(reference -> (reference.get() == null) || (reference.get() == listener));
+    }
+
+    GroupTreeNode getNode() {
+        return node.get();
+    }
+
+    void notifyListeners() {
+        for (WeakReference<Runnable> reference : listeners) {
+            Runnable listener = reference.get();
+            if (listener == null) {
+                listeners.remove(reference);
+            } else {
+                listener.run();
+            }
+        }
+    }
+}
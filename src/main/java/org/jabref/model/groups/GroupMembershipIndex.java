@@ -0,0 +1,271 @@
+package org.jabref.model.groups;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+import org.jabref.model.database.BibDatabase;
+import org.jabref.model.database.event.EntriesAddedEvent;
+import org.jabref.model.database.event.EntriesRemovedEvent;
+import org.jabref.model.entry.BibEntry;
+import org.jabref.model.entry.event.FieldChangedEvent;
+
+import com.google.common.eventbus.Subscribe;
+
+/**
+ * Keeps track of the entries matched by the groups of a library. Each entry of the library gets an ordinal, and the
+ * entries matched by a group are stored as a bit set of these ordinals (see {@link GroupMembership}). The ordinal of a
+ * removed entry is reused for the next added entry, so that the bit sets stay as small as the library. Thus, bit sets of
+ * ordinals taken earlier are only valid for the entries contained in the library at that time. Callers keeping such a
+ * bit set record the {@link #getGeneration() generation} it was taken at, and look up the ordinals of entries by
+ * {@link #getOrdinal(BibEntry, long)}, which ignores ordinals assigned later.
+ * <p>
+ * The entries of the library are matched against a group only once, when its membership is requested for the first
+ * time. Afterwards, only the entries which were added or changed are matched again, by listening to
+ * {@link EntriesAddedEvent}, {@link EntriesRemovedEvent} and {@link FieldChangedEvent}.
+ * <p>
+ * Memberships are kept as long as they are referenced by the caller. Thus, groups which are no longer shown do not
+ * slow down changes of the library.
+ */
+public class GroupMembershipIndex {
+
+    // entries are identified by identity, as equal entries may be contained multiple times
+    private final Map<BibEntry, Integer> ordinals = new IdentityHashMap<>();
+    private final BitSet freeOrdinals = new BitSet();
+    private int numberOfOrdinals;
+    // the number of ordinals assigned so far, and the generation each ordinal was assigned at
+    private long generation;
+    private long[] generationsByOrdinal = new long[0];
+    private final Set<GroupMembership> memberships = Collections.newSetFromMap(new WeakHashMap<>());
+
+    public GroupMembershipIndex(BibDatabase database) {
+        database.registerListener(this);
+        synchronized (this) {
+            for (BibEntry entry : new ArrayList<>(database.getEntries())) {
+                addEntry(entry);
+            }
+        }
+    }
+
+    /**
+     * Returns the entries matched by the given group node. The membership is computed on first request and reused for
+     * later requests for the same node, as long as the groups determining its matches did not change.
+     */
+    public synchronized GroupMembership getMembership(GroupTreeNode node) {
+        for (GroupMembership membership : memberships) {
+            if (membership.getNode() == node) {
+                if (!isSameGroups(membership.matcherGroups, getMatcherGroups(node))) {
+                    match(membership, node);
+                }
+                return membership;
+            }
+        }
+        GroupMembership membership = new GroupMembership(this, node);
+        match(membership, node);
+        memberships.add(membership);
+        return membership;
+    }
+
+    /**
+     * Returns the ordinal of the entry, or -1 if the entry is not part of the library
+     */
+    public synchronized int getOrdinal(BibEntry entry) {
+        return ordinals.getOrDefault(entry, -1);
+    }
+
+    /**
+     * Returns the ordinal of the entry, or -1 if the entry is not part of the library or got its ordinal after the given
+     * generation. Thus, an entry is not looked up in a bit set of ordinals taken before it was added, even if it reuses
+     * the ordinal of an entry removed meanwhile.
+     */
+    public synchronized int getOrdinal(BibEntry entry, long generation) {
+        Integer ordinal = ordinals.get(entry);
+        if ((ordinal == null) || (generationsByOrdinal[ordinal] > generation)) {
+            return -1;
+        }
+        return ordinal;
+    }
+
+    /**
+     * Returns the current generation, which increases with each ordinal assigned to an added entry
+     */
+    public synchronized long getGeneration() {
+        return generation;
+    }
+
+    /**
+     * Returns the ordinals of those of the given entries which are part of the library
+     */
+    public synchronized BitSet getOrdinals(Collection<BibEntry> entries) {
+        BitSet result = new BitSet(numberOfOrdinals);
+        for (BibEntry entry : entries) {
+            Integer ordinal = ordinals.get(entry);
+            if (ordinal != null) {
+                result.set(ordinal);
+            }
+        }
+        return result;
+    }
+
+    synchronized BitSet getOrdinals(GroupMembership membership) {
+        return (BitSet) membership.members.clone();
+    }
+
+    synchronized boolean contains(GroupMembership membership, BibEntry entry) {
+        Integer ordinal = ordinals.get(entry);
+        return (ordinal != null) && membership.members.get(ordinal);
+    }
+
+    void refresh(GroupMembership membership) {
+        synchronized (this) {
+            GroupTreeNode node = membership.getNode();
+            if (node == null) {
+                return;
+            }
+            match(membership, node);
+        }
+        membership.notifyListeners();
+    }
+
+    private void match(GroupMembership membership, GroupTreeNode node) {
+        membership.matcher = node.getSearchMatcher();
+        membership.matcherGroups = getMatcherGroups(node);
+        membership.members.clear();
+        for (Map.Entry<BibEntry, Integer> entryAndOrdinal : ordinals.entrySet()) {
+            if (membership.matcher.isMatch(entryAndOrdinal.getKey())) {
+                membership.members.set(entryAndOrdinal.getValue());
+            }
+        }
+        membership.numberOfEntries = membership.members.cardinality();
+    }
+
+    /**
+     * Returns the groups which determine the matches of the node, see {@link GroupTreeNode#getSearchMatcher()}
+     */
+    private static List<AbstractGroup> getMatcherGroups(GroupTreeNode node) {
+        if (node.getGroup().getHierarchicalContext() == GroupHierarchyType.INDEPENDENT) {
+            return List.of(node.getGroup());
+        }
+        List<AbstractGroup> groups = new ArrayList<>();
+        node.getPathFromRoot().forEach(pathNode -> groups.add(pathNode.getGroup()));
+        addDescendantGroups(node, groups);
+        return groups;
+    }
+
+    private static void addDescendantGroups(GroupTreeNode node, List<AbstractGroup> groups) {
+        for (GroupTreeNode child : node.getChildren()) {
+            groups.add(child.getGroup());
+            addDescendantGroups(child, groups);
+        }
+    }
+
+    private static boolean isSameGroups(List<AbstractGroup> groups, List<AbstractGroup> otherGroups) {
+        if (groups.size() != otherGroups.size()) {
+            return false;
+        }
+        for (int i = 0; i < groups.size(); i++) {
+            if (groups.get(i) != otherGroups.get(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Assigns the lowest free ordinal to the entry
+     *
+     * @return the ordinal, or -1 if the entry is already known
+     */
+    private int addEntry(BibEntry entry) {
+        if (ordinals.containsKey(entry)) {
+            return -1;
+        }
+        int ordinal = freeOrdinals.nextSetBit(0);
+        if (ordinal < 0) {
+            ordinal = numberOfOrdinals++;
+            if (ordinal >= generationsByOrdinal.length) {
+                generationsByOrdinal = Arrays.copyOf(generationsByOrdinal, Math.max(16, 2 * ordinal));
+            }
+        } else {
+            freeOrdinals.clear(ordinal);
+        }
+        generationsByOrdinal[ordinal] = ++generation;
+        ordinals.put(entry, ordinal);
+        return ordinal;
+    }
+
+    private static boolean updateMatch(GroupMembership membership, int ordinal, boolean matches) {
+        if (membership.members.get(ordinal) == matches) {
+            return false;
+        }
+        membership.members.set(ordinal, matches);
+        membership.numberOfEntries += matches ? 1 : -1;
+        return true;
+    }
+
+    @Subscribe
+    public void listen(EntriesAddedEvent event) {
+        Set<GroupMembership> changedMemberships = new HashSet<>();
+        synchronized (this) {
+            for (BibEntry entry : event.getBibEntries()) {
+                int ordinal = addEntry(entry);
+                if (ordinal < 0) {
+                    continue;
+                }
+                for (GroupMembership membership : memberships) {
+                    if (updateMatch(membership, ordinal, membership.matcher.isMatch(entry))) {
+                        changedMemberships.add(membership);
+                    }
+                }
+            }
+        }
+        changedMemberships.forEach(GroupMembership::notifyListeners);
+    }
+
+    @Subscribe
+    public void listen(EntriesRemovedEvent event) {
+        Set<GroupMembership> changedMemberships = new HashSet<>();
+        synchronized (this) {
+            for (BibEntry entry : event.getBibEntries()) {
+                Integer ordinal = ordinals.remove(entry);
+                if (ordinal == null) {
+                    continue;
+                }
+                freeOrdinals.set(ordinal);
+                for (GroupMembership membership : memberships) {
+                    if (updateMatch(membership, ordinal, false)) {
+                        changedMemberships.add(membership);
+                    }
+                }
+            }
+        }
+        changedMemberships.forEach(GroupMembership::notifyListeners);
+    }
+
+    @Subscribe
+    public void listen(FieldChangedEvent event) {
+        Set<GroupMembership> changedMemberships = new HashSet<>();
+        synchronized (this) {
+            BibEntry entry = event.getBibEntry();
+            // removed entries still relay their changes
+            Integer ordinal = ordinals.get(entry);
+            if (ordinal == null) {
+                return;
+            }
+            for (GroupMembership membership : memberships) {
+                if (updateMatch(membership, ordinal, membership.matcher.isMatch(entry))) {
+                    changedMemberships.add(membership);
+                }
+            }
+        }
+        changedMemberships.forEach(GroupMembership::notifyListeners);
+    }
+}
@@ -5,7 +5,6 @@ import java.util.EnumSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
-import java.util.Vector;
 import java.util.stream.Collectors;
 
 import org.jabref.architecture.AllowedToUseLogic;
@@ -32,15 +31,13 @@ public class ContainBasedSearchRule implements SearchRule {
 
     private final EnumSet<SearchFlags> searchFlags;
 
-    private String lastQuery;
-    private List<SearchResult> lastSearchResults;
+    // the full text results of the last query, replaced as a whole as the rule may be applied by several threads
+    private volatile FulltextResults lastFulltextResults = new FulltextResults("", List.of());
 
     private final BibDatabaseContext databaseContext;
 
     public ContainBasedSearchRule(EnumSet<SearchFlags> searchFlags) {
         this.searchFlags = searchFlags;
-        this.lastQuery = "";
-        lastSearchResults = new Vector<>();
 
         databaseContext = Globals.stateManager.getActiveDatabase().orElse(null);
     }
@@ -89,22 +86,45 @@ public class ContainBasedSearchRule implements SearchRule {
             return new PdfSearchResults(List.of());
         }
 
-        if (!query.equals(this.lastQuery)) {
-            this.lastQuery = query;
-            lastSearchResults = List.of();
-            try {
-                PdfSearcher searcher = PdfSearcher.of(databaseContext);
-                PdfSearchResults results = searcher.search(query, 5);
-                lastSearchResults = results.getSortedByScore();
-            } catch (IOException e) {
-                LOGGER.error("Could not retrieve search results!", e);
+        List<SearchResult> searchResults = getSearchResults(query);
+        return new PdfSearchResults(searchResults.stream().filter(searchResult -> searchResult.isResultFor(bibEntry)).collect(Collectors.toList()));
+    }
+
+    private List<SearchResult> getSearchResults(String query) {
+        FulltextResults fulltextResults = lastFulltextResults;
+        if (!fulltextResults.query.equals(query)) {
+            // only one thread searches the index for a new query
+            synchronized (this) {
+                fulltextResults = lastFulltextResults;
+                if (!fulltextResults.query.equals(query)) {
+                    List<SearchResult> searchResults = List.of();
+                    try {
+                        PdfSearcher searcher = PdfSearcher.of(databaseContext);
+                        PdfSearchResults results = searcher.search(query, 5);
+                        searchResults = results.getSortedByScore();
+                    } catch (IOException e) {
+                        LOGGER.error("Could not retrieve search results!", e);
+                    }
+                    fulltextResults = new FulltextResults(query, searchResults);
+                    lastFulltextResults = fulltextResults;
+                }
             }
         }
-
-        return new PdfSearchResults(lastSearchResults.stream().filter(searchResult -> searchResult.isResultFor(bibEntry)).collect(Collectors.toList()));
+        return fulltextResults.searchResults;
     }
 
     public EnumSet<SearchFlags> getSearchFlags() {
         return searchFlags;
     }
+
+    private static class FulltextResults {
+
+        private final String query;
+        private final List<SearchResult> searchResults;
+
+        FulltextResults(String query, List<SearchResult> searchResults) {
+            this.query = query;
+            this.searchResults = searchResults;
+        }
+    }
 }
@@ -4,9 +4,10 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Predicate;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -42,6 +43,9 @@ import org.slf4j.LoggerFactory;
  * The search query must be specified in an expression that is acceptable by the Search.g4 grammar.
  * <p>
  * This class implements the "Advanced Search Mode" described in the help
+ * <p>
+ * The parse tree of a query is compiled once into a tree of predicates (see {@link QueryCompiler}). Thus, all patterns
+ * are compiled only once per query, not once per entry and comparison.
  */
 @AllowedToUseLogic("Because access to the lucene index is needed")
 public class GrammarBasedSearchRule implements SearchRule {
@@ -51,6 +55,7 @@ public class GrammarBasedSearchRule implements SearchRule {
     private final EnumSet<SearchFlags> searchFlags;
 
     private ParseTree tree;
+    private Predicate<BibEntry> compiledQuery;
     private String query;
     private List<SearchResult> searchResults = new ArrayList<>();
 
@@ -98,6 +103,7 @@ public class GrammarBasedSearchRule implements SearchRule {
         parser.addErrorListener(ThrowingErrorListener.INSTANCE);
         parser.setErrorHandler(new BailErrorStrategy()); // ParseCancelationException on parse errors
         tree = parser.start();
+        compiledQuery = new QueryCompiler(searchFlags).visit(tree);
         this.query = query;
 
         if (!searchFlags.contains(SearchRules.SearchFlags.FULLTEXT) || (databaseContext == null)) {
@@ -115,7 +121,7 @@ public class GrammarBasedSearchRule implements SearchRule {
     @Override
     public boolean applyRule(String query, BibEntry bibEntry) {
         try {
-            return new BibtexSearchVisitor(searchFlags, bibEntry).visit(tree);
+            return compiledQuery.test(bibEntry);
         } catch (Exception e) {
             LOGGER.debug("Search failed", e);
             return getFulltextResults(query, bibEntry).numSearchResults() > 0;
@@ -156,41 +162,53 @@ public class GrammarBasedSearchRule implements SearchRule {
         }
     }
 
+    /**
+     * A single comparison of a query, such as <code>author = miller</code>. It is immutable and may be used by multiple
+     * threads concurrently.
+     */
     public static class Comparator {
 
         private final ComparisonOperator operator;
         private final Pattern fieldPattern;
         private final Pattern valuePattern;
 
+        // the special cases of the field pattern only depend on the query and are thus resolved once
+        private final boolean isEntryTypeSearch;
+        private final boolean isKeywordSearch;
+        private final boolean isAnyFieldSearch;
+        private final Map<Field, Boolean> matchingFields = new ConcurrentHashMap<>();
+
         public Comparator(String field, String value, ComparisonOperator operator, EnumSet<SearchFlags> searchFlags) {
             this.operator = operator;
 
             int option = searchFlags.contains(SearchRules.SearchFlags.CASE_SENSITIVE) ? 0 : Pattern.CASE_INSENSITIVE;
             this.fieldPattern = Pattern.compile(searchFlags.contains(SearchRules.SearchFlags.REGULAR_EXPRESSION) ? field : "\\Q" + field + "\\E", option);
             this.valuePattern = Pattern.compile(searchFlags.contains(SearchRules.SearchFlags.REGULAR_EXPRESSION) ? value : "\\Q" + value + "\\E", option);
+
+            this.isEntryTypeSearch = fieldPattern.matcher(InternalField.TYPE_HEADER.getName()).matches();
+            this.isKeywordSearch = fieldPattern.matcher("anykeyword").matches();
+            this.isAnyFieldSearch = fieldPattern.matcher("anyfield").matches();
         }
 
         public boolean compare(BibEntry entry) {
             // special case for searching for entrytype=phdthesis
-            if (fieldPattern.matcher(InternalField.TYPE_HEADER.getName()).matches()) {
+            if (isEntryTypeSearch) {
                 return matchFieldValue(entry.getType().getName());
             }
 
             // special case for searching a single keyword
-            if (fieldPattern.matcher("anykeyword").matches()) {
+            if (isKeywordSearch) {
                 return entry.getKeywords(',').stream().map(Keyword::toString).anyMatch(this::matchFieldValue);
             }
 
             // specification of fieldsKeys to search is done in the search expression itself
-            Set<Field> fieldsKeys = entry.getFields();
-
             // special case for searching allfields=cat and title=dog
-            if (!fieldPattern.matcher("anyfield").matches()) {
-                // Filter out the requested fields
-                fieldsKeys = fieldsKeys.stream().filter(matchFieldKey()).collect(Collectors.toSet());
-            }
-
-            for (Field field : fieldsKeys) {
+            boolean anyFieldSearched = false;
+            for (Field field : entry.getFields()) {
+                if (!isAnyFieldSearch && !matchFieldKey(field)) {
+                    continue;
+                }
+                anyFieldSearched = true;
                 Optional<String> fieldValue = entry.getLatexFreeField(field);
                 if (fieldValue.isPresent()) {
                     if (matchFieldValue(fieldValue.get())) {
@@ -200,11 +218,11 @@ public class GrammarBasedSearchRule implements SearchRule {
             }
 
             // special case of asdf!=whatever and entry does not contain asdf
-            return fieldsKeys.isEmpty() && (operator == ComparisonOperator.DOES_NOT_CONTAIN);
+            return !anyFieldSearched && (operator == ComparisonOperator.DOES_NOT_CONTAIN);
         }
 
-        private Predicate<Field> matchFieldKey() {
-            return field -> fieldPattern.matcher(field.getName()).matches();
+        private boolean matchFieldKey(Field field) {
+            return matchingFields.computeIfAbsent(field, key -> fieldPattern.matcher(key.getName()).matches());
         }
 
         public boolean matchFieldValue(String content) {
@@ -222,30 +240,24 @@ public class GrammarBasedSearchRule implements SearchRule {
     }
 
     /**
-     * Search results in boolean. It may be later on converted to an int.
+     * Compiles a parse tree into an immutable predicate tree. All comparisons and search rules are created during
+     * compilation, evaluating the predicate for an entry only matches the entry against them.
      */
-    static class BibtexSearchVisitor extends SearchBaseVisitor<Boolean> {
+    static class QueryCompiler extends SearchBaseVisitor<Predicate<BibEntry>> {
 
         private final EnumSet<SearchFlags> searchFlags;
 
-        private final BibEntry entry;
-
-        public BibtexSearchVisitor(EnumSet<SearchFlags> searchFlags, BibEntry bibEntry) {
+        public QueryCompiler(EnumSet<SearchFlags> searchFlags) {
             this.searchFlags = searchFlags;
-            this.entry = bibEntry;
-        }
-
-        public boolean comparison(String field, ComparisonOperator operator, String value) {
-            return new Comparator(field, value, operator, searchFlags).compare(entry);
         }
 
         @Override
-        public Boolean visitStart(SearchParser.StartContext ctx) {
+        public Predicate<BibEntry> visitStart(SearchParser.StartContext ctx) {
             return visit(ctx.expression());
         }
 
         @Override
-        public Boolean visitComparison(SearchParser.ComparisonContext context) {
+        public Predicate<BibEntry> visitComparison(SearchParser.ComparisonContext context) {
             // remove possible enclosing " symbols
             String right = context.right.getText();
             if (right.startsWith("\"") && right.endsWith("\"")) {
@@ -254,28 +266,31 @@ public class GrammarBasedSearchRule implements SearchRule {
 
             Optional<SearchParser.NameContext> fieldDescriptor = Optional.ofNullable(context.left);
             if (fieldDescriptor.isPresent()) {
-                return comparison(fieldDescriptor.get().getText(), ComparisonOperator.build(context.operator.getText()), right);
+                return new Comparator(fieldDescriptor.get().getText(), right, ComparisonOperator.build(context.operator.getText()), searchFlags)::compare;
             } else {
-                return SearchRules.getSearchRule(searchFlags).applyRule(right, entry);
+                String value = right;
+                // the rule is shared by all evaluations of the predicate, which may run in parallel
+                SearchRule rule = SearchRules.getSearchRule(searchFlags);
+                return entry -> rule.applyRule(value, entry);
             }
         }
 
         @Override
-        public Boolean visitUnaryExpression(SearchParser.UnaryExpressionContext ctx) {
-            return !visit(ctx.expression()); // negate
+        public Predicate<BibEntry> visitUnaryExpression(SearchParser.UnaryExpressionContext ctx) {
+            return visit(ctx.expression()).negate(); // negate
         }
 
         @Override
-        public Boolean visitParenExpression(SearchParser.ParenExpressionContext ctx) {
+        public Predicate<BibEntry> visitParenExpression(SearchParser.ParenExpressionContext ctx) {
             return visit(ctx.expression()); // ignore parenthesis
         }
 
         @Override
-        public Boolean visitBinaryExpression(SearchParser.BinaryExpressionContext ctx) {
+        public Predicate<BibEntry> visitBinaryExpression(SearchParser.BinaryExpressionContext ctx) {
             if ("AND".equalsIgnoreCase(ctx.operator.getText())) {
-                return visit(ctx.left) && visit(ctx.right); // and
+                return visit(ctx.left).and(visit(ctx.right)); // and
             } else {
-                return visit(ctx.left) || visit(ctx.right); // or
+                return visit(ctx.left).or(visit(ctx.right)); // or
             }
         }
     }
@@ -12,10 +12,19 @@ public interface FileUpdateMonitor {
      */
     void addListenerForFile(Path file, FileUpdateListener listener) throws IOException;
 
+    /**
+     * Add a new directory to monitor. The listener is notified whenever a file or directory directly inside the given
+     * directory is created or deleted (including renames), and if changes may have been missed.
+     *
+     * @param directory The directory to monitor.
+     * @throws IOException if the directory does not exist or cannot be monitored.
+     */
+    void addListenerForDirectory(Path directory, FileUpdateListener listener) throws IOException;
+
     /**
      * Removes a listener from the monitor.
      *
-     * @param path The path to remove.
+     * @param path The path (file or directory) to remove.
      */
     void removeListener(Path path, FileUpdateListener listener);
 
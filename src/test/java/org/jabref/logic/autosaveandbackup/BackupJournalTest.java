@@ -0,0 +1,99 @@
+package org.jabref.logic.autosaveandbackup;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+
+import org.jabref.logic.exporter.BibFileLayout;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BackupJournalTest {
+
+    private Path originalFile;
+    private Path journal;
+    private BibFileLayout layout;
+
+    @BeforeEach
+    void setUp(@TempDir Path tempDir) throws Exception {
+        originalFile = tempDir.resolve("library.bib");
+        Files.writeString(originalFile, "@Article{a}\n@Article{b}\n");
+        layout = new BibFileLayout.Builder().build(originalFile, "\n");
+        journal = BackupManager.getBackupPath(originalFile);
+    }
+
+    @Test
+    void restoreAppliesLastRecord() throws Exception {
+        try (BackupJournal.RecordWriter writer = BackupJournal.startRecord(journal, layout, -1)) {
+            writer.write("@Article{new}\n");
+            writer.copy(originalFile, 12, 24);
+            writer.commit();
+        }
+        try (BackupJournal.RecordWriter writer = BackupJournal.startRecord(journal, layout, Files.size(journal))) {
+            writer.write("@Article{newer}\n");
+            writer.copy(originalFile, 0, 12);
+            writer.commit();
+        }
+
+        assertTrue(BackupJournal.isJournal(journal));
+        assertTrue(BackupJournal.differs(journal, originalFile));
+        BackupJournal.restore(journal, originalFile);
+        assertEquals("@Article{newer}\n@Article{a}\n", Files.readString(originalFile));
+    }
+
+    @Test
+    void restoreIgnoresTornRecord() throws Exception {
+        try (BackupJournal.RecordWriter writer = BackupJournal.startRecord(journal, layout, -1)) {
+            writer.write("@Article{new}\n");
+            writer.commit();
+        }
+        Files.write(journal, new byte[] {1, 0, 0, 0, 10, '@'}, StandardOpenOption.APPEND);
+
+        BackupJournal.restore(journal, originalFile);
+        assertEquals("@Article{new}\n", Files.readString(originalFile));
+    }
+
+    @Test
+    void journalCopyingOriginalDoesNotDiffer() throws Exception {
+        try (BackupJournal.RecordWriter writer = BackupJournal.startRecord(journal, layout, -1)) {
+            writer.write("@Article{a}\n");
+            writer.copy(originalFile, 12, 24);
+            writer.commit();
+        }
+
+        assertFalse(BackupJournal.differs(journal, originalFile));
+    }
+
+    @Test
+    void journalOfPreviousSaveDoesNotDiffer() throws Exception {
+        try (BackupJournal.RecordWriter writer = BackupJournal.startRecord(journal, layout, -1)) {
+            writer.write("@Article{new}\n");
+            writer.copy(originalFile, 0, 12);
+            writer.commit();
+        }
+        Files.writeString(originalFile, "@Article{saved again}\n");
+
+        assertFalse(BackupJournal.differs(journal, originalFile));
+    }
+
+    @Test
+    void journalOfOtherContentWithSameSizeAndModificationTimeDoesNotDiffer() throws Exception {
+        try (BackupJournal.RecordWriter writer = BackupJournal.startRecord(journal, layout, -1)) {
+            writer.write("@Article{new}\n");
+            writer.copy(originalFile, 0, 12);
+            writer.commit();
+        }
+        FileTime lastModified = Files.getLastModifiedTime(originalFile);
+        Files.writeString(originalFile, "@Article{c}\n@Article{d}\n");
+        Files.setLastModifiedTime(originalFile, lastModified);
+
+        assertFalse(BackupJournal.differs(journal, originalFile));
+    }
+}
@@ -1,15 +1,41 @@
 package org.jabref.logic.autosaveandbackup;
 
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.Optional;
+
+import org.jabref.logic.exporter.AtomicFileWriter;
+import org.jabref.logic.exporter.BibFileLayout;
+import org.jabref.logic.exporter.BibWriter;
+import org.jabref.logic.exporter.BibtexDatabaseWriter;
+import org.jabref.logic.exporter.SavePreferences;
+import org.jabref.model.database.BibDatabase;
+import org.jabref.model.database.BibDatabaseContext;
+import org.jabref.model.entry.BibEntry;
+import org.jabref.model.entry.BibEntryTypesManager;
+import org.jabref.model.entry.field.StandardField;
+import org.jabref.model.entry.types.StandardEntryType;
+import org.jabref.model.metadata.SaveOrderConfig;
+import org.jabref.preferences.GeneralPreferences;
+import org.jabref.preferences.PreferencesService;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Answers;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 public class BackupManagerTest {
 
+    private final BibEntryTypesManager entryTypesManager = new BibEntryTypesManager();
+
     @Test
     public void autosaveFileNameIsCorrectlyGeneratedWithinTmpDirectory() {
         Path bibPath = Path.of("tmp", "test.bib");
@@ -34,4 +60,127 @@ public class BackupManagerTest {
         Path originalFile = Path.of(BackupManagerTest.class.getResource("changes.bib").toURI());
         assertTrue(BackupManager.backupFileDiffers(originalFile));
     }
+
+    @Test
+    public void backupsAfterSaveAreRecordedInJournal(@TempDir Path tempDir) throws Exception {
+        Path file = tempDir.resolve("library.bib");
+        BibDatabaseContext context = createLibrary(file);
+        PreferencesService preferences = createPreferences();
+        save(context, file, preferences);
+
+        BackupManager backupManager = BackupManager.start(context, entryTypesManager, preferences);
+        try {
+            context.getDatabase().getEntries().get(3).setField(StandardField.TITLE, "Changed title with ä and 😀");
+            backupManager.backupNow();
+            long lengthOfFirstBackup = Files.size(BackupManager.getBackupPath(file));
+            context.getDatabase().removeEntry(context.getDatabase().getEntries().get(7));
+            context.getDatabase().insertEntry(new BibEntry(StandardEntryType.Book).withCitationKey("new"));
+            backupManager.backupNow();
+
+            Path backupPath = BackupManager.getBackupPath(file);
+            assertTrue(BackupJournal.isJournal(backupPath));
+            assertTrue(Files.size(backupPath) > lengthOfFirstBackup);
+            assertTrue(BackupManager.backupFileDiffers(file));
+
+            BackupManager.restoreBackup(file);
+            assertEquals(writeToString(context, preferences), Files.readString(file));
+            assertFalse(BackupManager.backupFileDiffers(file));
+        } finally {
+            BackupManager.shutdown(context);
+        }
+    }
+
+    @Test
+    public void backupAfterSaveAgainIsBasedOnNewSave(@TempDir Path tempDir) throws Exception {
+        Path file = tempDir.resolve("library.bib");
+        BibDatabaseContext context = createLibrary(file);
+        PreferencesService preferences = createPreferences();
+        save(context, file, preferences);
+
+        BackupManager backupManager = BackupManager.start(context, entryTypesManager, preferences);
+        try {
+            context.getDatabase().getEntries().get(3).setField(StandardField.TITLE, "Changed title");
+            backupManager.backupNow();
+            save(context, file, preferences);
+            context.getDatabase().getEntries().get(5).setField(StandardField.TITLE, "Another changed title");
+            backupManager.backupNow();
+
+            assertTrue(BackupJournal.isJournal(BackupManager.getBackupPath(file)));
+            BackupManager.restoreBackup(file);
+            assertEquals(writeToString(context, preferences), Files.readString(file));
+        } finally {
+            BackupManager.shutdown(context);
+        }
+    }
+
+    @Test
+    public void backupWithoutLayoutOfSaveIsFullCopy(@TempDir Path tempDir) throws Exception {
+        Path file = tempDir.resolve("library.bib");
+        BibDatabaseContext context = createLibrary(file);
+        PreferencesService preferences = createPreferences();
+        save(context, file, preferences);
+        // e.g. after a failed save
+        context.clearFileLayout();
+
+        BackupManager backupManager = BackupManager.start(context, entryTypesManager, preferences);
+        try {
+            context.getDatabase().getEntries().get(3).setField(StandardField.TITLE, "Changed title");
+            backupManager.backupNow();
+            backupManager.backupNow();
+
+            assertFalse(BackupJournal.isJournal(BackupManager.getBackupPath(file)));
+            assertTrue(BackupManager.backupFileDiffers(file));
+            BackupManager.restoreBackup(file);
+            assertEquals(writeToString(context, preferences), Files.readString(file));
+        } finally {
+            BackupManager.shutdown(context);
+        }
+    }
+
+    private BibDatabaseContext createLibrary(Path file) {
+        BibDatabase database = new BibDatabase();
+        for (int i = 0; i < 10; i++) {
+            database.insertEntry(new BibEntry(StandardEntryType.Article).withCitationKey("key" + i).withField(StandardField.AUTHOR, "Author " + i));
+        }
+        BibDatabaseContext context = new BibDatabaseContext(database);
+        context.setDatabasePath(file);
+        return context;
+    }
+
+    private PreferencesService createPreferences() {
+        PreferencesService preferences = mock(PreferencesService.class, Answers.RETURNS_DEEP_STUBS);
+        GeneralPreferences generalPreferences = mock(GeneralPreferences.class);
+        when(generalPreferences.getDefaultEncoding()).thenReturn(StandardCharsets.UTF_8);
+        when(preferences.getGeneralPreferences()).thenReturn(generalPreferences);
+        SavePreferences savePreferences = mock(SavePreferences.class, Answers.RETURNS_DEEP_STUBS);
+        when(savePreferences.getSaveOrder()).thenReturn(new SaveOrderConfig());
+        when(savePreferences.takeMetadataSaveOrderInAccount()).thenReturn(true);
+        when(savePreferences.withMakeBackup(false)).thenReturn(savePreferences);
+        when(preferences.getSavePreferences()).thenReturn(savePreferences);
+        return preferences;
+    }
+
+    /**
+     * Saves the library the way SaveDatabaseAction does: the layout of the previous save is taken over, and replaced by
+     * the layout of the new save
+     */
+    private void save(BibDatabaseContext context, Path file, PreferencesService preferences) throws IOException {
+        Optional<BibFileLayout> previousLayout = context.getFileLayout().filter(layout -> layout.getFile().equals(file));
+        context.clearFileLayout();
+        BibtexDatabaseWriter databaseWriter;
+        try (AtomicFileWriter fileWriter = new AtomicFileWriter(file, StandardCharsets.UTF_8)) {
+            BibWriter bibWriter = new BibWriter(fileWriter, context.getDatabase().getNewLineSeparator());
+            databaseWriter = new BibtexDatabaseWriter(bibWriter, fileWriter, previousLayout, preferences.getGeneralPreferences(), preferences.getSavePreferences(), entryTypesManager);
+            databaseWriter.saveDatabase(context);
+        }
+        databaseWriter.getFileLayout(file).ifPresent(context::setFileLayout);
+    }
+
+    private String writeToString(BibDatabaseContext context, PreferencesService preferences) throws IOException {
+        StringWriter stringWriter = new StringWriter();
+        BibWriter bibWriter = new BibWriter(stringWriter, context.getDatabase().getNewLineSeparator());
+        new BibtexDatabaseWriter(bibWriter, preferences.getGeneralPreferences(), preferences.getSavePreferences(), entryTypesManager)
+                .saveDatabase(context);
+        return stringWriter.toString();
+    }
 }
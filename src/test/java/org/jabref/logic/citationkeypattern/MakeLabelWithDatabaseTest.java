@@ -1,5 +1,7 @@
 package org.jabref.logic.citationkeypattern;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 
 import org.jabref.model.database.BibDatabase;
@@ -500,4 +502,58 @@ class MakeLabelWithDatabaseTest {
         new CitationKeyGenerator(bibtexKeyPattern, database, preferences).generateAndSetKey(entry);
         assertEquals(Optional.of("Aapoj"), entry.getCitationKey());
     }
+
+    private List<BibEntry> insertEntries(BibDatabase targetDatabase, List<String> keys) {
+        List<BibEntry> entries = new ArrayList<>();
+        for (String key : keys) {
+            BibEntry newEntry = new BibEntry()
+                    .withField(StandardField.AUTHOR, key.startsWith("Roe") ? "Richard Roe" : "John Doe")
+                    .withField(StandardField.YEAR, "2016");
+            if (!key.startsWith("none")) {
+                newEntry.setCitationKey(key);
+            }
+            targetDatabase.insertEntry(newEntry);
+            entries.add(newEntry);
+        }
+        return entries;
+    }
+
+    @Test
+    void generateKeysAppendsLettersInOrderOfEntries() {
+        List<BibEntry> entries = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            entries.addAll(insertEntries(database, List.of("none" + i)));
+        }
+
+        List<String> keys = new CitationKeyGenerator(bibtexKeyPattern, database, preferences).generateKeys(entries);
+
+        assertEquals(List.of("Doe2016", "Doe2016a", "Doe2016b"), keys.subList(0, 3));
+        assertEquals(List.of("Doe2016z", "Doe2016aa", "Doe2016ab", "Doe2016ac"), keys.subList(26, 30));
+    }
+
+    @Test
+    void generateKeysGivesSameKeysAsGeneratingThemOneAfterAnother() {
+        assertGeneratedKeysEqualKeysGeneratedOneAfterAnother(List.of(),
+                List.of("Doe2016b", "none1", "Doe2016", "Roe2016a", "Doe2016a", "none2", "Doe2016c", "none3"));
+        // the entry keeps its key with a letter skipped for the entry before
+        assertGeneratedKeysEqualKeysGeneratedOneAfterAnother(List.of("Doe2016"), List.of("none1", "Doe2016a"));
+    }
+
+    private void assertGeneratedKeysEqualKeysGeneratedOneAfterAnother(List<String> keysOfOtherEntries, List<String> oldKeys) {
+        BibDatabase sequentialDatabase = new BibDatabase();
+        insertEntries(sequentialDatabase, keysOfOtherEntries);
+        List<BibEntry> sequentialEntries = insertEntries(sequentialDatabase, oldKeys);
+        CitationKeyGenerator sequentialGenerator = new CitationKeyGenerator(bibtexKeyPattern, sequentialDatabase, preferences);
+        List<String> expected = new ArrayList<>();
+        for (BibEntry sequentialEntry : sequentialEntries) {
+            sequentialGenerator.generateAndSetKey(sequentialEntry);
+            expected.add(sequentialEntry.getCitationKey().orElse(""));
+        }
+
+        BibDatabase batchDatabase = new BibDatabase();
+        insertEntries(batchDatabase, keysOfOtherEntries);
+        List<BibEntry> batchEntries = insertEntries(batchDatabase, oldKeys);
+
+        assertEquals(expected, new CitationKeyGenerator(bibtexKeyPattern, batchDatabase, preferences).generateKeys(batchEntries));
+    }
 }
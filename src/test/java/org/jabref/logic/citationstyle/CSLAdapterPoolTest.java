@@ -0,0 +1,75 @@
+package org.jabref.logic.citationstyle;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.jabref.model.entry.BibEntry;
+import org.jabref.model.entry.field.StandardField;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CSLAdapterPoolTest {
+
+    private final String style = CitationStyle.getDefault().getSource();
+
+    private static BibEntry createEntry(int index) {
+        return new BibEntry()
+                .withCitationKey("key" + index)
+                .withField(StandardField.AUTHOR, "Last" + index + ", First")
+                .withField(StandardField.TITLE, "Title " + index);
+    }
+
+    @Test
+    void concurrentRequestsGiveSameResultsAsSequentialOnes() throws Exception {
+        CSLAdapterPool pool = new CSLAdapterPool(2, 4);
+        List<BibEntry> entries = new ArrayList<>();
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            entries.add(createEntry(i));
+            expected.addAll(new CSLAdapter().makeBibliography(List.of(entries.get(i)), style, CitationStyleOutputFormat.TEXT));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<List<String>>> futures = new ArrayList<>();
+            for (BibEntry entry : entries) {
+                futures.add(executor.submit(() -> pool.makeBibliography(List.of(entry), style, CitationStyleOutputFormat.TEXT)));
+            }
+            List<String> actual = new ArrayList<>();
+            for (Future<List<String>> future : futures) {
+                actual.addAll(future.get());
+            }
+            assertEquals(expected, actual);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void adaptersAreReusedAndBoundedPerStyle() throws Exception {
+        CSLAdapterPool pool = new CSLAdapterPool(2, 4);
+        pool.makeBibliography(List.of(createEntry(1)), style, CitationStyleOutputFormat.TEXT);
+        pool.makeBibliography(List.of(createEntry(2)), style, CitationStyleOutputFormat.TEXT);
+
+        assertEquals(1, pool.getNumberOfIdleAdapters());
+
+        pool.makeBibliography(List.of(createEntry(3)), style, CitationStyleOutputFormat.HTML);
+
+        assertEquals(2, pool.getNumberOfIdleAdapters());
+    }
+
+    @Test
+    void idleAdaptersAreLimited() throws Exception {
+        CSLAdapterPool pool = new CSLAdapterPool(2, 1);
+        pool.makeBibliography(List.of(createEntry(1)), style, CitationStyleOutputFormat.TEXT);
+        pool.makeBibliography(List.of(createEntry(2)), style, CitationStyleOutputFormat.HTML);
+
+        assertTrue(pool.getNumberOfIdleAdapters() <= 1);
+    }
+}
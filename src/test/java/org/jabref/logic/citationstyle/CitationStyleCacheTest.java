@@ -1,31 +1,113 @@
 package org.jabref.logic.citationstyle;
 
 import java.util.List;
+import java.util.Optional;
 
 import org.jabref.model.database.BibDatabase;
-import org.jabref.model.database.BibDatabaseContext;
 import org.jabref.model.entry.BibEntry;
+import org.jabref.model.entry.field.StandardField;
 
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
-import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class CitationStyleCacheTest {
 
-  private BibEntry bibEntry;
-  private List<BibEntry> entries;
-  private BibDatabase database;
-  private BibDatabaseContext databaseContext;
-  private CitationStyleCache csCache;
-
-  @Test
-  void getCitationForTest() {
-    BibEntry bibEntry = new BibEntry().withCitationKey("test");
-    List<BibEntry> entries = List.of(bibEntry);
-    BibDatabase database = new BibDatabase(entries);
-    BibDatabaseContext databaseContext = new BibDatabaseContext(database);
-    CitationStyleCache csCache = new CitationStyleCache(databaseContext);
-
-    assertNotNull(csCache.getCitationFor(bibEntry));
-  }
+    private static final String STYLE = "style";
+
+    private BibEntry bibEntry;
+    private CitationStyleCache csCache;
+
+    @BeforeEach
+    void setUp() {
+        bibEntry = new BibEntry().withCitationKey("test");
+        csCache = new CitationStyleCache(1024 * 1024);
+    }
+
+    private CitationStyleCache.Key key(BibEntry entry, String style, CitationStyleOutputFormat outputFormat) {
+        return new CitationStyleCache.Key(List.of(entry), style, outputFormat);
+    }
+
+    @Test
+    void getCitationForTest() {
+        csCache.put(key(bibEntry, STYLE, CitationStyleOutputFormat.HTML), List.of("citation"));
+
+        assertEquals(Optional.of(List.of("citation")), csCache.get(key(bibEntry, STYLE, CitationStyleOutputFormat.HTML)));
+    }
+
+    @Test
+    void citationsOfDifferentStylesAndFormatsAreKept() {
+        csCache.put(key(bibEntry, STYLE, CitationStyleOutputFormat.HTML), List.of("html"));
+        csCache.put(key(bibEntry, STYLE, CitationStyleOutputFormat.TEXT), List.of("text"));
+        csCache.put(key(bibEntry, "other style", CitationStyleOutputFormat.HTML), List.of("other"));
+
+        assertEquals(Optional.of(List.of("html")), csCache.get(key(bibEntry, STYLE, CitationStyleOutputFormat.HTML)));
+        assertEquals(Optional.of(List.of("text")), csCache.get(key(bibEntry, STYLE, CitationStyleOutputFormat.TEXT)));
+        assertEquals(Optional.of(List.of("other")), csCache.get(key(bibEntry, "other style", CitationStyleOutputFormat.HTML)));
+    }
+
+    @Test
+    void equalEntryOfOtherLibraryIsNotServed() {
+        csCache.put(key(bibEntry, STYLE, CitationStyleOutputFormat.HTML), List.of("citation"));
+
+        assertEquals(Optional.empty(), csCache.get(key(new BibEntry().withCitationKey("test"), STYLE, CitationStyleOutputFormat.HTML)));
+    }
+
+    @Test
+    void changedEntryIsNotServed() {
+        csCache.put(key(bibEntry, STYLE, CitationStyleOutputFormat.HTML), List.of("citation"));
+
+        bibEntry.setField(StandardField.TITLE, "title");
+
+        assertEquals(Optional.empty(), csCache.get(key(bibEntry, STYLE, CitationStyleOutputFormat.HTML)));
+    }
+
+    @Test
+    void citationsOfChangedEntryAreRemoved() {
+        BibDatabase database = new BibDatabase(List.of(bibEntry));
+        csCache.listenTo(database);
+        csCache.put(key(bibEntry, STYLE, CitationStyleOutputFormat.HTML), List.of("citation"));
+        csCache.put(new CitationStyleCache.Key(List.of(new BibEntry(), bibEntry), STYLE, CitationStyleOutputFormat.HTML), List.of("a", "b"));
+
+        bibEntry.setField(StandardField.TITLE, "title");
+
+        assertEquals(0, csCache.size());
+    }
+
+    @Test
+    void citationsOfRemovedEntryAreRemoved() {
+        BibDatabase database = new BibDatabase(List.of(bibEntry));
+        csCache.listenTo(database);
+        csCache.put(key(bibEntry, STYLE, CitationStyleOutputFormat.HTML), List.of("citation"));
+
+        database.removeEntry(bibEntry);
+
+        assertEquals(0, csCache.size());
+    }
+
+    @Test
+    void citationsOfClosedLibraryAreRemoved() {
+        BibDatabase database = new BibDatabase(List.of(bibEntry));
+        csCache.listenTo(database);
+        csCache.put(key(bibEntry, STYLE, CitationStyleOutputFormat.HTML), List.of("citation"));
+        BibEntry entryOfOtherLibrary = new BibEntry();
+        csCache.put(key(entryOfOtherLibrary, STYLE, CitationStyleOutputFormat.HTML), List.of("other"));
+
+        csCache.stopListeningTo(database);
+
+        assertEquals(Optional.empty(), csCache.get(key(bibEntry, STYLE, CitationStyleOutputFormat.HTML)));
+        assertEquals(Optional.of(List.of("other")), csCache.get(key(entryOfOtherLibrary, STYLE, CitationStyleOutputFormat.HTML)));
+    }
+
+    @Test
+    void cacheIsBoundedByLengthOfCitations() {
+        CitationStyleCache smallCache = new CitationStyleCache(1000);
+        for (int i = 0; i < 100; i++) {
+            smallCache.put(key(new BibEntry(), STYLE, CitationStyleOutputFormat.HTML), List.of("x".repeat(100)));
+        }
+
+        assertTrue(smallCache.size() < 10);
+    }
 }
@@ -0,0 +1,115 @@
+package org.jabref.logic.database;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jabref.model.database.BibDatabaseMode;
+import org.jabref.model.entry.BibEntry;
+import org.jabref.model.entry.BibEntryTypesManager;
+import org.jabref.model.entry.field.StandardField;
+import org.jabref.model.entry.types.StandardEntryType;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DuplicateCandidateFinderTest {
+
+    private final DuplicateCheck duplicateCheck = new DuplicateCheck(new BibEntryTypesManager());
+    private List<BibEntry> entries;
+
+    @BeforeEach
+    void setUp() {
+        BibEntry simpleArticle = new BibEntry(StandardEntryType.Article)
+                .withField(StandardField.AUTHOR, "Single Author")
+                .withField(StandardField.TITLE, "A serious paper about something")
+                .withField(StandardField.YEAR, "2017");
+        BibEntry simpleInbook = new BibEntry(StandardEntryType.InBook)
+                .withField(StandardField.TITLE, "Alice in Wonderland")
+                .withField(StandardField.AUTHOR, "Charles Lutwidge Dodgson")
+                .withField(StandardField.CHAPTER, "Chapter One – Down the Rabbit Hole")
+                .withField(StandardField.LANGUAGE, "English")
+                .withField(StandardField.PUBLISHER, "Macmillan")
+                .withField(StandardField.YEAR, "1865");
+
+        entries = new ArrayList<>();
+        entries.add(simpleArticle);
+        entries.add(new BibEntry(StandardEntryType.Article)
+                .withField(StandardField.AUTHOR, "Completely Different")
+                .withField(StandardField.TITLE, "Holy Moly Uffdada und Trallalla")
+                .withField(StandardField.YEAR, "1992"));
+        entries.add(new BibEntry(StandardEntryType.Article)
+                .withField(StandardField.AUTHOR, "Single Author")
+                .withField(StandardField.TITLE, "A serious papr about somthing")
+                .withField(StandardField.YEAR, "2017"));
+        entries.add(((BibEntry) simpleArticle.clone()).withField(StandardField.DOI, "10.1016/j.is.2004.02.002"));
+        entries.add(new BibEntry(StandardEntryType.InCollection)
+                .withField(StandardField.TITLE, "Something else")
+                .withField(StandardField.DOI, "10.1016/J.IS.2004.02.002"));
+        entries.add(new BibEntry(StandardEntryType.Misc).withField(StandardField.EPRINT, "12345678"));
+        entries.add(new BibEntry(StandardEntryType.Book).withField(StandardField.EPRINT, "12345678"));
+        entries.add(new BibEntry(StandardEntryType.Article).withField(StandardField.AUTHOR, "Billy Bob"));
+        entries.add(new BibEntry(StandardEntryType.Article).withField(StandardField.AUTHOR, "Billy Bob"));
+        entries.add(simpleInbook);
+        entries.add(((BibEntry) simpleInbook.clone()).withField(StandardField.CHAPTER, ""));
+        entries.add(new BibEntry(StandardEntryType.Book)
+                .withField(StandardField.TITLE, "Effective Java")
+                .withField(StandardField.AUTHOR, "Bloch, Joshua")
+                .withField(StandardField.PUBLISHER, "Prentice Hall")
+                .withField(StandardField.DATE, "2001"));
+        entries.add(new BibEntry(StandardEntryType.Book)
+                .withField(StandardField.TITLE, "Effective Java")
+                .withField(StandardField.AUTHOR, "Bloch, Joshua")
+                .withField(StandardField.PUBLISHER, "Prentice Hall")
+                .withField(StandardField.DATE, "2008")
+                .withField(StandardField.EDITION, "2"));
+        entries.add(new BibEntry(StandardEntryType.Book)
+                .withField(StandardField.TITLE, "Reinforcement learning:An introduction")
+                .withField(StandardField.AUTHOR, "Sutton, Richard S and Barto, Andrew G")
+                .withField(StandardField.YEAR, "2017"));
+        entries.add(new BibEntry(StandardEntryType.Book)
+                .withField(StandardField.TITLE, "Reinforcement learning: An introduction")
+                .withField(StandardField.AUTHOR, "Sutton, Richard S and Barto, Andrew G")
+                .withField(StandardField.YEAR, "1998"));
+        entries.add(new BibEntry().withField(StandardField.COMMENT, "line1\n\nline3\n\nline5"));
+        entries.add(new BibEntry().withField(StandardField.COMMENT, "line1\r\n\r\nline3\r\n\r\nline5"));
+        entries.add(new BibEntry(StandardEntryType.Article)
+                .withField(StandardField.AUTHOR, "Billy Bob")
+                .withField(StandardField.TITLE, "A title")
+                .withField(StandardField.JOURNAL, "A")
+                .withField(StandardField.YEAR, "2005"));
+        entries.add(new BibEntry(StandardEntryType.Article)
+                .withField(StandardField.AUTHOR, "Billy Bob")
+                .withField(StandardField.TITLE, "A title")
+                .withField(StandardField.JOURNAL, "B")
+                .withField(StandardField.YEAR, "2005"));
+    }
+
+    @Test
+    void candidatesContainAllDuplicatesFoundByComparingAllPairs() {
+        List<List<BibEntry>> candidates = new ArrayList<>();
+        new DuplicateCandidateFinder(entries).findCandidates((first, second) -> candidates.add(List.of(first, second)));
+
+        for (int i = 0; i < (entries.size() - 1); i++) {
+            for (int j = i + 1; j < entries.size(); j++) {
+                BibEntry first = entries.get(i);
+                BibEntry second = entries.get(j);
+                if (duplicateCheck.isDuplicate(first, second, BibDatabaseMode.BIBTEX)) {
+                    assertTrue(candidates.stream().anyMatch(pair -> (pair.get(0) == first) && (pair.get(1) == second)),
+                            "Missing candidate " + first + " / " + second);
+                }
+            }
+        }
+    }
+
+    @Test
+    void unrelatedEntriesAreNoCandidates() {
+        List<BibEntry> unrelated = List.of(entries.get(0), entries.get(1));
+        List<List<BibEntry>> candidates = new ArrayList<>();
+        new DuplicateCandidateFinder(unrelated).findCandidates((first, second) -> candidates.add(List.of(first, second)));
+
+        assertEquals(List.of(), candidates);
+    }
+}
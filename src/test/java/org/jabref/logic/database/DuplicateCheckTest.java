@@ -327,4 +327,18 @@ public class DuplicateCheckTest {
         BibEntry entryTwo = new BibEntry().withField(StandardField.COMMENT, "line1\r\n\r\nline3\r\n\r\nline5");
         assertTrue(duplicateChecker.isDuplicate(entryOne, entryTwo, BibDatabaseMode.BIBTEX));
     }
+
+    @Test
+    void signatureReusedForSeveralComparisonsGivesSameResultsAsEntries() {
+        BibEntry sameArticle = new BibEntry(StandardEntryType.Article)
+                .withField(StandardField.AUTHOR, "Author, Single")
+                .withField(StandardField.TITLE, "A serious paper about somethin")
+                .withField(StandardField.YEAR, "2017");
+        DuplicateSignature signature = new DuplicateSignature(simpleArticle);
+
+        assertTrue(duplicateChecker.isDuplicate(signature, new DuplicateSignature(sameArticle), BibDatabaseMode.BIBTEX));
+        assertFalse(duplicateChecker.isDuplicate(signature, new DuplicateSignature(unrelatedArticle), BibDatabaseMode.BIBTEX));
+        assertEquals(duplicateChecker.isDuplicate(simpleArticle, sameArticle, BibDatabaseMode.BIBTEX),
+                duplicateChecker.isDuplicate(signature, new DuplicateSignature(sameArticle), BibDatabaseMode.BIBTEX));
+    }
 }
@@ -11,7 +11,10 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
 
+import org.jabref.logic.bibtex.BibEntryWriter;
+import org.jabref.logic.bibtex.FieldWriter;
 import org.jabref.logic.citationkeypattern.AbstractCitationKeyPattern;
 import org.jabref.logic.citationkeypattern.DatabaseCitationKeyPattern;
 import org.jabref.logic.citationkeypattern.GlobalCitationKeyPattern;
@@ -51,6 +54,7 @@ import org.jabref.preferences.GeneralPreferences;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.Answers;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -732,6 +736,70 @@ class BibtexDatabaseWriterTest {
                 stringWriter.toString());
     }
 
+    @Test
+    void writeEntriesOfSeveralBatchesAsIfWrittenOneAfterAnother() throws Exception {
+        for (int i = 0; i < 2500; i++) {
+            BibEntry entry = new BibEntry(StandardEntryType.Article).withCitationKey("key" + i);
+            entry.setField(StandardField.AUTHOR, "Author " + i);
+            if ((i % 3) == 0) {
+                // written as parsed
+                entry.setParsedSerialization("% comment " + i + "\n@Article{key" + i + ", author = {Author " + i + "}}");
+            }
+            database.insertEntry(entry);
+        }
+
+        databaseWriter.savePartOfDatabase(bibtexContext, database.getEntries());
+
+        StringWriter expected = new StringWriter();
+        BibWriter expectedWriter = new BibWriter(expected, OS.NEWLINE);
+        BibEntryWriter entryWriter = new BibEntryWriter(new FieldWriter(savePreferences.getFieldWriterPreferences()), entryTypesManager);
+        for (BibEntry entry : BibDatabaseWriter.getSortedEntries(bibtexContext, database.getEntries(), savePreferences)) {
+            entryWriter.write(entry, expectedWriter, bibtexContext.getMode());
+        }
+        assertEquals(expected.toString(), stringWriter.toString());
+    }
+
+    @Test
+    void saveCopyingUnchangedEntriesEqualsFullSave(@TempDir Path tempDir) throws Exception {
+        Path file = tempDir.resolve("library.bib");
+        for (int i = 0; i < 10; i++) {
+            database.insertEntry(new BibEntry(StandardEntryType.Article).withCitationKey("key" + i).withField(StandardField.AUTHOR, "Author " + i));
+        }
+        Optional<BibFileLayout> layout = saveCopyingUnchangedEntries(file, Optional.empty());
+
+        database.getEntries().get(4).setField(StandardField.TITLE, "Changed title with ä and 😀");
+        database.removeEntry(database.getEntries().get(7));
+        database.insertEntry(new BibEntry(StandardEntryType.Book).withCitationKey("new"));
+        saveCopyingUnchangedEntries(file, layout);
+
+        databaseWriter.saveDatabase(bibtexContext);
+        assertEquals(stringWriter.toString(), Files.readString(file));
+    }
+
+    @Test
+    void saveWritesAllEntriesIfFileWasModified(@TempDir Path tempDir) throws Exception {
+        Path file = tempDir.resolve("library.bib");
+        for (int i = 0; i < 10; i++) {
+            database.insertEntry(new BibEntry(StandardEntryType.Article).withCitationKey("key" + i).withField(StandardField.AUTHOR, "Author " + i));
+        }
+        Optional<BibFileLayout> layout = saveCopyingUnchangedEntries(file, Optional.empty());
+
+        Files.writeString(file, "modified by another program");
+        saveCopyingUnchangedEntries(file, layout);
+
+        databaseWriter.saveDatabase(bibtexContext);
+        assertEquals(stringWriter.toString(), Files.readString(file));
+    }
+
+    private Optional<BibFileLayout> saveCopyingUnchangedEntries(Path file, Optional<BibFileLayout> previousLayout) throws IOException {
+        BibtexDatabaseWriter splicingDatabaseWriter;
+        try (AtomicFileWriter fileWriter = new AtomicFileWriter(file, StandardCharsets.UTF_8)) {
+            splicingDatabaseWriter = new BibtexDatabaseWriter(new BibWriter(fileWriter, OS.NEWLINE), fileWriter, previousLayout, generalPreferences, savePreferences, entryTypesManager);
+            splicingDatabaseWriter.saveDatabase(bibtexContext);
+        }
+        return splicingDatabaseWriter.getFileLayout(file);
+    }
+
     @Test
     void trimFieldContents() throws IOException {
         BibEntry entry = new BibEntry(StandardEntryType.Article);
@@ -1,20 +1,31 @@
 package org.jabref.logic.importer;
 
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Collection;
+import java.util.List;
 
 import org.jabref.logic.importer.fileformat.BibtexImporter;
+import org.jabref.logic.util.io.DatabaseFileLookup;
 import org.jabref.model.database.BibDatabase;
+import org.jabref.model.database.BibDatabaseContext;
 import org.jabref.model.entry.BibEntry;
+import org.jabref.model.entry.LinkedFile;
 import org.jabref.model.util.DummyFileUpdateMonitor;
+import org.jabref.preferences.FilePreferences;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.Answers;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 class DatabaseFileLookupTest {
 
@@ -45,4 +56,32 @@ class DatabaseFileLookupTest {
         assertNotNull(entry1);
         assertNotNull(entry2);
     }
+
+    @Test
+    void lookupFindsLinkedFilesOnly(@TempDir Path tempDir) throws Exception {
+        Path firstDir = Files.createDirectory(tempDir.resolve("first"));
+        Path secondDir = Files.createDirectory(tempDir.resolve("second"));
+        Path linkedInSecondDir = Files.createFile(secondDir.resolve("linked.pdf"));
+        Path absoluteLinked = Files.createFile(tempDir.resolve("absolute.pdf"));
+        Path unlinked = Files.createFile(secondDir.resolve("unlinked.pdf"));
+
+        BibEntry entry = new BibEntry();
+        entry.addFile(new LinkedFile("", Path.of("linked.pdf"), "PDF"));
+        entry.addFile(new LinkedFile("", absoluteLinked, "PDF"));
+        BibDatabaseContext context = mock(BibDatabaseContext.class);
+        when(context.getDatabase()).thenReturn(new BibDatabase(List.of(entry)));
+        FilePreferences filePreferences = mock(FilePreferences.class);
+        when(context.getFileDirectories(filePreferences)).thenReturn(List.of(firstDir, secondDir));
+
+        DatabaseFileLookup lookup = new DatabaseFileLookup(context, filePreferences);
+
+        assertTrue(lookup.lookupDatabase(linkedInSecondDir));
+        assertTrue(lookup.lookupDatabase(absoluteLinked));
+        assertFalse(lookup.lookupDatabase(unlinked));
+
+        // the link now resolves to the file in the first directory
+        Path linkedInFirstDir = Files.createFile(firstDir.resolve("linked.pdf"));
+        assertTrue(lookup.lookupDatabase(linkedInFirstDir));
+        assertFalse(lookup.lookupDatabase(linkedInSecondDir));
+    }
 }
@@ -11,6 +11,7 @@ import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 import org.jabref.logic.citationkeypattern.AbstractCitationKeyPattern;
 import org.jabref.logic.citationkeypattern.DatabaseCitationKeyPattern;
@@ -1183,6 +1184,75 @@ class BibtexParserTest {
         assertEquals(testEntry, parsedEntry.getParsedSerialization());
     }
 
+    @Test
+    void parseSavesEntriesLargerThanReadBufferInParsedSerialization() throws IOException {
+        String firstEntry = "@article{first,abstract={" + "a".repeat(20000) + "}}" + OS.NEWLINE;
+        String secondEntry = "@article{second,author={Ed von Test}}";
+        ParserResult result = parser.parse(new StringReader(firstEntry + secondEntry));
+
+        List<BibEntry> parsedEntries = result.getDatabase().getEntries();
+
+        assertEquals(2, parsedEntries.size());
+        assertEquals(firstEntry, parsedEntries.get(0).getParsedSerialization());
+        assertEquals(secondEntry, parsedEntries.get(1).getParsedSerialization());
+    }
+
+    @Test
+    void parseInParallelGivesSameResultAsParse() throws IOException {
+        StringBuilder library = new StringBuilder("@Preamble{some preamble}" + OS.NEWLINE + OS.NEWLINE);
+        for (int i = 0; i < 5000; i++) {
+            if ((i % 100) == 0) {
+                library.append("@String{string").append(i % 300).append(" = {value ").append(i).append("}}").append(OS.NEWLINE).append(OS.NEWLINE);
+                library.append("@Comment{some comment}").append(OS.NEWLINE);
+            }
+            library.append("% comment before ").append(i).append(OS.NEWLINE)
+                   .append("@Article{key").append(i).append(i == 2500 ? " missing comma" : ",").append(OS.NEWLINE)
+                   .append("  author = {Doe, John and Roe, Richard},").append(OS.NEWLINE)
+                   .append("  title = {A {Title} with \\{ brackets ").append(i).append("},").append(OS.NEWLINE)
+                   .append("  journal = string").append(i % 300).append(OS.NEWLINE)
+                   .append("}").append(OS.NEWLINE).append(OS.NEWLINE);
+        }
+        library.append("@Comment{jabref-meta: databaseType:bibtex;}").append(OS.NEWLINE);
+
+        ParserResult expected = new BibtexParser(importFormatPreferences, new DummyFileUpdateMonitor()).parse(new StringReader(library.toString()));
+        ParserResult result = parser.parseInParallel(new StringReader(library.toString()));
+
+        assertEquals(expected.getDatabase().getEntries(), result.getDatabase().getEntries());
+        assertEquals(expected.getDatabase().getEntries().stream().map(BibEntry::getParsedSerialization).collect(Collectors.toList()),
+                result.getDatabase().getEntries().stream().map(BibEntry::getParsedSerialization).collect(Collectors.toList()));
+        assertEquals(expected.getDatabase().getStringValues().stream().map(BibtexString::getParsedSerialization).sorted().collect(Collectors.toList()),
+                result.getDatabase().getStringValues().stream().map(BibtexString::getParsedSerialization).sorted().collect(Collectors.toList()));
+        assertEquals(expected.getDatabase().getPreamble(), result.getDatabase().getPreamble());
+        assertEquals(expected.getDatabase().getEpilog(), result.getDatabase().getEpilog());
+        assertEquals(expected.getMetaData(), result.getMetaData());
+        assertEquals(expected.warnings(), result.warnings());
+    }
+
+    @Test
+    void parseOfMappedContentGivesSameParsedSerializations() throws IOException {
+        StringBuilder library = new StringBuilder("@Preamble{some preamble}" + OS.NEWLINE + OS.NEWLINE);
+        for (int i = 0; i < 2000; i++) {
+            library.append("% comment with ümlauts, € and 😀 before ").append(i).append(OS.NEWLINE)
+                   .append("@Article{key").append(i).append(i == 1000 ? " missing comma" : ",").append(OS.NEWLINE)
+                   .append("  author = {Döe, John and Roe, Richard},").append(OS.NEWLINE)
+                   .append("  title = {A {Title} with \\{ brackets ").append(i).append("},").append(OS.NEWLINE)
+                   .append("}").append(OS.NEWLINE).append(OS.NEWLINE);
+        }
+        String content = library.toString();
+
+        ParserResult expected = parser.parse(new StringReader(content));
+        BibtexParser mappingParser = new BibtexParser(importFormatPreferences, new DummyFileUpdateMonitor(), content.length());
+        ParserResult result = mappingParser.parse(new StringReader(content));
+        ParserResult parallelResult = new BibtexParser(importFormatPreferences, new DummyFileUpdateMonitor(), content.length())
+                .parseInParallel(new StringReader(content));
+
+        List<String> expectedSerializations = expected.getDatabase().getEntries().stream().map(BibEntry::getParsedSerialization).collect(Collectors.toList());
+        assertEquals(expected.getDatabase().getEntries(), result.getDatabase().getEntries());
+        assertEquals(expectedSerializations, result.getDatabase().getEntries().stream().map(BibEntry::getParsedSerialization).collect(Collectors.toList()));
+        assertEquals(expectedSerializations, parallelResult.getDatabase().getEntries().stream().map(BibEntry::getParsedSerialization).collect(Collectors.toList()));
+        assertEquals(expected.warnings(), result.warnings());
+    }
+
     @Test
     void parseSavesOneNewlineAfterEntryInParsedSerialization() throws IOException {
         String testEntry = "@article{test,author={Ed von Test}}";
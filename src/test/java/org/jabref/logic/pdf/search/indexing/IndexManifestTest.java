@@ -0,0 +1,51 @@
+package org.jabref.logic.pdf.search.indexing;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Set;
+
+import org.jabref.logic.pdf.search.indexing.IndexManifest.FileState;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IndexManifestTest {
+
+    @Test
+    void savedManifestIsLoadedAgain(@TempDir Path directory) throws IOException {
+        Path indexPath = directory.resolve("index");
+        IndexManifest manifest = IndexManifest.load(indexPath);
+        manifest.put("some file.pdf", new FileState(42, 1000, "abc"));
+        manifest.put("a\tb.pdf", new FileState(7, 2000, "def"));
+        manifest.save();
+
+        IndexManifest loadedManifest = IndexManifest.load(indexPath);
+
+        assertEquals(Set.of("some file.pdf", "a\tb.pdf"), loadedManifest.getLinks());
+        assertTrue(loadedManifest.get("a\tb.pdf").orElseThrow().hasSameContent(new FileState(0, 0, "def")));
+    }
+
+    @Test
+    void manifestWithUnknownHeaderIsIgnored(@TempDir Path directory) throws IOException {
+        Path indexPath = directory.resolve("index");
+        Files.writeString(directory.resolve("index.manifest"), "# some other format\n1\t2\tabc\tfile.pdf\n");
+
+        assertTrue(IndexManifest.load(indexPath).getLinks().isEmpty());
+    }
+
+    @Test
+    void removedFileIsNotSaved(@TempDir Path directory) throws IOException {
+        Path indexPath = directory.resolve("index");
+        IndexManifest manifest = IndexManifest.load(indexPath);
+        manifest.put("file.pdf", new FileState(42, 1000, "abc"));
+        manifest.save();
+        manifest.remove("file.pdf");
+        manifest.save();
+
+        assertTrue(IndexManifest.load(indexPath).getLinks().isEmpty());
+    }
+}
@@ -0,0 +1,94 @@
+package org.jabref.logic.pdf.search.indexing;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Optional;
+
+import org.jabref.gui.util.CurrentThreadTaskExecutor;
+import org.jabref.logic.util.StandardFileType;
+import org.jabref.model.database.BibDatabase;
+import org.jabref.model.database.BibDatabaseContext;
+import org.jabref.model.entry.BibEntry;
+import org.jabref.model.entry.LinkedFile;
+import org.jabref.model.entry.types.StandardEntryType;
+import org.jabref.preferences.FilePreferences;
+
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.store.NIOFSDirectory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mockito;
+import org.testfx.framework.junit5.ApplicationExtension;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(ApplicationExtension.class)
+class IndexingTaskManagerTest {
+
+    private final FilePreferences filePreferences = mock(FilePreferences.class);
+    private IndexingTaskManager indexingTaskManager;
+    private BibDatabaseContext previousContext;
+    private BibDatabaseContext context;
+
+    @BeforeEach
+    void setUp(@TempDir Path tempDir) {
+        indexingTaskManager = new IndexingTaskManager(new CurrentThreadTaskExecutor(), 2);
+        previousContext = createContext(tempDir.resolve("previous"));
+        context = createContext(tempDir.resolve("fed"));
+
+        BibEntry entry = new BibEntry(StandardEntryType.PhdThesis);
+        entry.setFiles(Collections.singletonList(new LinkedFile("Example Thesis", "thesis-example.pdf", StandardFileType.PDF.getName())));
+        context.getDatabase().insertEntry(entry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        indexingTaskManager.shutdown();
+        PdfIndexer.shutdown(previousContext);
+        PdfIndexer.shutdown(context);
+    }
+
+    @Test
+    void indexesLibraryFedAfterPreviousLibraryWasReleased() throws IOException {
+        // a library loaded into a tab replaces the library the tab was created with
+        indexingTaskManager.createIndex(PdfIndexer.of(previousContext, filePreferences));
+        PdfIndexer.shutdown(previousContext);
+
+        PdfIndexer indexer = PdfIndexer.of(context, filePreferences);
+        indexingTaskManager.createIndex(indexer);
+        indexingTaskManager.addToIndex(indexer, context);
+
+        try (IndexReader reader = DirectoryReader.open(new NIOFSDirectory(context.getFulltextIndexPath()))) {
+            assertEquals(33, reader.numDocs());
+        }
+    }
+
+    @Test
+    void ignoresTasksAfterShutdown() throws IOException {
+        PdfIndexer indexer = PdfIndexer.of(context, filePreferences);
+        indexingTaskManager.shutdown();
+
+        indexingTaskManager.addToIndex(indexer, context);
+
+        assertEquals(1, indexer.computeDelta(context).getFilesToIndex().size());
+    }
+
+    private BibDatabaseContext createContext(Path directory) {
+        BibDatabase database = new BibDatabase();
+        BibDatabaseContext databaseContext = mock(BibDatabaseContext.class);
+        when(databaseContext.getDatabasePath()).thenReturn(Optional.of(Path.of("src/test/resources/pdfs/")));
+        when(databaseContext.getFileDirectories(Mockito.any())).thenReturn(Collections.singletonList(Path.of("src/test/resources/pdfs")));
+        // the manifest of the index is stored beside the index, thus the index needs its own folder
+        when(databaseContext.getFulltextIndexPath()).thenReturn(directory.resolve("index"));
+        when(databaseContext.getDatabase()).thenReturn(database);
+        when(databaseContext.getEntries()).thenReturn(database.getEntries());
+        return databaseContext;
+    }
+}
@@ -16,12 +16,17 @@ import org.jabref.preferences.FilePreferences;
 import org.apache.lucene.index.DirectoryReader;
 import org.apache.lucene.index.IndexReader;
 import org.apache.lucene.store.NIOFSDirectory;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
 import org.mockito.Mockito;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -39,12 +44,48 @@ public class PdfIndexerTest {
         this.context = mock(BibDatabaseContext.class);
         when(context.getDatabasePath()).thenReturn(Optional.of(Path.of("src/test/resources/pdfs/")));
         when(context.getFileDirectories(Mockito.any())).thenReturn(Collections.singletonList(Path.of("src/test/resources/pdfs")));
-        when(context.getFulltextIndexPath()).thenReturn(indexDir);
+        // the manifest of the index is stored beside the index, thus the index needs its own folder
+        when(context.getFulltextIndexPath()).thenReturn(indexDir.resolve("index"));
         when(context.getDatabase()).thenReturn(database);
         when(context.getEntries()).thenReturn(database.getEntries());
         this.indexer = PdfIndexer.of(context, filePreferences);
     }
 
+    @AfterEach
+    public void tearDown() {
+        PdfIndexer.shutdown(context);
+    }
+
+    @Test
+    public void indexerIsSharedPerLibrary() throws IOException {
+        assertSame(indexer, PdfIndexer.of(context, mock(FilePreferences.class)));
+    }
+
+    @Test
+    public void shutdownClosesIndexer() throws IOException {
+        PdfIndexer.shutdown(context);
+
+        assertNotSame(indexer, PdfIndexer.of(context, mock(FilePreferences.class)));
+    }
+
+    @Test
+    public void reindexingUnchangedFileDoesNotDuplicateDocuments() throws IOException {
+        // given
+        BibEntry entry = new BibEntry(StandardEntryType.PhdThesis);
+        entry.setFiles(Collections.singletonList(new LinkedFile("Example Thesis", "thesis-example.pdf", StandardFileType.PDF.getName())));
+        database.insertEntry(entry);
+        indexer.createIndex();
+        indexer.addToIndex(context);
+
+        // when
+        indexer.addToIndex(context);
+
+        // then
+        try (IndexReader reader = DirectoryReader.open(new NIOFSDirectory(context.getFulltextIndexPath()))) {
+            assertEquals(33, reader.numDocs());
+        }
+    }
+
     @Test
     public void exampleThesisIndex() throws IOException {
         // given
@@ -62,6 +103,82 @@ public class PdfIndexerTest {
         }
     }
 
+    @Test
+    public void readForIndexSkipsFileAlreadyInIndex() throws IOException {
+        // given
+        BibEntry entry = new BibEntry(StandardEntryType.PhdThesis);
+        LinkedFile linkedFile = new LinkedFile("Example Thesis", "thesis-example.pdf", StandardFileType.PDF.getName());
+        entry.setFiles(Collections.singletonList(linkedFile));
+        database.insertEntry(entry);
+        indexer.createIndex();
+
+        // when
+        indexer.writeToIndex(linkedFile, indexer.readForIndex(entry, linkedFile, context).orElseThrow());
+        indexer.commit();
+
+        // then
+        assertFalse(indexer.readForIndex(entry, linkedFile, context).isPresent());
+    }
+
+    @Test
+    public void readForIndexOfUnreadableFileDoesNotKeepItPending() throws IOException {
+        // given
+        BibEntry entry = new BibEntry(StandardEntryType.PhdThesis);
+        LinkedFile linkedFile = new LinkedFile("Not a pdf", "encrypted.txt", StandardFileType.PDF.getName());
+        entry.setFiles(Collections.singletonList(linkedFile));
+        database.insertEntry(entry);
+        indexer.createIndex();
+
+        // when
+        Optional<?> pages = indexer.readForIndex(entry, linkedFile, context);
+
+        // then
+        assertFalse(pages.isPresent());
+        assertEquals(0, indexer.getNumberOfPendingFiles());
+    }
+
+    @Test
+    public void deltaContainsNewFiles() {
+        BibEntry entry = new BibEntry(StandardEntryType.PhdThesis);
+        entry.setFiles(Collections.singletonList(new LinkedFile("Example Thesis", "thesis-example.pdf", StandardFileType.PDF.getName())));
+        database.insertEntry(entry);
+
+        IndexDelta delta = indexer.computeDelta(context);
+
+        assertEquals(1, delta.getFilesToIndex().size());
+        assertEquals(Collections.emptyList(), delta.getLinksToRemove());
+    }
+
+    @Test
+    public void deltaIsEmptyAfterIndexing() throws IOException {
+        BibEntry entry = new BibEntry(StandardEntryType.PhdThesis);
+        entry.setFiles(Collections.singletonList(new LinkedFile("Example Thesis", "thesis-example.pdf", StandardFileType.PDF.getName())));
+        database.insertEntry(entry);
+        indexer.createIndex();
+        indexer.addToIndex(context);
+
+        // manifest is read again when the library is opened the next time
+        PdfIndexer.shutdown(context);
+        PdfIndexer reopenedIndexer = PdfIndexer.of(context, mock(FilePreferences.class));
+
+        assertTrue(reopenedIndexer.computeDelta(context).isEmpty());
+    }
+
+    @Test
+    public void deltaContainsFilesNoLongerLinked() {
+        BibEntry entry = new BibEntry(StandardEntryType.PhdThesis);
+        entry.setFiles(Collections.singletonList(new LinkedFile("Example Thesis", "thesis-example.pdf", StandardFileType.PDF.getName())));
+        database.insertEntry(entry);
+        indexer.createIndex();
+        indexer.addToIndex(context);
+
+        database.removeEntry(entry);
+        IndexDelta delta = indexer.computeDelta(context);
+
+        assertEquals(Collections.emptyList(), delta.getFilesToIndex());
+        assertEquals(Collections.singletonList("thesis-example.pdf"), delta.getLinksToRemove());
+    }
+
     @Test
     public void dontIndexNonPdf() throws IOException {
         // given
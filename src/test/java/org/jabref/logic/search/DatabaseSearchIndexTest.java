@@ -0,0 +1,114 @@
+package org.jabref.logic.search;
+
+import java.util.EnumSet;
+import java.util.Optional;
+import java.util.Set;
+
+import org.jabref.model.database.BibDatabase;
+import org.jabref.model.entry.BibEntry;
+import org.jabref.model.entry.field.StandardField;
+import org.jabref.model.entry.types.StandardEntryType;
+import org.jabref.model.search.rules.SearchRules;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class DatabaseSearchIndexTest {
+
+    private BibDatabase database;
+    private DatabaseSearchIndex searchIndex;
+    private BibEntry entry;
+
+    @BeforeEach
+    public void setUp() {
+        database = new BibDatabase();
+        entry = new BibEntry(StandardEntryType.Article)
+                .withField(StandardField.AUTHOR, "Tobias Diez")
+                .withField(StandardField.TITLE, "Search in {JabRef}");
+        database.insertEntry(entry);
+        searchIndex = new DatabaseSearchIndex(database);
+    }
+
+    private static SearchQuery containsQuery(String query) {
+        return new SearchQuery(query, EnumSet.noneOf(SearchRules.SearchFlags.class));
+    }
+
+    @Test
+    public void findsWordsInDifferentFields() {
+        assertEquals(Optional.of(Set.of(entry.getId())), searchIndex.getMatchingIds(containsQuery("diez jabref")));
+    }
+
+    @Test
+    public void findsPartOfWord() {
+        assertEquals(Optional.of(Set.of(entry.getId())), searchIndex.getMatchingIds(containsQuery("abre")));
+    }
+
+    @Test
+    public void findsPartShorterThanTrigram() {
+        assertEquals(Optional.of(Set.of(entry.getId())), searchIndex.getMatchingIds(containsQuery("ie")));
+    }
+
+    @Test
+    public void doesNotFindPartHavingTrigramsOfDifferentWords() {
+        entry.setField(StandardField.KEYWORDS, "abcd bcde");
+
+        assertEquals(Optional.of(Set.of()), searchIndex.getMatchingIds(containsQuery("abcde")));
+        assertEquals(Optional.of(Set.of(entry.getId())), searchIndex.getMatchingIds(containsQuery("bcd")));
+    }
+
+    @Test
+    public void requiresAllWords() {
+        assertEquals(Optional.of(Set.of()), searchIndex.getMatchingIds(containsQuery("diez unknown")));
+    }
+
+    @Test
+    public void phraseMustBeContainedAsWhole() {
+        assertEquals(Optional.of(Set.of(entry.getId())), searchIndex.getMatchingIds(containsQuery("\"in jab\"")));
+        assertEquals(Optional.of(Set.of()), searchIndex.getMatchingIds(containsQuery("\"jabref in\"")));
+    }
+
+    @Test
+    public void indexFollowsFieldChanges() {
+        assertTrue(searchIndex.isMatch(containsQuery("diez"), entry));
+
+        entry.setField(StandardField.AUTHOR, "Oliver Kopp");
+
+        assertFalse(searchIndex.isMatch(containsQuery("diez"), entry));
+        assertTrue(searchIndex.isMatch(containsQuery("kopp"), entry));
+    }
+
+    @Test
+    public void indexFollowsAddedAndRemovedEntries() {
+        BibEntry otherEntry = new BibEntry(StandardEntryType.Book).withField(StandardField.AUTHOR, "Oliver Kopp");
+        searchIndex.getMatchingIds(containsQuery("kopp"));
+
+        database.insertEntry(otherEntry);
+        assertEquals(Optional.of(Set.of(otherEntry.getId())), searchIndex.getMatchingIds(containsQuery("kopp")));
+
+        database.removeEntry(otherEntry);
+        assertEquals(Optional.of(Set.of()), searchIndex.getMatchingIds(containsQuery("kopp")));
+    }
+
+    @Test
+    public void caseSensitiveQueryIsNotAnsweredByIndex() {
+        SearchQuery query = new SearchQuery("Diez", EnumSet.of(SearchRules.SearchFlags.CASE_SENSITIVE));
+
+        assertEquals(Optional.empty(), searchIndex.getMatchingIds(query));
+        assertTrue(searchIndex.isMatch(query, entry));
+    }
+
+    @Test
+    public void closedIndexDoesNotAnswerQueries() {
+        searchIndex.getMatchingIds(containsQuery("diez"));
+
+        searchIndex.close();
+        entry.setField(StandardField.AUTHOR, "Oliver Kopp");
+
+        assertEquals(Optional.empty(), searchIndex.getMatchingIds(containsQuery("kopp")));
+        assertTrue(searchIndex.isMatch(containsQuery("kopp"), entry));
+    }
+}
@@ -1,8 +1,11 @@
 package org.jabref.logic.search;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.EnumSet;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import org.jabref.model.database.BibDatabase;
 import org.jabref.model.entry.BibEntry;
@@ -14,6 +17,8 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class DatabaseSearcherTest {
 
@@ -121,4 +126,39 @@ public class DatabaseSearcherTest {
 
         assertEquals(Collections.emptyList(), databaseSearcher.getMatches());
     }
+
+    @Test
+    public void testStreamedMatchesContainAllMatchingEntries() {
+        List<BibEntry> expected = new ArrayList<>();
+        for (int i = 0; i < 2500; i++) {
+            BibEntry entry = new BibEntry(StandardEntryType.Article)
+                    .withCitationKey("key" + i)
+                    .withField(StandardField.AUTHOR, (i % 2 == 0) ? "tonho" : "harrer");
+            database.insertEntry(entry);
+            if (i % 2 == 0) {
+                expected.add(entry);
+            }
+        }
+
+        SearchQuery query = new SearchQuery("tonho", EnumSet.noneOf(SearchRules.SearchFlags.class));
+        List<List<BibEntry>> batches = Collections.synchronizedList(new ArrayList<>());
+        boolean completed = new DatabaseSearcher(query, database).getMatches(batches::add, () -> false);
+
+        assertTrue(completed);
+        assertTrue(batches.size() > 1);
+        assertEquals(Set.copyOf(expected), batches.stream().flatMap(List::stream).collect(Collectors.toSet()));
+    }
+
+    @Test
+    public void testCanceledSearchDoesNotStreamMatches() {
+        BibEntry entry = new BibEntry(StandardEntryType.Article).withField(StandardField.AUTHOR, "tonho");
+        database.insertEntry(entry);
+
+        SearchQuery query = new SearchQuery("tonho", EnumSet.noneOf(SearchRules.SearchFlags.class));
+        List<BibEntry> matches = new ArrayList<>();
+        boolean completed = new DatabaseSearcher(query, database).getMatches(matches::addAll, () -> true);
+
+        assertFalse(completed);
+        assertEquals(Collections.emptyList(), matches);
+    }
 }
@@ -9,6 +9,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import org.jabref.logic.shared.exception.OfflineLockException;
@@ -58,6 +59,32 @@ class DBMSProcessorTest {
         assertTrue(dbmsProcessor.checkBaseIntegrity());
     }
 
+    @Test
+    void fieldKeyAvailableAfterSetup() {
+        assertTrue(dbmsProcessor.setupFieldKey());
+    }
+
+    @Test
+    void testUpdateEntryReplacesExistingAndInsertsNewFields() throws Exception {
+        BibEntry expectedEntry = getBibEntryExample();
+        dbmsProcessor.insertEntry(expectedEntry);
+
+        expectedEntry.setField(StandardField.YEAR, "1995");
+        expectedEntry.setField(StandardField.PAGES, "1--10");
+        dbmsProcessor.updateEntry(expectedEntry);
+
+        Map<String, String> actualFieldMap = new HashMap<>();
+        try (ResultSet fieldResultSet = selectFrom("FIELD", dbmsConnection, dbmsProcessor)) {
+            while (fieldResultSet.next()) {
+                assertFalse(actualFieldMap.containsKey(fieldResultSet.getString("NAME")));
+                actualFieldMap.put(fieldResultSet.getString("NAME"), fieldResultSet.getString("VALUE"));
+            }
+        }
+        Map<String, String> expectedFieldMap = expectedEntry.getFieldMap().entrySet().stream().collect(Collectors.toMap((entry) -> entry.getKey().getName(), Map.Entry::getValue));
+
+        assertEquals(expectedFieldMap, actualFieldMap);
+    }
+
     @Test
     void databaseIntegrityBrokenAfterClearedTables() throws SQLException {
         TestManager.clearTables(this.dbmsConnection);
@@ -267,6 +294,17 @@ class DBMSProcessorTest {
         assertEquals(List.of(bibEntry), actualEntries);
     }
 
+    @Test
+    void testGetSharedEntriesInPages() {
+        List<BibEntry> expectedEntries = List.of(getBibEntryExample(), getBibEntryExample2(), getBibEntryExample3());
+        dbmsProcessor.insertEntries(expectedEntries);
+
+        List<BibEntry> actualEntries = new ArrayList<>();
+        assertTrue(dbmsProcessor.getSharedEntriesInPages(actualEntries::addAll));
+
+        assertEquals(expectedEntries, actualEntries);
+    }
+
     @Test
     void testGetSharedEntry() {
         BibEntry expectedBibEntry = getBibEntryExampleWithEmptyFields();
@@ -302,6 +340,28 @@ class DBMSProcessorTest {
         assertEquals(expectedIDVersionMap, actualIDVersionMap);
     }
 
+    @Test
+    void testGetSharedChangesSince() throws OfflineLockException, SQLException {
+        BibEntry firstEntry = getBibEntryExample();
+        BibEntry secondEntry = getBibEntryExample2();
+        BibEntry thirdEntry = getBibEntryExample3();
+        dbmsProcessor.insertEntry(firstEntry);
+        dbmsProcessor.insertEntry(secondEntry);
+        dbmsProcessor.insertEntry(thirdEntry);
+        int revision = dbmsProcessor.getCurrentRevision();
+
+        secondEntry.setField(StandardField.YEAR, "2021");
+        dbmsProcessor.updateEntry(secondEntry);
+        dbmsProcessor.removeEntries(Collections.singletonList(thirdEntry));
+
+        SharedEntryChanges changes = dbmsProcessor.getSharedChangesSince(revision).get();
+
+        assertEquals(List.of(secondEntry), changes.getChangedEntries());
+        assertEquals(Set.of(thirdEntry.getSharedBibEntryData().getSharedID()), changes.getRemovedIDs());
+        assertEquals(dbmsProcessor.getCurrentRevision(), changes.getRevision());
+        assertTrue(dbmsProcessor.getSharedChangesSince(changes.getRevision()).get().getChangedEntries().isEmpty());
+    }
+
     @Test
     void testGetSharedMetaData() {
         insertMetaData("databaseType", "bibtex;", dbmsConnection, dbmsProcessor);
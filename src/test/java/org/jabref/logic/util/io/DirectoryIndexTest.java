@@ -0,0 +1,98 @@
+package org.jabref.logic.util.io;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.jabref.model.util.FileUpdateListener;
+import org.jabref.model.util.FileUpdateMonitor;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class DirectoryIndexTest {
+
+    private Path rootDir;
+    private Path subDir;
+    private Path pdfFile;
+    private Path subDirPdfFile;
+
+    @BeforeEach
+    void setUp(@TempDir Path temporaryFolder) throws Exception {
+        rootDir = temporaryFolder;
+        subDir = Files.createDirectories(rootDir.resolve("a").resolve("b"));
+        pdfFile = Files.createFile(rootDir.resolve("HipKro03.pdf"));
+        subDirPdfFile = Files.createFile(subDir.resolve("HipKro03 - Hello.pdf"));
+        Files.createFile(subDir.resolve("HipKro03.txt"));
+        Files.createFile(subDir.resolve("Other.pdf"));
+    }
+
+    private static List<Path> sorted(List<Path> paths) {
+        List<Path> result = new ArrayList<>(paths);
+        Collections.sort(result);
+        return result;
+    }
+
+    @Test
+    void findFilesStartingWithPrefixAndExtension() throws Exception {
+        DirectoryIndex index = DirectoryIndex.build(List.of(rootDir));
+
+        assertEquals(sorted(List.of(pdfFile, subDirPdfFile)), sorted(index.findFilesStartingWith("HipKro03", List.of("pdf"))));
+        assertEquals(4, index.getNumberOfFiles());
+    }
+
+    @Test
+    void findFilesInSeveralDirectories() throws Exception {
+        DirectoryIndex index = DirectoryIndex.build(List.of(subDir, rootDir.resolve("doesNotExist")));
+
+        assertEquals(List.of(subDirPdfFile), index.findFilesStartingWith("HipKro03", List.of("pdf")));
+        assertEquals(List.of(subDir), index.getDirectories());
+    }
+
+    @Test
+    void findNothingForUnknownPrefix() throws Exception {
+        DirectoryIndex index = DirectoryIndex.build(List.of(rootDir));
+
+        assertEquals(Collections.emptyList(), index.findFilesStartingWith("Unknown", List.of("pdf")));
+    }
+
+    @Test
+    void cacheReusesIndexWithoutMonitor() throws Exception {
+        DirectoryIndexCache cache = new DirectoryIndexCache(mock(FileUpdateMonitor.class));
+
+        assertSame(cache.getIndex(List.of(rootDir)), cache.getIndex(List.of(rootDir)));
+    }
+
+    @Test
+    void cacheRebuildsIndexAfterChange() throws Exception {
+        FileUpdateMonitor monitor = mock(FileUpdateMonitor.class);
+        when(monitor.isActive()).thenReturn(true);
+        DirectoryIndexCache cache = new DirectoryIndexCache(monitor);
+
+        DirectoryIndex index = cache.getIndex(List.of(rootDir));
+        assertSame(index, cache.getIndex(List.of(rootDir)));
+
+        ArgumentCaptor<FileUpdateListener> listener = ArgumentCaptor.forClass(FileUpdateListener.class);
+        verify(monitor, atLeastOnce()).addListenerForDirectory(any(), listener.capture());
+        Path newFile = Files.createFile(subDir.resolve("HipKro03_new.pdf"));
+        listener.getValue().fileUpdated();
+
+        DirectoryIndex rebuiltIndex = cache.getIndex(List.of(rootDir));
+        assertNotSame(index, rebuiltIndex);
+        assertEquals(sorted(List.of(pdfFile, subDirPdfFile, newFile)), sorted(rebuiltIndex.findFilesStartingWith("HipKro03", List.of("pdf"))));
+        verify(monitor, atLeastOnce()).removeListener(subDir, listener.getValue());
+    }
+}
@@ -0,0 +1,49 @@
+package org.jabref.logic.util.io;
+
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MappedTextTest {
+
+    private static boolean isInSurrogatePair(String text, int position) {
+        return (position > 0) && (position < text.length()) && Character.isLowSurrogate(text.charAt(position));
+    }
+
+    @Test
+    void subSequenceGivesTextBetweenPositions() throws Exception {
+        // one, two, three, and four byte characters, spanning several checkpoints
+        String text = "abä€😀\n".repeat(3000);
+        MappedText mappedText = MappedText.create(text.toCharArray(), text.length()).orElseThrow();
+
+        assertEquals(text.length(), mappedText.length());
+        for (int start = 0; start < text.length(); start += 997) {
+            for (int end = start; end <= text.length(); end += 1499) {
+                Optional<CharSequence> part = mappedText.subSequence(start, end);
+                if (isInSurrogatePair(text, start) || isInSurrogatePair(text, end)) {
+                    assertEquals(Optional.empty(), part);
+                } else {
+                    assertEquals(text.substring(start, end), part.orElseThrow().toString());
+                    assertEquals(end - start, part.orElseThrow().length());
+                }
+            }
+        }
+    }
+
+    @Test
+    void onlyGivenLengthOfArrayIsMapped() throws Exception {
+        MappedText mappedText = MappedText.create("text and garbage".toCharArray(), 4).orElseThrow();
+
+        assertEquals("text", mappedText.subSequence(0, 4).orElseThrow().toString());
+    }
+
+    @Test
+    void textWithUnpairedSurrogateIsNotMapped() throws Exception {
+        char[] text = "text \ud83d".toCharArray();
+
+        assertTrue(MappedText.create(text, text.length).isEmpty());
+    }
+}
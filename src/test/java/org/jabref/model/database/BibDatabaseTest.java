@@ -10,6 +10,9 @@ import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 
+import javafx.collections.ListChangeListener;
+
+import org.jabref.model.database.event.EntriesAddedEvent;
 import org.jabref.model.entry.BibEntry;
 import org.jabref.model.entry.BibtexString;
 import org.jabref.model.entry.field.StandardField;
@@ -18,6 +21,7 @@ import org.jabref.model.entry.types.StandardEntryType;
 import org.jabref.model.event.TestEventListener;
 import org.jabref.model.metadata.MetaData;
 
+import com.google.common.eventbus.Subscribe;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -108,6 +112,60 @@ class BibDatabaseTest {
         assertFalse(database.containsEntryWithId(entry3.getId()));
     }
 
+    @Test
+    void removeSomeEntriesNotifiesListOnce() {
+        BibEntry entry1 = new BibEntry();
+        BibEntry entry2 = new BibEntry();
+        BibEntry entry3 = new BibEntry();
+        database.insertEntries(entry1, entry2, entry3);
+        List<ListChangeListener.Change<? extends BibEntry>> changes = new ArrayList<>();
+        database.getEntries().addListener((ListChangeListener<BibEntry>) changes::add);
+
+        database.removeEntries(Arrays.asList(entry1, entry3));
+
+        assertEquals(1, changes.size());
+    }
+
+    @Test
+    void removeContiguousEntriesKeepsOrderOfOtherEntries() {
+        BibEntry entry1 = new BibEntry();
+        BibEntry entry2 = new BibEntry();
+        BibEntry entry3 = new BibEntry();
+        BibEntry entry4 = new BibEntry();
+        database.insertEntries(entry1, entry2, entry3, entry4);
+        List<ListChangeListener.Change<? extends BibEntry>> changes = new ArrayList<>();
+        database.getEntries().addListener((ListChangeListener<BibEntry>) changes::add);
+
+        database.removeEntries(Arrays.asList(entry3, entry2));
+
+        assertEquals(Arrays.asList(entry1, entry4), database.getEntries());
+        assertEquals(1, changes.size());
+    }
+
+    @Test
+    void removeScatteredEntriesDoesNotReplaceOtherEntries() {
+        BibEntry entry1 = new BibEntry();
+        BibEntry entry2 = new BibEntry();
+        BibEntry entry3 = new BibEntry();
+        BibEntry entry4 = new BibEntry();
+        BibEntry entry5 = new BibEntry();
+        database.insertEntries(entry1, entry2, entry3, entry4, entry5);
+        List<BibEntry> addedEntries = new ArrayList<>();
+        List<BibEntry> removedEntries = new ArrayList<>();
+        database.getEntries().addListener((ListChangeListener<BibEntry>) change -> {
+            while (change.next()) {
+                addedEntries.addAll(change.getAddedSubList());
+                removedEntries.addAll(change.getRemoved());
+            }
+        });
+
+        database.removeEntries(Arrays.asList(entry4, entry2));
+
+        assertEquals(Arrays.asList(entry1, entry3, entry5), database.getEntries());
+        assertEquals(Collections.emptyList(), addedEntries);
+        assertEquals(Arrays.asList(entry2, entry4), removedEntries);
+    }
+
     @Test
     void removeAllEntriesRemovesAllEntriesFromEntriesList() {
         List<BibEntry> allEntries = new ArrayList<>();
@@ -309,6 +367,42 @@ class BibDatabaseTest {
         assertEquals(Arrays.asList(firstEntry, secondEntry), tel.getAddedEntries());
     }
 
+    @Test
+    void insertEntryPostsAddedEntryEventAfterIndexingEntry() {
+        BibEntry entry = new BibEntry();
+        entry.setCitationKey("key");
+        List<Optional<BibEntry>> entriesFoundByKey = new ArrayList<>();
+        database.registerListener(new Object() {
+            @Subscribe
+            public void listen(EntriesAddedEvent event) {
+                entriesFoundByKey.add(database.getEntryByCitationKey("key"));
+            }
+        });
+
+        database.insertEntry(entry);
+
+        assertEquals(List.of(Optional.of(entry)), entriesFoundByKey);
+    }
+
+    @Test
+    void insertEntryWithIdOfOtherEntryReplacesItInIndexes() {
+        BibEntry entry = new BibEntry();
+        entry.setCitationKey("key");
+        BibEntry entryWithSameId = new BibEntry();
+        entryWithSameId.setId(entry.getId());
+        entryWithSameId.setCitationKey("otherKey");
+        database.insertEntries(entry, entryWithSameId);
+
+        assertEquals(Optional.empty(), database.getEntryByCitationKey("key"));
+        assertEquals(Optional.of(entryWithSameId), database.getEntryByCitationKey("otherKey"));
+
+        database.removeEntry(entry);
+
+        assertEquals(Collections.emptyList(), database.getEntries());
+        assertFalse(database.containsEntryWithId(entry.getId()));
+        assertEquals(Optional.empty(), database.getEntryByCitationKey("otherKey"));
+    }
+
     @Test
     void removeEntriesPostsRemovedEntriesEvent() {
         BibEntry entry1 = new BibEntry();
@@ -365,6 +459,42 @@ class BibDatabaseTest {
         assertEquals(1, database.getNumberOfCitationKeyOccurrences("AAA"));
     }
 
+    @Test
+    void correctKeyCountAfterChangingKey() {
+        BibEntry entry = new BibEntry();
+        entry.setCitationKey("AAA");
+        database.insertEntry(entry);
+        entry.setCitationKey("BBB");
+        assertEquals(0, database.getNumberOfCitationKeyOccurrences("AAA"));
+        assertEquals(Optional.of(entry), database.getEntryByCitationKey("BBB"));
+    }
+
+    @Test
+    void getEntriesByCitationKeyKeepsOrderAfterChangingKey() {
+        BibEntry first = new BibEntry().withCitationKey("BBB").withField(StandardField.TITLE, "first");
+        BibEntry second = new BibEntry().withCitationKey("AAA").withField(StandardField.TITLE, "second");
+        database.insertEntries(first, second);
+        first.setCitationKey("AAA");
+        assertEquals(List.of(first, second), database.getEntriesByCitationKey("AAA"));
+    }
+
+    @Test
+    void keyChangeOfRemovedEntryIsIgnored() {
+        BibEntry entry = new BibEntry().withCitationKey("AAA");
+        database.insertEntry(entry);
+        database.removeEntry(entry);
+        entry.setCitationKey("BBB");
+        assertEquals(Optional.empty(), database.getEntryByCitationKey("BBB"));
+    }
+
+    @Test
+    void containsEntryWithChangedId() {
+        BibEntry entry = new BibEntry();
+        database.insertEntry(entry);
+        entry.setId("newId");
+        assertTrue(database.containsEntryWithId("newId"));
+    }
+
     @Test
     void circularStringResolving() {
         BibtexString string = new BibtexString("AAA", "#BBB#");
@@ -656,4 +656,30 @@ class BibEntryTest {
         entry = new BibEntry().withField(StandardField.AUTHOR, "value");
         assertFalse(entry.hasChanged());
     }
+
+    @Test
+    void contentVersionChangesOnChangeOfFieldOrType() {
+        int initialVersion = entry.getContentVersion();
+
+        entry.setField(StandardField.AUTHOR, "value");
+        int versionAfterSetField = entry.getContentVersion();
+        entry.setType(StandardEntryType.Article);
+        int versionAfterSetType = entry.getContentVersion();
+        entry.clearField(StandardField.AUTHOR);
+
+        assertNotEquals(initialVersion, versionAfterSetField);
+        assertNotEquals(versionAfterSetField, versionAfterSetType);
+        assertNotEquals(versionAfterSetType, entry.getContentVersion());
+    }
+
+    @Test
+    void contentVersionIsKeptOnSettingSameValue() {
+        entry.setField(StandardField.AUTHOR, "value");
+        int version = entry.getContentVersion();
+
+        entry.setField(StandardField.AUTHOR, "value");
+        entry.setChanged(false);
+
+        assertEquals(version, entry.getContentVersion());
+    }
 }
@@ -0,0 +1,103 @@
+package org.jabref.model.groups;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jabref.model.database.BibDatabase;
+import org.jabref.model.entry.BibEntry;
+import org.jabref.model.entry.field.StandardField;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class GroupMembershipIndexTest {
+
+    private BibDatabase database;
+    private BibEntry matchingEntry;
+    private BibEntry otherEntry;
+    private GroupTreeNode node;
+    private GroupMembershipIndex index;
+
+    @BeforeEach
+    public void setUp() {
+        database = new BibDatabase();
+        matchingEntry = new BibEntry().withField(StandardField.KEYWORDS, "test");
+        otherEntry = new BibEntry().withField(StandardField.KEYWORDS, "other");
+        database.insertEntries(List.of(matchingEntry, otherEntry));
+        node = GroupTreeNode.fromGroup(new WordKeywordGroup("name", GroupHierarchyType.INDEPENDENT, StandardField.KEYWORDS, "test", false, ',', false));
+        index = new GroupMembershipIndex(database);
+    }
+
+    @Test
+    public void membershipContainsMatchedEntries() {
+        GroupMembership membership = index.getMembership(node);
+
+        assertEquals(1, membership.getNumberOfEntries());
+        assertTrue(membership.contains(matchingEntry));
+        assertFalse(membership.contains(otherEntry));
+    }
+
+    @Test
+    public void membershipIsReusedForSameNode() {
+        assertSame(index.getMembership(node), index.getMembership(node));
+    }
+
+    @Test
+    public void membershipFollowsChangesOfLibrary() {
+        GroupMembership membership = index.getMembership(node);
+        AtomicInteger notifications = new AtomicInteger();
+        Runnable listener = notifications::incrementAndGet;
+        membership.addListener(listener);
+
+        otherEntry.setField(StandardField.KEYWORDS, "test");
+        assertTrue(membership.contains(otherEntry));
+
+        BibEntry addedEntry = new BibEntry().withField(StandardField.KEYWORDS, "test, other");
+        database.insertEntry(addedEntry);
+        assertTrue(membership.contains(addedEntry));
+
+        database.removeEntry(matchingEntry);
+        assertFalse(membership.contains(matchingEntry));
+
+        // unrelated changes do not notify
+        otherEntry.setField(StandardField.TITLE, "title");
+
+        assertEquals(2, membership.getNumberOfEntries());
+        assertEquals(3, notifications.get());
+    }
+
+    @Test
+    public void ordinalsOfRemovedEntriesAreReused() {
+        GroupMembership membership = index.getMembership(node);
+        int ordinalOfRemovedEntry = index.getOrdinal(matchingEntry);
+        database.removeEntry(matchingEntry);
+
+        BibEntry addedEntry = new BibEntry().withField(StandardField.KEYWORDS, "other");
+        database.insertEntry(addedEntry);
+
+        assertEquals(-1, index.getOrdinal(matchingEntry));
+        assertEquals(ordinalOfRemovedEntry, index.getOrdinal(addedEntry));
+        assertFalse(membership.contains(addedEntry));
+        assertEquals(0, membership.getNumberOfEntries());
+        assertEquals(2, index.getOrdinals(List.of(otherEntry, addedEntry)).cardinality());
+    }
+
+    @Test
+    public void reusedOrdinalIsIgnoredForEarlierGeneration() {
+        long generation = index.getGeneration();
+        int ordinalOfRemovedEntry = index.getOrdinal(matchingEntry);
+        database.removeEntry(matchingEntry);
+
+        BibEntry addedEntry = new BibEntry().withField(StandardField.KEYWORDS, "other");
+        database.insertEntry(addedEntry);
+
+        assertEquals(-1, index.getOrdinal(addedEntry, generation));
+        assertEquals(ordinalOfRemovedEntry, index.getOrdinal(addedEntry, index.getGeneration()));
+        assertEquals(index.getOrdinal(otherEntry), index.getOrdinal(otherEntry, generation));
+    }
+}
@@ -34,6 +34,27 @@ public class GrammarBasedSearchRuleTest {
         assertFalse(searchRule.applyRule(query, makeBibtexEntry()));
     }
 
+    @Test
+    void applyRuleEvaluatesCompiledQueryForEachEntry() {
+        GrammarBasedSearchRule searchRule = new GrammarBasedSearchRule(EnumSet.noneOf(SearchRules.SearchFlags.class));
+
+        String query = "(author = shields and not year = 2002) or title == \"Other title\"";
+        assertTrue(searchRule.validateSearchStrings(query));
+        assertTrue(searchRule.applyRule(query, makeBibtexEntry()));
+        assertFalse(searchRule.applyRule(query, makeBibtexEntry().withField(StandardField.YEAR, "2002")));
+        assertTrue(searchRule.applyRule(query, makeBibtexEntry().withField(StandardField.YEAR, "2002").withField(StandardField.TITLE, "Other title")));
+    }
+
+    @Test
+    void applyRuleMatchesDoesNotContainForMissingField() {
+        GrammarBasedSearchRule searchRule = new GrammarBasedSearchRule(EnumSet.noneOf(SearchRules.SearchFlags.class));
+
+        String query = "journal != nature";
+        assertTrue(searchRule.validateSearchStrings(query));
+        assertTrue(searchRule.applyRule(query, makeBibtexEntry()));
+        assertFalse(searchRule.applyRule(query, makeBibtexEntry().withField(StandardField.JOURNAL, "Nature")));
+    }
+
     public BibEntry makeBibtexEntry() {
         return new BibEntry(StandardEntryType.InCollection)
                 .withCitationKey("shields01")